@@ -0,0 +1,45 @@
+package gov.uspto.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run Benchmarks, with the GC profiler always enabled
+ *
+ * <p>
+ * Reports ops/s along with gc.alloc.rate.norm (bytes allocated per operation),
+ * gc.count and gc.time. Accepts the standard JMH command line options.
+ * </p>
+ *
+ * <pre>
+ * mvn -pl Benchmark -am package -DskipTests
+ * cd Benchmark
+ * java -jar target/benchmarks.jar                       # all suites
+ * java -jar target/benchmarks.jar PatentReaderBenchmark -p docFormat=RedbookGrant
+ * java -jar target/benchmarks.jar -rf json -rff results.json
+ * </pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+		if (cmdOptions.shouldHelp() || cmdOptions.shouldList() || cmdOptions.shouldListProfilers()
+				|| cmdOptions.shouldListResultFormats() || cmdOptions.shouldListWithParams()) {
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		Options options = new OptionsBuilder().parent(cmdOptions).addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+}
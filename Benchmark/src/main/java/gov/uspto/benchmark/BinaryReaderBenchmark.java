@@ -0,0 +1,79 @@
+package gov.uspto.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReader;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.serialize.binary.PatentBinaryReader;
+import gov.uspto.patent.serialize.binary.PatentBinaryWriter;
+
+/**
+ * Re-reading a patent from its binary record, compared to parsing the source
+ * document again with PatentReader.
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BinaryReaderBenchmark {
+
+	@Param({ "Greenbook", "Sgml", "Pap", "RedbookGrant", "RedbookApplication" })
+	public PatentDocFormat docFormat;
+
+	private String sample;
+	private PatentReader patentReader;
+	private byte[] record;
+	private PatentBinaryReader binaryReader;
+	private PatentBinaryWriter binaryWriter;
+	private Patent patent;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, PatentReaderException {
+		sample = Fixtures.getSample(docFormat);
+		patentReader = new PatentReader(docFormat);
+		patent = parse();
+		binaryWriter = new PatentBinaryWriter();
+		record = binaryWriter.toBytes(patent);
+		binaryReader = new PatentBinaryReader();
+		read(); // fail fast on a bad record.
+	}
+
+	@Benchmark
+	public Patent parse() throws PatentReaderException, IOException {
+		try (StringReader reader = new StringReader(sample)) {
+			return patentReader.read(reader);
+		}
+	}
+
+	@Benchmark
+	public Patent read() throws PatentReaderException {
+		return binaryReader.read(record);
+	}
+
+	@Benchmark
+	public byte[] write() throws IOException {
+		return binaryWriter.toBytes(patent);
+	}
+}
@@ -0,0 +1,142 @@
+package gov.uspto.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import gov.uspto.patent.InvalidDataException;
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Citation;
+import gov.uspto.patent.model.DocumentDate;
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.PatCitation;
+import gov.uspto.patent.model.Patent;
+
+/**
+ * DocumentId parsing and text forms, over the id-heavy fields of each sample:
+ * document and application id, priority, related, other and reference ids and
+ * patent citations.
+ *
+ * <p>
+ * fromTextPattern is the baseline, the regular expression parsing and text
+ * building DocumentId used before its hand-written parser and cached text. The
+ * treeSet benchmark parses into TreeSet&lt;DocumentId&gt;, as Patent stores ids,
+ * then reads each id's text as JsonMapperStream.writeDocTokens does.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DocumentIdBenchmark {
+
+	private static final Pattern PARSE_PATTERN = Pattern
+			.compile("^(\\D\\D)(\\d{2,4}[/-])?((?:D|PP|RE|AI|H|T|X|RX|\\d-)?\\d+)(\\D\\d?)?$");
+
+	@Param({ "Greenbook", "Sgml", "Pap", "RedbookGrant", "RedbookApplication" })
+	public PatentDocFormat docFormat;
+
+	private final List<String> idTexts = new ArrayList<String>();
+	private final List<DocumentDate> idDates = new ArrayList<DocumentDate>();
+	private int year;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, PatentReaderException {
+		Patent patent = Fixtures.getPatent(docFormat);
+		year = patent.getDocumentDate() != null && patent.getDocumentDate().getDate() != null
+				? patent.getDocumentDate().getYear()
+				: 2000;
+
+		addId(patent.getDocumentId());
+		addId(patent.getApplicationId());
+		patent.getPriorityIds().forEach(this::addId);
+		patent.getRelationIds().forEach(this::addId);
+		patent.getOtherIds().forEach(this::addId);
+		patent.getReferenceIds().forEach(this::addId);
+		for (Citation citation : patent.getCitations()) {
+			if (citation instanceof PatCitation) {
+				addId(((PatCitation) citation).getDocumentId());
+			}
+		}
+	}
+
+	private void addId(DocumentId docId) {
+		if (docId != null) {
+			idTexts.add(docId.getId());
+			idDates.add(docId.getDate());
+		}
+	}
+
+	@Benchmark
+	public void fromText(Blackhole blackhole) {
+		for (String idText : idTexts) {
+			try {
+				DocumentId docId = DocumentId.fromText(idText, year);
+				blackhole.consume(docId.getId());
+				blackhole.consume(docId.getIdNoKind());
+			} catch (InvalidDataException e) {
+				blackhole.consume(e);
+			}
+		}
+	}
+
+	@Benchmark
+	public void fromTextPattern(Blackhole blackhole) {
+		for (String idText : idTexts) {
+			Matcher matcher = PARSE_PATTERN.matcher(idText.replaceAll(" ", ""));
+			if (matcher.matches()) {
+				String idNoKind = matcher.group(1) + matcher.group(3).replaceAll("[^A-Z0-9\\.]+", "")
+						.replaceFirst("^(D|RE|PP|AI|H|T|X|RX)0+(?!$)", "$1").replaceFirst("^0+(?!$)", "");
+				String kindCode = matcher.group(4);
+				blackhole.consume(kindCode != null ? idNoKind + kindCode : idNoKind);
+				blackhole.consume(idNoKind);
+			}
+		}
+	}
+
+	@Benchmark
+	public Set<DocumentId> treeSet(Blackhole blackhole) {
+		Set<DocumentId> docIds = new TreeSet<DocumentId>();
+		for (int i = 0; i < idTexts.size(); i++) {
+			try {
+				DocumentId docId = DocumentId.fromText(idTexts.get(i), year);
+				docId.setDate(idDates.get(i));
+				docIds.add(docId);
+			} catch (InvalidDataException e) {
+				blackhole.consume(e);
+			}
+		}
+
+		for (DocumentId docId : docIds) {
+			blackhole.consume(docId.toText());
+			blackhole.consume(docId.toTextNoKind());
+			blackhole.consume(docId.getId());
+		}
+		return docIds;
+	}
+}
@@ -0,0 +1,89 @@
+package gov.uspto.benchmark;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.bulk.DumpFileXml;
+import gov.uspto.patent.bulk.DumpFileXmlBytes;
+
+/**
+ * Bulk file record splitting benchmark, one operation reads every record of an
+ * in-memory bulk file.
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DumpFileBenchmark {
+
+	@Param({ "Sgml", "Pap", "RedbookGrant", "RedbookApplication" })
+	public PatentDocFormat docFormat;
+
+	@Param({ "100" })
+	public int records;
+
+	private String bulk;
+	private byte[] bulkBytes;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		bulk = Fixtures.getBulk(docFormat, records);
+		bulkBytes = bulk.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public void dumpFileXml(Blackhole blackhole) throws IOException {
+		DumpFileXml dumpFile = new DumpFileXml("bulk.xml", new BufferedReader(new StringReader(bulk)));
+		dumpFile.open();
+		while (dumpFile.hasNext()) {
+			blackhole.consume(dumpFile.next());
+		}
+		dumpFile.close();
+	}
+
+	@Benchmark
+	public void dumpFileXmlBytes(Blackhole blackhole) throws IOException {
+		DumpFileXmlBytes dumpFile = new DumpFileXmlBytes("bulk.xml", new ByteArrayInputStream(bulkBytes));
+		dumpFile.open();
+		while (dumpFile.hasNext()) {
+			blackhole.consume(dumpFile.next());
+		}
+		dumpFile.close();
+	}
+
+	@Benchmark
+	public void dumpFileXmlBytesBuffer(Blackhole blackhole) throws IOException {
+		DumpFileXmlBytes dumpFile = new DumpFileXmlBytes("bulk.xml", new ByteArrayInputStream(bulkBytes));
+		dumpFile.open();
+		while (dumpFile.hasNext()) {
+			ByteBuffer record = dumpFile.nextBuffer();
+			blackhole.consume(record);
+		}
+		dumpFile.close();
+	}
+}
@@ -0,0 +1,104 @@
+package gov.uspto.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+
+import com.google.common.base.Preconditions;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReader;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Patent;
+
+/**
+ * Benchmark Fixtures, one representative sample document per PatentDocFormat.
+ *
+ * <p>
+ * Samples are read from the PatentDocument samples directory, override with
+ * system property "samples.dir".
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public final class Fixtures {
+
+	public static final String SAMPLES_DIR_PROPERTY = "samples.dir";
+	private static final String DEFAULT_SAMPLES_DIR = "../PatentDocument/resources/samples";
+
+	private static final Map<PatentDocFormat, String> SAMPLES = new EnumMap<PatentDocFormat, String>(
+			PatentDocFormat.class);
+	static {
+		SAMPLES.put(PatentDocFormat.Greenbook, "greenbook/US03932709.greenbook");
+		SAMPLES.put(PatentDocFormat.Sgml, "sgml/US06337117.xml");
+		SAMPLES.put(PatentDocFormat.Pap, "pap/US20010000943A1.xml");
+		SAMPLES.put(PatentDocFormat.RedbookGrant, "xml2014/US08927118.xml");
+		SAMPLES.put(PatentDocFormat.RedbookApplication, "xmlApp2004/US20050004974A1.xml");
+	}
+
+	private Fixtures() {
+	}
+
+	public static File getSampleFile(PatentDocFormat docFormat) {
+		String sample = SAMPLES.get(docFormat);
+		Preconditions.checkArgument(sample != null, "No sample defined for format: " + docFormat);
+
+		File samplesDir = new File(System.getProperty(SAMPLES_DIR_PROPERTY, DEFAULT_SAMPLES_DIR));
+		File file = new File(samplesDir, sample);
+		Preconditions.checkArgument(file.isFile(),
+				"Sample not found: " + file.getAbsolutePath() + " ; set -D" + SAMPLES_DIR_PROPERTY);
+		return file;
+	}
+
+	/**
+	 * Sample document text, as a single record from a bulk file.
+	 *
+	 * @param docFormat
+	 * @return document text
+	 * @throws IOException
+	 */
+	public static String getSample(PatentDocFormat docFormat) throws IOException {
+		return FileUtils.readFileToString(getSampleFile(docFormat), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Sample parsed into Patent.
+	 *
+	 * @param docFormat
+	 * @return Patent
+	 * @throws IOException
+	 * @throws PatentReaderException
+	 */
+	public static Patent getPatent(PatentDocFormat docFormat) throws IOException, PatentReaderException {
+		try (StringReader reader = new StringReader(getSample(docFormat))) {
+			return new PatentReader(docFormat).read(reader);
+		}
+	}
+
+	/**
+	 * Bulk file content, sample repeated as records.
+	 *
+	 * @param docFormat
+	 * @param records - number of records
+	 * @return bulk file text
+	 * @throws IOException
+	 */
+	public static String getBulk(PatentDocFormat docFormat, int records) throws IOException {
+		String sample = getSample(docFormat);
+		if (!sample.endsWith("\n")) {
+			sample = sample + "\n";
+		}
+
+		StringBuilder stb = new StringBuilder(sample.length() * records);
+		for (int i = 0; i < records; i++) {
+			stb.append(sample);
+		}
+		return stb.toString();
+	}
+}
@@ -0,0 +1,61 @@
+package gov.uspto.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.doc.simplehtml.FreetextConfig;
+import gov.uspto.patent.model.DescSection;
+import gov.uspto.patent.model.Description;
+
+/**
+ * Description text cleanup benchmark, each format's FormattedText
+ * getSimpleHtml and getPlainText.
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FormattedTextBenchmark {
+
+	@Param({ "Greenbook", "Sgml", "Pap", "RedbookGrant", "RedbookApplication" })
+	public PatentDocFormat docFormat;
+
+	private Description description;
+	private FreetextConfig textConfig;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, PatentReaderException {
+		description = Fixtures.getPatent(docFormat).getDescription();
+		textConfig = FreetextConfig.getDefault();
+	}
+
+	@Benchmark
+	public String simpleHtml() {
+		return description.getSimpleHtml();
+	}
+
+	@Benchmark
+	public String plainText() {
+		return description.getPlainText(textConfig, DescSection.values());
+	}
+}
@@ -0,0 +1,86 @@
+package gov.uspto.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gov.uspto.bulkdata.tools.grep.MatchRegexBase;
+import gov.uspto.bulkdata.tools.grep.MultiRegexMatcher;
+import gov.uspto.patent.PatentDocFormat;
+
+/**
+ * Grep regex patterns, "--regexs", over each line of a sample: one scan with
+ * MultiRegexMatcher compared to the loop running each pattern in turn.
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GrepRegexBenchmark {
+
+	private static final String[] REGEXS = new String[] { "wherein", "comprising", "semiconductor\\s+device",
+			"(?i)substrate", "first layer", "second (layer|portion)", "method of \\w+ing", "A21C\\s*\\d+",
+			"\\d+ nm", "(?i)electrode", "controller", "thereof", "plurality of", "housing", "(?i)antenna",
+			"according to claim \\d+" };
+
+	@Param({ "Greenbook", "Sgml", "Pap", "RedbookGrant", "RedbookApplication" })
+	public PatentDocFormat docFormat;
+
+	@Param({ "1", "4", "16" })
+	public int patternCount;
+
+	private String[] lines;
+	private List<MatchRegexBase> patterns;
+	private MultiRegexMatcher multiMatcher;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		lines = Fixtures.getSample(docFormat).split("\r?\n");
+		patterns = new ArrayList<MatchRegexBase>(patternCount);
+		for (int i = 0; i < patternCount; i++) {
+			patterns.add(new MatchRegexBase(REGEXS[i], false));
+		}
+		multiMatcher = new MultiRegexMatcher(patterns);
+	}
+
+	@Benchmark
+	public int perPattern() {
+		int matched = 0;
+		for (String line : lines) {
+			for (MatchRegexBase pattern : patterns) {
+				if (pattern.hasMatch(line)) {
+					matched++;
+				}
+			}
+		}
+		return matched;
+	}
+
+	@Benchmark
+	public int combined() {
+		int matched = 0;
+		for (String line : lines) {
+			matched += multiMatcher.matching(line).cardinality();
+		}
+		return matched;
+	}
+}
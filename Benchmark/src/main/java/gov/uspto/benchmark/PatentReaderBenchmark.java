@@ -0,0 +1,58 @@
+package gov.uspto.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReader;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Patent;
+
+/**
+ * PatentReader parse benchmark, for each PatentDocFormat.
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PatentReaderBenchmark {
+
+	@Param({ "Greenbook", "Sgml", "Pap", "RedbookGrant", "RedbookApplication" })
+	public PatentDocFormat docFormat;
+
+	private String sample;
+	private PatentReader patentReader;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, PatentReaderException {
+		sample = Fixtures.getSample(docFormat);
+		patentReader = new PatentReader(docFormat);
+		read(); // fail fast on a bad fixture.
+	}
+
+	@Benchmark
+	public Patent read() throws PatentReaderException, IOException {
+		try (StringReader reader = new StringReader(sample)) {
+			return patentReader.read(reader);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package gov.uspto.benchmark;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.serialize.JsonMapperStream;
+import gov.uspto.patent.serialize.solr.JsonMapperSolr;
+
+/**
+ * Patent serialization benchmark, JsonMapperStream and JsonMapperSolr.
+ *
+ * <p>
+ * Text fields are processed on each write, so this includes text cleanup.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SerializeBenchmark {
+
+	@Param({ "Greenbook", "Sgml", "Pap", "RedbookGrant", "RedbookApplication" })
+	public PatentDocFormat docFormat;
+
+	private Patent patent;
+	private JsonMapperStream jsonMapperStream;
+	private JsonMapperSolr jsonMapperSolr;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, PatentReaderException {
+		patent = Fixtures.getPatent(docFormat);
+		jsonMapperStream = new JsonMapperStream(false);
+		jsonMapperSolr = new JsonMapperSolr(false, true, false);
+	}
+
+	@Benchmark
+	public String jsonMapperStream() throws IOException {
+		StringWriter writer = new StringWriter();
+		jsonMapperStream.write(patent, writer);
+		return writer.toString();
+	}
+
+	@Benchmark
+	public String jsonMapperSolr() throws IOException {
+		StringWriter writer = new StringWriter();
+		jsonMapperSolr.write(patent, writer);
+		return writer.toString();
+	}
+}
@@ -23,6 +23,14 @@ public class BulkReaderArguments {
 	private int failLimit = -1;
 	private boolean htmlEntities = false;
 	private boolean apsPatent;
+	private boolean streaming = false;
+	private int threads = 1;
+	private int fileThreads = 1;
+	private int memoryBudget = -1;
+	private boolean checkpoint = false;
+	private int checkpointInterval = 100;
+	private Path cacheDir;
+	private int cacheSize = 1024;
 
 	public OptionParser buildArgs() {
 		return buildArgs(new OptionParser(true));
@@ -40,6 +48,31 @@ public class BulkReaderArguments {
 		opParser.accepts("skip").withOptionalArg().ofType(Integer.class).describedAs("records to skip").defaultsTo(0);
 		opParser.accepts("limit").withOptionalArg().ofType(Integer.class).describedAs("record limit").defaultsTo(-1);
 
+		opParser.accepts("threads").withOptionalArg().ofType(Integer.class)
+				.describedAs("worker threads; records are processed in parallel and written in source order")
+				.defaultsTo(1);
+
+		opParser.accepts("fileThreads").withOptionalArg().ofType(Integer.class)
+				.describedAs("bulk files of an input directory read concurrently; each to its own output partition")
+				.defaultsTo(1);
+
+		opParser.accepts("memoryBudget").withOptionalArg().ofType(Integer.class)
+				.describedAs("memory budget in MB shared by bulk files read concurrently; default half of max heap")
+				.defaultsTo(-1);
+
+		opParser.accepts("checkpoint").withOptionalArg().ofType(Boolean.class)
+				.describedAs("save progress next to output; when restarted, resume after the last committed record")
+				.defaultsTo(false);
+
+		opParser.accepts("checkpointInterval").withOptionalArg().ofType(Integer.class)
+				.describedAs("records between checkpoint commits").defaultsTo(100);
+
+		opParser.accepts("cacheDir").withOptionalArg().ofType(String.class)
+				.describedAs("record cache directory; records parsed by an earlier run are read from the cache");
+
+		opParser.accepts("cacheSize").withOptionalArg().ofType(Integer.class)
+				.describedAs("record cache size in MB, least recently used records are removed").defaultsTo(1024);
+
 		opParser.accepts("xmlBodyTag").withOptionalArg().ofType(String.class)
 				.describedAs("XML Body Tag which wrapps document: [us-patent, PATDOC, patent-application]")
 				.defaultsTo("us-patent");
@@ -51,6 +84,10 @@ public class BulkReaderArguments {
 		opParser.accepts("aps").withOptionalArg().ofType(Boolean.class)
 				.describedAs("Read APS - Greenbook Patent Document Format").defaultsTo(false);
 
+		opParser.accepts("streaming").withOptionalArg().ofType(Boolean.class)
+				.describedAs("Parse Redbook grants and applications with the streaming parser, lowering peak memory")
+				.defaultsTo(false);
+
 		opParser.acceptsAll(asList("out", "output", "outfile")).withOptionalArg().ofType(String.class)
 				.describedAs("out file");
 
@@ -106,11 +143,47 @@ public class BulkReaderArguments {
 			setRecordReadLimit(limit);
 		}
 
+		if (options.has("threads")) {
+			int threads = (Integer) options.valueOf("threads");
+			setThreads(threads);
+		}
+
+		if (options.has("fileThreads")) {
+			int fileThreads = (Integer) options.valueOf("fileThreads");
+			setFileThreads(fileThreads);
+		}
+
+		if (options.has("memoryBudget")) {
+			int memoryBudget = (Integer) options.valueOf("memoryBudget");
+			setMemoryBudget(memoryBudget);
+		}
+
+		boolean checkpoint = (Boolean) options.valueOf("checkpoint");
+		setCheckpoint(checkpoint);
+
+		if (options.has("checkpointInterval")) {
+			int checkpointInterval = (Integer) options.valueOf("checkpointInterval");
+			setCheckpointInterval(checkpointInterval);
+		}
+
+		if (options.has("cacheDir")) {
+			String cacheDirStr = (String) options.valueOf("cacheDir");
+			setCacheDir(Paths.get(cacheDirStr));
+		}
+
+		if (options.has("cacheSize")) {
+			int cacheSize = (Integer) options.valueOf("cacheSize");
+			setCacheSize(cacheSize);
+		}
+
 		boolean addHtmlEntities = (Boolean) options.valueOf("addHtmlEntities");
 		setAddHtmlEntities(addHtmlEntities);
 
 		boolean aps = (Boolean) options.valueOf("aps");
 		setApsPatent(aps);
+
+		boolean streaming = (Boolean) options.valueOf("streaming");
+		setStreaming(streaming);
 	}
 
 	public void setOutputFile(Path filePath) {
@@ -164,6 +237,18 @@ public class BulkReaderArguments {
 		return this.apsPatent;
 	}
 
+	/**
+	 * Parse with the streaming parser when available for the format, see
+	 * {@link gov.uspto.patent.PatentReader#setStreaming(boolean)}
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
 	public int getSucessLimit() {
 		return sucessLimit;
 	}
@@ -179,4 +264,84 @@ public class BulkReaderArguments {
 	public void setFailLimit(int failLimit) {
 		this.failLimit = failLimit;
 	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		Preconditions.checkArgument(threads > 0, "threads must be greater than 0");
+		this.threads = threads;
+	}
+
+	public int getFileThreads() {
+		return fileThreads;
+	}
+
+	public void setFileThreads(int fileThreads) {
+		Preconditions.checkArgument(fileThreads > 0, "fileThreads must be greater than 0");
+		this.fileThreads = fileThreads;
+	}
+
+	/**
+	 * Memory budget in MB, or -1 when not set.
+	 */
+	public int getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	public void setMemoryBudget(int memoryBudget) {
+		this.memoryBudget = memoryBudget;
+	}
+
+	public boolean isCheckpoint() {
+		return checkpoint;
+	}
+
+	public void setCheckpoint(boolean checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	public void setCheckpointInterval(int checkpointInterval) {
+		Preconditions.checkArgument(checkpointInterval > 0, "checkpointInterval must be greater than 0");
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	/**
+	 * Record cache directory.
+	 * 
+	 * @return directory, or null when not caching
+	 */
+	public Path getCacheDir() {
+		return cacheDir;
+	}
+
+	public void setCacheDir(Path cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
+	/**
+	 * Record cache size in MB.
+	 */
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	public void setCacheSize(int cacheSize) {
+		Preconditions.checkArgument(cacheSize > 0, "cacheSize must be greater than 0");
+		this.cacheSize = cacheSize;
+	}
+
+	/**
+	 * Directory checkpoint is saved to, directory of the output file.
+	 * 
+	 * @return directory, or null when writing to STDOUT
+	 */
+	public Path getCheckpointDir() {
+		return outputFile != null ? outputFile.toAbsolutePath().getParent() : null;
+	}
 }
@@ -0,0 +1,178 @@
+package gov.uspto.bulkdata;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+
+import gov.uspto.bulkdata.tools.grep.DocumentException;
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+
+/**
+ * Composite Record Processor
+ *
+ * <p>
+ * Hands each record to every registered processor in order, so a bulk file is
+ * read and split once for a chain of processors such as grep, transform and
+ * extract. When short-circuit is enabled, a processor returning false skips
+ * the remaining processors for that record, for example when grep does not
+ * match.
+ * </p>
+ *
+ * <p>
+ * Each processor keeps its own RunStats, counting only the records it was
+ * handed.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * CompositeRecordProcessor processor = new CompositeRecordProcessor(grepProcessor, transformProcessor);
+ * processor.setShortCircuit(true);
+ * new RecordReader(config).read(bulkFile, processor);
+ * List<RunStats> processorStats = processor.getRunStats();
+ * }
+ * </pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class CompositeRecordProcessor implements RecordProcessor {
+
+	private final List<RecordProcessor> processors;
+	private final List<RunStats> runStats;
+	private boolean shortCircuit = false;
+
+	public CompositeRecordProcessor(RecordProcessor... processors) {
+		Preconditions.checkArgument(processors.length > 0, "At least one RecordProcessor required");
+		this.processors = Arrays.asList(processors);
+		this.runStats = new ArrayList<RunStats>(processors.length);
+		for (RecordProcessor processor : processors) {
+			runStats.add(new RunStats(processor.getClass().getName()));
+		}
+	}
+
+	@Override
+	public Boolean process(String sourceTxt, String rawRecord, Writer writer)
+			throws DocumentException, IOException, PatentReaderException {
+
+		boolean allSuccess = true;
+		for (int i = 0; i < processors.size(); i++) {
+			RunStats stats = runStats.get(i);
+			synchronized (stats) {
+				stats.incrementRecord();
+			}
+
+			Boolean success;
+			try {
+				success = processors.get(i).process(sourceTxt, rawRecord, writer);
+			} catch (DocumentException | IOException | PatentReaderException e) {
+				synchronized (stats) {
+					stats.incrementFailure(sourceTxt);
+				}
+				throw e;
+			}
+
+			synchronized (stats) {
+				if (success) {
+					stats.incrementSucess();
+				} else {
+					stats.incrementFailure(sourceTxt);
+				}
+			}
+
+			if (!success) {
+				allSuccess = false;
+				if (shortCircuit) {
+					return false;
+				}
+			}
+		}
+
+		return allSuccess;
+	}
+
+	/**
+	 * Skip the remaining processors of a record once a processor returns false;
+	 * default false, every processor is handed every record.
+	 * 
+	 * @param shortCircuit
+	 */
+	public void setShortCircuit(boolean shortCircuit) {
+		this.shortCircuit = shortCircuit;
+	}
+
+	public boolean isShortCircuit() {
+		return shortCircuit;
+	}
+
+	@Override
+	public void initialize(Writer writer) throws Exception {
+		for (RecordProcessor processor : processors) {
+			processor.initialize(writer);
+		}
+	}
+
+	@Override
+	public void finish(Writer writer) throws IOException {
+		for (RecordProcessor processor : processors) {
+			processor.finish(writer);
+		}
+	}
+
+	/**
+	 * Commit output files of every processor.
+	 */
+	@Override
+	public Map<Path, Long> commit() throws IOException {
+		Map<Path, Long> outputs = new HashMap<Path, Long>();
+		for (RecordProcessor processor : processors) {
+			outputs.putAll(processor.commit());
+		}
+		return outputs;
+	}
+
+	@Override
+	public void writeOrdered(String sourceTxt) throws IOException {
+		for (RecordProcessor processor : processors) {
+			processor.writeOrdered(sourceTxt);
+		}
+	}
+
+	@Override
+	public void setPatentDocFormat(PatentDocFormat docFormat) {
+		for (RecordProcessor processor : processors) {
+			processor.setPatentDocFormat(docFormat);
+		}
+	}
+
+	/**
+	 * Thread-safe when every processor is thread-safe.
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		for (RecordProcessor processor : processors) {
+			if (!processor.isThreadSafe()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public List<RecordProcessor> getProcessors() {
+		return processors;
+	}
+
+	/**
+	 * @return RunStats of each processor, in processor order.
+	 */
+	public List<RunStats> getRunStats() {
+		return runStats;
+	}
+}
@@ -0,0 +1,271 @@
+package gov.uspto.bulkdata;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.google.common.base.Preconditions;
+
+import gov.uspto.bulkdata.tools.grep.DocumentException;
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+
+/**
+ * Parallel Directory Reader
+ *
+ * <p>
+ * Reads several bulk files of a directory at once on a work-stealing pool, each
+ * file with its own {@link RecordProcessor} from the supplied factory and, when
+ * an output file is given, its own output partition named after the output file
+ * and the bulk file: "out.json" and "ipg180102.zip" write to
+ * "out-ipg180102.json". Without an output file all bulk files write to the
+ * shared writer; each record's output is buffered and written whole, so
+ * records of different files interleave but their output does not.
+ * </p>
+ *
+ * <p>
+ * Concurrency is bounded by the file thread count and by a memory budget in MB.
+ * Each bulk file reserves its size in MB from the budget while being read, so
+ * several small weekly files run together while a file as large as the budget
+ * runs alone. Files are scheduled largest first.
+ * </p>
+ *
+ * <p>
+ * A file which fails is logged and counted as a failure, other files continue.
+ * Per-file RunStats are merged into the directory RunStats in file name order.
+ * </p>
+ *
+ * @author Brian G. Feldman <brian.feldman@uspto.gov>
+ *
+ */
+public class ParallelDirectoryReader {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParallelDirectoryReader.class);
+
+	private static final long MB = 1024 * 1024;
+
+	private final RecordReader recordReader;
+	private final int fileThreads;
+	private final int memoryBudget;
+
+	public ParallelDirectoryReader(RecordReader recordReader, int fileThreads, int memoryBudget) {
+		Preconditions.checkArgument(fileThreads > 0, "fileThreads must be greater than 0");
+		Preconditions.checkArgument(memoryBudget > 0, "memoryBudget must be greater than 0");
+		this.recordReader = recordReader;
+		this.fileThreads = fileThreads;
+		this.memoryBudget = memoryBudget;
+	}
+
+	/**
+	 * Read bulk files concurrently.
+	 *
+	 * @param files      - bulk files, in file name order
+	 * @param processors - factory of a new processor per bulk file
+	 * @param outputFile - output file partitioned per bulk file, or null to use
+	 *                   the shared writer
+	 * @param writer     - shared writer, used when outputFile is null
+	 * @param runStats   - directory stats, per-file stats are added as children
+	 * @return RunStats
+	 */
+	public RunStats read(List<Path> files, Supplier<RecordProcessor> processors, Path outputFile, Writer writer,
+			RunStats runStats) {
+
+		final Semaphore budget = new Semaphore(memoryBudget, true);
+
+		List<Path> schedule = new ArrayList<Path>(files);
+		schedule.sort(Comparator.comparingLong((Path file) -> file.toFile().length()).reversed());
+
+		LOGGER.info("Parallel read of {} files using {} file threads, memory budget {} MB", files.size(), fileThreads,
+				memoryBudget);
+
+		ExecutorService pool = Executors.newWorkStealingPool(fileThreads);
+		try {
+			Map<Path, Future<RunStats>> results = new HashMap<Path, Future<RunStats>>();
+			for (Path file : schedule) {
+				results.put(file, pool.submit(() -> readFile(file, processors, outputFile, writer, budget)));
+			}
+
+			for (Path file : files) {
+				String filename = file.getFileName().toString();
+				try {
+					RunStats fileStats = results.get(file).get();
+					if (fileStats != null) {
+						runStats.add(fileStats);
+					} else {
+						runStats.incrementFailure(filename);
+					}
+				} catch (ExecutionException e) {
+					LOGGER.error("!!! Failed Reading File: {}", filename, e.getCause());
+					runStats.incrementFailure(filename);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.error("!!! Interrupted while reading files", e);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return runStats;
+	}
+
+	/**
+	 * Read a single bulk file once its share of the memory budget is available.
+	 *
+	 * @return file RunStats, or null when the file failed
+	 */
+	private RunStats readFile(Path file, Supplier<RecordProcessor> processors, Path outputFile, Writer writer,
+			Semaphore budget) throws InterruptedException {
+		String filename = file.getFileName().toString();
+		int weight = weight(file);
+
+		budget.acquire(weight);
+		try {
+			MDC.put("DOCID", filename);
+			LOGGER.info("--- Reading File: {}", filename);
+
+			RunStats fileStats;
+			if (outputFile != null) {
+				try (Writer partitionWriter = recordReader.newWriter(partitionPath(outputFile, file))) {
+					fileStats = recordReader.read(file.toFile(), processors.get(), partitionWriter);
+				}
+			} else {
+				fileStats = recordReader.read(file.toFile(), new RecordBufferedProcessor(processors.get()), writer);
+			}
+
+			LOGGER.info("--- Done Reading File '{}' { success: {}, failure: {} }", filename, fileStats.getSuccess(),
+					fileStats.getFailure());
+			return fileStats;
+		} catch (Exception e) {
+			LOGGER.error("!!! Failed Reading File: {}", filename, e);
+			return null;
+		} finally {
+			budget.release(weight);
+		}
+	}
+
+	/**
+	 * Buffers the output of each record, and of initialize and finish, writing it
+	 * whole to the shared writer under its lock.
+	 */
+	private static class RecordBufferedProcessor implements RecordProcessor {
+		private final RecordProcessor processor;
+
+		public RecordBufferedProcessor(RecordProcessor processor) {
+			this.processor = processor;
+		}
+
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer)
+				throws DocumentException, IOException, PatentReaderException {
+			StringWriter buffer = new StringWriter();
+			try {
+				return processor.process(sourceTxt, rawRecord, buffer);
+			} finally {
+				write(buffer, writer);
+			}
+		}
+
+		@Override
+		public void initialize(Writer writer) throws Exception {
+			StringWriter buffer = new StringWriter();
+			try {
+				processor.initialize(buffer);
+			} finally {
+				write(buffer, writer);
+			}
+		}
+
+		@Override
+		public void finish(Writer writer) throws IOException {
+			StringWriter buffer = new StringWriter();
+			try {
+				processor.finish(buffer);
+			} finally {
+				write(buffer, writer);
+			}
+		}
+
+		private static void write(StringWriter buffer, Writer writer) throws IOException {
+			if (buffer.getBuffer().length() > 0) {
+				synchronized (writer) {
+					writer.write(buffer.toString());
+				}
+			}
+		}
+
+		@Override
+		public void writeOrdered(String sourceTxt) throws IOException {
+			processor.writeOrdered(sourceTxt);
+		}
+
+		@Override
+		public void setPatentDocFormat(PatentDocFormat docFormat) {
+			processor.setPatentDocFormat(docFormat);
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return processor.isThreadSafe();
+		}
+
+		/**
+		 * Output files the processor writes itself, such as bulk output, are not
+		 * buffered.
+		 */
+		@Override
+		public Map<Path, Long> commit() throws IOException {
+			return processor.commit();
+		}
+	}
+
+	/**
+	 * Share of memory budget reserved by a bulk file, its size in MB bounded by
+	 * the budget.
+	 */
+	protected int weight(Path file) {
+		long sizeMb = (file.toFile().length() + MB - 1) / MB;
+		return (int) Math.max(1, Math.min(memoryBudget, sizeMb));
+	}
+
+	/**
+	 * Output partition of a bulk file, the bulk file name is appended to the output
+	 * file name before its extension.
+	 *
+	 * @param outputFile
+	 * @param inputFile
+	 * @return partition path, sibling of outputFile
+	 */
+	public static Path partitionPath(Path outputFile, Path inputFile) {
+		String name = outputFile.getFileName().toString();
+		String partition = inputFile.getFileName().toString().replaceFirst("(?i)\\.zip$", "");
+		int extIdx = name.lastIndexOf('.');
+		if (extIdx > 0) {
+			return outputFile.resolveSibling(name.substring(0, extIdx) + "-" + partition + name.substring(extIdx));
+		} else {
+			return outputFile.resolveSibling(name + "-" + partition);
+		}
+	}
+
+	/**
+	 * Default memory budget, half of the maximum heap in MB.
+	 */
+	public static int defaultMemoryBudget() {
+		return (int) Math.max(1, Runtime.getRuntime().maxMemory() / 2 / MB);
+	}
+}
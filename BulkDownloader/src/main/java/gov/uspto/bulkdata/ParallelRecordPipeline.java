@@ -0,0 +1,264 @@
+package gov.uspto.bulkdata;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import gov.uspto.bulkdata.tools.grep.DocumentException;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.bulk.DumpReader;
+
+/**
+ * Parallel Record Pipeline
+ *
+ * <p>
+ * A reader thread splits records from the DumpReader and hands them to a pool
+ * of worker threads which call {@link RecordProcessor#process}; the calling
+ * thread acts as the writer stage, emitting each record's output in source
+ * order and keeping the RunStats.
+ * </p>
+ *
+ * <p>
+ * In-flight records are bounded by the queue size, the reader blocks when
+ * workers or the writer fall behind. Output written by the processor to the
+ * supplied Writer is buffered per record; output a processor writes elsewhere
+ * is written in completion order, unless held back and written by
+ * {@link RecordProcessor#writeOrdered} which the writer stage calls in source
+ * order.
+ * </p>
+ *
+ * <p>
+ * Record, success and fail limits are honored the same as the single threaded
+ * read, records processed past a limit are discarded and not counted.
+ * </p>
+ *
+ * @author Brian G. Feldman <brian.feldman@uspto.gov>
+ *
+ */
+public class ParallelRecordPipeline {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParallelRecordPipeline.class);
+
+	private static final Future<RecordResult> END_OF_RECORDS = CompletableFuture.completedFuture(null);
+
+	private final int threads;
+	private final int queueSize;
+	private final BulkReaderArguments bulkReaderArgs;
+
+	public ParallelRecordPipeline(BulkReaderArguments bulkReaderArgs) {
+		this(bulkReaderArgs, bulkReaderArgs.getThreads(), bulkReaderArgs.getThreads() * 4);
+	}
+
+	public ParallelRecordPipeline(BulkReaderArguments bulkReaderArgs, int threads, int queueSize) {
+		Preconditions.checkArgument(threads > 0, "threads must be greater than 0");
+		Preconditions.checkArgument(queueSize > 0, "queueSize must be greater than 0");
+		this.bulkReaderArgs = bulkReaderArgs;
+		this.threads = threads;
+		this.queueSize = queueSize;
+	}
+
+	/**
+	 * Process all records from an opened DumpReader.
+	 *
+	 * @param dumpReader - opened and positioned DumpReader
+	 * @param processor  - initialized thread-safe processor
+	 * @param writer
+	 * @param runStats   - stats updated from writer stage
+	 * @return RunStats
+	 * @throws PatentReaderException
+	 * @throws IOException
+	 */
+	public RunStats process(DumpReader dumpReader, RecordProcessor processor, Writer writer, RunStats runStats)
+			throws PatentReaderException, IOException {
+		return process(dumpReader, processor, writer, runStats, null);
+	}
+
+	/**
+	 * Process all records from an opened DumpReader, committing checkpoints as
+	 * records are written in source order.
+	 *
+	 * @param dumpReader - opened and positioned DumpReader
+	 * @param processor  - initialized thread-safe processor
+	 * @param writer
+	 * @param runStats   - stats updated from writer stage
+	 * @param committer  - checkpoint committer, or null
+	 * @return RunStats
+	 * @throws PatentReaderException
+	 * @throws IOException
+	 */
+	public RunStats process(DumpReader dumpReader, RecordProcessor processor, Writer writer, RunStats runStats,
+			ReadCheckpoint.Committer committer) throws PatentReaderException, IOException {
+
+		final String currentFileName = dumpReader.getFile().getName();
+		final BlockingQueue<Future<RecordResult>> inFlight = new ArrayBlockingQueue<Future<RecordResult>>(queueSize);
+		final AtomicBoolean stop = new AtomicBoolean(false);
+		final AtomicReference<RuntimeException> readerFailure = new AtomicReference<RuntimeException>();
+
+		ExecutorService workers = Executors.newFixedThreadPool(threads,
+				new ThreadFactoryBuilder().setNameFormat("record-worker-%d").setDaemon(true).build());
+
+		Thread readerThread = new Thread(() -> {
+			try {
+				for (int checked = 1; !stop.get() && dumpReader.hasNext(); checked++) {
+					String sourceTxt = currentFileName + ":" + dumpReader.getCurrentRecCount();
+
+					String rawRecord;
+					try {
+						rawRecord = dumpReader.next();
+					} catch (NoSuchElementException e) {
+						break;
+					}
+
+					inFlight.put(workers.submit(() -> processRecord(processor, sourceTxt, rawRecord)));
+
+					if (checked == bulkReaderArgs.getRecordReadLimit()) {
+						break;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (RuntimeException e) {
+				// handed to the writer stage, after the records read before it.
+				readerFailure.set(e);
+			} finally {
+				try {
+					inFlight.put(END_OF_RECORDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}, "record-reader");
+		readerThread.setDaemon(true);
+		readerThread.start();
+
+		try {
+			Future<RecordResult> future;
+			while ((future = inFlight.take()) != END_OF_RECORDS) {
+				if (stop.get()) {
+					future.cancel(true);
+					continue;
+				}
+
+				RecordResult result = getResult(future);
+
+				runStats.incrementRecord();
+
+				if (LOGGER.isDebugEnabled() || runStats.getRecord() % 100 == 0) {
+					LOGGER.info("... mark {}:{}", runStats.getTaskName(), result.sourceTxt);
+				}
+
+				if (result.output.length() > 0) {
+					writer.write(result.output);
+					writer.flush();
+				}
+
+				boolean success = result.success;
+				try {
+					processor.writeOrdered(result.sourceTxt);
+				} catch (IOException e) {
+					LOGGER.error("Exception occured on '{}'", result.sourceTxt, e);
+					success = false;
+				}
+
+				if (success) {
+					runStats.incrementSucess();
+				} else {
+					runStats.incrementFailure(result.sourceTxt);
+				}
+
+				if (committer != null) {
+					committer.recordWritten(runStats);
+				}
+
+				if (runStats.getSuccess() == bulkReaderArgs.getSucessLimit()
+						|| runStats.getFailure() == bulkReaderArgs.getFailLimit()) {
+					stop.set(true);
+				}
+			}
+
+			if (!stop.get() && readerFailure.get() != null) {
+				throw new PatentReaderException("Record reader failed on '" + currentFileName + "'",
+						readerFailure.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PatentReaderException("Interrupted while processing " + currentFileName, e);
+		} finally {
+			stop.set(true);
+			readerThread.interrupt();
+			inFlight.clear();
+			workers.shutdownNow();
+			try {
+				workers.awaitTermination(1, TimeUnit.MINUTES);
+				readerThread.join(TimeUnit.MINUTES.toMillis(1));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		return runStats;
+	}
+
+	private RecordResult processRecord(RecordProcessor processor, String sourceTxt, String rawRecord)
+			throws PatentReaderException {
+		MDC.put("DOCID", sourceTxt);
+
+		StringWriter recordWriter = new StringWriter();
+		boolean success;
+		try {
+			Boolean processed = processor.process(sourceTxt, rawRecord, recordWriter);
+			success = processed != null && processed;
+		} catch (DocumentException | IOException e) {
+			LOGGER.error("Exception occured on '{}'", sourceTxt, e);
+			success = false;
+		} finally {
+			// worker threads are pooled, do not leave the record id to the next task.
+			MDC.remove("DOCID");
+		}
+
+		return new RecordResult(sourceTxt, success, recordWriter.toString());
+	}
+
+	private RecordResult getResult(Future<RecordResult> future) throws PatentReaderException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof PatentReaderException) {
+				throw (PatentReaderException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new PatentReaderException(cause);
+		}
+	}
+
+	private static class RecordResult {
+		private final String sourceTxt;
+		private final boolean success;
+		private final String output;
+
+		public RecordResult(String sourceTxt, boolean success, String output) {
+			this.sourceTxt = sourceTxt;
+			this.success = success;
+			this.output = output;
+		}
+	}
+}
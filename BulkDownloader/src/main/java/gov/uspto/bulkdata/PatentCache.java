@@ -0,0 +1,84 @@
+package gov.uspto.bulkdata;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gov.uspto.common.text.StringCaseUtil;
+import gov.uspto.patent.PatentReader;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.serialize.binary.PatentBinaryReader;
+import gov.uspto.patent.serialize.binary.PatentBinaryWriter;
+
+/**
+ * Patent Cache
+ *
+ * <p>
+ * Parsed Patent of each bulk file record, kept in a {@link RecordCache} as a
+ * binary record; a record already parsed by an earlier run is read from its
+ * binary record instead of parsing the XML again.
+ * </p>
+ *
+ * <p>
+ * Entries are removed when the parser or the Common module it uses is rebuilt,
+ * or the binary record format version changes. Binary records keep the raw text of text fields, plain text
+ * is generated with the FreetextConfig of the serializer when written, so
+ * entries remain valid when FreetextConfig changes.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class PatentCache {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PatentCache.class);
+
+	private final RecordCache recordCache;
+	private final PatentBinaryReader binaryReader = new PatentBinaryReader();
+	private final PatentBinaryWriter binaryWriter = new PatentBinaryWriter();
+
+	public PatentCache(Path cacheDir, long maxBytes) throws IOException {
+		this.recordCache = new RecordCache(cacheDir, version(), maxBytes);
+	}
+
+	/**
+	 * Version of binary record format, and code of the parser, binary writer and
+	 * Common module.
+	 */
+	public static String version() throws IOException {
+		return "binary:" + PatentBinaryWriter.VERSION + ";"
+				+ RecordCache.codeVersion(PatentReader.class, PatentBinaryWriter.class, StringCaseUtil.class);
+	}
+
+	/**
+	 * Read Patent from cache, else parse and cache it.
+	 *
+	 * @param patentReader
+	 * @param rawRecord
+	 * @return Patent
+	 * @throws PatentReaderException
+	 * @throws IOException
+	 */
+	public Patent read(PatentReader patentReader, String rawRecord) throws PatentReaderException, IOException {
+		String key = RecordCache.key(rawRecord);
+
+		byte[] record = recordCache.get(key);
+		if (record != null) {
+			try {
+				return binaryReader.read(record);
+			} catch (PatentReaderException | RuntimeException e) {
+				LOGGER.warn("Invalid cached binary record {}, parsing record", key, e);
+			}
+		}
+
+		Patent patent = patentReader.read(rawRecord);
+		recordCache.put(key, binaryWriter.toBytes(patent));
+		return patent;
+	}
+
+	public RecordCache getRecordCache() {
+		return recordCache;
+	}
+}
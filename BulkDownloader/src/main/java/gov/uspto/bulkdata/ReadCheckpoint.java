@@ -0,0 +1,295 @@
+package gov.uspto.bulkdata;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import gov.uspto.common.io.CommitFileWriter;
+
+/**
+ * Read Checkpoint
+ *
+ * <p>
+ * Durable progress of a bulk read, saved as "ReadCheckpoint.json" within the
+ * output directory. For each bulk file it keeps the last committed record, the
+ * committed length of each output file and whether the bulk file is complete.
+ * </p>
+ *
+ * <p>
+ * A restarted read skips complete bulk files, truncates output files back to
+ * their committed length and resumes at the record after the last committed
+ * record, so each record is written exactly once.
+ * </p>
+ *
+ * @author Brian G. Feldman <brian.feldman@uspto.gov>
+ *
+ */
+public class ReadCheckpoint {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReadCheckpoint.class);
+
+	private static final String CHECKPOINT_FILE = "ReadCheckpoint.json";
+
+	private static ObjectMapper JSON_MAPPER = new ObjectMapper();
+	static {
+		JSON_MAPPER.enable(SerializationFeature.INDENT_OUTPUT);
+	}
+
+	private Path checkpointDir;
+	private Map<String, FileCheckpoint> files = new TreeMap<String, FileCheckpoint>();
+
+	public ReadCheckpoint() {
+		// used by Jackson.
+	}
+
+	public ReadCheckpoint(Path checkpointDir) {
+		this.checkpointDir = checkpointDir;
+	}
+
+	@JsonIgnore
+	public Path getCheckpointDir() {
+		return checkpointDir;
+	}
+
+	public synchronized Map<String, FileCheckpoint> getFiles() {
+		return files;
+	}
+
+	public synchronized void setFiles(Map<String, FileCheckpoint> files) {
+		this.files = new TreeMap<String, FileCheckpoint>(files);
+	}
+
+	public synchronized FileCheckpoint getFile(String fileName) {
+		return files.get(fileName);
+	}
+
+	public synchronized boolean isComplete(String fileName) {
+		FileCheckpoint fileCheckpoint = files.get(fileName);
+		return fileCheckpoint != null && fileCheckpoint.isComplete();
+	}
+
+	/**
+	 * Committed length of an output file, the largest committed by any bulk file
+	 * writing to it.
+	 *
+	 * @param outputFile
+	 * @return committed length, or 0 when not committed
+	 */
+	public synchronized long getOutputLength(Path outputFile) {
+		String output = outputFile.toAbsolutePath().toString();
+		long length = 0;
+		for (FileCheckpoint fileCheckpoint : files.values()) {
+			Long committed = fileCheckpoint.getOutputs().get(output);
+			if (committed != null && committed > length) {
+				length = committed;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Record committed progress of a bulk file and save to disk.
+	 *
+	 * @param fileName - bulk file name
+	 * @param record   - last committed record number
+	 * @param outputs  - committed length of output files written
+	 * @param complete - bulk file has been fully read
+	 * @throws IOException
+	 */
+	public synchronized void commit(String fileName, int record, Map<Path, Long> outputs, boolean complete)
+			throws IOException {
+		FileCheckpoint fileCheckpoint = files.get(fileName);
+		if (fileCheckpoint == null) {
+			fileCheckpoint = new FileCheckpoint();
+			files.put(fileName, fileCheckpoint);
+		}
+
+		fileCheckpoint.setRecord(record);
+		fileCheckpoint.setComplete(complete);
+		for (Entry<Path, Long> output : outputs.entrySet()) {
+			fileCheckpoint.getOutputs().put(output.getKey().toAbsolutePath().toString(), output.getValue());
+		}
+
+		save();
+	}
+
+	/**
+	 * Truncate output files of a bulk file to their committed length, dropping
+	 * records written after the last commit.
+	 *
+	 * @param fileName - bulk file name
+	 * @param skip     - output file already truncated when opened
+	 * @throws IOException
+	 */
+	public synchronized void truncateOutputs(String fileName, Path skip) throws IOException {
+		FileCheckpoint fileCheckpoint = files.get(fileName);
+		if (fileCheckpoint == null) {
+			return;
+		}
+
+		String skipOutput = skip != null ? skip.toAbsolutePath().toString() : null;
+		for (Entry<String, Long> output : fileCheckpoint.getOutputs().entrySet()) {
+			if (output.getKey().equals(skipOutput)) {
+				continue;
+			}
+			File outputFile = new File(output.getKey());
+			if (outputFile.length() < output.getValue()) {
+				throw new IOException("File '" + outputFile + "' is shorter than its committed length: " + output.getValue());
+			}
+			try (RandomAccessFile raf = new RandomAccessFile(outputFile, "rw")) {
+				raf.setLength(output.getValue());
+			}
+			LOGGER.info("Truncated '{}' to committed length {}", outputFile, output.getValue());
+		}
+	}
+
+	/**
+	 * Persist State to Disk, replacing the checkpoint file only once fully written.
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void save() throws IOException {
+		File checkpointFile = new File(checkpointDir.toFile(), CHECKPOINT_FILE);
+		File tempFile = new File(checkpointDir.toFile(), CHECKPOINT_FILE + ".tmp");
+
+		try (FileOutputStream outFile = new FileOutputStream(tempFile)) {
+			outFile.write(JSON_MAPPER.writeValueAsBytes(this));
+			outFile.getChannel().force(true);
+		}
+
+		Files.move(tempFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Restore State from Disk, or new checkpoint when none saved.
+	 *
+	 * @param checkpointDir
+	 * @return
+	 * @throws IOException
+	 */
+	public static ReadCheckpoint restore(Path checkpointDir) throws IOException {
+		File checkpointFile = new File(checkpointDir.toFile(), CHECKPOINT_FILE);
+		if (!checkpointFile.isFile()) {
+			return new ReadCheckpoint(checkpointDir);
+		}
+
+		ReadCheckpoint checkpoint = JSON_MAPPER.readValue(checkpointFile, ReadCheckpoint.class);
+		checkpoint.checkpointDir = checkpointDir;
+		LOGGER.info("Restored checkpoint '{}' with {} files", checkpointFile, checkpoint.files.size());
+		return checkpoint;
+	}
+
+	/**
+	 * Committer for a bulk file being read.
+	 *
+	 * @param fileName    - bulk file name
+	 * @param startRecord - record number the read starts at
+	 * @param interval    - records between commits
+	 * @param processor
+	 * @param writer
+	 * @return
+	 */
+	public Committer committer(String fileName, int startRecord, int interval, RecordProcessor processor,
+			Writer writer) {
+		return new Committer(fileName, startRecord, interval, processor, writer);
+	}
+
+	@Override
+	public String toString() {
+		return "ReadCheckpoint [checkpointDir=" + checkpointDir + ", files=" + files + "]";
+	}
+
+	/**
+	 * Commits records of a bulk file as they are written in source order.
+	 */
+	public class Committer {
+		private final String fileName;
+		private final int baseRecord;
+		private final int interval;
+		private final RecordProcessor processor;
+		private final Writer writer;
+
+		private Committer(String fileName, int startRecord, int interval, RecordProcessor processor, Writer writer) {
+			this.fileName = fileName;
+			this.baseRecord = startRecord > 1 ? startRecord - 1 : 0;
+			this.interval = interval;
+			this.processor = processor;
+			this.writer = writer;
+		}
+
+		/**
+		 * Called after each record is written, commits every interval records.
+		 *
+		 * @param runStats - stats of records written
+		 * @throws IOException
+		 */
+		public void recordWritten(RunStats runStats) throws IOException {
+			if (runStats.getRecord() % interval == 0) {
+				commit(runStats, false);
+			}
+		}
+
+		public void commit(RunStats runStats, boolean complete) throws IOException {
+			writer.flush();
+
+			Map<Path, Long> outputs = new HashMap<Path, Long>(processor.commit());
+			if (writer instanceof CommitFileWriter) {
+				CommitFileWriter fileWriter = (CommitFileWriter) writer;
+				outputs.put(fileWriter.getPath(), fileWriter.commit());
+			}
+
+			ReadCheckpoint.this.commit(fileName, baseRecord + (int) runStats.getRecord(), outputs, complete);
+		}
+	}
+
+	public static class FileCheckpoint {
+		private int record;
+		private boolean complete;
+		private Map<String, Long> outputs = new TreeMap<String, Long>();
+
+		public int getRecord() {
+			return record;
+		}
+
+		public void setRecord(int record) {
+			this.record = record;
+		}
+
+		public boolean isComplete() {
+			return complete;
+		}
+
+		public void setComplete(boolean complete) {
+			this.complete = complete;
+		}
+
+		public Map<String, Long> getOutputs() {
+			return outputs;
+		}
+
+		public void setOutputs(Map<String, Long> outputs) {
+			this.outputs = new TreeMap<String, Long>(outputs);
+		}
+
+		@Override
+		public String toString() {
+			return "FileCheckpoint [record=" + record + ", complete=" + complete + ", outputs=" + outputs + "]";
+		}
+	}
+}
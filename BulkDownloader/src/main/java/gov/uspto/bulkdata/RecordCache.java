@@ -0,0 +1,340 @@
+package gov.uspto.bulkdata;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+
+/**
+ * Record Cache
+ *
+ * <p>
+ * On-disk, content addressed cache of a result per bulk file record, such as
+ * the parsed Patent, so repeated runs over overlapping bulk files skip parsing
+ * records already seen. Entries are keyed by the SHA-256 hash of the raw
+ * record, a file per entry within the cache directory.
+ * </p>
+ *
+ * <p>
+ * The cache directory is bounded to maxBytes, the least recently used entries
+ * are removed first; entry file modified times keep the order across runs. All
+ * entries are removed when opened with a version other than the one they were
+ * written with, build the version from everything the cached result depends
+ * on, see {@link #version(Object...)} and {@link #codeVersion(Class...)}.
+ * </p>
+ *
+ * <code><pre>
+ * RecordCache cache = new RecordCache(cacheDir, version, 1024 * 1024 * 1024L);
+ * String key = RecordCache.key(rawRecord);
+ * byte[] value = cache.get(key);
+ * if (value == null) {
+ *     value = ...;
+ *     cache.put(key, value);
+ * }
+ * </pre></code>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class RecordCache {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RecordCache.class);
+
+	private static final String VERSION_FILE = "RecordCache.version";
+	private static final String TEMP_SUFFIX = ".tmp";
+	private static final int KEY_LENGTH = 64;
+
+	/**
+	 * Version of each code location, jar file or classes directory; computed once.
+	 */
+	private static final Map<File, String> LOCATION_VERSIONS = new ConcurrentHashMap<File, String>();
+
+	private final Path cacheDir;
+	private final String version;
+	private final long maxBytes;
+	private final LinkedHashMap<String, Long> entries = new LinkedHashMap<String, Long>(16, 0.75f, true);
+	private long totalBytes = 0;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Open cache directory, creating it when missing.
+	 *
+	 * @param cacheDir
+	 * @param version  - entries written with another version are removed
+	 * @param maxBytes - size bound of all entries
+	 * @throws IOException
+	 */
+	public RecordCache(Path cacheDir, String version, long maxBytes) throws IOException {
+		Preconditions.checkNotNull(cacheDir, "cacheDir is required");
+		Preconditions.checkNotNull(version, "version is required");
+		Preconditions.checkArgument(maxBytes > 0, "maxBytes must be greater than 0");
+		this.cacheDir = cacheDir;
+		this.version = version;
+		this.maxBytes = maxBytes;
+		open();
+	}
+
+	private void open() throws IOException {
+		Files.createDirectories(cacheDir);
+
+		Path versionFile = cacheDir.resolve(VERSION_FILE);
+		String previous = Files.exists(versionFile)
+				? new String(Files.readAllBytes(versionFile), StandardCharsets.UTF_8).trim()
+				: null;
+
+		// only entry files, never other files of a misconfigured cache directory.
+		List<Path> files = new ArrayList<Path>();
+		try (Stream<Path> stream = Files.walk(cacheDir, 2)) {
+			stream.filter(p -> cacheDir.relativize(p).getNameCount() == 2).filter(this::isEntryFile)
+					.forEach(files::add);
+		}
+
+		if (!version.equals(previous)) {
+			if (!files.isEmpty()) {
+				LOGGER.info("Record cache '{}' version changed, removing {} entries", cacheDir, files.size());
+			}
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+			files.clear();
+			Path tempFile = cacheDir.resolve(VERSION_FILE + TEMP_SUFFIX);
+			Files.write(tempFile, version.getBytes(StandardCharsets.UTF_8));
+			Files.move(tempFile, versionFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+		// least recently used first.
+		files.sort(Comparator.comparingLong((Path p) -> p.toFile().lastModified()));
+		for (Path file : files) {
+			String name = file.getFileName().toString();
+			if (name.endsWith(TEMP_SUFFIX)) {
+				Files.deleteIfExists(file); // left by an interrupted put.
+				continue;
+			}
+			long size = file.toFile().length();
+			entries.put(name, size);
+			totalBytes += size;
+		}
+		evict();
+
+		LOGGER.info("Record cache '{}' opened with {} entries, {} bytes", cacheDir, entries.size(), totalBytes);
+	}
+
+	/**
+	 * Cache key of raw record.
+	 *
+	 * @param rawRecord
+	 * @return SHA-256 hex
+	 */
+	public static String key(String rawRecord) {
+		return Hashing.sha256().hashString(rawRecord, StandardCharsets.UTF_8).toString();
+	}
+
+	/**
+	 * Version from its parts, hashed to keep the version file small; such as output
+	 * settings, XPath field definitions or FreetextConfig of a cached result.
+	 *
+	 * @param parts
+	 * @return version
+	 */
+	public static String version(Object... parts) {
+		return Hashing.sha256().hashString(Joiner.on('\n').useForNull("null").join(parts), StandardCharsets.UTF_8)
+				.toString();
+	}
+
+	/**
+	 * Version of the code classes are loaded from, a class of each module the
+	 * cached result depends on: the size and modified time of its jar file, or the
+	 * newest modified time within its classes directory; so any rebuild of a
+	 * module invalidates results cached by an older build. The version of a jar
+	 * file or classes directory is computed once.
+	 *
+	 * @param classes - a class of each module
+	 * @return version
+	 * @throws IOException
+	 */
+	public static String codeVersion(Class<?>... classes) throws IOException {
+		List<String> versions = new ArrayList<String>(classes.length);
+		for (Class<?> clazz : classes) {
+			versions.add(codeVersion(clazz));
+		}
+		return Joiner.on(';').join(versions);
+	}
+
+	private static String codeVersion(Class<?> clazz) throws IOException {
+		String implVersion = clazz.getPackage() != null ? clazz.getPackage().getImplementationVersion() : null;
+
+		CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+		if (codeSource == null || codeSource.getLocation() == null) {
+			return clazz.getName() + ":" + implVersion;
+		}
+
+		File location;
+		try {
+			location = new File(codeSource.getLocation().toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return clazz.getName() + ":" + implVersion + ":" + codeSource.getLocation();
+		}
+
+		String locationVersion = LOCATION_VERSIONS.get(location);
+		if (locationVersion == null) {
+			locationVersion = locationVersion(location);
+			LOCATION_VERSIONS.putIfAbsent(location, locationVersion);
+		}
+
+		return clazz.getName() + ":" + implVersion + ":" + locationVersion;
+	}
+
+	private static String locationVersion(File location) throws IOException {
+		long lastModified;
+		long size;
+		if (location.isDirectory()) {
+			try (Stream<Path> stream = Files.walk(location.toPath())) {
+				lastModified = stream.mapToLong(p -> p.toFile().lastModified()).max().orElse(0);
+			}
+			size = 0;
+		} else {
+			lastModified = location.lastModified();
+			size = location.length();
+		}
+		return location.getName() + ":" + size + ":" + lastModified;
+	}
+
+	public Path getCacheDir() {
+		return cacheDir;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	/**
+	 * Cached value.
+	 *
+	 * @param key - from {@link #key(String)}
+	 * @return value, or null when not cached
+	 */
+	public byte[] get(String key) {
+		synchronized (this) {
+			if (entries.get(key) == null) {
+				misses.incrementAndGet();
+				return null;
+			}
+		}
+
+		Path file = entryPath(key);
+		try {
+			byte[] value = Files.readAllBytes(file);
+			file.toFile().setLastModified(System.currentTimeMillis());
+			hits.incrementAndGet();
+			return value;
+		} catch (NoSuchFileException e) {
+			// removed by eviction, or another process sharing the cache directory.
+			remove(key);
+		} catch (IOException e) {
+			LOGGER.warn("Failed to read record cache entry: {}", file, e);
+			remove(key);
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Cache value, removing least recently used entries when over maxBytes.
+	 *
+	 * @param key   - from {@link #key(String)}
+	 * @param value
+	 * @throws IOException
+	 */
+	public void put(String key, byte[] value) throws IOException {
+		Path file = entryPath(key);
+		Files.createDirectories(file.getParent());
+		Path tempFile = file.resolveSibling(key + "." + Thread.currentThread().getId() + TEMP_SUFFIX);
+		Files.write(tempFile, value);
+		Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		synchronized (this) {
+			Long previous = entries.put(key, (long) value.length);
+			totalBytes += value.length - (previous != null ? previous : 0);
+			evict();
+		}
+	}
+
+	private synchronized void remove(String key) {
+		Long size = entries.remove(key);
+		if (size != null) {
+			totalBytes -= size;
+		}
+	}
+
+	private synchronized void evict() {
+		Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+		while (totalBytes > maxBytes && it.hasNext()) {
+			Map.Entry<String, Long> eldest = it.next();
+			it.remove();
+			totalBytes -= eldest.getValue();
+			try {
+				Files.deleteIfExists(entryPath(eldest.getKey()));
+			} catch (IOException e) {
+				LOGGER.warn("Failed to remove record cache entry: {}", eldest.getKey(), e);
+			}
+		}
+	}
+
+	/**
+	 * Entries are spread over subdirectories by the first two characters of their
+	 * key.
+	 */
+	private Path entryPath(String key) {
+		return cacheDir.resolve(key.substring(0, 2)).resolve(key);
+	}
+
+	private boolean isEntryFile(Path file) {
+		String dirName = file.getParent().getFileName().toString();
+		String name = file.getFileName().toString();
+		return Files.isRegularFile(file) && dirName.length() == 2 && name.startsWith(dirName)
+				&& (name.length() == KEY_LENGTH || name.endsWith(TEMP_SUFFIX));
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long getTotalBytes() {
+		return totalBytes;
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	@Override
+	public String toString() {
+		return "RecordCache [cacheDir=" + cacheDir + ", entries=" + size() + ", totalBytes=" + getTotalBytes()
+				+ ", hits=" + getHits() + ", misses=" + getMisses() + "]";
+	}
+}
@@ -2,6 +2,9 @@ package gov.uspto.bulkdata;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
 
 import gov.uspto.bulkdata.tools.grep.DocumentException;
 import gov.uspto.patent.PatentDocFormat;
@@ -29,4 +32,37 @@ public interface RecordProcessor {
 	 * @param docFormat
 	 */
 	void setPatentDocFormat(PatentDocFormat docFormat);
+
+	/**
+	 * Processor is safe to call process() concurrently from multiple threads,
+	 * allowing RecordReader to run it within the parallel record pipeline.
+	 * 
+	 * @return true when process() is thread-safe
+	 */
+	default boolean isThreadSafe() {
+		return false;
+	}
+
+	/**
+	 * Flush output files the processor writes itself, called by RecordReader when
+	 * committing a checkpoint; records must be written in source order.
+	 * 
+	 * @return committed length of each output file written by the processor
+	 * @throws IOException
+	 */
+	default Map<Path, Long> commit() throws IOException {
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * Write output process() held back for the record, called after each record
+	 * in source order; from the writer stage when records are processed by the
+	 * parallel record pipeline.
+	 * 
+	 * @param sourceTxt - source of record passed to process()
+	 * @throws IOException
+	 */
+	default void writeOrdered(String sourceTxt) throws IOException {
+		// nothing held back.
+	}
 }
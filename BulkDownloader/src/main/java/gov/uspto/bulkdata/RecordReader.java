@@ -7,11 +7,16 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 import org.apache.commons.io.IOCase;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
@@ -21,28 +26,107 @@ import org.slf4j.MDC;
 
 import gov.uspto.bulkdata.tools.grep.DocumentException;
 import gov.uspto.common.filter.FileFilterChain;
+import gov.uspto.common.io.CommitFileWriter;
 import gov.uspto.common.io.DummyWriter;
 import gov.uspto.patent.PatentDocFormat;
 import gov.uspto.patent.PatentDocFormatDetect;
 import gov.uspto.patent.PatentReader;
 import gov.uspto.patent.PatentReaderException;
 import gov.uspto.patent.bulk.DumpFileAps;
-import gov.uspto.patent.bulk.DumpFileXml;
+import gov.uspto.patent.bulk.DumpFileIndexed;
+import gov.uspto.patent.bulk.DumpFileXmlBytes;
 import gov.uspto.patent.bulk.DumpReader;
+import gov.uspto.patent.bulk.RecordIndex;
 
 public class RecordReader {
 	private static final Logger LOGGER = LoggerFactory.getLogger(RecordReader.class);
 
 	private final BulkReaderArguments bulkReaderArgs;
+	private ReadCheckpoint checkpoint;
+	private PatentCache patentCache;
 
 	public RecordReader(BulkReaderArguments args) {
 		this.bulkReaderArgs = args;
 	}
 
+	/**
+	 * Checkpoint restored from, and saved to, the checkpoint directory when
+	 * checkpointing is enabled.
+	 * 
+	 * @return checkpoint, or null when not enabled
+	 * @throws IOException
+	 */
+	public synchronized ReadCheckpoint getCheckpoint() throws IOException {
+		if (checkpoint == null && bulkReaderArgs.isCheckpoint()) {
+			Path checkpointDir = bulkReaderArgs.getCheckpointDir();
+			if (checkpointDir == null) {
+				LOGGER.warn("Checkpoint disabled, requires an output file or directory.");
+				bulkReaderArgs.setCheckpoint(false);
+			} else {
+				checkpoint = ReadCheckpoint.restore(checkpointDir);
+			}
+		}
+		return checkpoint;
+	}
+
+	/**
+	 * Patent cache within the cache directory, shared by all processors of the
+	 * read.
+	 * 
+	 * @return patent cache, or null when no cache directory
+	 * @throws IOException
+	 */
+	public synchronized PatentCache getPatentCache() throws IOException {
+		if (patentCache == null && bulkReaderArgs.getCacheDir() != null) {
+			patentCache = new PatentCache(bulkReaderArgs.getCacheDir().resolve("patent"), cacheBytes());
+		}
+		return patentCache;
+	}
+
+	/**
+	 * Record cache within the cache directory, for results other than a parsed
+	 * Patent.
+	 * 
+	 * @param name    - subdirectory of the cache directory
+	 * @param version - of the cached result
+	 * @return record cache, or null when no cache directory
+	 * @throws IOException
+	 */
+	public RecordCache newRecordCache(String name, String version) throws IOException {
+		if (bulkReaderArgs.getCacheDir() == null) {
+			return null;
+		}
+		return new RecordCache(bulkReaderArgs.getCacheDir().resolve(name), version, cacheBytes());
+	}
+
+	private long cacheBytes() {
+		return bulkReaderArgs.getCacheSize() * 1024L * 1024L;
+	}
+
 	public RunStats read(RecordProcessor processor) throws PatentReaderException, IOException, DocumentException {
 		return this.read(bulkReaderArgs.getInputFile().toFile(), processor, bulkReaderArgs.getOutputFile());
 	}
 
+	/**
+	 * Read, with a new processor per bulk file; bulk files of an input directory
+	 * are read concurrently when fileThreads is greater than 1.
+	 * 
+	 * @param processors - factory of a new processor per bulk file
+	 * @return
+	 * @throws PatentReaderException
+	 * @throws IOException
+	 */
+	public RunStats read(Supplier<RecordProcessor> processors) throws PatentReaderException, IOException {
+		File inputFile = bulkReaderArgs.getInputFile().toFile();
+		Path outputFilePath = bulkReaderArgs.getOutputFile();
+
+		if (inputFile.isDirectory()) {
+			return readDirectory(inputFile, processors, outputFilePath);
+		}
+
+		return read(inputFile, processors.get(), newWriter(outputFilePath));
+	}
+
 	/**
 	 * Read, processor does not write (i.e. using Grep for hasMatch only)
 	 * 
@@ -73,16 +157,28 @@ public class RecordReader {
 	public RunStats read(File inputFile, RecordProcessor processor, Path outputFilePath)
 			throws PatentReaderException, DocumentException, IOException {
 
-		Writer writer = null;
-		if (outputFilePath != null) {
-			writer = new BufferedWriter(
+		return read(inputFile, processor, newWriter(outputFilePath));
+	}
+
+	/**
+	 * Writer to FILE, or STDOUT when outputFilePath is null.
+	 * 
+	 * @param outputFilePath
+	 * @return
+	 * @throws IOException
+	 */
+	public Writer newWriter(Path outputFilePath) throws IOException {
+		if (outputFilePath != null && getCheckpoint() != null) {
+			// continue from committed length, dropping uncommitted records.
+			return new CommitFileWriter(outputFilePath, StandardCharsets.UTF_16,
+					getCheckpoint().getOutputLength(outputFilePath));
+		} else if (outputFilePath != null) {
+			return new BufferedWriter(
 					new OutputStreamWriter(new FileOutputStream(outputFilePath.toFile()), Charset.forName("UTF-16")));
 		} else {
 			// Eclipse Console does not support UTF-16.
-			writer = new BufferedWriter(new OutputStreamWriter(System.out, Charset.forName("UTF-8")));
+			return new BufferedWriter(new OutputStreamWriter(System.out, Charset.forName("UTF-8")));
 		}
-
-		return read(inputFile, processor, writer);
 	}
 
 	public RunStats read(File inputFile, RecordProcessor processor, Writer writer)
@@ -92,6 +188,11 @@ public class RecordReader {
 			return readDirectory(inputFile, processor, writer);
 		}
 
+		if (getCheckpoint() != null && getCheckpoint().isComplete(inputFile.getName())) {
+			LOGGER.info("--- Skipping File '{}', complete within checkpoint", inputFile.getName());
+			return new RunStats(inputFile.getName());
+		}
+
 		FileFilterChain filters = new FileFilterChain();
 		DumpReader dumpReader;
 		if (bulkReaderArgs.isApsPatent()) {
@@ -108,13 +209,24 @@ public class RecordReader {
 				// filters.addRule(new SuffixFilter("txt"));
 				break;
 			default:
-				// DumpFileXml2 dumpXml = new DumpFileXml2(inputFile);
-				DumpFileXml dumpXml = new DumpFileXml(inputFile);
-				if (PatentDocFormat.Pap.equals(patentDocFormat) || bulkReaderArgs.addHtmlEntities()) {
-					dumpXml.addHTMLEntities();
+				boolean htmlEntities = PatentDocFormat.Pap.equals(patentDocFormat) || bulkReaderArgs.addHtmlEntities();
+				RecordIndex index = RecordIndex.load(inputFile);
+				if (index != null) {
+					// seek using the record index sidecar file.
+					DumpFileIndexed dumpIndexed = new DumpFileIndexed(inputFile, index);
+					if (htmlEntities) {
+						dumpIndexed.addHTMLEntities();
+					}
+					dumpReader = dumpIndexed;
+				} else {
+					// DumpFileXml dumpXml = new DumpFileXml(inputFile);
+					DumpFileXmlBytes dumpXml = new DumpFileXmlBytes(inputFile);
+					if (htmlEntities) {
+						dumpXml.addHTMLEntities();
+					}
+					dumpReader = dumpXml;
 				}
 				filters.addRule(new SuffixFileFilter(new String[] { "xml", "sgm", "sgml"}, IOCase.INSENSITIVE));
-				dumpReader = dumpXml;
 			}
 			dumpReader.setFileFilter(filters);
 		}
@@ -126,6 +238,87 @@ public class RecordReader {
 
 		RunStats runStats = new RunStats("directory:" + inputDirectory.getName());
 
+		List<Path> files;
+		try {
+			files = listDirectory(inputDirectory);
+		} catch (IOException e1) {
+			runStats.incrementFailure(inputDirectory.toString());
+			LOGGER.error("!!! Failed to read directory: {}", inputDirectory, e1);
+			return runStats;
+		}
+
+		for (Path filePath : files) {
+			String filename = filePath.getFileName().toString();
+			MDC.put("DOCID", filename);
+			LOGGER.info("--- Reading File: {}", filename);
+			try {
+				RunStats fileStats = read(filePath.toFile(), processor, writer);
+				LOGGER.info("--- Done Reading File '{}' { success: {}, failure: {} }", filename,
+						fileStats.getSuccess(), fileStats.getFailure());
+				runStats.add(fileStats);
+			} catch (PatentReaderException | IOException | RuntimeException e) {
+				LOGGER.error("!!! Failed Reading File: {}", filename, e);
+			}
+		}
+
+		return runStats;
+	}
+
+	/**
+	 * Read bulk files of a directory, with a new processor per bulk file.
+	 * 
+	 * <p>
+	 * When fileThreads is greater than 1 bulk files are read concurrently by
+	 * {@link ParallelDirectoryReader}, each to its own partition of the output
+	 * file.
+	 * </p>
+	 * 
+	 * @param inputDirectory
+	 * @param processors     - factory of a new processor per bulk file
+	 * @param outputFilePath - output file, or null for STDOUT
+	 * @return directory RunStats, with per-file RunStats as children
+	 * @throws IOException
+	 */
+	public RunStats readDirectory(File inputDirectory, Supplier<RecordProcessor> processors, Path outputFilePath)
+			throws IOException {
+		if (bulkReaderArgs.getFileThreads() <= 1) {
+			return readDirectory(inputDirectory, processors.get(), newWriter(outputFilePath));
+		}
+
+		RunStats runStats = new RunStats("directory:" + inputDirectory.getName());
+
+		List<Path> files;
+		try {
+			files = listDirectory(inputDirectory);
+		} catch (IOException e1) {
+			runStats.incrementFailure(inputDirectory.toString());
+			LOGGER.error("!!! Failed to read directory: {}", inputDirectory, e1);
+			return runStats;
+		}
+
+		int memoryBudget = bulkReaderArgs.getMemoryBudget() > 0 ? bulkReaderArgs.getMemoryBudget()
+				: ParallelDirectoryReader.defaultMemoryBudget();
+
+		Writer writer = outputFilePath == null ? newWriter(null) : null;
+
+		new ParallelDirectoryReader(this, bulkReaderArgs.getFileThreads(), memoryBudget).read(files, processors,
+				outputFilePath, writer, runStats);
+
+		if (writer != null) {
+			writer.flush();
+		}
+
+		return runStats;
+	}
+
+	/**
+	 * Bulk zip files of a directory, in file name order.
+	 * 
+	 * @param inputDirectory
+	 * @return
+	 * @throws IOException
+	 */
+	public List<Path> listDirectory(File inputDirectory) throws IOException {
 		DirectoryStream.Filter<Path> filter = new DirectoryStream.Filter<Path>() {
 			// regular files modified over 20 seconds ago
 			public boolean accept(Path file) throws IOException {
@@ -136,43 +329,89 @@ public class RecordReader {
 			}
 		};
 
+		List<Path> files = new ArrayList<Path>();
 		try (DirectoryStream<Path> stream = Files.newDirectoryStream(inputDirectory.toPath(), filter)) {
 			for (Path filePath : stream) {
-				String filename = filePath.getFileName().toString();
-				MDC.put("DOCID", filename);
-				LOGGER.info("--- Reading File: {}", filename);
-				try {
-					RunStats fileStats = read(filePath.toFile(), processor, writer);
-					LOGGER.info("--- Done Reading File '{}' { success: {}, failure: {} }", filename,
-							fileStats.getSuccess(), fileStats.getFailure());
-					runStats.add(fileStats);
-				} catch (PatentReaderException | IOException e) {
-					LOGGER.error("!!! Failed Reading File: {}", filename, e);
-				}
+				files.add(filePath);
 			}
-		} catch (IOException e1) {
-			runStats.incrementFailure(inputDirectory.toString());
-			LOGGER.error("!!! Failed to read directory: {}", inputDirectory, e1);
 		}
-
-		return runStats;
+		Collections.sort(files);
+		return files;
 	}
 
 	public RunStats read(DumpReader dumpReader, RecordProcessor processor, Writer writer)
 			throws PatentReaderException, IOException {
 
 		dumpReader.open();
-		dumpReader.skip(bulkReaderArgs.getSkipRecordCount());
 
 		String currentFileName = dumpReader.getFile().getName();
 		RunStats runStats = new RunStats(currentFileName);
 
+		int startRecord = bulkReaderArgs.getSkipRecordCount();
+		ReadCheckpoint.Committer committer = null;
+		if (getCheckpoint() != null) {
+			ReadCheckpoint.FileCheckpoint fileCheckpoint = getCheckpoint().getFile(currentFileName);
+			if (fileCheckpoint != null) {
+				startRecord = fileCheckpoint.getRecord() + 1;
+				Path writerPath = writer instanceof CommitFileWriter ? ((CommitFileWriter) writer).getPath() : null;
+				getCheckpoint().truncateOutputs(currentFileName, writerPath);
+				LOGGER.info("Resuming '{}' at record {} from checkpoint", currentFileName, startRecord);
+			}
+			committer = getCheckpoint().committer(currentFileName, startRecord,
+					bulkReaderArgs.getCheckpointInterval(), processor, writer);
+		}
+
+		dumpReader.skip(startRecord);
+
 		try {
 			processor.initialize(writer);
 		} catch (Exception e1) {
 			throw new PatentReaderException("Failed to Initialize Processor " + processor.getClass(), e1);
 		}
 
+		if (bulkReaderArgs.getThreads() > 1 && processor.isThreadSafe()) {
+			LOGGER.info("Parallel read of '{}' using {} threads", currentFileName, bulkReaderArgs.getThreads());
+			new ParallelRecordPipeline(bulkReaderArgs).process(dumpReader, processor, writer, runStats, committer);
+		} else {
+			if (bulkReaderArgs.getThreads() > 1) {
+				LOGGER.warn("Processor {} is not thread-safe, reading with single thread.",
+						processor.getClass().getSimpleName());
+			}
+			readSequential(dumpReader, processor, writer, runStats, committer);
+		}
+
+		boolean complete = !dumpReader.hasNext() && !limitReached(runStats);
+
+		try {
+			if (committer != null) {
+				committer.commit(runStats, false);
+			}
+			processor.finish(writer);
+			if (committer != null) {
+				committer.commit(runStats, complete);
+			}
+		} catch (IOException e1) {
+			throw new PatentReaderException("Failed when calling processor finish()", e1);
+		}
+
+		dumpReader.close();
+
+		return runStats;
+	}
+
+	/**
+	 * Record, success or fail limit reached, the bulk file was not fully read.
+	 */
+	private boolean limitReached(RunStats runStats) {
+		return runStats.getRecord() == bulkReaderArgs.getRecordReadLimit()
+				|| runStats.getSuccess() == bulkReaderArgs.getSucessLimit()
+				|| runStats.getFailure() == bulkReaderArgs.getFailLimit();
+	}
+
+	private void readSequential(DumpReader dumpReader, RecordProcessor processor, Writer writer, RunStats runStats,
+			ReadCheckpoint.Committer committer) throws PatentReaderException {
+		String currentFileName = dumpReader.getFile().getName();
+
 		for (int checked = 1; dumpReader.hasNext(); checked++) {
 			runStats.incrementRecord();
 
@@ -193,6 +432,7 @@ public class RecordReader {
 
 			try {
 				Boolean success = processor.process(sourceTxt, rawRecord, writer);
+				processor.writeOrdered(sourceTxt);
 				if (success) {
 					runStats.incrementSucess();
 				} else {
@@ -203,26 +443,26 @@ public class RecordReader {
 				runStats.incrementFailure(sourceTxt);
 			}
 
+			if (committer != null) {
+				try {
+					committer.recordWritten(runStats);
+				} catch (IOException e) {
+					throw new PatentReaderException("Failed to commit checkpoint on '" + sourceTxt + "'", e);
+				}
+			}
+
 			if (checked == bulkReaderArgs.getRecordReadLimit()
 					|| runStats.getSuccess() == bulkReaderArgs.getSucessLimit()
 					|| runStats.getFailure() == bulkReaderArgs.getFailLimit()) {
 				break;
 			}
 		}
-
-		try {
-			processor.finish(writer);
-		} catch (IOException e1) {
-			throw new PatentReaderException("Failed when calling processor finish()", e1);
-		}
-
-		dumpReader.close();
-
-		return runStats;
 	}
 
 	public PatentReader getPatentReader() {
-		return new PatentReader(getPatentDocFormat());
+		PatentReader patentReader = new PatentReader(getPatentDocFormat());
+		patentReader.setStreaming(bulkReaderArgs.isStreaming());
+		return patentReader;
 	}
 
 	public PatentDocFormat getPatentDocFormat() {
@@ -10,6 +10,7 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.log4j.PatternLayout;
 
+import gov.uspto.bulkdata.RecordCache;
 import gov.uspto.bulkdata.RecordReader;
 import gov.uspto.bulkdata.tools.extractfields.ExtractFieldsConfig;
 import gov.uspto.bulkdata.tools.extractfields.ExtractFieldsProcessor;
@@ -57,12 +58,27 @@ public class ExtractFields {
 	}
 
 	public void extract() throws XPathExpressionException, PatentReaderException, IOException, DocumentException {
-		recordReader.read(new ExtractFieldsProcessor(config));
+		recordReader.read(newProcessor());
 	}
 
 	public void extract(DumpReader dumpReader, Writer writer)
 			throws XPathExpressionException, PatentReaderException, IOException, DocumentException {
-		recordReader.read(dumpReader, new ExtractFieldsProcessor(config), writer);
+		recordReader.read(dumpReader, newProcessor(), writer);
+	}
+
+	/**
+	 * Processor, caching extracted rows when a cache directory is set; cache
+	 * entries are removed when the match or field definitions change, or the
+	 * processor is rebuilt.
+	 */
+	private ExtractFieldsProcessor newProcessor() throws IOException {
+		ExtractFieldsProcessor processor = new ExtractFieldsProcessor(config);
+		if (config.getFieldDefinitions() != null) {
+			processor.setRecordCache(recordReader.newRecordCache("extractfields",
+					RecordCache.version(config.getMatch(), config.getFieldDefinitions(),
+							RecordCache.codeVersion(ExtractFieldsProcessor.class))));
+		}
+		return processor;
 	}
 
 	public static void main(String[] args)
@@ -10,6 +10,7 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.log4j.PatternLayout;
 
+import gov.uspto.bulkdata.PatentCache;
 import gov.uspto.bulkdata.RecordReader;
 import gov.uspto.bulkdata.tools.grep.DocumentException;
 import gov.uspto.bulkdata.tools.grep.GrepConfig;
@@ -28,6 +29,25 @@ import joptsimple.OptionParser;
  * --input="../download/ipg180102.zip"  --skip=0 --limit=0 --type="json" --outDir="./target/output" --bulkKV=true --outputBulkFile=true
  *</p>
  *
+ *<h3>Columnar Output</h3>
+ *<p>
+ * --type="arrow" writes Arrow IPC table files per bulk file, see {@link gov.uspto.patent.serialize.arrow.PatentArrowWriter};
+ * on Java 9+ run with --add-opens=java.base/java.nio=ALL-UNNAMED
+ *</p>
+ *
+ *<h3>Binary Output</h3>
+ *<p>
+ * --type="binary" writes each patent as a Base64 encoded binary record, see {@link gov.uspto.patent.serialize.binary.PatentBinaryWriter};
+ * with --outputBulkFile=true a record per line, read back with {@link gov.uspto.patent.serialize.binary.PatentBinaryReader}
+ * to re-serialize without parsing the bulk file again.
+ *</p>
+ *
+ *<h3>Record Cache</h3>
+ *<p>
+ * --cacheDir="./cache" --cacheSize=1024 keeps the parsed patent of each record, so re-runs over overlapping bulk files
+ * read it from the cache instead of parsing the record again, see {@link gov.uspto.bulkdata.PatentCache}
+ *</p>
+ *
  *<h3>Pre-match Documents before transforming</h3>
  *<p>Uses Grep Tool to match documents</p>
  *<p><pre>
@@ -52,6 +72,7 @@ public class Transformer {
 	private final boolean prematch;
 	private RecordReader recordReader;
 	private PatentReader patentReader;
+	private PatentCache patentCache;
 
 	public Transformer(TransformerConfig config) throws XPathExpressionException {
 		this(config, null);
@@ -69,21 +90,35 @@ public class Transformer {
     	}
     }
 
+	/**
+	 * Transform input file, or bulk files of an input directory; with fileThreads
+	 * greater than 1 bulk files are transformed concurrently, each with its own
+	 * processor and output file.
+	 */
 	public void exec() throws XPathExpressionException, PatentReaderException, IOException, DocumentException {
-		TransformerRecordProcessor processor = new TransformerRecordProcessor(config);
-		if (prematch) {
-			processor.setMatchProcessor(new GrepRecordProcessor(grepConfig));
-		}
-    	recordReader.read(processor);
-    }
+		patentCache = recordReader.getPatentCache();
+		recordReader.read(() -> {
+			try {
+				return newProcessor();
+			} catch (XPathExpressionException e) {
+				throw new IllegalArgumentException("Invalid Grep XPath", e);
+			}
+		});
+	}
 
     public void exec(DumpReader dumpReader, Writer writer) throws XPathExpressionException, PatentReaderException, IOException, DocumentException {
+    	patentCache = recordReader.getPatentCache();
+    	recordReader.read(dumpReader, newProcessor(), writer);
+    }
+
+	private TransformerRecordProcessor newProcessor() throws XPathExpressionException {
 		TransformerRecordProcessor processor = new TransformerRecordProcessor(config);
+		processor.setPatentCache(patentCache);
 		if (prematch) {
 			processor.setMatchProcessor(new GrepRecordProcessor(grepConfig));
 		}
-    	recordReader.read(dumpReader, processor, writer);
-    }
+		return processor;
+	}
 
     public static void main(String[] args) throws PatentReaderException, IOException, DocumentException, XPathExpressionException {
 	  /*
@@ -1,5 +1,6 @@
 package gov.uspto.bulkdata.cli;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 
@@ -14,14 +15,19 @@ import gov.uspto.bulkdata.RecordReader;
 import gov.uspto.bulkdata.tools.grep.DocumentException;
 import gov.uspto.bulkdata.tools.view.ViewConfig;
 import gov.uspto.bulkdata.tools.view.ViewRecordProcessor;
+import gov.uspto.patent.PatentDocFormat;
 import gov.uspto.patent.PatentReader;
 import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.bulk.DumpFileIndexed;
 import gov.uspto.patent.bulk.DumpReader;
+import gov.uspto.patent.bulk.RecordIndex;
 
 /**
  * VIEW is a CLI tool to view patents within Patent Bulk File.
  * 
  * --input="../download/ipg180102.zip" --skip=2 --limit=4 --type="text"
+ * --input="../download/ipg180102.zip" --id="US10000000B2" --type="json"
+ * --input="../download/ipg180102.zip" --type="json" --cacheDir="./cache"
  *
  * @author Brian G. Feldman (brian.feldman@uspto.gov)
  *
@@ -39,12 +45,48 @@ public class View {
 	}
 
 	public void view() throws XPathExpressionException, PatentReaderException, IOException, DocumentException {
-		recordReader.read(new ViewRecordProcessor(config));
+		if (config.getPatentId() != null) {
+			viewById(config.getPatentId());
+		} else {
+			recordReader.read(newProcessor());
+		}
+	}
+
+	/**
+	 * View patent by id, seeking to it using the record index; index is built and
+	 * saved next to the bulk file on first use.
+	 * 
+	 * @param patentId
+	 */
+	public void viewById(String patentId) throws PatentReaderException, IOException {
+		File inputFile = config.getInputFile().toFile();
+		DumpFileIndexed dumpReader = new DumpFileIndexed(inputFile, RecordIndex.getOrBuild(inputFile));
+		if (PatentDocFormat.Pap.equals(dumpReader.getPatentDocFormat()) || config.addHtmlEntities()) {
+			dumpReader.addHTMLEntities();
+		}
+
+		if (!dumpReader.seek(patentId)) {
+			System.err.println("Patent Id not found: " + patentId);
+			return;
+		}
+
+		config.setSkipRecordCount(0);
+		config.setRecordReadLimit(1);
+
+		ViewRecordProcessor processor = newProcessor();
+		processor.setPatentDocFormat(dumpReader.getPatentDocFormat());
+		recordReader.read(dumpReader, processor, recordReader.newWriter(config.getOutputFile()));
 	}
 
 	public void view(DumpReader dumpReader, Writer writer)
 			throws XPathExpressionException, PatentReaderException, IOException, DocumentException {
-		recordReader.read(dumpReader, new ViewRecordProcessor(config), writer);
+		recordReader.read(dumpReader, newProcessor(), writer);
+	}
+
+	private ViewRecordProcessor newProcessor() throws IOException {
+		ViewRecordProcessor processor = new ViewRecordProcessor(config);
+		processor.setPatentCache(recordReader.getPatentCache());
+		return processor;
 	}
 
 	public static void main(String[] args)
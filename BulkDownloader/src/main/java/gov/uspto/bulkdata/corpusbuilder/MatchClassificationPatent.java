@@ -1,7 +1,6 @@
 package gov.uspto.bulkdata.corpusbuilder;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.List;
 import java.util.SortedSet;
 
@@ -49,9 +48,7 @@ public class MatchClassificationPatent implements CorpusMatch<MatchClassificatio
 	@Override
 	public MatchClassificationPatent on(String xmlDocStr, PatentDocFormat patentDocFormat) throws PatentReaderException, IOException {
 	    PatentReader patentReader = new PatentReader(patentDocFormat);
-        try (StringReader rawText = new StringReader(xmlDocStr)) {
-			patent = patentReader.read(rawText);
-		}
+		patent = patentReader.read(xmlDocStr);
 		return this;
 	}
 
@@ -1,7 +1,6 @@
 package gov.uspto.bulkdata.example;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.Writer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -44,7 +43,7 @@ public class Example implements RecordProcessor {
 		// writer.write(rawRecord);
 
 		try {
-			Patent patent = patentReader.read(new StringReader(rawRecord));
+			Patent patent = patentReader.read(rawRecord);
 
 			jsonBuilder.write(patent, writer);
 
@@ -3,7 +3,6 @@ package gov.uspto.bulkdata.example;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 
@@ -37,7 +36,7 @@ public class Example2 {
 		for (int i = 1; dumpReader.hasNext() && i <= limit; i++) {
 			String xmlDocStr = (String) dumpReader.next();
 
-			Patent patent = patentReader.read(new StringReader(xmlDocStr));
+			Patent patent = patentReader.read(xmlDocStr);
 
 			String patentId = patent.getDocumentId().toText();
 
@@ -29,6 +29,8 @@ public class ExtractFieldsConfig extends BulkReaderArguments {
 	private Map<String, List<XPathExpression>> fields;
 	private String outputType = "fields";
 	private XPathExpression matchExpression;
+	private String match;
+	private List<String> fieldDefinitions;
 
 	public ExtractFieldsConfig() {
 		buildArgs(new OptionParser());
@@ -55,7 +57,7 @@ public class ExtractFieldsConfig extends BulkReaderArguments {
 		XPath xpath = xpathFactory.newXPath();
 
 		if (options.has("match")) {
-			String match = (String) options.valueOf("match");
+			match = (String) options.valueOf("match");
 			XPathExpression matchExpression;
 			try {
 				matchExpression = xpath.compile(match);
@@ -68,6 +70,7 @@ public class ExtractFieldsConfig extends BulkReaderArguments {
 
 		@SuppressWarnings("unchecked")
 		List<String> fields = (List<String>) options.valuesOf("f");
+		fieldDefinitions = fields;
 		Map<String, List<XPathExpression>> wantedFields = new LinkedHashMap<String, List<XPathExpression>>(
 				fields.size());
 
@@ -114,6 +117,22 @@ public class ExtractFieldsConfig extends BulkReaderArguments {
 		return this.matchExpression;
 	}
 
+	/**
+	 * Match XPath expression, as given on command-line.
+	 */
+	public String getMatch() {
+		return match;
+	}
+
+	/**
+	 * Field definitions "fieldName:/XPATH", as given on command-line.
+	 * 
+	 * @return field definitions, or null when fields were set directly
+	 */
+	public List<String> getFieldDefinitions() {
+		return fieldDefinitions;
+	}
+
 	public void setOutputType(String outputType) {
 		this.outputType = outputType;
 	}
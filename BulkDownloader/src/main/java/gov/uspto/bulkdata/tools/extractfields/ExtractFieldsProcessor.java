@@ -2,7 +2,9 @@ package gov.uspto.bulkdata.tools.extractfields;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map.Entry;
 
@@ -18,17 +20,27 @@ import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import gov.uspto.bulkdata.RecordCache;
 import gov.uspto.bulkdata.RecordProcessor;
 import gov.uspto.patent.PatentDocFormat;
 
 public class ExtractFieldsProcessor implements RecordProcessor {
 
 	private final ExtractFieldsConfig config;
+	private RecordCache recordCache;
 
 	public ExtractFieldsProcessor(ExtractFieldsConfig config) {
 		this.config = config;
 	}
 
+	/**
+	 * Cache extracted row of each record, the cache version must cover the match
+	 * and field definitions.
+	 */
+	public void setRecordCache(RecordCache recordCache) {
+		this.recordCache = recordCache;
+	}
+
 	@Override
 	public void setPatentDocFormat(PatentDocFormat docFormat) {
 		// this.patentReader = new PatentReader(docFormat);
@@ -49,7 +61,37 @@ public class ExtractFieldsProcessor implements RecordProcessor {
 
 	@Override
 	public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws IOException {
+		String key = null;
+		if (recordCache != null) {
+			key = RecordCache.key(rawRecord);
+			byte[] cached = recordCache.get(key);
+			if (cached != null) {
+				// empty when the record did not match.
+				if (cached.length == 0) {
+					return false;
+				}
+				writer.write(new String(cached, StandardCharsets.UTF_8));
+				writer.flush();
+				return true;
+			}
+		}
+
+		Document doc = parse(rawRecord);
 
+		// records failing to parse are not cached.
+		if (key == null || doc == null) {
+			return extract(doc, writer);
+		}
+
+		StringWriter row = new StringWriter();
+		boolean matched = extract(doc, row);
+		recordCache.put(key, matched ? row.toString().getBytes(StandardCharsets.UTF_8) : new byte[0]);
+		writer.write(row.toString());
+		writer.flush();
+		return matched;
+	}
+
+	private Document parse(String rawRecord) throws IOException {
 		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
 		Document doc = null;
 		try {
@@ -60,7 +102,15 @@ public class ExtractFieldsProcessor implements RecordProcessor {
 		} catch (SAXException e) {
 			e.printStackTrace();
 		}
+		return doc;
+	}
 
+	/**
+	 * Extract fields of record.
+	 * 
+	 * @return true when written, false when not matched
+	 */
+	private boolean extract(Document doc, Writer writer) throws IOException {
 		if (config.getMatchExpression() != null) {
 			try {
 				if (!(boolean) config.getMatchExpression().evaluate(doc, XPathConstants.BOOLEAN)) {
@@ -38,6 +38,8 @@ public class DownloadConfig extends BulkReaderArguments {
 	private BulkDataType dataType;
 	private ListMultimap<String, DateRange> dateRanges;
 	private boolean delete;
+	private boolean singlePass;
+	private boolean shortCircuit;
 
 	public OptionParser buildArgs() {
 		return buildArgs(new OptionParser());
@@ -71,6 +73,13 @@ public class DownloadConfig extends BulkReaderArguments {
 		opParser.accepts("restart").withOptionalArg().ofType(Boolean.class)
 				.describedAs("Restart failed download from job file in download directory.").defaultsTo(false);
 
+		opParser.accepts("fetch-single-pass").withOptionalArg().ofType(Boolean.class)
+				.describedAs("Read each bulkfile once, handing each record to every processor.").defaultsTo(false);
+
+		opParser.accepts("fetch-short-circuit").withOptionalArg().ofType(Boolean.class)
+				.describedAs("With fetch-single-pass, skip remaining processors of a record once one fails.")
+				.defaultsTo(false);
+
 		return opParser;
 	}
 
@@ -86,6 +95,8 @@ public class DownloadConfig extends BulkReaderArguments {
 		setRestart((boolean) options.valueOf("restart"));
 		setAsync((boolean) options.valueOf("fetch-async"));
 		setDelete((boolean) options.valueOf("fetch-delete"));
+		setSinglePass((boolean) options.valueOf("fetch-single-pass"));
+		setShortCircuit((boolean) options.valueOf("fetch-short-circuit"));
 
 		ListMultimap<String, DateRange> yearMap = LinkedListMultimap.create();
 		if (options.has("fetch-date")) {
@@ -168,6 +179,33 @@ public class DownloadConfig extends BulkReaderArguments {
 		return this.delete;
 	}
 
+	/**
+	 * Read each bulk file once for all processors, rather than once per processor.
+	 * 
+	 * @param bool
+	 */
+	public void setSinglePass(boolean bool) {
+		this.singlePass = bool;
+	}
+
+	public boolean isSinglePass() {
+		return this.singlePass;
+	}
+
+	/**
+	 * Single pass only, skip remaining processors of a record once a processor
+	 * returns false.
+	 * 
+	 * @param bool
+	 */
+	public void setShortCircuit(boolean bool) {
+		this.shortCircuit = bool;
+	}
+
+	public boolean isShortCircuit() {
+		return this.shortCircuit;
+	}
+
 	public void setDateRangs(ListMultimap<String, DateRange> dateRanges) {
 		this.dateRanges = dateRanges;
 	}
@@ -7,6 +7,7 @@ import java.io.Writer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import gov.uspto.bulkdata.CompositeRecordProcessor;
 import gov.uspto.bulkdata.RecordProcessor;
 import gov.uspto.bulkdata.RecordReader;
 import gov.uspto.bulkdata.RunStats;
@@ -31,14 +32,39 @@ public class DownloadFileProcessor {
 		}
 	}
 
+	/**
+	 * Read bulk file once per processor, or once for all processors when single
+	 * pass is enabled.
+	 * 
+	 * @see CompositeRecordProcessor
+	 */
 	public RunStats process(File inBulkFile) throws IOException, DocumentException, PatentReaderException {
+		RunStats runStats = new RunStats(inBulkFile.getName());
+		if (recordProcessors.length == 0) {
+			// download only.
+			return runStats;
+		}
+
 		LOGGER.info("Processing: {}", inBulkFile.getName());
 		RecordReader reader = new RecordReader(config);
-		RunStats runStats = new RunStats(inBulkFile.getName());
-		for (RecordProcessor processor : recordProcessors) {
-			LOGGER.info("Processor: {}", processor.getClass().getSimpleName());
-			RunStats processStats = reader.read(inBulkFile, processor);
-			processStats.setTaskName(processor.getClass().getName());
+
+		if (!config.isSinglePass()) {
+			for (RecordProcessor processor : recordProcessors) {
+				LOGGER.info("Processor: {}", processor.getClass().getSimpleName());
+				RunStats processStats = reader.read(inBulkFile, processor);
+				processStats.setTaskName(processor.getClass().getName());
+				runStats.add(processStats);
+			}
+			return runStats;
+		}
+
+		CompositeRecordProcessor processor = new CompositeRecordProcessor(recordProcessors);
+		processor.setShortCircuit(config.isShortCircuit());
+		RunStats readStats = reader.read(inBulkFile, processor);
+		LOGGER.info("Read: {}", readStats);
+
+		for (RunStats processStats : processor.getRunStats()) {
+			LOGGER.info("Processor: {}", processStats);
 			runStats.add(processStats);
 		}
 		return runStats;
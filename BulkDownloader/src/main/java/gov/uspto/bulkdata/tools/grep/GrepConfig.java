@@ -4,7 +4,6 @@ import static java.util.Arrays.asList;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -117,9 +116,8 @@ public class GrepConfig extends BulkReaderArguments {
 			Preconditions.checkArgument(filePath.toAbsolutePath().toFile().canRead(),
 					"Unable to read contains file: " + filePath.toAbsolutePath());
 			try {
-				List<String> lines = Files.readAllLines(filePath, Charset.defaultCharset());
-				System.out.println("Loaded contains lst file, size: " + lines.size());
-				Set<String> valueSet = new HashSet<String>(lines);
+				ValueSet valueSet = ValueSet.read(filePath, Charset.defaultCharset(), true);
+				System.out.println("Loaded contains lst file, size: " + valueSet.getValuesRead());
 				System.out.println("Loaded contains lst file, unique size: " + valueSet.size());
 				setValues(valueSet);
 			} catch (IOException e) {
@@ -141,7 +139,7 @@ public class GrepConfig extends BulkReaderArguments {
 		 * --regexs="'regex1~i','regex2'"
 		 */
 		if (options.has("regexs")) {
-			String regexStr = (String) options.valueOf("regex");
+			String regexStr = (String) options.valueOf("regexs");
 			setRegex(RegexArguments.parseString(regexStr));
 		}
 		if (options.has("regex")) {
@@ -171,6 +169,7 @@ public class GrepConfig extends BulkReaderArguments {
 		}
 
 		outputConfig.setNoSource(options.has("no-source"));
+		outputConfig.setInvertMatch(options.has("invert-match"));
 		setOutputConfig(outputConfig);
 	}
 
@@ -247,19 +246,26 @@ public class GrepConfig extends BulkReaderArguments {
 			patterns.add(matchPatternXV);
 			return new MatchCheckerXML(patterns);
 		} else if (regexList != null) {
-			RegexArguments regex = regexList.get(0);
-			MatchRegexBase matchPatternBase = new MatchRegexBase(regex.getRegex(), regex.isIgnoreCase());
-			if (outputConfig.getOutputType() == OUTPUT_MATCHING.PATTERN_COVERED) {
-				matchPatternBase.onlyMatching();
-			}
-			if (outputConfig.isNoSource()) {
-				matchPatternBase.doNotPrintSource();
+			// all patterns, matched together by MatchChecker with a single scan.
+			for (RegexArguments regex : regexList) {
+				MatchRegexBase matchPatternBase = new MatchRegexBase(regex.getRegex(), regex.isIgnoreCase());
+				if (regex.isFullMatch()) {
+					matchPatternBase.entire();
+				}
+				if (outputConfig.getOutputType() == OUTPUT_MATCHING.PATTERN_COVERED) {
+					matchPatternBase.onlyMatching();
+				}
+				if (outputConfig.isNoSource()) {
+					matchPatternBase.doNotPrintSource();
+				}
+				patterns.add(matchPatternBase);
 			}
+			// inverted once over all patterns, lines matching none of them.
+			MatchChecker matchChecker = new MatchChecker(patterns);
 			if (outputConfig.isInvertMatch()) {
-				matchPatternBase.negate();
+				matchChecker.invertMatch();
 			}
-			patterns.add(matchPatternBase);
-			return new MatchChecker(patterns);
+			return matchChecker;
 		} else if (XPath != null) {
 			MatchXPathExpression matchXPathPattern = new MatchXPathExpression(XPath);
 			if (outputConfig.isNoSource()) {
@@ -1,13 +1,11 @@
 package gov.uspto.bulkdata.tools.grep;
 
 import java.io.BufferedWriter;
-import java.io.ByteArrayInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.UnsupportedEncodingException;
+import java.io.StringReader;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
@@ -46,6 +44,12 @@ public class GrepRecordProcessor implements RecordProcessor {
 
 	@Override
 	public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws DocumentException, IOException {
+		recordsChecked++;
+		// no required literal within record, skip reading and parsing it.
+		if (!matcher.isCandidate(rawRecord)) {
+			return false;
+		}
+
 		if (fixRecord) {
 			// After first record fails within file, fix all records.
 			rawRecord = fixXML(rawRecord);
@@ -54,15 +58,14 @@ public class GrepRecordProcessor implements RecordProcessor {
 		Boolean matched = false;
 		Reader reader = null;
 		try {
-			reader = new InputStreamReader(new ByteArrayInputStream(rawRecord.getBytes()), "UTF-8");
-			recordsChecked++;
+			reader = new StringReader(rawRecord);
 
 			try {
 				matched = hasMatch(sourceTxt, reader, writer);
 			} catch (DocumentException e1) {
 				fixRecord = true;
 				reader.close();
-				reader = new InputStreamReader(new ByteArrayInputStream(fixXML(rawRecord).getBytes()), "UTF-8");
+				reader = new StringReader(fixXML(rawRecord));
 				matched = hasMatch(sourceTxt, reader, writer);
 			}
 			
@@ -71,8 +74,6 @@ public class GrepRecordProcessor implements RecordProcessor {
 				writer(sourceTxt, rawRecord, writer);
 			}			
 			
-		} catch (UnsupportedEncodingException e) {
-			// ignore...
 		} finally {
 			if (reader != null) {
 				reader.close();
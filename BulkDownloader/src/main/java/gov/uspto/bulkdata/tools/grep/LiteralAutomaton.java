@@ -0,0 +1,153 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over ASCII literals, filled into a DFA so each
+ * character is a single table lookup. Characters outside the literals share
+ * one class, keeping the table small.
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+class LiteralAutomaton {
+
+	private static final int[] NONE = new int[0];
+
+	private final byte[] classes = new byte[128];
+	private final int classCount;
+	private final int[] transitions;
+	private final int[][] outputs;
+
+	/**
+	 * @param literals   - literal ids are their index
+	 * @param ignoreCase - fold ASCII letters
+	 */
+	LiteralAutomaton(List<String> literals, boolean ignoreCase) {
+		// compact alphabet, class 0 for characters not in any literal.
+		int count = 1;
+		for (String literal : literals) {
+			for (int i = 0; i < literal.length(); i++) {
+				char c = fold(literal.charAt(i), ignoreCase);
+				if (c >= 128) {
+					throw new IllegalArgumentException("Literal not ASCII: " + literal);
+				}
+				if (classes[c] == 0) {
+					if (count == Byte.MAX_VALUE) {
+						throw new IllegalArgumentException("Too many distinct characters");
+					}
+					classes[c] = (byte) count++;
+				}
+			}
+		}
+		if (ignoreCase) {
+			for (char c = 'A'; c <= 'Z'; c++) {
+				classes[c] = classes[Character.toLowerCase(c)];
+			}
+		}
+		this.classCount = count;
+
+		// trie
+		int maxStates = 1;
+		for (String literal : literals) {
+			maxStates += literal.length();
+		}
+		int[] next = new int[maxStates * classCount];
+		Arrays.fill(next, -1);
+		int[][] terminal = new int[maxStates][];
+		int states = 1;
+		for (int id = 0; id < literals.size(); id++) {
+			String literal = literals.get(id);
+			int state = 0;
+			for (int i = 0; i < literal.length(); i++) {
+				int index = state * classCount + classes[fold(literal.charAt(i), ignoreCase)];
+				if (next[index] == -1) {
+					next[index] = states++;
+				}
+				state = next[index];
+			}
+			terminal[state] = append(terminal[state], id);
+		}
+
+		// failure links, filled into transitions of a DFA.
+		int[] fail = new int[states];
+		Deque<Integer> queue = new ArrayDeque<Integer>();
+		for (int cls = 0; cls < classCount; cls++) {
+			int child = next[cls];
+			if (child == -1) {
+				next[cls] = 0;
+			} else {
+				fail[child] = 0;
+				queue.add(child);
+			}
+		}
+		terminal[0] = terminal[0] != null ? terminal[0] : NONE;
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			terminal[state] = merge(terminal[state], terminal[fail[state]]);
+			for (int cls = 0; cls < classCount; cls++) {
+				int index = state * classCount + cls;
+				int child = next[index];
+				int fallback = next[fail[state] * classCount + cls];
+				if (child == -1) {
+					next[index] = fallback;
+				} else {
+					fail[child] = fallback;
+					queue.add(child);
+				}
+			}
+		}
+
+		this.transitions = Arrays.copyOf(next, states * classCount);
+		this.outputs = Arrays.copyOf(terminal, states);
+	}
+
+	/**
+	 * Next state; c outside of ASCII, or negative, matches no literal.
+	 */
+	int step(int state, int c) {
+		int cls = c >= 0 && c < 128 ? classes[c] : 0;
+		return transitions[state * classCount + cls];
+	}
+
+	/**
+	 * True when a literal ends at this state.
+	 */
+	boolean isAccept(int state) {
+		return outputs[state].length != 0;
+	}
+
+	/**
+	 * Ids of the literals ending at this state.
+	 */
+	int[] outputs(int state) {
+		return outputs[state];
+	}
+
+	private static char fold(char c, boolean ignoreCase) {
+		return ignoreCase && c >= 'A' && c <= 'Z' ? Character.toLowerCase(c) : c;
+	}
+
+	private static int[] append(int[] ids, int id) {
+		if (ids == null) {
+			return new int[] { id };
+		}
+		int[] grown = Arrays.copyOf(ids, ids.length + 1);
+		grown[ids.length] = id;
+		return grown;
+	}
+
+	private static int[] merge(int[] ids, int[] inherited) {
+		if (ids == null) {
+			return inherited;
+		} else if (inherited.length == 0) {
+			return ids;
+		}
+		int[] merged = Arrays.copyOf(ids, ids.length + inherited.length);
+		System.arraycopy(inherited, 0, merged, ids.length, inherited.length);
+		return merged;
+	}
+}
@@ -0,0 +1,270 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Literal Prefilter
+ *
+ * <p>
+ * Scans raw record text for the {@link RequiredLiterals} of the match patterns
+ * in a single pass, with an Aho-Corasick automaton, so the DOM or line by line
+ * regex matching is only done for records which could match.
+ * </p>
+ *
+ * <p>
+ * For XML patterns the record is scanned twice at once: as is, for tag names
+ * and attribute values, and as text content only, skipping markup, comments
+ * and resolving character references, for text split by inline markup such as
+ * "H&lt;sub&gt;2&lt;/sub&gt;O".
+ * </p>
+ *
+ * <code><pre>
+ * LiteralPrefilter prefilter = LiteralPrefilter.forPatterns(patterns);
+ * if (prefilter == null || prefilter.isCandidate(rawRecord)) {
+ *     matcher.match(reader);
+ * }
+ * </pre></code>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class LiteralPrefilter {
+
+	private static final int TEXT = 0;
+	private static final int TAG = 1;
+	private static final int COMMENT = 2;
+	private static final int CDATA = 3;
+
+	/**
+	 * Character not within any literal.
+	 */
+	private static final int OTHER = -1;
+
+	private final Set<String> literals;
+	private final boolean xml;
+	private final LiteralAutomaton automaton;
+
+	public LiteralPrefilter(Collection<String> literals, boolean ignoreCase, boolean xml) {
+		this.literals = Collections.unmodifiableSet(new LinkedHashSet<String>(literals));
+		this.xml = xml;
+		this.automaton = new LiteralAutomaton(new ArrayList<String>(this.literals), ignoreCase);
+	}
+
+	/**
+	 * Prefilter for match patterns.
+	 *
+	 * @param patterns
+	 * @return LiteralPrefilter or null when any pattern can match a record without
+	 *         a required literal.
+	 */
+	public static LiteralPrefilter forPatterns(Collection<MatchPattern> patterns) {
+		Set<String> literals = new LinkedHashSet<String>();
+		boolean ignoreCase = false;
+		Boolean xml = null;
+		for (MatchPattern pattern : patterns) {
+			if (pattern.isNegate()) {
+				return null;
+			}
+
+			RequiredLiterals required;
+			boolean xmlPattern = true;
+			if (pattern instanceof MatchPatternXPath) {
+				required = RequiredLiterals.fromRegex(((MatchPatternXPath) pattern).getPattern());
+			} else if (pattern instanceof MatchRegexBase) {
+				required = RequiredLiterals.fromRegex(((MatchRegexBase) pattern).getPattern());
+				xmlPattern = false;
+			} else if (pattern instanceof MatchXPathExpression) {
+				required = RequiredLiterals.fromXPath(((MatchXPathExpression) pattern).getXPathExpression());
+			} else if (pattern instanceof MatchXPathNodeValues) {
+				MatchXPathNodeValues nodeValues = (MatchXPathNodeValues) pattern;
+				required = RequiredLiterals.fromValues(nodeValues.getXpathNodePath(), nodeValues.getValues());
+			} else {
+				return null;
+			}
+
+			if (required == null || (xml != null && xml != xmlPattern)) {
+				return null;
+			}
+			xml = xmlPattern;
+			literals.addAll(required.getLiterals());
+			ignoreCase |= required.isIgnoreCase();
+		}
+
+		if (literals.isEmpty()) {
+			return null;
+		}
+		return new LiteralPrefilter(literals, ignoreCase, xml);
+	}
+
+	public Set<String> getLiterals() {
+		return literals;
+	}
+
+	/**
+	 * Check if any literal is within the record.
+	 *
+	 * @param record - raw record text
+	 * @return false only when no literal is within the record.
+	 */
+	public boolean isCandidate(CharSequence record) {
+		return xml ? scanXml(record) : scanText(record);
+	}
+
+	private boolean scanText(CharSequence record) {
+		int state = 0;
+		for (int i = 0; i < record.length(); i++) {
+			state = step(state, record.charAt(i));
+			if (automaton.isAccept(state)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean scanXml(CharSequence record) {
+		int raw = 0;
+		int text = 0;
+		int mode = TEXT;
+		char quote = 0;
+		int brackets = 0;
+
+		int length = record.length();
+		for (int i = 0; i < length; i++) {
+			int c = record.charAt(i);
+			switch (mode) {
+			case CDATA:
+				if (c == ']' && startsWith(record, i, "]]>")) {
+					mode = TEXT;
+					i += 2;
+					continue;
+				}
+				text = step(text, c);
+				raw = step(raw, c);
+				break;
+			case COMMENT:
+				if (c == '-' && startsWith(record, i, "-->")) {
+					mode = TEXT;
+					i += 2;
+				}
+				continue;
+			case TAG:
+				if (quote != 0) {
+					if (c == quote) {
+						quote = 0;
+					} else if (c == '&') {
+						int end = entityEnd(record, i);
+						c = entity(record, i, end);
+						i = Math.max(i, end);
+					}
+				} else if (c == '"' || c == '\'') {
+					quote = (char) c;
+				} else if (c == '[') {
+					brackets++;
+				} else if (c == ']') {
+					brackets--;
+				} else if (c == '>' && brackets <= 0) {
+					mode = TEXT;
+				}
+				raw = step(raw, c);
+				break;
+			default:
+				if (c == '<') {
+					if (startsWith(record, i, "<!--")) {
+						mode = COMMENT;
+						i += 3;
+						continue;
+					} else if (startsWith(record, i, "<![CDATA[")) {
+						mode = CDATA;
+						i += 8;
+						continue;
+					}
+					mode = TAG;
+					quote = 0;
+					brackets = 0;
+					raw = step(raw, c);
+					break;
+				} else if (c == '&') {
+					int end = entityEnd(record, i);
+					c = entity(record, i, end);
+					i = Math.max(i, end);
+				}
+				raw = step(raw, c);
+				text = step(text, c);
+			}
+			if (automaton.isAccept(raw) || automaton.isAccept(text)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int step(int state, int c) {
+		return automaton.step(state, c);
+	}
+
+	private static boolean startsWith(CharSequence record, int offset, String prefix) {
+		if (offset + prefix.length() > record.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (record.charAt(offset + i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Position of the ';' ending a reference starting at '&amp;', or -1.
+	 */
+	private static int entityEnd(CharSequence record, int start) {
+		int limit = Math.min(record.length(), start + 12);
+		for (int i = start + 1; i < limit; i++) {
+			char c = record.charAt(i);
+			if (c == ';') {
+				return i;
+			} else if (!Character.isLetterOrDigit(c) && c != '#') {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Character of a numeric or predefined reference; other entities could be
+	 * anything, so do not match any literal.
+	 */
+	private static int entity(CharSequence record, int start, int end) {
+		if (end == -1) {
+			return '&';
+		}
+		String name = record.subSequence(start + 1, end).toString();
+		try {
+			if (name.startsWith("#x") || name.startsWith("#X")) {
+				return Integer.parseInt(name.substring(2), 16);
+			} else if (name.startsWith("#")) {
+				return Integer.parseInt(name.substring(1));
+			}
+		} catch (NumberFormatException e) {
+			return OTHER;
+		}
+		switch (name) {
+		case "amp":
+			return '&';
+		case "lt":
+			return '<';
+		case "gt":
+			return '>';
+		case "quot":
+			return '"';
+		case "apos":
+			return '\'';
+		default:
+			return OTHER;
+		}
+	}
+}
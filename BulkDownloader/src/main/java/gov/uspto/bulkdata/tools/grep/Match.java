@@ -35,5 +35,18 @@ public interface Match<MatchPattern> {
 	 * @throws DocumentException 
 	 */
 	boolean match(String source, Reader reader, Writer writer, boolean stopOnFirstMatch) throws IOException, DocumentException;
+
+	/**
+	 * Candidate
+	 * 
+	 * Quick check of the raw record for literals required by the patterns, before
+	 * it is read line by line or parsed into a DOM.
+	 * 
+	 * @param rawDocStr
+	 * @return false only when the record can not match.
+	 */
+	default boolean isCandidate(CharSequence rawDocStr) {
+		return true;
+	}
 	
 }
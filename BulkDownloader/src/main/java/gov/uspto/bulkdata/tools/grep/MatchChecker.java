@@ -5,6 +5,8 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Set;
 
 import com.google.common.base.Preconditions;
@@ -12,20 +14,45 @@ import com.google.common.base.Preconditions;
 public class MatchChecker implements Match<MatchPattern> {
 
 	protected Set<MatchPattern> matchPatterns;
+	private LiteralPrefilter prefilter;
+	private MultiRegexMatcher multiMatcher;
+	private boolean invertMatch = false;
 
 	public MatchChecker(Set<MatchPattern> matchPatterns) {
 		setMatchPatterns(matchPatterns);
 	}
 
+	/**
+	 * Match lines matching none of the patterns, as grep --invert-match.
+	 */
+	public void invertMatch() {
+		this.invertMatch = true;
+	}
+
+	public boolean isInvertMatch() {
+		return invertMatch;
+	}
+
 	@Override
 	public void setMatchPatterns(Set<MatchPattern> patterns) {
 		Preconditions.checkNotNull(patterns);
 		Preconditions.checkArgument(!patterns.isEmpty());
 		this.matchPatterns = patterns;
+		this.prefilter = LiteralPrefilter.forPatterns(patterns);
+		this.multiMatcher = MultiRegexMatcher.forPatterns(patterns);
+	}
+
+	@Override
+	public boolean isCandidate(CharSequence rawDocStr) {
+		// records without the required literals are the ones an inverted match keeps.
+		return invertMatch || prefilter == null || prefilter.isCandidate(rawDocStr);
 	}
 
 	public boolean match(String source, CharSequence string, Writer writer, boolean stopOnFirstMatch)
 			throws IOException, DocumentException {
+		if (!isCandidate(string)) {
+			return false;
+		}
 		return match(source, new StringReader(string.toString()), writer, stopOnFirstMatch);
 	}
 
@@ -33,8 +60,9 @@ public class MatchChecker implements Match<MatchPattern> {
 	public boolean match(Reader reader) throws DocumentException {
 		BufferedReader reader2 = new BufferedReader(reader);
 		try {
-			while (reader2.ready()) {
-				if (match(reader2.readLine())) {
+			String line;
+			while ((line = reader2.readLine()) != null) {
+				if (match(line)) {
 					return true;
 				}
 			}
@@ -46,6 +74,16 @@ public class MatchChecker implements Match<MatchPattern> {
 
 	@Override
 	public boolean match(String rawStr) throws DocumentException {
+		return anyMatch(rawStr) != invertMatch;
+	}
+
+	/**
+	 * Check if any pattern matches the text.
+	 */
+	private boolean anyMatch(String rawStr) throws DocumentException {
+		if (multiMatcher != null) {
+			return multiMatcher.hasMatch(rawStr);
+		}
 		for (MatchPattern matchPattern : matchPatterns) {
 			if (matchPattern.hasMatch(rawStr)) {
 				// LOGGER.debug("Matched {} : {}", matchPattern.getRegex(), rawStr);
@@ -61,8 +99,34 @@ public class MatchChecker implements Match<MatchPattern> {
 		int matchCount = 0;
 		BufferedReader reader2 = new BufferedReader(reader);
 
-		while (reader2.ready()) {
-			String line = reader2.readLine();
+		String line;
+		while ((line = reader2.readLine()) != null) {
+
+			if (invertMatch) {
+				if (!anyMatch(line)) {
+					writeLine(source, line, writer);
+					matchCount++;
+					if (stopOnFirstMatch) {
+						return true;
+					}
+				}
+				continue;
+			}
+
+			if (multiMatcher != null) {
+				// single scan of line for the patterns which could match.
+				List<MatchRegexBase> patterns = multiMatcher.getPatterns();
+				BitSet candidates = multiMatcher.candidates(line);
+				for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+					if (patterns.get(i).writeMatches(source, line, writer)) {
+						matchCount++;
+						if (stopOnFirstMatch) {
+							return true;
+						}
+					}
+				}
+				continue;
+			}
 
 			for (MatchPattern matchPattern : matchPatterns) {
 				if (matchPattern.writeMatches(source, line, writer)) {
@@ -76,4 +140,16 @@ public class MatchChecker implements Match<MatchPattern> {
 
 		return matchCount != 0;
 	}
+
+	/**
+	 * Write line matching none of the patterns; it has no matching part to print.
+	 */
+	private void writeLine(String source, String line, Writer writer) throws IOException {
+		if (matchPatterns.iterator().next().isPrintSource()) {
+			writer.write(source);
+			writer.write(" - ");
+		}
+		writer.write(line);
+		writer.write("\n");
+	}
 }
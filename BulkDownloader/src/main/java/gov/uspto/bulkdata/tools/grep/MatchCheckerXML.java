@@ -23,6 +23,8 @@ import com.google.common.base.Preconditions;
 public class MatchCheckerXML implements Match<MatchPattern> {
 
 	protected Set<MatchPattern> matchPatterns;
+	private LiteralPrefilter prefilter;
+	private StreamingXPath streaming;
 
 	public MatchCheckerXML(Set<MatchPattern> matchPatterns) {
 		setMatchPatterns(matchPatterns);
@@ -33,10 +35,39 @@ public class MatchCheckerXML implements Match<MatchPattern> {
 		Preconditions.checkNotNull(matchPatterns);
 		Preconditions.checkArgument(!matchPatterns.isEmpty());
 		this.matchPatterns = matchPatterns;
+		this.prefilter = LiteralPrefilter.forPatterns(matchPatterns);
+		this.streaming = streamingXPath(matchPatterns);
+	}
+
+	/**
+	 * Single pattern whose XPath can be evaluated while parsing, without a DOM.
+	 */
+	private static StreamingXPath streamingXPath(Set<MatchPattern> matchPatterns) {
+		if (matchPatterns.size() != 1) {
+			return null;
+		}
+		MatchPattern matchPattern = matchPatterns.iterator().next();
+		if (matchPattern instanceof MatchPatternXPath) {
+			return StreamingXPath.compile(((MatchPatternXPath) matchPattern).getXpathNodePath());
+		} else if (matchPattern instanceof MatchXPathExpression) {
+			MatchXPathExpression xpathPattern = (MatchXPathExpression) matchPattern;
+			if (xpathPattern.getXpathConstraint() == XPathConstants.NODESET) {
+				return StreamingXPath.compile(xpathPattern.getXPathExpression());
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isCandidate(CharSequence rawDocStr) {
+		return prefilter == null || prefilter.isCandidate(rawDocStr);
 	}
 
 	public boolean match(String source, CharSequence string, Writer writer, boolean stopOnFirstMatch)
 			throws IOException, DocumentException {
+		if (!isCandidate(string)) {
+			return false;
+		}
 		return match(source, new StringReader(string.toString()), writer, stopOnFirstMatch);
 	}
 
@@ -79,6 +110,14 @@ public class MatchCheckerXML implements Match<MatchPattern> {
 
 	@Override
 	public boolean match(Reader reader) throws DocumentException {
+		if (streaming != null) {
+			MatchPattern matchPattern = matchPatterns.iterator().next();
+			if (matchPattern instanceof MatchPatternXPath) {
+				return ((MatchPatternXPath) matchPattern).hasMatch((CharSequence) streaming.firstValue(reader));
+			}
+			return streaming.exists(reader);
+		}
+
 		DocumentBuilderFactory dbfact = DocumentBuilderFactory.newInstance();
 		dbfact.setAttribute("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
 		InputSource inputSource = new InputSource(reader);
@@ -110,6 +149,10 @@ public class MatchCheckerXML implements Match<MatchPattern> {
 				if (matchPattern.hasMatch(w3cdom)) {
 					return true;
 				}
+			} else if (matchPattern instanceof MatchXPathNodeValues) {
+				if (((MatchXPathNodeValues) matchPattern).hasMatch(w3cdom)) {
+					return true;
+				}
 			}
 		}
 		return false;
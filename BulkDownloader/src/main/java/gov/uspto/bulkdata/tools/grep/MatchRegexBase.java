@@ -85,10 +85,21 @@ public class MatchRegexBase implements MatchPattern<CharSequence> {
 		return this;
 	}
 
+	/**
+	 * False when set to match the entire text.
+	 */
+	public boolean isPartial() {
+		return partial;
+	}
+
 	public String getRegex() {
 		return regex;
 	}
 
+	public Pattern getPattern() {
+		return matcher.pattern();
+	}
+
 	public boolean isNegated() {
 		return negate;
 	}
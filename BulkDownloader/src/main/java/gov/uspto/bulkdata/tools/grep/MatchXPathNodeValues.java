@@ -19,12 +19,19 @@ import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 import com.google.common.base.Preconditions;
 
 /**
  * Match XML node value against list of values
  * 
+ * <p>
+ * Every node selected by the XPath is checked, so a value within any of
+ * multiple nodes, such as each of the cited documents, matches. For large
+ * lists of values use a {@link ValueSet}.
+ * </p>
+ * 
  * @author Brian G. Feldman<brian.feldman@uspto.gov>
  *
  */
@@ -33,6 +40,7 @@ public class MatchXPathNodeValues implements MatchPattern<Document> {
 	private final String XPathNodePath;
 	private final Set<String> values;
 	private final XPathExpression xpathExpression;
+	private boolean nodeSet = true;
 
 	private boolean printSource = true;
 	private boolean onlyMatchingNode = false;
@@ -50,7 +58,26 @@ public class MatchXPathNodeValues implements MatchPattern<Document> {
 		return XPathNodePath;
 	}
 
+	public Set<String> getValues() {
+		return values;
+	}
+
 	public boolean hasMatch(Document document) {
+		if (nodeSet) {
+			try {
+				NodeList nodes = (NodeList) xpathExpression.evaluate(document, XPathConstants.NODESET);
+				for (int i = 0; i < nodes.getLength(); i++) {
+					if (values.contains(nodes.item(i).getTextContent())) {
+						return true;
+					}
+				}
+				return false;
+			} catch (XPathExpressionException e) {
+				// not a node-set expression, such as string() or concat().
+				nodeSet = false;
+			}
+		}
+
 		try {
 			String value = (String) xpathExpression.evaluate(document, XPathConstants.STRING);
 			if (values.contains(value)) {
@@ -0,0 +1,211 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Multiple Regex Matcher
+ *
+ * <p>
+ * Matches many regex patterns with a single scan of the text: the literals
+ * required by each pattern are found together with one Aho-Corasick automaton,
+ * and only patterns whose literals are present are run as regex. Patterns
+ * without a required literal, or negated, are run on every text.
+ * </p>
+ *
+ * <code><pre>
+ * MultiRegexMatcher matcher = new MultiRegexMatcher(patterns);
+ * BitSet matching = matcher.matching(line);
+ * for (MultiRegexMatcher.Hit hit : matcher.find(line)) {
+ *     hit.getPattern(); hit.getStart(); hit.getEnd();
+ * }
+ * </pre></code>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class MultiRegexMatcher {
+
+	/**
+	 * Match of a pattern within the text.
+	 */
+	public static class Hit {
+		private final int pattern;
+		private final int start;
+		private final int end;
+
+		Hit(int pattern, int start, int end) {
+			this.pattern = pattern;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * Index of pattern
+		 */
+		public int getPattern() {
+			return pattern;
+		}
+
+		public int getStart() {
+			return start;
+		}
+
+		public int getEnd() {
+			return end;
+		}
+
+		@Override
+		public String toString() {
+			return "Hit [pattern=" + pattern + ", start=" + start + ", end=" + end + "]";
+		}
+	}
+
+	private final List<MatchRegexBase> patterns;
+	private final LiteralAutomaton automaton;
+	private final int[] literalPattern; // literal id to pattern index
+	private final BitSet always = new BitSet();
+	private final int literalPatterns;
+
+	public MultiRegexMatcher(Collection<MatchRegexBase> patterns) {
+		this.patterns = Collections.unmodifiableList(new ArrayList<MatchRegexBase>(patterns));
+
+		List<String> literals = new ArrayList<String>();
+		List<Integer> owners = new ArrayList<Integer>();
+		boolean ignoreCase = false;
+		for (int i = 0; i < this.patterns.size(); i++) {
+			MatchRegexBase pattern = this.patterns.get(i);
+			RequiredLiterals required = pattern.isNegate() ? null : RequiredLiterals.fromRegex(pattern.getPattern());
+			if (required == null) {
+				always.set(i);
+				continue;
+			}
+			for (String literal : required.getLiterals()) {
+				literals.add(literal);
+				owners.add(i);
+			}
+			ignoreCase |= required.isIgnoreCase();
+		}
+
+		this.literalPatterns = this.patterns.size() - always.cardinality();
+		this.automaton = literals.isEmpty() ? null : new LiteralAutomaton(literals, ignoreCase);
+		this.literalPattern = new int[owners.size()];
+		for (int i = 0; i < literalPattern.length; i++) {
+			literalPattern[i] = owners.get(i);
+		}
+	}
+
+	/**
+	 * Multiple regex matcher for patterns, when they are all plain regex patterns.
+	 *
+	 * @param patterns
+	 * @return MultiRegexMatcher or null
+	 */
+	public static MultiRegexMatcher forPatterns(Collection<MatchPattern> patterns) {
+		if (patterns.size() < 2) {
+			return null;
+		}
+		List<MatchRegexBase> regexPatterns = new ArrayList<MatchRegexBase>(patterns.size());
+		for (MatchPattern pattern : patterns) {
+			if (!(pattern instanceof MatchRegexBase) || pattern instanceof MatchPatternXPath) {
+				return null;
+			}
+			regexPatterns.add((MatchRegexBase) pattern);
+		}
+		return new MultiRegexMatcher(regexPatterns);
+	}
+
+	public List<MatchRegexBase> getPatterns() {
+		return patterns;
+	}
+
+	/**
+	 * Patterns which could match the text, from a single scan of it.
+	 *
+	 * @param text
+	 * @return pattern indexes
+	 */
+	public BitSet candidates(CharSequence text) {
+		BitSet candidates = (BitSet) always.clone();
+		if (automaton == null) {
+			return candidates;
+		}
+		int found = 0;
+		int state = 0;
+		for (int i = 0; i < text.length() && found < literalPatterns; i++) {
+			state = automaton.step(state, text.charAt(i));
+			for (int literal : automaton.outputs(state)) {
+				int pattern = literalPattern[literal];
+				if (!candidates.get(pattern)) {
+					candidates.set(pattern);
+					found++;
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Patterns matching the text, as {@link MatchRegexBase#hasMatch} with its
+	 * full match and negate settings.
+	 *
+	 * @param text
+	 * @return pattern indexes
+	 */
+	public BitSet matching(CharSequence text) {
+		BitSet candidates = candidates(text);
+		BitSet matching = new BitSet();
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			if (patterns.get(i).hasMatch(text)) {
+				matching.set(i);
+			}
+		}
+		return matching;
+	}
+
+	/**
+	 * Check if any pattern matches the text.
+	 */
+	public boolean hasMatch(CharSequence text) {
+		BitSet candidates = candidates(text);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			if (patterns.get(i).hasMatch(text)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Where patterns match within the text, ordered by pattern then position.
+	 * Negated patterns have no match position and are not reported.
+	 *
+	 * @param text
+	 * @return hits
+	 */
+	public List<Hit> find(CharSequence text) {
+		List<Hit> hits = new ArrayList<Hit>();
+		BitSet candidates = candidates(text);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			MatchRegexBase pattern = patterns.get(i);
+			if (pattern.isNegate()) {
+				continue;
+			}
+			Matcher matcher = pattern.getPattern().matcher(text);
+			if (!pattern.isPartial()) {
+				if (matcher.matches()) {
+					hits.add(new Hit(i, 0, text.length()));
+				}
+				continue;
+			}
+			while (matcher.find()) {
+				hits.add(new Hit(i, matcher.start(), matcher.end()));
+			}
+		}
+		return hits;
+	}
+}
@@ -0,0 +1,636 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Required Literals
+ *
+ * <p>
+ * Literal strings of which at least one must be present within a record for a
+ * regex, xpath or list of values to match it. Extraction is conservative: when
+ * a pattern holds anything which could make a literal optional (alternation
+ * inside a group, optional quantifier, xpath not() or "or") no literals are
+ * returned and every record has to be checked.
+ * </p>
+ *
+ * <p>
+ * Literals are reduced to their longest run of printable ASCII, broken on
+ * whitespace and on the characters XML escapes, so they are found within raw
+ * XML whatever its whitespace normalization or escaping.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class RequiredLiterals {
+
+	/**
+	 * Shorter literals are found in nearly every record, not worth scanning for.
+	 */
+	public static final int MIN_LENGTH = 3;
+
+	/**
+	 * Larger lists of values make an automaton larger than the time it saves,
+	 * such as millions of values from "--containsFromFile".
+	 */
+	public static final int MAX_VALUES = 10000;
+
+	private static final Pattern XPATH_FUNCTION = Pattern.compile("([A-Za-z_][\\w.-]*)\\s*\\(");
+	private static final Pattern XPATH_OR = Pattern.compile("(?<![\\w.:-])or(?![\\w.:-])");
+	private static final Pattern XPATH_OPERATOR = Pattern.compile("(?<![\\w.:-])(or|and|div|mod)(?![\\w.:-])");
+	private static final Pattern XPATH_NUMBER = Pattern.compile("(^|[^\\w.-])\\d");
+
+	/**
+	 * XPath functions which leave text as is, or only test it.
+	 */
+	private static final Set<String> XPATH_FUNCTIONS = new HashSet<String>(Arrays.asList("text", "node", "contains",
+			"starts-with", "ends-with", "normalize-space", "name", "local-name"));
+
+	/**
+	 * XPath functions whose second argument must be found within the first.
+	 */
+	private static final Set<String> XPATH_CONTAINS = new HashSet<String>(
+			Arrays.asList("contains", "starts-with", "ends-with"));
+
+	/**
+	 * XPath functions returning a node value, whose own value is in the record.
+	 */
+	private static final Set<String> XPATH_VALUE_FUNCTIONS = new HashSet<String>(
+			Arrays.asList("text", "node", "normalize-space", "string", "name", "local-name"));
+
+	private final Set<String> literals;
+	private final boolean ignoreCase;
+
+	private RequiredLiterals(Set<String> literals, boolean ignoreCase) {
+		this.literals = Collections.unmodifiableSet(literals);
+		this.ignoreCase = ignoreCase;
+	}
+
+	/**
+	 * Literals, at least one of which is within any matching record.
+	 */
+	public Set<String> getLiterals() {
+		return literals;
+	}
+
+	public boolean isIgnoreCase() {
+		return ignoreCase;
+	}
+
+	/**
+	 * Required literals of a regex pattern.
+	 *
+	 * @param pattern
+	 * @return RequiredLiterals or null when none could be extracted.
+	 */
+	public static RequiredLiterals fromRegex(Pattern pattern) {
+		int flags = pattern.flags();
+		if ((flags & Pattern.COMMENTS) != 0) {
+			return null;
+		}
+		boolean ignoreCase = (flags & Pattern.CASE_INSENSITIVE) != 0;
+		if (ignoreCase && (flags & Pattern.UNICODE_CASE) != 0) {
+			// non-ASCII letters fold to ASCII letters, such as the Kelvin sign.
+			return null;
+		}
+		if ((flags & Pattern.LITERAL) != 0) {
+			String literal = usable(pattern.pattern());
+			return literal == null ? null : new RequiredLiterals(Collections.singleton(literal), ignoreCase);
+		}
+		return new RegexScanner(pattern.pattern(), ignoreCase).scan();
+	}
+
+	/**
+	 * Required literals of an xpath expression, from the string literals it
+	 * compares nodes against with "=", contains(), starts-with() and ends-with().
+	 *
+	 * @param xpath
+	 * @return RequiredLiterals or null when none could be extracted.
+	 */
+	public static RequiredLiterals fromXPath(String xpath) {
+		Set<String> literals = new LinkedHashSet<String>();
+		for (String branch : splitUnion(xpath)) {
+			String literal = xpathBranch(branch);
+			if (literal == null) {
+				return null;
+			}
+			literals.add(literal);
+		}
+		return literals.isEmpty() ? null : new RequiredLiterals(literals, false);
+	}
+
+	/**
+	 * Required literals of a list of values, one of which must be the string
+	 * value of the xpath.
+	 *
+	 * @param xpath
+	 * @param values
+	 * @return RequiredLiterals or null when none could be extracted.
+	 */
+	public static RequiredLiterals fromValues(String xpath, Collection<String> values) {
+		if (values == null || values.isEmpty() || values.size() > MAX_VALUES || !isValuePath(xpath)) {
+			return null;
+		}
+		Set<String> literals = new LinkedHashSet<String>();
+		for (String value : values) {
+			String literal = usable(value);
+			if (literal == null) {
+				return null;
+			}
+			literals.add(literal);
+		}
+		return new RequiredLiterals(literals, false);
+	}
+
+	/**
+	 * Longest run of the literal which would be found as is within raw XML.
+	 *
+	 * @param literal
+	 * @return run or null when shorter than {@link #MIN_LENGTH}
+	 */
+	static String usable(CharSequence literal) {
+		int bestStart = 0;
+		int bestEnd = 0;
+		int start = 0;
+		for (int i = 0; i <= literal.length(); i++) {
+			if (i == literal.length() || !isUsable(literal.charAt(i))) {
+				if (i - start > bestEnd - bestStart) {
+					bestStart = start;
+					bestEnd = i;
+				}
+				start = i + 1;
+			}
+		}
+		if (bestEnd - bestStart < MIN_LENGTH) {
+			return null;
+		}
+		return literal.subSequence(bestStart, bestEnd).toString();
+	}
+
+	static boolean isUsable(char c) {
+		return c > ' ' && c < 127 && c != '&' && c != '<' && c != '>' && c != '"' && c != '\'';
+	}
+
+	/**
+	 * Blank out the content of string literals, so operators within them are not
+	 * seen.
+	 */
+	private static String blankLiterals(String xpath) {
+		StringBuilder stb = new StringBuilder(xpath);
+		char quote = 0;
+		for (int i = 0; i < stb.length(); i++) {
+			char c = stb.charAt(i);
+			if (quote != 0) {
+				if (c == quote) {
+					quote = 0;
+				} else {
+					stb.setCharAt(i, ' ');
+				}
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+			}
+		}
+		return stb.toString();
+	}
+
+	/**
+	 * Split on top level union "|"; a union nested within a predicate or
+	 * parentheses leaves a single unusable branch.
+	 */
+	private static Collection<String> splitUnion(String xpath) {
+		String blanked = blankLiterals(xpath);
+		Collection<String> branches = new ArrayDeque<String>();
+		int depth = 0;
+		int start = 0;
+		for (int i = 0; i < blanked.length(); i++) {
+			char c = blanked.charAt(i);
+			if (c == '(' || c == '[') {
+				depth++;
+			} else if (c == ')' || c == ']') {
+				depth--;
+			} else if (c == '|') {
+				if (depth != 0) {
+					return Collections.singleton("|");
+				}
+				branches.add(xpath.substring(start, i));
+				start = i + 1;
+			}
+		}
+		branches.add(xpath.substring(start));
+		return branches;
+	}
+
+	/**
+	 * Longest required literal of a branch without union.
+	 */
+	private static String xpathBranch(String branch) {
+		String blanked = blankLiterals(branch);
+		if (blanked.indexOf('!') != -1 || blanked.indexOf('<') != -1 || blanked.indexOf('>') != -1
+				|| blanked.indexOf('$') != -1 || blanked.indexOf('|') != -1 || XPATH_OR.matcher(blanked).find()) {
+			return null;
+		}
+		Matcher functions = XPATH_FUNCTION.matcher(blanked);
+		while (functions.find()) {
+			if (!XPATH_FUNCTIONS.contains(functions.group(1))) {
+				return null;
+			}
+		}
+
+		String best = null;
+		Deque<String> calls = new ArrayDeque<String>();
+		Deque<Integer> args = new ArrayDeque<Integer>();
+		for (int i = 0; i < blanked.length(); i++) {
+			char c = blanked.charAt(i);
+			if (c == '(') {
+				Matcher function = XPATH_FUNCTION.matcher(blanked).region(0, i + 1);
+				String name = "";
+				while (function.find()) {
+					if (function.end() == i + 1) {
+						name = function.group(1);
+					}
+				}
+				calls.push(name);
+				args.push(0);
+			} else if (c == ')') {
+				if (calls.isEmpty()) {
+					return null;
+				}
+				String name = calls.pop();
+				args.pop();
+				// boolean result compared against a string.
+				if (XPATH_CONTAINS.contains(name) && nextChar(blanked, i + 1) == '=') {
+					return null;
+				}
+			} else if (c == ',' && !args.isEmpty()) {
+				args.push(args.pop() + 1);
+			} else if (c == '=') {
+				int next = skipSpace(blanked, i + 1);
+				Matcher function = XPATH_FUNCTION.matcher(blanked).region(next, blanked.length());
+				if (function.lookingAt() && XPATH_CONTAINS.contains(function.group(1))) {
+					return null;
+				}
+			} else if (c == '"' || c == '\'') {
+				int end = blanked.indexOf(c, i + 1);
+				if (end == -1) {
+					return null;
+				}
+				boolean required = prevChar(blanked, i - 1) == '=' || nextChar(blanked, end + 1) == '='
+						|| (!calls.isEmpty() && XPATH_CONTAINS.contains(calls.peek()) && args.peek() == 1);
+				if (required) {
+					String literal = usable(branch.substring(i + 1, end));
+					if (literal != null && (best == null || literal.length() > best.length())) {
+						best = literal;
+					}
+				}
+				i = end;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * XPath whose string value is the text of a node, not a computed value.
+	 */
+	private static boolean isValuePath(String xpath) {
+		String path = blankLiterals(xpath).replaceAll("'[^']*'|\"[^\"]*\"", "");
+		// drop predicates, they only select the node.
+		String previous;
+		do {
+			previous = path;
+			path = path.replaceAll("\\[[^\\[\\]]*\\]", "");
+		} while (!path.equals(previous));
+
+		if (path.indexOf('=') != -1 || path.indexOf('+') != -1 || path.indexOf('[') != -1
+				|| path.indexOf('$') != -1 || path.contains(" - ") || XPATH_OPERATOR.matcher(path).find()
+				|| XPATH_NUMBER.matcher(path).find()) {
+			return false;
+		}
+		Matcher functions = XPATH_FUNCTION.matcher(path);
+		while (functions.find()) {
+			if (!XPATH_VALUE_FUNCTIONS.contains(functions.group(1))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int skipSpace(String str, int i) {
+		while (i < str.length() && Character.isWhitespace(str.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static char nextChar(String str, int i) {
+		i = skipSpace(str, i);
+		return i < str.length() ? str.charAt(i) : 0;
+	}
+
+	private static char prevChar(String str, int i) {
+		while (i >= 0 && Character.isWhitespace(str.charAt(i))) {
+			i--;
+		}
+		return i >= 0 ? str.charAt(i) : 0;
+	}
+
+	/**
+	 * Walks a regex collecting the literal runs which every match must contain,
+	 * one run per top level alternative.
+	 */
+	private static class RegexScanner {
+		private final String regex;
+		private boolean ignoreCase;
+		private final StringBuilder run = new StringBuilder();
+		private String best;
+		private int pos;
+
+		RegexScanner(String regex, boolean ignoreCase) {
+			this.regex = regex;
+			this.ignoreCase = ignoreCase;
+		}
+
+		RequiredLiterals scan() {
+			Set<String> literals = new LinkedHashSet<String>();
+			while (true) {
+				if (!scanBranch()) {
+					return null;
+				}
+				endRun();
+				if (best == null) {
+					return null;
+				}
+				literals.add(best);
+				best = null;
+				if (pos >= regex.length()) {
+					break;
+				}
+				pos++; // top level '|'
+			}
+			return new RequiredLiterals(literals, ignoreCase);
+		}
+
+		/**
+		 * Scan to the end of the regex or the next top level '|'.
+		 *
+		 * @return false when regex can not be understood.
+		 */
+		private boolean scanBranch() {
+			while (pos < regex.length()) {
+				char c = regex.charAt(pos);
+				switch (c) {
+				case '|':
+					return true;
+				case '\\':
+					if (!scanEscape()) {
+						return false;
+					}
+					break;
+				case '[':
+					endRun();
+					if (!skipClass()) {
+						return false;
+					}
+					skipQuantifier();
+					break;
+				case '(':
+					endRun();
+					if (!skipGroup()) {
+						return false;
+					}
+					skipQuantifier();
+					break;
+				case ')':
+					return false;
+				case '.':
+				case '^':
+				case '$':
+					endRun();
+					pos++;
+					skipQuantifier();
+					break;
+				case '?':
+				case '*':
+				case '+':
+				case '{':
+					// quantifier without a literal before it.
+					endRun();
+					if (!skipQuantifier()) {
+						return false;
+					}
+					break;
+				default:
+					pos++;
+					literal(c);
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Add literal character to current run, unless its quantifier makes it
+		 * optional.
+		 */
+		private void literal(char c) {
+			if (pos < regex.length()) {
+				char q = regex.charAt(pos);
+				if (q == '?' || q == '*') {
+					endRun();
+					skipQuantifier();
+					return;
+				} else if (q == '+') {
+					run.append(c);
+					endRun();
+					skipQuantifier();
+					return;
+				} else if (q == '{') {
+					int i = pos + 1;
+					while (i < regex.length() && Character.isDigit(regex.charAt(i))) {
+						i++;
+					}
+					if (i > pos + 1) {
+						if (Integer.parseInt(regex.substring(pos + 1, i)) > 0) {
+							run.append(c);
+						}
+						endRun();
+						skipQuantifier();
+						return;
+					}
+				}
+			}
+			run.append(c);
+		}
+
+		private boolean scanEscape() {
+			if (pos + 1 >= regex.length()) {
+				return false;
+			}
+			char c = regex.charAt(pos + 1);
+			pos += 2;
+			if (c == 'Q') {
+				int end = regex.indexOf("\\E", pos);
+				String quoted = end == -1 ? regex.substring(pos) : regex.substring(pos, end);
+				pos = end == -1 ? regex.length() : end + 2;
+				if (!quoted.isEmpty()) {
+					run.append(quoted, 0, quoted.length() - 1);
+					literal(quoted.charAt(quoted.length() - 1));
+				}
+				return true;
+			}
+			if (Character.isLetterOrDigit(c)) {
+				endRun();
+				switch (c) {
+				case 'p':
+				case 'P':
+				case 'x':
+				case 'N':
+					if (pos < regex.length() && regex.charAt(pos) == '{') {
+						int end = regex.indexOf('}', pos);
+						if (end == -1) {
+							return false;
+						}
+						pos = end + 1;
+					} else if (c == 'x') {
+						pos += 2;
+					} else if (c != 'N') {
+						pos++;
+					}
+					break;
+				case 'u':
+					pos += 4;
+					break;
+				case 'c':
+					pos++;
+					break;
+				case 'k':
+					int end = regex.indexOf('>', pos);
+					if (end == -1) {
+						return false;
+					}
+					pos = end + 1;
+					break;
+				default:
+					while (Character.isDigit(c) && pos < regex.length() && Character.isDigit(regex.charAt(pos))) {
+						pos++;
+					}
+				}
+				pos = Math.min(pos, regex.length());
+				skipQuantifier();
+				return true;
+			}
+			literal(c);
+			return true;
+		}
+
+		private boolean skipClass() {
+			pos++; // '['
+			if (pos < regex.length() && regex.charAt(pos) == '^') {
+				pos++;
+			}
+			if (pos < regex.length() && regex.charAt(pos) == ']') {
+				pos++;
+			}
+			int depth = 1;
+			while (pos < regex.length()) {
+				char c = regex.charAt(pos++);
+				if (c == '\\') {
+					pos++;
+				} else if (c == '[') {
+					depth++;
+				} else if (c == ']' && --depth == 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean skipGroup() {
+			int start = pos;
+			int depth = 0;
+			while (pos < regex.length()) {
+				char c = regex.charAt(pos);
+				if (c == '\\') {
+					pos += 2;
+					continue;
+				} else if (c == '[') {
+					if (!skipClass()) {
+						return false;
+					}
+					continue;
+				} else if (c == '(') {
+					depth++;
+				} else if (c == ')' && --depth == 0) {
+					pos++;
+					return inlineFlags(regex.substring(start, pos));
+				}
+				pos++;
+			}
+			return false;
+		}
+
+		/**
+		 * Inline flags, such as "(?i)" or "(?i:...)", apply beyond the skipped
+		 * group.
+		 */
+		private boolean inlineFlags(String group) {
+			if (group.startsWith("(?")) {
+				int i = 2;
+				boolean negated = false;
+				while (i < group.length() && (Character.isLetter(group.charAt(i)) || group.charAt(i) == '-')) {
+					char flag = group.charAt(i);
+					if (flag == '-') {
+						negated = true;
+					} else if (!negated && (flag == 'x' || flag == 'u')) {
+						return false;
+					} else if (!negated && flag == 'i') {
+						ignoreCase = true;
+					}
+					i++;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @return false when not a well formed quantifier.
+		 */
+		private boolean skipQuantifier() {
+			if (pos >= regex.length()) {
+				return true;
+			}
+			char c = regex.charAt(pos);
+			if (c == '?' || c == '*' || c == '+') {
+				pos++;
+			} else if (c == '{') {
+				int end = regex.indexOf('}', pos);
+				if (end == -1) {
+					return false;
+				}
+				pos = end + 1;
+			} else {
+				return true;
+			}
+			// lazy or possessive
+			if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+				pos++;
+			}
+			return true;
+		}
+
+		private void endRun() {
+			String literal = usable(run);
+			if (literal != null && (best == null || literal.length() > best.length())) {
+				best = literal;
+			}
+			run.setLength(0);
+		}
+	}
+}
@@ -0,0 +1,678 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.DefaultHandler2;
+
+/**
+ * Streaming XPath
+ *
+ * <p>
+ * Evaluates a simple XPath in a single SAX pass without building a DOM, and
+ * stops parsing as soon as the result is known. Supported are location paths
+ * of "/" and "//" steps with element names or "*", optionally ending in an
+ * "@attribute" or "text()" step, with predicates joined by "and" of:
+ * </p>
+ *
+ * <code><pre>
+ * [@attr]  [@attr='value']  [child]  [child='value']  [text()='value']  [.='value']
+ * [contains(ARG, 'value')]  [starts-with(ARG, 'value')]   ARG: . text() @attr child
+ * </pre></code>
+ *
+ * <p>
+ * Predicates on the content of an element, its text or children, are only
+ * supported on the last element step. Anything else, such as positions, axes,
+ * functions or namespace prefixes, is not compiled; use the DOM for those.
+ * </p>
+ *
+ * <code><pre>
+ * StreamingXPath xpath = StreamingXPath.compile("//classification-cpc[section='H']");
+ * if (xpath != null) {
+ *     boolean matched = xpath.exists(reader);
+ * }
+ * </pre></code>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class StreamingXPath {
+
+	private static final String NAME = "[A-Za-z_][\\w.-]*";
+	private static final String ARG = "(text\\(\\)|\\.|@" + NAME + "|" + NAME + ")";
+	private static final String LITERAL = "('[^']*'|\"[^\"]*\")";
+	private static final Pattern NAME_PATTERN = Pattern.compile(NAME);
+	private static final Pattern EXISTS = Pattern.compile("(@?" + NAME + ")");
+	private static final Pattern EQUALS = Pattern.compile(ARG + "\\s*=\\s*" + LITERAL);
+	private static final Pattern EQUALS_REVERSED = Pattern.compile(LITERAL + "\\s*=\\s*" + ARG);
+	private static final Pattern FUNCTION = Pattern
+			.compile("(contains|starts-with)\\s*\\(\\s*" + ARG + "\\s*,\\s*" + LITERAL + "\\s*\\)");
+
+	/**
+	 * Maximum steps, active steps of an element are kept in bits of a long.
+	 */
+	private static final int MAX_STEPS = 62;
+
+	private enum Target {
+		SELF, TEXT, ATTRIBUTE, CHILD
+	}
+
+	private enum Op {
+		EXISTS, EQUALS, CONTAINS, STARTS_WITH
+	}
+
+	private enum Tail {
+		ELEMENT, ATTRIBUTE, TEXT
+	}
+
+	/**
+	 * Predicate condition; functions take the first node of a node-set, "="
+	 * matches any node.
+	 */
+	private static class Condition {
+		final Target target;
+		final String name;
+		final Op op;
+		final String value;
+
+		Condition(Target target, String name, Op op, String value) {
+			this.target = target;
+			this.name = name;
+			this.op = op;
+			this.value = value;
+		}
+
+		boolean test(String text) {
+			switch (op) {
+			case EQUALS:
+				return value.equals(text);
+			case CONTAINS:
+				return text.contains(value);
+			case STARTS_WITH:
+				return text.startsWith(value);
+			default:
+				return true;
+			}
+		}
+
+		/**
+		 * Decided by the first node only.
+		 */
+		boolean isFirstOnly() {
+			return op == Op.CONTAINS || op == Op.STARTS_WITH;
+		}
+	}
+
+	private static class Step {
+		final boolean descendant;
+		final String name; // null for "*"
+		final List<Condition> conditions = new ArrayList<Condition>();
+
+		Step(boolean descendant, String name) {
+			this.descendant = descendant;
+			this.name = name;
+		}
+
+		boolean matches(String qName, Attributes attributes) {
+			if (name != null && !name.equals(qName)) {
+				return false;
+			}
+			for (Condition condition : conditions) {
+				if (condition.target == Target.ATTRIBUTE) {
+					String value = attributes.getValue(condition.name);
+					if (value == null || !condition.test(value)) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
+
+	private final String xpath;
+	private final Step[] steps;
+	private final Tail tail;
+	private final String tailName;
+	private final Condition[] contentConditions;
+	private final boolean selfValue;
+	private SAXParser parser;
+
+	private StreamingXPath(String xpath, List<Step> steps, Tail tail, String tailName) {
+		this.xpath = xpath;
+		this.steps = steps.toArray(new Step[steps.size()]);
+		this.tail = tail;
+		this.tailName = tailName;
+
+		List<Condition> content = new ArrayList<Condition>();
+		boolean self = false;
+		for (Condition condition : this.steps[this.steps.length - 1].conditions) {
+			if (condition.target != Target.ATTRIBUTE) {
+				content.add(condition);
+				self |= condition.target == Target.SELF;
+			}
+		}
+		this.contentConditions = content.toArray(new Condition[content.size()]);
+		this.selfValue = self;
+	}
+
+	public String getXPath() {
+		return xpath;
+	}
+
+	/**
+	 * Compile XPath
+	 *
+	 * @param xpath
+	 * @return StreamingXPath or null when the xpath is not within the supported
+	 *         subset.
+	 */
+	public static StreamingXPath compile(String xpath) {
+		String expr = xpath.trim();
+		List<Step> steps = new ArrayList<Step>();
+		Tail tail = Tail.ELEMENT;
+		String tailName = null;
+
+		int pos = 0;
+		boolean descendant = false;
+		if (expr.startsWith("//")) {
+			descendant = true;
+			pos = 2;
+		} else if (expr.startsWith("/")) {
+			pos = 1;
+		}
+
+		while (true) {
+			if (pos >= expr.length() || tail != Tail.ELEMENT) {
+				return null;
+			}
+
+			Step step;
+			Matcher name = NAME_PATTERN.matcher(expr).region(pos, expr.length());
+			if (expr.startsWith("text()", pos)) {
+				if (descendant || steps.isEmpty()) {
+					return null;
+				}
+				tail = Tail.TEXT;
+				pos += 6;
+				step = null;
+			} else if (expr.charAt(pos) == '@') {
+				name = NAME_PATTERN.matcher(expr).region(pos + 1, expr.length());
+				if (descendant || steps.isEmpty() || !name.lookingAt()) {
+					return null;
+				}
+				tail = Tail.ATTRIBUTE;
+				tailName = name.group();
+				pos = name.end();
+				step = null;
+			} else if (expr.charAt(pos) == '*') {
+				step = new Step(descendant, null);
+				pos++;
+			} else if (name.lookingAt()) {
+				step = new Step(descendant, name.group());
+				pos = name.end();
+			} else {
+				return null;
+			}
+
+			while (pos < expr.length() && expr.charAt(pos) == '[') {
+				int end = predicateEnd(expr, pos);
+				if (step == null || end == -1 || !parsePredicate(expr.substring(pos + 1, end), step)) {
+					return null;
+				}
+				pos = end + 1;
+			}
+
+			if (step != null) {
+				if (!steps.isEmpty() && hasContentCondition(steps.get(steps.size() - 1))) {
+					return null;
+				}
+				steps.add(step);
+				if (steps.size() > MAX_STEPS) {
+					return null;
+				}
+			}
+
+			if (pos == expr.length()) {
+				break;
+			} else if (expr.startsWith("//", pos)) {
+				descendant = true;
+				pos += 2;
+			} else if (expr.charAt(pos) == '/') {
+				descendant = false;
+				pos++;
+			} else {
+				return null;
+			}
+		}
+
+		if (tail != Tail.ELEMENT && hasContentCondition(steps.get(steps.size() - 1))) {
+			return null;
+		}
+
+		return new StreamingXPath(xpath, steps, tail, tailName);
+	}
+
+	private static boolean hasContentCondition(Step step) {
+		for (Condition condition : step.conditions) {
+			if (condition.target != Target.ATTRIBUTE) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int predicateEnd(String expr, int start) {
+		char quote = 0;
+		for (int i = start + 1; i < expr.length(); i++) {
+			char c = expr.charAt(i);
+			if (quote != 0) {
+				if (c == quote) {
+					quote = 0;
+				}
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+			} else if (c == '[') {
+				return -1;
+			} else if (c == ']') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean parsePredicate(String predicate, Step step) {
+		for (String part : splitAnd(predicate)) {
+			Condition condition = parseCondition(part.trim());
+			if (condition == null) {
+				return false;
+			}
+			step.conditions.add(condition);
+		}
+		return true;
+	}
+
+	private static List<String> splitAnd(String predicate) {
+		List<String> parts = new ArrayList<String>();
+		char quote = 0;
+		int start = 0;
+		for (int i = 0; i < predicate.length(); i++) {
+			char c = predicate.charAt(i);
+			if (quote != 0) {
+				if (c == quote) {
+					quote = 0;
+				}
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+			} else if (predicate.startsWith(" and ", i)) {
+				parts.add(predicate.substring(start, i));
+				start = i + 5;
+				i += 4;
+			}
+		}
+		parts.add(predicate.substring(start));
+		return parts;
+	}
+
+	private static Condition parseCondition(String part) {
+		Matcher matcher;
+		if ((matcher = EXISTS.matcher(part)).matches()) {
+			return condition(matcher.group(1), Op.EXISTS, null);
+		} else if ((matcher = EQUALS.matcher(part)).matches()) {
+			return condition(matcher.group(1), Op.EQUALS, unquote(matcher.group(2)));
+		} else if ((matcher = EQUALS_REVERSED.matcher(part)).matches()) {
+			return condition(matcher.group(2), Op.EQUALS, unquote(matcher.group(1)));
+		} else if ((matcher = FUNCTION.matcher(part)).matches()) {
+			Op op = "contains".equals(matcher.group(1)) ? Op.CONTAINS : Op.STARTS_WITH;
+			String value = unquote(matcher.group(3));
+			// always true, even without a node.
+			return value.isEmpty() ? null : condition(matcher.group(2), op, value);
+		}
+		return null;
+	}
+
+	private static Condition condition(String arg, Op op, String value) {
+		if ("text()".equals(arg)) {
+			return op == Op.EXISTS ? null : new Condition(Target.TEXT, null, op, value);
+		} else if (".".equals(arg)) {
+			return op == Op.EXISTS ? null : new Condition(Target.SELF, null, op, value);
+		} else if (arg.startsWith("@")) {
+			return new Condition(Target.ATTRIBUTE, arg.substring(1), op, value);
+		} else if (NAME_PATTERN.matcher(arg).matches() && !"and".equals(arg) && !"or".equals(arg)) {
+			return new Condition(Target.CHILD, arg, op, value);
+		}
+		return null;
+	}
+
+	private static String unquote(String literal) {
+		return literal.substring(1, literal.length() - 1);
+	}
+
+	/**
+	 * Check if the XPath selects any node, as a NODESET evaluation with nodes
+	 * would.
+	 *
+	 * @param reader
+	 * @return boolean
+	 * @throws DocumentException
+	 */
+	public boolean exists(Reader reader) throws DocumentException {
+		return evaluate(reader, false) != null;
+	}
+
+	/**
+	 * String value of the first selected node in document order, as a STRING
+	 * evaluation; empty when no node is selected.
+	 *
+	 * @param reader
+	 * @return String value
+	 * @throws DocumentException
+	 */
+	public String firstValue(Reader reader) throws DocumentException {
+		String value = evaluate(reader, true);
+		return value != null ? value : "";
+	}
+
+	private String evaluate(Reader reader, boolean needValue) throws DocumentException {
+		Evaluation evaluation = new Evaluation(needValue);
+		try {
+			if (parser == null) {
+				SAXParserFactory factory = SAXParserFactory.newInstance();
+				factory.setNamespaceAware(false);
+				factory.setValidating(false);
+				factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+				parser = factory.newSAXParser();
+			}
+			parser.setProperty("http://xml.org/sax/properties/lexical-handler", evaluation);
+			parser.parse(new InputSource(reader), evaluation);
+		} catch (StopParsing e) {
+			// result found.
+		} catch (ParserConfigurationException | SAXException | IOException e) {
+			parser = null;
+			throw new DocumentException(e);
+		}
+		return evaluation.result;
+	}
+
+	/**
+	 * Thrown to stop parsing once the result is known.
+	 */
+	private static class StopParsing extends SAXException {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+
+	private static final StopParsing STOP = new StopParsing();
+
+	/**
+	 * Element selected by the element steps, waiting for its content conditions
+	 * to be decided.
+	 */
+	private class Candidate {
+		final int depth;
+		final StringBuilder value;
+		final boolean[] satisfied = new boolean[contentConditions.length];
+		final boolean[] decided = new boolean[contentConditions.length];
+		StringBuilder child;
+		String childName;
+		boolean ended;
+		boolean matched;
+
+		Candidate(int depth, boolean needValue) {
+			this.depth = depth;
+			this.value = selfValue || needValue ? new StringBuilder() : null;
+		}
+
+		void childStart(String name) {
+			childName = name;
+			child = null;
+			for (int i = 0; i < contentConditions.length; i++) {
+				Condition condition = contentConditions[i];
+				if (condition.target == Target.CHILD && !decided[i] && condition.name.equals(name)) {
+					if (condition.op == Op.EXISTS) {
+						satisfied[i] = decided[i] = true;
+					} else {
+						child = new StringBuilder();
+					}
+				}
+			}
+		}
+
+		void childEnd() {
+			if (child != null) {
+				decide(Target.CHILD, childName, child.toString());
+			}
+			child = null;
+			childName = null;
+		}
+
+		void decide(Target target, String name, String text) {
+			for (int i = 0; i < contentConditions.length; i++) {
+				Condition condition = contentConditions[i];
+				if (condition.target != target || decided[i] || (name != null && !condition.name.equals(name))) {
+					continue;
+				}
+				if (condition.test(text)) {
+					satisfied[i] = decided[i] = true;
+				} else if (condition.isFirstOnly()) {
+					decided[i] = true;
+				}
+			}
+		}
+
+		boolean end() {
+			if (value != null) {
+				for (int i = 0; i < contentConditions.length; i++) {
+					if (contentConditions[i].target == Target.SELF) {
+						satisfied[i] = contentConditions[i].test(value.toString());
+					}
+				}
+			}
+			ended = true;
+			matched = true;
+			for (boolean sat : satisfied) {
+				matched &= sat;
+			}
+			return matched;
+		}
+	}
+
+	/**
+	 * SAX handler for a single evaluation.
+	 */
+	private class Evaluation extends DefaultHandler2 {
+		private final boolean needValue;
+		private long[] active = new long[32];
+		private int depth = 0;
+		private final LinkedList<Candidate> candidates = new LinkedList<Candidate>();
+
+		/**
+		 * Elements, by depth, whose text nodes are selected.
+		 */
+		private boolean[] textSelected = new boolean[32];
+		private StringBuilder textNode;
+		String result;
+
+		Evaluation(boolean needValue) {
+			this.needValue = needValue;
+			active[0] = 1L;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes)
+				throws SAXException {
+			textBoundary();
+
+			long parent = active[depth];
+			depth++;
+			if (depth == active.length) {
+				active = Arrays.copyOf(active, active.length * 2);
+				textSelected = Arrays.copyOf(textSelected, active.length);
+			}
+
+			long current = 0;
+			for (int i = 0; i < steps.length; i++) {
+				if ((parent & (1L << i)) != 0) {
+					if (steps[i].descendant) {
+						current |= 1L << i;
+					}
+					if (steps[i].matches(qName, attributes)) {
+						current |= 1L << (i + 1);
+					}
+				}
+			}
+			active[depth] = current;
+
+			for (Candidate candidate : candidates) {
+				if (!candidate.ended && candidate.depth == depth - 1) {
+					candidate.childStart(qName);
+				}
+			}
+
+			if ((current & (1L << steps.length)) != 0) {
+				selected(attributes);
+			}
+		}
+
+		private void selected(Attributes attributes) throws SAXException {
+			if (tail == Tail.ATTRIBUTE) {
+				String value = attributes.getValue(tailName);
+				if (value != null) {
+					result = value;
+					throw STOP;
+				}
+			} else if (tail == Tail.TEXT) {
+				textSelected[depth] = true;
+			} else if (contentConditions.length == 0 && !needValue) {
+				result = "";
+				throw STOP;
+			} else {
+				candidates.add(new Candidate(depth, needValue));
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) throws SAXException {
+			textBoundary();
+
+			textSelected[depth] = false;
+
+			for (Candidate candidate : candidates) {
+				if (!candidate.ended && candidate.depth == depth - 1) {
+					candidate.childEnd();
+				}
+			}
+
+			Candidate current = open(depth);
+			if (current != null) {
+				if (current.end() && !needValue) {
+					result = "";
+					throw STOP;
+				}
+				while (!candidates.isEmpty() && candidates.peekFirst().ended) {
+					Candidate first = candidates.removeFirst();
+					if (first.matched) {
+						result = first.value.toString();
+						throw STOP;
+					}
+				}
+			}
+			depth--;
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) throws SAXException {
+			for (Candidate candidate : candidates) {
+				if (candidate.ended) {
+					continue;
+				}
+				if (candidate.value != null) {
+					candidate.value.append(ch, start, length);
+				}
+				if (candidate.child != null) {
+					candidate.child.append(ch, start, length);
+				}
+			}
+
+			if (textNode == null) {
+				textNode = new StringBuilder();
+			}
+			textNode.append(ch, start, length);
+		}
+
+		@Override
+		public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+			characters(ch, start, length);
+		}
+
+		/**
+		 * End of the current text node, at markup, comments and CDATA sections.
+		 */
+		private void textBoundary() throws SAXException {
+			if (textNode == null) {
+				return;
+			}
+			String value = textNode.toString();
+			textNode = null;
+
+			if (textSelected[depth]) {
+				result = value;
+				throw STOP;
+			}
+
+			Candidate current = open(depth);
+			if (current != null) {
+				current.decide(Target.TEXT, null, value);
+			}
+		}
+
+		/**
+		 * Open candidate of the element at depth; ended candidates stay listed
+		 * until those before them in document order are decided.
+		 */
+		private Candidate open(int depth) {
+			for (Candidate candidate : candidates) {
+				if (!candidate.ended && candidate.depth == depth) {
+					return candidate;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public void comment(char[] ch, int start, int length) throws SAXException {
+			textBoundary();
+		}
+
+		@Override
+		public void startCDATA() throws SAXException {
+			textBoundary();
+		}
+
+		@Override
+		public void endCDATA() throws SAXException {
+			textBoundary();
+		}
+
+		@Override
+		public void processingInstruction(String target, String data) throws SAXException {
+			textBoundary();
+		}
+	}
+}
@@ -0,0 +1,260 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+/**
+ * Value Set
+ *
+ * <p>
+ * Read only set of strings for large value lists, such as millions of
+ * publication numbers for "--containsFromFile". Values are kept sorted as
+ * UTF-8 bytes within a single array, with an array of offsets, and are found
+ * with a binary search; about the size of the values themselves plus four
+ * bytes each, instead of a String and HashSet entry per value.
+ * </p>
+ *
+ * <p>
+ * An optional Bloom filter answers most lookups of values not in the set
+ * without the binary search.
+ * </p>
+ *
+ * <code><pre>
+ * ValueSet values = ValueSet.read(Paths.get("pubnums.txt"), Charset.defaultCharset(), true);
+ * values.contains("US8927118");
+ * </pre></code>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class ValueSet extends AbstractSet<String> {
+
+	/**
+	 * False positive probability of the Bloom filter.
+	 */
+	public static final double BLOOM_FPP = 0.01;
+
+	private final byte[] data;
+	private final int[] offsets; // value i is data[offsets[i], offsets[i + 1])
+	private final BloomFilter<CharSequence> bloomFilter;
+	private final int valuesRead;
+
+	private ValueSet(byte[] data, int[] offsets, boolean bloom, int valuesRead) {
+		this.data = data;
+		this.offsets = offsets;
+		this.valuesRead = valuesRead;
+		if (bloom) {
+			bloomFilter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), Math.max(size(), 1),
+					BLOOM_FPP);
+			for (int i = 0; i < size(); i++) {
+				bloomFilter.put(get(i));
+			}
+		} else {
+			bloomFilter = null;
+		}
+	}
+
+	/**
+	 * Read values from file, one value per line; blank lines are skipped.
+	 *
+	 * @param file
+	 * @param charset
+	 * @param bloom   - build Bloom filter
+	 * @return ValueSet
+	 * @throws IOException
+	 */
+	public static ValueSet read(Path file, Charset charset, boolean bloom) throws IOException {
+		Builder builder = new Builder();
+		try (BufferedReader reader = Files.newBufferedReader(file, charset)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isEmpty()) {
+					builder.add(line);
+				}
+			}
+		}
+		return builder.build(bloom);
+	}
+
+	public static ValueSet of(Iterable<String> values, boolean bloom) {
+		Builder builder = new Builder();
+		for (String value : values) {
+			builder.add(value);
+		}
+		return builder.build(bloom);
+	}
+
+	/**
+	 * Number of values read, before duplicates were removed.
+	 */
+	public int getValuesRead() {
+		return valuesRead;
+	}
+
+	public boolean hasBloomFilter() {
+		return bloomFilter != null;
+	}
+
+	@Override
+	public int size() {
+		return offsets.length - 1;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof String)) {
+			return false;
+		}
+		String value = (String) o;
+		if (bloomFilter != null && !bloomFilter.mightContain(value)) {
+			return false;
+		}
+		byte[] key = value.getBytes(StandardCharsets.UTF_8);
+
+		int low = 0;
+		int high = size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = compare(data, offsets[mid], offsets[mid + 1], key, 0, key.length);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String get(int index) {
+		return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < size();
+			}
+
+			@Override
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(index++);
+			}
+		};
+	}
+
+	/**
+	 * Unsigned byte order, which for UTF-8 is code point order.
+	 */
+	private static int compare(byte[] a, int aStart, int aEnd, byte[] b, int bStart, int bEnd) {
+		int aLength = aEnd - aStart;
+		int bLength = bEnd - bStart;
+		int length = Math.min(aLength, bLength);
+		for (int i = 0; i < length; i++) {
+			int cmp = (a[aStart + i] & 0xFF) - (b[bStart + i] & 0xFF);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return aLength - bLength;
+	}
+
+	/**
+	 * Collects values packed as UTF-8, then sorts and removes duplicates.
+	 */
+	private static class Builder {
+		private byte[] data = new byte[4096];
+		private int[] starts = new int[256];
+		private int count = 0;
+		private int length = 0;
+
+		void add(String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			if (length + bytes.length > data.length) {
+				data = Arrays.copyOf(data, Math.max(data.length * 2, length + bytes.length));
+			}
+			if (count + 1 >= starts.length) {
+				starts = Arrays.copyOf(starts, starts.length * 2);
+			}
+			System.arraycopy(bytes, 0, data, length, bytes.length);
+			starts[count++] = length;
+			length += bytes.length;
+			starts[count] = length;
+		}
+
+		ValueSet build(boolean bloom) {
+			int[] order = new int[count];
+			for (int i = 0; i < count; i++) {
+				order[i] = i;
+			}
+			sort(order, new int[count], 0, count);
+
+			byte[] sorted = new byte[length];
+			int[] offsets = new int[count + 1];
+			int unique = 0;
+			int pos = 0;
+			for (int i = 0; i < count; i++) {
+				int value = order[i];
+				if (unique > 0 && ValueSet.compare(sorted, offsets[unique - 1], pos, data, starts[value],
+						starts[value + 1]) == 0) {
+					continue;
+				}
+				int valueLength = starts[value + 1] - starts[value];
+				System.arraycopy(data, starts[value], sorted, pos, valueLength);
+				offsets[unique++] = pos;
+				pos += valueLength;
+			}
+			offsets[unique] = pos;
+
+			return new ValueSet(Arrays.copyOf(sorted, pos), Arrays.copyOf(offsets, unique + 1), bloom, count);
+		}
+
+		/**
+		 * Merge sort of value indexes, by their bytes.
+		 */
+		private void sort(int[] order, int[] buffer, int from, int to) {
+			if (to - from < 2) {
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			sort(order, buffer, from, mid);
+			sort(order, buffer, mid, to);
+			if (compare(order[mid - 1], order[mid]) <= 0) {
+				return;
+			}
+			System.arraycopy(order, from, buffer, from, to - from);
+			int left = from;
+			int right = mid;
+			for (int i = from; i < to; i++) {
+				if (right >= to || (left < mid && compare(buffer[left], buffer[right]) <= 0)) {
+					order[i] = buffer[left++];
+				} else {
+					order[i] = buffer[right++];
+				}
+			}
+		}
+
+		private int compare(int a, int b) {
+			return ValueSet.compare(data, starts[a], starts[a + 1], data, starts[b], starts[b + 1]);
+		}
+	}
+}
@@ -53,7 +53,7 @@ public class TransformerConfig extends BulkReaderArguments {
 				.defaultsTo(false);
 
 		opParser.accepts("type").withOptionalArg().ofType(String.class)
-				.describedAs("types options: [raw,json,json_flat,patft,solr,object,text]").defaultsTo("json");
+				.describedAs("types options: [raw,json,json_flat,patft,solr,object,text,arrow,binary]").defaultsTo("json");
 
 		return opParser;
 	}
@@ -85,6 +85,9 @@ public class TransformerConfig extends BulkReaderArguments {
 		}
 
 		setPrettyPrint((Boolean) options.valueOf("prettyPrint"));
+
+		Preconditions.checkArgument(!(isCheckpoint() && isArrowOutput()),
+				"Checkpoint is not supported with arrow output, table files are rewritten when resumed");
 	}
 
 	public void setOutputDir(Path outDir) {
@@ -100,6 +103,14 @@ public class TransformerConfig extends BulkReaderArguments {
 		return this.outputDir;
 	}
 
+	/**
+	 * Checkpoint is saved within the output directory.
+	 */
+	@Override
+	public Path getCheckpointDir() {
+		return this.outputDir;
+	}
+
 	public void setOutputType(String outputType) {
 		this.outputType = outputType;
 	}
@@ -108,6 +119,13 @@ public class TransformerConfig extends BulkReaderArguments {
 		return this.outputType;
 	}
 
+	/**
+	 * Columnar Arrow output, a set of table files per bulk file.
+	 */
+	public boolean isArrowOutput() {
+		return "arrow".equalsIgnoreCase(this.outputType);
+	}
+
 	public void setPrettyPrint(Boolean bool) {
 		this.prettyPrint = bool;
 	}
@@ -5,10 +5,13 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.transform.TransformerConfigurationException;
 
@@ -16,9 +19,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import gov.uspto.bulkdata.PatentCache;
 import gov.uspto.bulkdata.RecordProcessor;
 import gov.uspto.bulkdata.tools.grep.DocumentException;
 import gov.uspto.bulkdata.tools.grep.GrepRecordProcessor;
+import gov.uspto.common.io.CommitFileWriter;
 import gov.uspto.common.io.DummyWriter;
 import gov.uspto.patent.PatentDocFormat;
 import gov.uspto.patent.PatentReader;
@@ -29,6 +34,8 @@ import gov.uspto.patent.serialize.JsonMapperFlat;
 import gov.uspto.patent.serialize.JsonMapperPATFT;
 import gov.uspto.patent.serialize.JsonMapperStream;
 import gov.uspto.patent.serialize.PlainText;
+import gov.uspto.patent.serialize.arrow.PatentArrowWriter;
+import gov.uspto.patent.serialize.binary.PatentBinaryWriter;
 import gov.uspto.patent.serialize.solr.JsonMapperSolr;
 
 public class TransformerRecordProcessor implements RecordProcessor {
@@ -36,10 +43,15 @@ public class TransformerRecordProcessor implements RecordProcessor {
 
 	private final TransformerConfig config;
 	private PatentReader patentReader;
+	private PatentCache patentCache;
 	private String currentFilename;
-	private Writer currentWriter;
+	private CommitFileWriter currentWriter;
+	private PatentArrowWriter arrowWriter;
 	private GrepRecordProcessor matchProcessor;
 	private final String fileExt;
+	// bulk records and Arrow rows held back until written in source order.
+	private final Map<String, String> pendingRecords = new ConcurrentHashMap<String, String>();
+	private final Map<String, Patent> pendingPatents = new ConcurrentHashMap<String, Patent>();
 
 	public TransformerRecordProcessor(TransformerConfig config) {
 		this.config = config;
@@ -49,6 +61,7 @@ public class TransformerRecordProcessor implements RecordProcessor {
 	@Override
 	public void setPatentDocFormat(PatentDocFormat docFormat) {
 		this.patentReader = new PatentReader(docFormat);
+		this.patentReader.setStreaming(config.isStreaming());
 	}
 
 	@Override
@@ -60,6 +73,13 @@ public class TransformerRecordProcessor implements RecordProcessor {
 		this.matchProcessor = grepProcessor;
 	}
 
+	/**
+	 * Read patents from cache, parsing only records not already cached.
+	 */
+	public void setPatentCache(PatentCache patentCache) {
+		this.patentCache = patentCache;
+	}
+
 	@Override
 	public Boolean process(String sourceTxt, String rawRecord, Writer writer)
 			throws PatentReaderException, DocumentException, IOException {
@@ -69,14 +89,16 @@ public class TransformerRecordProcessor implements RecordProcessor {
 			return false;
 		}
 
-		Patent patent = patentReader.read(new StringReader(rawRecord));
+		Patent patent = patentCache != null ? patentCache.read(patentReader, rawRecord) : patentReader.read(rawRecord);
 
 		String patentId = patent.getDocumentId() != null ? patent.getDocumentId().toText() : "";
 		MDC.put("DOCID", patentId);
 
 		String sourceFilename = sourceTxt.replaceFirst("\\.zip:\\d+$", "");
 
-		if (!config.isBulkOutput()) {
+		if (config.isArrowOutput()) {
+			pendingPatents.put(sourceTxt, patent);
+		} else if (!config.isBulkOutput()) {
 			Path outPath = config.getOutputDir().resolve(sourceFilename);
 			if (!outPath.toFile().isDirectory()) {
 				outPath.toFile().mkdirs();
@@ -91,34 +113,94 @@ public class TransformerRecordProcessor implements RecordProcessor {
 			}
 
 		} else {
-			String filename = sourceFilename + fileExt;
-			if (!filename.equals(currentFilename)) {
-				if (currentWriter != null) {
-					currentWriter.close();
-				}
-				File outputFile = config.getOutputDir().resolve(filename).toFile();
-				currentWriter = new BufferedWriter(
-						new OutputStreamWriter(new FileOutputStream(outputFile, true), StandardCharsets.UTF_16));
-				currentFilename = filename;
+			StringWriter recordWriter = new StringWriter();
+			writeOutputType(sourceTxt, patent, recordWriter);
+			recordWriter.write('\n');
+			pendingRecords.put(sourceTxt, recordWriter.toString());
+		}
+
+		return true;
+	}
+
+	/**
+	 * Append held back record to the bulk or Arrow output file, in source order.
+	 */
+	@Override
+	public void writeOrdered(String sourceTxt) throws IOException {
+		String sourceFilename = sourceTxt.replaceFirst("\\.zip:\\d+$", "");
+
+		Patent patent = pendingPatents.remove(sourceTxt);
+		if (patent != null) {
+			writeArrow(sourceFilename, patent);
+		}
+
+		String record = pendingRecords.remove(sourceTxt);
+		if (record != null) {
+			writeBulk(sourceFilename + fileExt, record);
+		}
+	}
+
+	/**
+	 * Append record to bulk output file.
+	 */
+	private synchronized void writeBulk(String filename, String record) throws IOException {
+		if (!filename.equals(currentFilename)) {
+			if (currentWriter != null) {
+				currentWriter.close();
 			}
+			// append to existing bulk file.
+			Path outputFile = config.getOutputDir().resolve(filename);
+			currentWriter = new CommitFileWriter(outputFile, StandardCharsets.UTF_16, outputFile.toFile().length());
+			currentFilename = filename;
+		}
 
+		try {
+			currentWriter.write(record);
+			currentWriter.flush();
+		} catch (IOException e) {
+			LOGGER.error("File Write Failed", e);
 			try {
-				writeOutputType(sourceTxt, patent, currentWriter);
-				currentWriter.write('\n');
-				currentWriter.flush();
-			} catch (IOException e) {
-				LOGGER.error("File Write Failed", e);
-				try {
-					currentWriter.close();
-				} catch (IOException e1) {
-					// do nothing.
-				}
-				throw e;
+				currentWriter.close();
+			} catch (IOException e1) {
+				// do nothing.
 			}
+			throw e;
+		}
+	}
 
+	/**
+	 * Append patent to the Arrow table files of the bulk file; rows are batched
+	 * in memory and written when a batch is full.
+	 */
+	private synchronized void writeArrow(String filename, Patent patent) throws IOException {
+		if (!filename.equals(currentFilename)) {
+			if (arrowWriter != null) {
+				arrowWriter.close();
+			}
+			arrowWriter = new PatentArrowWriter(config.getOutputDir(), filename);
+			currentFilename = filename;
 		}
+		arrowWriter.add(patent);
+	}
 
-		return true;
+	/**
+	 * Thread-safe when not pre-matching with grep; bulk and Arrow output are
+	 * appended by writeOrdered(), in source order.
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return matchProcessor == null;
+	}
+
+	/**
+	 * Commit bulk output file; individual patent files are rewritten when resumed.
+	 */
+	@Override
+	public synchronized Map<Path, Long> commit() throws IOException {
+		if (currentWriter == null) {
+			return Collections.emptyMap();
+		}
+		return Collections.singletonMap(currentWriter.getPath(), currentWriter.commit());
 	}
 
 	public void writeOutputType(String sourceText, Patent patent, Writer writer) throws IOException {
@@ -159,6 +241,10 @@ public class TransformerRecordProcessor implements RecordProcessor {
 			DocumentBuilder<Patent> fileBuilder2 = new JsonMapperFlat(prettyPrint, false);
 			fileBuilder2.write(patent, writer);
 			break;
+		case "binary":
+		case "bin":
+			new PatentBinaryWriter().write(patent, writer);
+			break;
 		case "object":
 		case "obj":
 			writer.write(patent.toString());
@@ -169,9 +255,19 @@ public class TransformerRecordProcessor implements RecordProcessor {
 	}
 
 	@Override
-	public void finish(Writer writer) throws IOException {
+	public synchronized void finish(Writer writer) throws IOException {
+		// records discarded past a read limit.
+		pendingRecords.clear();
+		pendingPatents.clear();
+
 		if (currentWriter != null) {
 			currentWriter.close();
+			currentWriter = null;
+		}
+
+		if (arrowWriter != null) {
+			arrowWriter.close();
+			arrowWriter = null;
 		}
 
 		/*
@@ -1,10 +1,10 @@
 package gov.uspto.bulkdata.tools.view;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.Writer;
 import java.util.Arrays;
 
+import gov.uspto.bulkdata.PatentCache;
 import gov.uspto.bulkdata.RecordProcessor;
 import gov.uspto.patent.PatentDocFormat;
 import gov.uspto.patent.PatentReader;
@@ -22,14 +22,23 @@ public class ViewRecordProcessor implements RecordProcessor {
 
 	private final ViewConfig config;
 	private PatentReader patentReader;
+	private PatentCache patentCache;
 
 	public ViewRecordProcessor(ViewConfig config) {
 		this.config = config;
 	}
 
+	/**
+	 * Read patents from cache, parsing only records not already cached.
+	 */
+	public void setPatentCache(PatentCache patentCache) {
+		this.patentCache = patentCache;
+	}
+
 	@Override
 	public void setPatentDocFormat(PatentDocFormat docFormat) {
 		this.patentReader = new PatentReader(docFormat);
+		this.patentReader.setStreaming(config.isStreaming());
 	}
 
 	@Override
@@ -43,7 +52,8 @@ public class ViewRecordProcessor implements RecordProcessor {
 			write(writer, " ---------------------------\n", "Patent RAW:\n", rawRecord);
 		} else {
 			try {
-				Patent patent = patentReader.read(new StringReader(rawRecord));
+				Patent patent = patentCache != null ? patentCache.read(patentReader, rawRecord)
+						: patentReader.read(rawRecord);
 				if ("fields".equals(config.getOutputType())) {
 					writeField(sourceTxt, patent, writer);
 				} else {
@@ -63,6 +73,11 @@ public class ViewRecordProcessor implements RecordProcessor {
 		// empty.
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	public void writeOutputType(String sourceText, Patent patent, Writer writer) throws IOException {
 		Boolean prettyPrint = true;
 
@@ -0,0 +1,141 @@
+package gov.uspto.bulkdata;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.bulk.DumpFileXml;
+import gov.uspto.patent.bulk.DumpReader;
+
+public class CompositeRecordProcessorTest {
+
+	private static DumpReader dumpReader(int records) {
+		StringBuilder stb = new StringBuilder();
+		for (int i = 1; i <= records; i++) {
+			stb.append("<us-patent-grant id=\"").append(i).append("\">\n");
+			stb.append("<doc-number>").append(i).append("</doc-number>\n");
+			stb.append("</us-patent-grant>\n");
+		}
+		return new DumpFileXml("ipg000000.xml", new BufferedReader(new StringReader(stb.toString())));
+	}
+
+	/**
+	 * Writes prefix and doc number of records with doc number divisible by
+	 * divisor.
+	 */
+	private static class DivisibleProcessor implements RecordProcessor {
+		private final String prefix;
+		private final int divisor;
+		private int initialized;
+		private int finished;
+
+		public DivisibleProcessor(String prefix, int divisor) {
+			this.prefix = prefix;
+			this.divisor = divisor;
+		}
+
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws IOException {
+			int id = Integer.parseInt(rawRecord.replaceFirst("(?s).*<doc-number>(\\d+)</doc-number>.*", "$1"));
+			if (id % divisor != 0) {
+				return false;
+			}
+			writer.write(prefix + id + "\n");
+			return true;
+		}
+
+		@Override
+		public void initialize(Writer writer) {
+			initialized++;
+		}
+
+		@Override
+		public void finish(Writer writer) {
+			finished++;
+		}
+
+		@Override
+		public void setPatentDocFormat(PatentDocFormat docFormat) {
+			// empty.
+		}
+
+		@Override
+		public Map<Path, Long> commit() {
+			return Collections.singletonMap(Paths.get(prefix + ".txt"), (long) divisor);
+		}
+	}
+
+	@Test
+	public void shortCircuit() throws PatentReaderException, IOException {
+		DivisibleProcessor first = new DivisibleProcessor("a", 2);
+		DivisibleProcessor second = new DivisibleProcessor("b", 3);
+		CompositeRecordProcessor processor = new CompositeRecordProcessor(first, second);
+		processor.setShortCircuit(true);
+
+		StringWriter writer = new StringWriter();
+		RunStats stats = new RecordReader(new BulkReaderArguments()).read(dumpReader(12), processor, writer);
+
+		assertEquals("a2\na4\na6\nb6\na8\na10\na12\nb12\n", writer.toString());
+		assertEquals(12, stats.getRecord());
+		assertEquals(2, stats.getSuccess());
+
+		RunStats firstStats = processor.getRunStats().get(0);
+		assertEquals(12, firstStats.getRecord());
+		assertEquals(6, firstStats.getSuccess());
+		assertEquals(6, firstStats.getFailure());
+
+		RunStats secondStats = processor.getRunStats().get(1);
+		assertEquals(6, secondStats.getRecord());
+		assertEquals(2, secondStats.getSuccess());
+		assertEquals(4, secondStats.getFailure());
+
+		assertEquals(1, first.initialized);
+		assertEquals(1, second.finished);
+	}
+
+	@Test
+	public void everyProcessor() throws PatentReaderException, IOException {
+		DivisibleProcessor first = new DivisibleProcessor("a", 2);
+		DivisibleProcessor second = new DivisibleProcessor("b", 3);
+		CompositeRecordProcessor processor = new CompositeRecordProcessor(first, second);
+
+		StringWriter writer = new StringWriter();
+		RunStats stats = new RecordReader(new BulkReaderArguments()).read(dumpReader(12), processor, writer);
+
+		assertEquals("a2\nb3\na4\na6\nb6\na8\nb9\na10\na12\nb12\n", writer.toString());
+		assertEquals(12, stats.getRecord());
+		assertEquals(2, stats.getSuccess());
+
+		RunStats firstStats = processor.getRunStats().get(0);
+		assertEquals(12, firstStats.getRecord());
+		assertEquals(6, firstStats.getSuccess());
+
+		RunStats secondStats = processor.getRunStats().get(1);
+		assertEquals(12, secondStats.getRecord());
+		assertEquals(4, secondStats.getSuccess());
+		assertEquals(8, secondStats.getFailure());
+	}
+
+	@Test
+	public void commitEveryProcessor() throws IOException {
+		CompositeRecordProcessor processor = new CompositeRecordProcessor(new DivisibleProcessor("a", 2),
+				new DivisibleProcessor("b", 3));
+
+		Map<Path, Long> outputs = processor.commit();
+		assertEquals(2, outputs.size());
+		assertEquals(Long.valueOf(2), outputs.get(Paths.get("a.txt")));
+		assertEquals(Long.valueOf(3), outputs.get(Paths.get("b.txt")));
+	}
+}
@@ -0,0 +1,233 @@
+package gov.uspto.bulkdata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import gov.uspto.common.io.CommitFileWriter;
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+
+public class ParallelDirectoryReaderTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private static void bulkFile(File zipFile, int records) throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(zipFile))) {
+			zip.putNextEntry(new ZipEntry(zipFile.getName().replace(".zip", ".xml")));
+			StringBuilder stb = new StringBuilder();
+			for (int i = 1; i <= records; i++) {
+				stb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+				stb.append("<us-patent-grant id=\"").append(i).append("\">\n");
+				stb.append("<doc-number>").append(i).append("</doc-number>\n");
+				stb.append("</us-patent-grant>\n");
+			}
+			zip.write(stb.toString().getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		zipFile.setLastModified(System.currentTimeMillis() - 60000);
+	}
+
+	private static class IdProcessor implements RecordProcessor {
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws IOException {
+			String id = rawRecord.replaceFirst("(?s).*<doc-number>(\\d+)</doc-number>.*", "$1");
+			writer.write(id);
+			writer.write('\n');
+			return true;
+		}
+
+		@Override
+		public void initialize(Writer writer) {
+			// empty.
+		}
+
+		@Override
+		public void finish(Writer writer) throws IOException {
+			// empty.
+		}
+
+		@Override
+		public void setPatentDocFormat(PatentDocFormat docFormat) {
+			// empty.
+		}
+	}
+
+	@Test
+	public void filePartitions() throws IOException, PatentReaderException {
+		File inputDir = tempFolder.newFolder("input");
+		File outputDir = tempFolder.newFolder("output");
+		bulkFile(new File(inputDir, "ipg000101.zip"), 5);
+		bulkFile(new File(inputDir, "ipg000108.zip"), 7);
+		bulkFile(new File(inputDir, "ipg000115.zip"), 3);
+
+		File badFile = new File(inputDir, "ipg000122.zip");
+		Files.write(badFile.toPath(), "not a zip file".getBytes(StandardCharsets.UTF_8));
+		badFile.setLastModified(System.currentTimeMillis() - 60000);
+
+		BulkReaderArguments args = new BulkReaderArguments();
+		args.setInputFile(inputDir.toPath());
+		args.setOutputFile(outputDir.toPath().resolve("out.txt"));
+		args.setFileThreads(3);
+		args.setMemoryBudget(64);
+
+		RunStats stats = new RecordReader(args).read(() -> new IdProcessor());
+
+		assertEquals(15, stats.getRecord());
+		assertEquals(15, stats.getSuccess());
+		assertEquals(1, stats.getFailure());
+		assertEquals(3, stats.getChildren().size());
+		assertNotNull(stats.getChild("ipg000108.zip"));
+		assertEquals(7, stats.getChild("ipg000108.zip").getSuccess());
+
+		Path partition = outputDir.toPath().resolve("out-ipg000115.txt");
+		assertTrue(partition.toFile().isFile());
+		assertEquals("1\n2\n3\n", new String(Files.readAllBytes(partition), StandardCharsets.UTF_16));
+	}
+
+	/**
+	 * Writes doc-number and source of each record, over several write calls.
+	 */
+	private static class SourceProcessor extends IdProcessor {
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws IOException {
+			String id = rawRecord.replaceFirst("(?s).*<doc-number>(\\d+)</doc-number>.*", "$1");
+			writer.write(id);
+			Thread.yield();
+			writer.write(" ");
+			Thread.yield();
+			writer.write(sourceTxt.replaceFirst(":.*", ""));
+			writer.write('\n');
+			return true;
+		}
+	}
+
+	@Test
+	public void sharedWriterRecordsWhole() throws IOException {
+		File inputDir = tempFolder.newFolder("input");
+		List<Path> files = Arrays.asList(inputDir.toPath().resolve("ipg000101.zip"),
+				inputDir.toPath().resolve("ipg000108.zip"), inputDir.toPath().resolve("ipg000115.zip"));
+		for (Path file : files) {
+			bulkFile(file.toFile(), 200);
+		}
+
+		BulkReaderArguments args = new BulkReaderArguments();
+		args.setInputFile(inputDir.toPath());
+		StringWriter writer = new StringWriter();
+		RunStats stats = new ParallelDirectoryReader(new RecordReader(args), 3, 64).read(files,
+				() -> new SourceProcessor(), null, writer, new RunStats(inputDir.getName()));
+
+		assertEquals(600, stats.getSuccess());
+		String[] lines = writer.toString().split("\n");
+		assertEquals(600, lines.length);
+		for (String line : lines) {
+			assertTrue(line, line.matches("\\d+ ipg0001\\d\\d\\.zip"));
+		}
+	}
+
+	/**
+	 * Writes doc-number of each record to its own output file per bulk file, as
+	 * bulk output does; crashing after writing the crash record.
+	 */
+	private static class FileWritingProcessor extends IdProcessor {
+		private final Path outputDir;
+		private final int crashRecord;
+		private CommitFileWriter fileWriter;
+
+		public FileWritingProcessor(Path outputDir, int crashRecord) {
+			this.outputDir = outputDir;
+			this.crashRecord = crashRecord;
+		}
+
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws IOException {
+			if (fileWriter == null) {
+				Path outputFile = outputDir.resolve(sourceTxt.replaceFirst("\\.zip:.*", ".txt"));
+				fileWriter = new CommitFileWriter(outputFile, StandardCharsets.UTF_8, outputFile.toFile().length());
+			}
+			String id = rawRecord.replaceFirst("(?s).*<doc-number>(\\d+)</doc-number>.*", "$1");
+			fileWriter.write(id + "\n");
+			if (sourceTxt.startsWith("ipg000108") && Integer.parseInt(id) == crashRecord) {
+				fileWriter.flush();
+				throw new IllegalStateException("crash on record " + id);
+			}
+			return true;
+		}
+
+		@Override
+		public Map<Path, Long> commit() throws IOException {
+			if (fileWriter == null) {
+				return Collections.emptyMap();
+			}
+			return Collections.singletonMap(fileWriter.getPath(), fileWriter.commit());
+		}
+
+		@Override
+		public void finish(Writer writer) throws IOException {
+			if (fileWriter != null) {
+				fileWriter.close();
+				fileWriter = null;
+			}
+		}
+	}
+
+	@Test
+	public void sharedWriterResumeExactlyOnce() throws IOException, PatentReaderException {
+		File inputDir = tempFolder.newFolder("input");
+		Path outputDir = tempFolder.newFolder("output").toPath();
+		bulkFile(new File(inputDir, "ipg000101.zip"), 5);
+		bulkFile(new File(inputDir, "ipg000108.zip"), 10);
+
+		// processor writes its own output files, records are not written to STDOUT.
+		BulkReaderArguments args = new BulkReaderArguments() {
+			@Override
+			public Path getCheckpointDir() {
+				return outputDir;
+			}
+		};
+		args.setInputFile(inputDir.toPath());
+		args.setFileThreads(2);
+		args.setCheckpoint(true);
+		args.setCheckpointInterval(2);
+
+		RunStats stats = new RecordReader(args).read(() -> new FileWritingProcessor(outputDir, 7));
+		assertTrue(stats.getFailure() > 0);
+
+		stats = new RecordReader(args).read(() -> new FileWritingProcessor(outputDir, -1));
+		assertEquals(4, stats.getRecord());
+
+		assertEquals("1\n2\n3\n4\n5\n",
+				new String(Files.readAllBytes(outputDir.resolve("ipg000101.txt")), StandardCharsets.UTF_8));
+		assertEquals("1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n",
+				new String(Files.readAllBytes(outputDir.resolve("ipg000108.txt")), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void partitionPath() {
+		assertEquals(Paths.get("out", "grep-ipg180102.json"),
+				ParallelDirectoryReader.partitionPath(Paths.get("out", "grep.json"), Paths.get("ipg180102.zip")));
+		assertEquals(Paths.get("out", "grep-ipg180102"),
+				ParallelDirectoryReader.partitionPath(Paths.get("out", "grep"), Paths.get("ipg180102.zip")));
+	}
+}
@@ -0,0 +1,180 @@
+package gov.uspto.bulkdata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.bulk.DumpFileXml;
+import gov.uspto.patent.bulk.DumpReader;
+
+public class ParallelRecordPipelineTest {
+
+	private static String dumpText(int records) {
+		StringBuilder stb = new StringBuilder();
+		for (int i = 1; i <= records; i++) {
+			stb.append("<us-patent-grant id=\"").append(i).append("\">\n");
+			stb.append("<doc-number>").append(i).append("</doc-number>\n");
+			stb.append("</us-patent-grant>\n");
+		}
+		return stb.toString();
+	}
+
+	private static DumpReader dumpReader(int records) {
+		return new DumpFileXml("ipg000000.xml", new BufferedReader(new StringReader(dumpText(records))));
+	}
+
+	private static String expected(int records) {
+		StringBuilder stb = new StringBuilder();
+		for (int i = 1; i <= records; i++) {
+			stb.append(i).append('\n');
+		}
+		return stb.toString();
+	}
+
+	private static class SlowIdProcessor implements RecordProcessor {
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws IOException {
+			try {
+				Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			String id = rawRecord.replaceFirst("(?s).*<doc-number>(\\d+)</doc-number>.*", "$1");
+			writer.write(id);
+			writer.write('\n');
+			return Integer.parseInt(id) % 5 != 0;
+		}
+
+		@Override
+		public void initialize(Writer writer) {
+			// empty.
+		}
+
+		@Override
+		public void finish(Writer writer) {
+			// empty.
+		}
+
+		@Override
+		public void setPatentDocFormat(PatentDocFormat docFormat) {
+			// empty.
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return true;
+		}
+	}
+
+	/**
+	 * Holds back id of each record, appending it to its own output when written.
+	 */
+	private static class HeldBackProcessor extends SlowIdProcessor {
+		private final Map<String, String> pending = new ConcurrentHashMap<String, String>();
+		private final StringBuilder output = new StringBuilder();
+
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws IOException {
+			StringWriter recordWriter = new StringWriter();
+			Boolean success = super.process(sourceTxt, rawRecord, recordWriter);
+			pending.put(sourceTxt, recordWriter.toString());
+			return success;
+		}
+
+		@Override
+		public void writeOrdered(String sourceTxt) {
+			output.append(pending.remove(sourceTxt));
+		}
+	}
+
+	@Test
+	public void heldBackOutputInSourceOrder() throws PatentReaderException, IOException {
+		BulkReaderArguments args = new BulkReaderArguments();
+		args.setThreads(4);
+
+		HeldBackProcessor processor = new HeldBackProcessor();
+		StringWriter writer = new StringWriter();
+		new RecordReader(args).read(dumpReader(200), processor, writer);
+
+		assertEquals("", writer.toString());
+		assertEquals(expected(200), processor.output.toString());
+	}
+
+	@Test
+	public void readerFailureRethrown() throws IOException {
+		BulkReaderArguments args = new BulkReaderArguments();
+		args.setThreads(4);
+
+		DumpReader dumpReader = new DumpFileXml("ipg000000.xml",
+				new BufferedReader(new StringReader(dumpText(50)))) {
+			@Override
+			public String next() {
+				if (getCurrentRecCount() == 20) {
+					throw new IllegalStateException("read failed");
+				}
+				return super.next();
+			}
+		};
+
+		StringWriter writer = new StringWriter();
+		try {
+			new RecordReader(args).read(dumpReader, new SlowIdProcessor(), writer);
+			fail("expected reader failure");
+		} catch (PatentReaderException e) {
+			assertEquals(IllegalStateException.class, e.getCause().getClass());
+		}
+	}
+
+	@Test
+	public void outputInSourceOrder() throws PatentReaderException, IOException {
+		BulkReaderArguments args = new BulkReaderArguments();
+		args.setThreads(4);
+
+		StringWriter writer = new StringWriter();
+		RunStats stats = new RecordReader(args).read(dumpReader(200), new SlowIdProcessor(), writer);
+
+		assertEquals(expected(200), writer.toString());
+		assertEquals(200, stats.getRecord());
+		assertEquals(160, stats.getSuccess());
+		assertEquals(40, stats.getFailure());
+	}
+
+	@Test
+	public void recordLimit() throws PatentReaderException, IOException {
+		BulkReaderArguments args = new BulkReaderArguments();
+		args.setThreads(4);
+		args.setRecordReadLimit(25);
+
+		StringWriter writer = new StringWriter();
+		RunStats stats = new RecordReader(args).read(dumpReader(200), new SlowIdProcessor(), writer);
+
+		assertEquals(expected(25), writer.toString());
+		assertEquals(25, stats.getRecord());
+	}
+
+	@Test
+	public void failLimit() throws PatentReaderException, IOException {
+		BulkReaderArguments args = new BulkReaderArguments();
+		args.setThreads(4);
+		args.setFailLimit(3);
+
+		StringWriter writer = new StringWriter();
+		RunStats stats = new RecordReader(args).read(dumpReader(200), new SlowIdProcessor(), writer);
+
+		assertEquals(expected(15), writer.toString());
+		assertEquals(15, stats.getRecord());
+		assertEquals(3, stats.getFailure());
+	}
+}
@@ -0,0 +1,122 @@
+package gov.uspto.bulkdata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+
+public class ReadCheckpointTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private static File bulkFile(File zipFile, int records) throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(zipFile))) {
+			zip.putNextEntry(new ZipEntry(zipFile.getName().replace(".zip", ".xml")));
+			StringBuilder stb = new StringBuilder();
+			for (int i = 1; i <= records; i++) {
+				stb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+				stb.append("<us-patent-grant id=\"").append(i).append("\">\n");
+				stb.append("<doc-number>").append(i).append("</doc-number>\n");
+				stb.append("</us-patent-grant>\n");
+			}
+			zip.write(stb.toString().getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		return zipFile;
+	}
+
+	/**
+	 * Writes doc-number of each record, failing after writing the crash record.
+	 */
+	private static class CrashingProcessor implements RecordProcessor {
+		private final int crashRecord;
+
+		public CrashingProcessor(int crashRecord) {
+			this.crashRecord = crashRecord;
+		}
+
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer) throws IOException {
+			String id = rawRecord.replaceFirst("(?s).*<doc-number>(\\d+)</doc-number>.*", "$1");
+			writer.write(id);
+			writer.write('\n');
+			if (Integer.parseInt(id) == crashRecord) {
+				writer.flush();
+				throw new IllegalStateException("crash on record " + id);
+			}
+			return true;
+		}
+
+		@Override
+		public void initialize(Writer writer) {
+			// empty.
+		}
+
+		@Override
+		public void finish(Writer writer) throws IOException {
+			writer.write("done\n");
+		}
+
+		@Override
+		public void setPatentDocFormat(PatentDocFormat docFormat) {
+			// empty.
+		}
+	}
+
+	private static BulkReaderArguments args(File inputFile, Path outputFile) {
+		BulkReaderArguments args = new BulkReaderArguments();
+		args.setInputFile(inputFile.toPath());
+		args.setOutputFile(outputFile);
+		args.setCheckpoint(true);
+		args.setCheckpointInterval(2);
+		return args;
+	}
+
+	@Test
+	public void resumeExactlyOnce() throws IOException, PatentReaderException {
+		File inputFile = bulkFile(tempFolder.newFile("ipg000101.zip"), 10);
+		Path outputFile = tempFolder.getRoot().toPath().resolve("out.txt");
+
+		try {
+			new RecordReader(args(inputFile, outputFile)).read(() -> new CrashingProcessor(7));
+			fail("expected crash");
+		} catch (IllegalStateException e) {
+			// expected.
+		}
+
+		ReadCheckpoint checkpoint = ReadCheckpoint.restore(tempFolder.getRoot().toPath());
+		assertEquals(6, checkpoint.getFile("ipg000101.zip").getRecord());
+
+		RunStats stats = new RecordReader(args(inputFile, outputFile)).read(() -> new CrashingProcessor(-1));
+		assertEquals(4, stats.getRecord());
+
+		String expected = "1\n2\n3\n4\n5\n6\n7\n8\n9\n10\ndone\n";
+		assertEquals(expected, new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_16));
+
+		checkpoint = ReadCheckpoint.restore(tempFolder.getRoot().toPath());
+		assertTrue(checkpoint.isComplete("ipg000101.zip"));
+		assertEquals(10, checkpoint.getFile("ipg000101.zip").getRecord());
+
+		// complete file is skipped, output kept.
+		stats = new RecordReader(args(inputFile, outputFile)).read(() -> new CrashingProcessor(-1));
+		assertEquals(0, stats.getRecord());
+		assertEquals(expected, new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_16));
+	}
+}
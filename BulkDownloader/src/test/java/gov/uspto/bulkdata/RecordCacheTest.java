@@ -0,0 +1,142 @@
+package gov.uspto.bulkdata;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Joiner;
+
+import gov.uspto.common.text.StringCaseUtil;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.CountryCode;
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.model.PatentGranted;
+import gov.uspto.patent.model.PatentType;
+import gov.uspto.patent.serialize.binary.PatentBinaryWriter;
+
+public class RecordCacheTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private static byte[] bytes(int length, char c) {
+		byte[] value = new byte[length];
+		for (int i = 0; i < length; i++) {
+			value[i] = (byte) c;
+		}
+		return value;
+	}
+
+	@Test
+	public void putGet() throws IOException {
+		RecordCache cache = new RecordCache(tempFolder.getRoot().toPath(), "1", 1024);
+		String key = RecordCache.key("<doc>a</doc>");
+		assertEquals(64, key.length());
+		assertNull(cache.get(key));
+
+		cache.put(key, bytes(10, 'a'));
+		assertArrayEquals(bytes(10, 'a'), cache.get(key));
+		assertNull(cache.get(RecordCache.key("<doc>b</doc>")));
+
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals(10, cache.getTotalBytes());
+	}
+
+	@Test
+	public void leastRecentlyUsedRemoved() throws IOException {
+		RecordCache cache = new RecordCache(tempFolder.getRoot().toPath(), "1", 250);
+		String a = RecordCache.key("a");
+		String b = RecordCache.key("b");
+		String c = RecordCache.key("c");
+		cache.put(a, bytes(100, 'a'));
+		cache.put(b, bytes(100, 'b'));
+		assertNotNull(cache.get(a));
+		cache.put(c, bytes(100, 'c'));
+
+		assertNull(cache.get(b));
+		assertNotNull(cache.get(a));
+		assertNotNull(cache.get(c));
+		assertEquals(200, cache.getTotalBytes());
+	}
+
+	@Test
+	public void reopen() throws IOException {
+		Path cacheDir = tempFolder.getRoot().toPath();
+		RecordCache cache = new RecordCache(cacheDir, "1", 1024);
+		String a = RecordCache.key("a");
+		cache.put(a, bytes(10, 'a'));
+
+		cache = new RecordCache(cacheDir, "1", 1024);
+		assertEquals(1, cache.size());
+		assertArrayEquals(bytes(10, 'a'), cache.get(a));
+
+		// smaller bound when reopened.
+		String b = RecordCache.key("b");
+		cache.put(b, bytes(10, 'b'));
+		new File(cacheDir.toFile(), a.substring(0, 2) + "/" + a).setLastModified(System.currentTimeMillis() - 60000);
+		cache = new RecordCache(cacheDir, "1", 15);
+		assertEquals(1, cache.size());
+		assertNull(cache.get(a));
+		assertNotNull(cache.get(b));
+	}
+
+	@Test
+	public void versionChangeRemovesEntries() throws IOException {
+		Path cacheDir = tempFolder.getRoot().toPath();
+		Path otherFile = cacheDir.resolve("notes.txt");
+		Files.write(otherFile, "keep".getBytes(StandardCharsets.UTF_8));
+
+		RecordCache cache = new RecordCache(cacheDir, "1", 1024);
+		String a = RecordCache.key("a");
+		cache.put(a, bytes(10, 'a'));
+
+		cache = new RecordCache(cacheDir, "2", 1024);
+		assertEquals(0, cache.size());
+		assertNull(cache.get(a));
+		assertTrue(Files.exists(otherFile));
+	}
+
+	@Test
+	public void codeVersion() throws IOException {
+		String version = RecordCache.codeVersion(RecordCache.class, Joiner.class);
+		assertTrue(version, version.startsWith(RecordCache.class.getName() + ":"));
+		assertTrue(version, version.contains(";" + Joiner.class.getName() + ":"));
+		assertEquals(version, RecordCache.codeVersion(RecordCache.class, Joiner.class));
+
+		String patentVersion = PatentCache.version();
+		assertTrue(patentVersion, patentVersion.contains(PatentBinaryWriter.class.getName()));
+		assertTrue(patentVersion, patentVersion.contains(StringCaseUtil.class.getName()));
+	}
+
+	@Test
+	public void patentCache() throws IOException, PatentReaderException {
+		String rawRecord = "<us-patent-grant><doc-number>08927118</doc-number></us-patent-grant>";
+		Patent patent = new PatentGranted(new DocumentId(CountryCode.US, "8927118", "B1"), PatentType.UTILITY);
+		patent.setTitle("Big Widget");
+
+		Path cacheDir = tempFolder.getRoot().toPath();
+		RecordCache recordCache = new RecordCache(cacheDir, PatentCache.version(), 1024 * 1024);
+		recordCache.put(RecordCache.key(rawRecord), new PatentBinaryWriter().toBytes(patent));
+
+		// read from cache, never parsed.
+		PatentCache patentCache = new PatentCache(cacheDir, 1024 * 1024);
+		Patent cached = patentCache.read(null, rawRecord);
+		assertEquals(1, patentCache.getRecordCache().getHits());
+		assertEquals(patent.getDocumentId(), cached.getDocumentId());
+		assertEquals("Big Widget", cached.getTitle());
+	}
+}
@@ -0,0 +1,127 @@
+package gov.uspto.bulkdata.tools.fetch;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import gov.uspto.bulkdata.RecordProcessor;
+import gov.uspto.bulkdata.RunStats;
+import gov.uspto.bulkdata.tools.grep.DocumentException;
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReaderException;
+
+public class DownloadFileProcessorTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private static File bulkFile(File zipFile, int records) throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(zipFile))) {
+			zip.putNextEntry(new ZipEntry(zipFile.getName().replace(".zip", ".xml")));
+			StringBuilder stb = new StringBuilder();
+			for (int i = 1; i <= records; i++) {
+				stb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+				stb.append("<us-patent-grant id=\"").append(i).append("\">\n");
+				stb.append("<doc-number>").append(i).append("</doc-number>\n");
+				stb.append("</us-patent-grant>\n");
+			}
+			zip.write(stb.toString().getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		return zipFile;
+	}
+
+	/**
+	 * Counts records handed to it, returning result for each.
+	 */
+	private static class CountingProcessor implements RecordProcessor {
+		private final boolean result;
+		private int records;
+
+		public CountingProcessor(boolean result) {
+			this.result = result;
+		}
+
+		@Override
+		public Boolean process(String sourceTxt, String rawRecord, Writer writer) {
+			records++;
+			return result;
+		}
+
+		@Override
+		public void initialize(Writer writer) {
+			// empty.
+		}
+
+		@Override
+		public void finish(Writer writer) {
+			// empty.
+		}
+
+		@Override
+		public void setPatentDocFormat(PatentDocFormat docFormat) {
+			// empty.
+		}
+	}
+
+	@Test
+	public void downloadOnly() throws IOException, DocumentException, PatentReaderException {
+		File inputFile = bulkFile(tempFolder.newFile("ipg000101.zip"), 5);
+		RunStats stats = new DownloadFileProcessor(new DownloadConfig()).process(inputFile);
+		assertEquals(0, stats.getRecord());
+	}
+
+	@Test
+	public void readPerProcessor() throws IOException, DocumentException, PatentReaderException {
+		File inputFile = bulkFile(tempFolder.newFile("ipg000101.zip"), 5);
+		CountingProcessor first = new CountingProcessor(false);
+		CountingProcessor second = new CountingProcessor(true);
+
+		RunStats stats = new DownloadFileProcessor(new DownloadConfig(), first, second).process(inputFile);
+		assertEquals(5, first.records);
+		assertEquals(5, second.records);
+		assertEquals(10, stats.getRecord());
+		assertEquals(5, stats.getSuccess());
+	}
+
+	@Test
+	public void singlePass() throws IOException, DocumentException, PatentReaderException {
+		File inputFile = bulkFile(tempFolder.newFile("ipg000101.zip"), 5);
+		DownloadConfig config = new DownloadConfig();
+		config.setSinglePass(true);
+		CountingProcessor first = new CountingProcessor(false);
+		CountingProcessor second = new CountingProcessor(true);
+
+		RunStats stats = new DownloadFileProcessor(config, first, second).process(inputFile);
+		assertEquals(5, first.records);
+		assertEquals(5, second.records);
+		assertEquals(10, stats.getRecord());
+		assertEquals(5, stats.getSuccess());
+	}
+
+	@Test
+	public void singlePassShortCircuit() throws IOException, DocumentException, PatentReaderException {
+		File inputFile = bulkFile(tempFolder.newFile("ipg000101.zip"), 5);
+		DownloadConfig config = new DownloadConfig();
+		config.setSinglePass(true);
+		config.setShortCircuit(true);
+		CountingProcessor first = new CountingProcessor(false);
+		CountingProcessor second = new CountingProcessor(true);
+
+		RunStats stats = new DownloadFileProcessor(config, first, second).process(inputFile);
+		assertEquals(5, first.records);
+		assertEquals(0, second.records);
+		assertEquals(5, stats.getRecord());
+		assertEquals(0, stats.getSuccess());
+	}
+}
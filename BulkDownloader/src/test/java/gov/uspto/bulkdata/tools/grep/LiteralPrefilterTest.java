@@ -0,0 +1,172 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.xml.xpath.XPathExpressionException;
+
+import org.junit.Test;
+
+public class LiteralPrefilterTest {
+
+	private static Set<String> regex(String regex) {
+		RequiredLiterals required = RequiredLiterals.fromRegex(Pattern.compile(regex));
+		return required == null ? null : required.getLiterals();
+	}
+
+	private static Set<String> xpath(String xpath) {
+		RequiredLiterals required = RequiredLiterals.fromXPath(xpath);
+		return required == null ? null : required.getLiterals();
+	}
+
+	private static Set<String> set(String... values) {
+		return new LinkedHashSet<String>(Arrays.asList(values));
+	}
+
+	@Test
+	public void regexLiterals() {
+		assertEquals(set("computer"), regex("computer"));
+		assertEquals(set("comp"), regex("comp(uter|iler)s"));
+		assertEquals(set("foo", "barbaz"), regex("foo|barbaz"));
+		assertEquals(set("colo"), regex("colou?r"));
+		assertEquals(set("ab.cd"), regex("ab\\.cd"));
+		assertEquals(set("def"), regex("[abc|]def"));
+		assertEquals(set("tion"), regex("\\p{Alpha}+tion"));
+		assertEquals(set("A21C"), regex("^A21C\\s*\\d+/\\d+"));
+		assertEquals(set("widget"), regex("(?:big|small) widget"));
+		assertEquals(set("a+b"), regex("\\Qa+b\\E+"));
+		assertEquals(set("Drink"), regex("Food & Drink"));
+	}
+
+	@Test
+	public void regexNoLiterals() {
+		assertNull(regex("a|bcd"));
+		assertNull(regex("x*"));
+		assertNull(regex("(computer)"));
+		assertNull(regex("compu(?x) ter"));
+		assertNull(RequiredLiterals.fromRegex(Pattern.compile("computer", Pattern.COMMENTS)));
+		assertNull(RequiredLiterals.fromRegex(Pattern.compile("computer", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)));
+	}
+
+	@Test
+	public void regexIgnoreCase() {
+		assertTrue(RequiredLiterals.fromRegex(Pattern.compile("(?i)widget")).isIgnoreCase());
+		assertTrue(RequiredLiterals.fromRegex(Pattern.compile("widget", Pattern.CASE_INSENSITIVE)).isIgnoreCase());
+		assertFalse(RequiredLiterals.fromRegex(Pattern.compile("widget")).isIgnoreCase());
+	}
+
+	@Test
+	public void xpathLiterals() {
+		assertEquals(set("computer"), xpath("//description/p[contains(descendant-or-self::text(),'computer')]"));
+		assertEquals(set("qwerty"), xpath("//*[text() = 'qwerty']"));
+		assertEquals(set("strong"), xpath("*/session[contains(comments, \"strong\")]"));
+		assertEquals(set("foo", "barr"), xpath("//a[@x='foo'] | //b[@y='barr']"));
+		assertEquals(set("widgets"), xpath("//a[starts-with(., 'big') and normalize-space(b) = 'small widgets']"));
+	}
+
+	@Test
+	public void xpathNoLiterals() {
+		assertNull(xpath("//a[not(@id='XXX')]"));
+		assertNull(xpath("//a[@id!='XXX']"));
+		assertNull(xpath("//a[@id='XXX' or @class]"));
+		assertNull(xpath("//a | //b[@y='bar']"));
+		assertNull(xpath("count(//a[@x='foo'])"));
+		assertNull(xpath("//a[translate(., 'abc', 'ABC') = 'ABC']"));
+		assertNull(xpath("//a[contains(., 'foo') = 'true']"));
+		assertNull(xpath("//child::item[position()=3]"));
+	}
+
+	@Test
+	public void valueLiterals() {
+		assertEquals(set("US5551212", "US5551213"),
+				RequiredLiterals.fromValues("//doc-number", set("US5551212", "US5551213")).getLiterals());
+		assertNull(RequiredLiterals.fromValues("//doc-number", set("US5551212", "12")));
+		assertNull(RequiredLiterals.fromValues("count(//claim)", set("123")));
+		assertNull(RequiredLiterals.fromValues("string-length(//title)", set("123")));
+	}
+
+	@Test
+	public void valueLiteralsOverMax() {
+		Set<String> values = new HashSet<String>();
+		for (int i = 0; i <= RequiredLiterals.MAX_VALUES; i++) {
+			values.add("US" + (5000000 + i));
+		}
+		assertNull(RequiredLiterals.fromValues("//doc-number", values));
+	}
+
+	@Test
+	public void scanText() {
+		LiteralPrefilter prefilter = new LiteralPrefilter(set("he", "she", "his", "hers"), false, false);
+		assertTrue(prefilter.isCandidate("ushers"));
+		assertTrue(prefilter.isCandidate("this"));
+		assertFalse(prefilter.isCandidate("hxs sh"));
+		assertFalse(prefilter.isCandidate("HERS"));
+
+		LiteralPrefilter ignoreCase = new LiteralPrefilter(set("Widget"), true, false);
+		assertTrue(ignoreCase.isCandidate("big WIDGET"));
+		assertFalse(ignoreCase.isCandidate("big widge"));
+	}
+
+	@Test
+	public void scanXml() {
+		LiteralPrefilter prefilter = new LiteralPrefilter(set("Widget"), false, true);
+		assertTrue(prefilter.isCandidate("<t>big Widget</t>"));
+		assertTrue(prefilter.isCandidate("<t>big Wid<i>get</i></t>"));
+		assertTrue(prefilter.isCandidate("<t>big Wid&#103;&#x65;t</t>"));
+		assertTrue(prefilter.isCandidate("<t>big <![CDATA[Widget]]></t>"));
+		assertTrue(prefilter.isCandidate("<t name=\"Wid&#103;et\"/>"));
+		assertTrue(prefilter.isCandidate("<Widget/>"));
+		assertFalse(prefilter.isCandidate("<t>big <!-- Widget --> gadget</t>"));
+		assertFalse(prefilter.isCandidate("<t>big Wid&eacute;get</t>"));
+		assertFalse(prefilter.isCandidate("<t a=\"Wid\">get</t>"));
+	}
+
+	@Test
+	public void negatedPattern() throws XPathExpressionException {
+		MatchRegexBase pattern = new MatchRegexBase("computer", false);
+		pattern.negate();
+		assertNull(LiteralPrefilter.forPatterns(Collections.singleton(pattern)));
+	}
+
+	@Test
+	public void sameAsMatch() throws XPathExpressionException, DocumentException {
+		String[] docs = new String[] { "<doc><title>Big <b>Widget</b></title></doc>",
+				"<doc><title>Gadget</title><abstract>widget</abstract></doc>",
+				"<doc><title id=\"widget\">Gadget &amp; Widget</title></doc>" };
+
+		Set<MatchPattern> patterns = new HashSet<MatchPattern>();
+		patterns.add(new MatchPatternXPath("Big Widget", "//title"));
+		assertMatchesCandidates(new MatchCheckerXML(patterns), docs);
+
+		patterns = new HashSet<MatchPattern>();
+		patterns.add(new MatchXPathExpression("//title[contains(., 'Widget')]"));
+		assertMatchesCandidates(new MatchCheckerXML(patterns), docs);
+
+		patterns = new HashSet<MatchPattern>();
+		patterns.add(new MatchXPathExpression("//title[@id = 'widget']"));
+		assertMatchesCandidates(new MatchCheckerXML(patterns), docs);
+
+		patterns = new HashSet<MatchPattern>();
+		patterns.add(new MatchRegexBase("Widget", false));
+		assertMatchesCandidates(new MatchChecker(patterns), docs);
+	}
+
+	private void assertMatchesCandidates(Match<MatchPattern> matcher, String... docs) throws DocumentException {
+		boolean skipped = false;
+		for (String doc : docs) {
+			boolean matched = matcher.match(new StringReader(doc));
+			if (matched) {
+				assertTrue(doc, matcher.isCandidate(doc));
+			}
+			skipped |= !matcher.isCandidate(doc);
+		}
+		assertTrue("prefilter skipped no records", skipped);
+	}
+}
@@ -0,0 +1,141 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.xpath.XPathExpressionException;
+
+import org.junit.Test;
+
+import gov.uspto.bulkdata.tools.grep.OutputMatchConfig.OUTPUT_MATCHING;
+
+public class MultiRegexMatcherTest {
+
+	private static final String[] LINES = new String[] { "A semiconductor device comprising a substrate;",
+			"wherein the LAYER is formed of silicon oxide.", "The gate electrode 12 overlaps the channel.",
+			"", "nothing to see here", "Substrate" };
+
+	private static List<MatchRegexBase> patterns() {
+		List<MatchRegexBase> patterns = new ArrayList<MatchRegexBase>();
+		patterns.add(new MatchRegexBase("substrate", false));
+		patterns.add(new MatchRegexBase("layer", true));
+		patterns.add(new MatchRegexBase("electrode \\d+", false));
+		patterns.add(new MatchRegexBase("\\bsee\\b", false)); // literal too short, always run
+		patterns.add(new MatchRegexBase("Substrate", false).entire());
+		patterns.add(new MatchRegexBase("semi(conductor|metal)", false));
+		MatchRegexBase negated = new MatchRegexBase("silicon", false);
+		negated.negate();
+		patterns.add(negated);
+		return patterns;
+	}
+
+	@Test
+	public void sameAsEachPattern() {
+		List<MatchRegexBase> patterns = patterns();
+		MultiRegexMatcher matcher = new MultiRegexMatcher(patterns);
+		for (String line : LINES) {
+			BitSet expect = new BitSet();
+			for (int i = 0; i < patterns.size(); i++) {
+				if (patterns.get(i).hasMatch(line)) {
+					expect.set(i);
+				}
+			}
+			assertEquals(line, expect, matcher.matching(line));
+			assertEquals(line, !expect.isEmpty(), matcher.hasMatch(line));
+		}
+	}
+
+	@Test
+	public void candidatesFromSingleScan() {
+		MultiRegexMatcher matcher = new MultiRegexMatcher(patterns());
+		BitSet candidates = matcher.candidates("nothing to see here");
+		// short literal and negated pattern only.
+		assertEquals("{3, 6}", candidates.toString());
+		assertTrue(matcher.candidates("a LaYeR").get(1));
+	}
+
+	@Test
+	public void find() {
+		MultiRegexMatcher matcher = new MultiRegexMatcher(patterns());
+		List<MultiRegexMatcher.Hit> hits = matcher.find("A semiconductor device comprising a substrate;");
+		assertEquals(2, hits.size());
+		assertEquals(0, hits.get(0).getPattern());
+		assertEquals(36, hits.get(0).getStart());
+		assertEquals(45, hits.get(0).getEnd());
+		assertEquals(5, hits.get(1).getPattern());
+		assertEquals(2, hits.get(1).getStart());
+
+		hits = matcher.find("Substrate");
+		assertEquals(1, hits.size());
+		assertEquals(4, hits.get(0).getPattern());
+		assertEquals(9, hits.get(0).getEnd());
+	}
+
+	@Test
+	public void checkerWritesSameMatches() throws IOException, DocumentException {
+		String text = String.join("\n", LINES);
+		List<MatchRegexBase> patterns = patterns();
+		for (MatchRegexBase pattern : patterns) {
+			pattern.onlyMatching();
+		}
+
+		// previous per pattern loop.
+		StringWriter expect = new StringWriter();
+		for (String line : LINES) {
+			for (MatchRegexBase pattern : patterns) {
+				if (!pattern.isNegate()) {
+					pattern.writeMatches("src", line, expect);
+				}
+			}
+		}
+
+		Set<MatchPattern> matchPatterns = new LinkedHashSet<MatchPattern>();
+		for (MatchRegexBase pattern : patterns) {
+			if (!pattern.isNegate()) {
+				matchPatterns.add(pattern);
+			}
+		}
+		StringWriter actual = new StringWriter();
+		assertTrue(new MatchChecker(matchPatterns).match("src", text, actual, false));
+		assertEquals(expect.toString(), actual.toString());
+	}
+
+	@Test
+	public void invertMatchNoPattern() throws IOException, DocumentException, XPathExpressionException {
+		GrepConfig config = new GrepConfig();
+		config.setRegex(RegexArguments.parseString(Arrays.asList("substrate~i", "layer~i")));
+		OutputMatchConfig outputConfig = new OutputMatchConfig(OUTPUT_MATCHING.PATTERN_CONTAINED);
+		outputConfig.setInvertMatch(true);
+		config.setOutputConfig(outputConfig);
+		Match<MatchPattern> matcher = config.getMatcher();
+
+		// NOT (substrate OR layer)
+		assertFalse(matcher.match("A semiconductor device comprising a substrate;"));
+		assertFalse(matcher.match("wherein the LAYER is formed of silicon oxide."));
+		assertFalse(matcher.match("a substrate and a layer"));
+		assertTrue(matcher.match("The gate electrode 12 overlaps the channel."));
+
+		StringWriter actual = new StringWriter();
+		assertTrue(matcher.match("src", new StringReader(String.join("\n", LINES)), actual, false));
+		assertEquals("src - The gate electrode 12 overlaps the channel.\nsrc - \nsrc - nothing to see here\n",
+				actual.toString());
+
+		assertTrue(matcher.isCandidate("no required literal"));
+		assertFalse(matcher.match(new StringReader("substrate\nlayer")));
+	}
+
+	@Test
+	public void notForSinglePattern() {
+		assertNull(MultiRegexMatcher.forPatterns(new LinkedHashSet<MatchPattern>(
+				Arrays.asList(new MatchRegexBase("substrate", false)))));
+	}
+}
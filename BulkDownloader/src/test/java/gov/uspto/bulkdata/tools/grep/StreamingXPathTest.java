@@ -0,0 +1,104 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+public class StreamingXPathTest {
+
+	private static final String[] DOCS = new String[] {
+			"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+					+ "<!DOCTYPE us-patent-grant SYSTEM \"us-patent-grant-v45-2014-04-03.dtd\" [ ]>\n"
+					+ "<us-patent-grant lang=\"EN\" file=\"US08927118-20150106.XML\">\n"
+					+ "<us-bibliographic-data-grant>\n"
+					+ "<classifications-cpc><main-cpc><classification-cpc><section>H</section><class>01</class></classification-cpc></main-cpc>\n"
+					+ "<further-cpc><classification-cpc><section>B</section><class>32</class></classification-cpc></further-cpc></classifications-cpc>\n"
+					+ "<invention-title id=\"d2e43\">Big <i>Widget</i> &amp; gadget</invention-title>\n"
+					+ "<assignees><assignee><addressbook><orgname>Widget Co</orgname></addressbook></assignee></assignees>\n"
+					+ "</us-bibliographic-data-grant>\n"
+					+ "<abstract id=\"abstract\"><p id=\"p-0001\" num=\"0000\">A widget<!-- note --> for <![CDATA[gadgets]]>.</p></abstract>\n"
+					+ "</us-patent-grant>",
+			"<doc><a x=\"1\"><a x=\"2\">inner</a>outer</a><b><c>one</c><c>two</c></b><session><comments>strong</comments></session></doc>",
+			"<doc><title>Gadget</title><b/></doc>" };
+
+	private static final String[] XPATHS = new String[] {
+			"/us-patent-grant/us-bibliographic-data-grant/assignees//orgname", "//classification-cpc[section='H']",
+			"//classification-cpc[section='B' and class='32']", "//classification-cpc[section='C']",
+			"//invention-title", "//invention-title/text()", "//invention-title/@id", "//invention-title[@id='d2e43']",
+			"//invention-title[@id='nope']", "//abstract/p", "//abstract/p/text()", "//p[contains(., 'for gadgets')]",
+			"//p[contains(text(), 'gadgets')]", "//p[starts-with(@num, '00')]", "//a", "//a/text()", "//a/@x",
+			"//a[.='inner']", "//a[text()='outer']", "/doc/a/a", "//b[c='two']", "//b[contains(c, 'two')]",
+			"//b[c]", "//b[d]", "//*[@x='2']", "*/session[contains(comments, 'strong')]", "/doc//c",
+			"//title[. = 'Gadget']", "//title['Gadget' = text()]", "/missing" };
+
+	private static Document dom(String xml) throws Exception {
+		DocumentBuilderFactory dbfact = DocumentBuilderFactory.newInstance();
+		dbfact.setAttribute("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+		return dbfact.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+	}
+
+	@Test
+	public void sameAsDom() throws Exception {
+		XPath xpath = XPathFactory.newInstance().newXPath();
+		for (String expr : XPATHS) {
+			StreamingXPath streaming = StreamingXPath.compile(expr);
+			assertNotNull(expr, streaming);
+			for (String doc : DOCS) {
+				Document document = dom(doc);
+				NodeList nodes = (NodeList) xpath.evaluate(expr, document, XPathConstants.NODESET);
+				String value = (String) xpath.evaluate(expr, document, XPathConstants.STRING);
+
+				assertEquals(expr, nodes.getLength() > 0, streaming.exists(new StringReader(doc)));
+				assertEquals(expr, value, streaming.firstValue(new StringReader(doc)));
+			}
+		}
+	}
+
+	@Test
+	public void notCompiled() {
+		String[] unsupported = new String[] { "//a[1]", "//a[not(@x)]", "//a[@x='1' or @x='2']",
+				"count(//a)", "//a/..", "//ns:a", "//a | //b", "//a[b='1']/c", "//@x", "//a//text()",
+				"//a[position()=last()]", "descendant::a", "//a[contains(., '')]" };
+		for (String expr : unsupported) {
+			assertNull(expr, StreamingXPath.compile(expr));
+		}
+	}
+
+	@Test(expected = DocumentException.class)
+	public void malformed() throws DocumentException {
+		StreamingXPath.compile("//c").exists(new StringReader("<a><b></a>"));
+	}
+
+	@Test
+	public void stopsAtFirstMatch() throws DocumentException {
+		// malformed after the match, never read.
+		assertTrue(StreamingXPath.compile("//b").exists(new StringReader("<a><b/><c></a>")));
+	}
+
+	@Test
+	public void checkerStreams() throws Exception {
+		Set<MatchPattern> patterns = new HashSet<MatchPattern>();
+		patterns.add(new MatchPatternXPath("Widget Co", "//assignees//orgname"));
+		MatchCheckerXML checker = new MatchCheckerXML(patterns);
+		assertTrue(checker.match(new StringReader(DOCS[0])));
+		assertFalse(checker.match(new StringReader(DOCS[1])));
+
+		patterns = new HashSet<MatchPattern>();
+		patterns.add(new MatchXPathExpression("//classification-cpc[section='H']"));
+		checker = new MatchCheckerXML(patterns);
+		assertTrue(checker.match(new StringReader(DOCS[0])));
+		assertFalse(checker.match(new StringReader(DOCS[2])));
+	}
+}
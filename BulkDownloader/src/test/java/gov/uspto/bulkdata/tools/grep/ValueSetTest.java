@@ -0,0 +1,89 @@
+package gov.uspto.bulkdata.tools.grep;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class ValueSetTest {
+
+	@Test
+	public void containsSameAsHashSet() {
+		Random random = new Random(7);
+		List<String> values = new ArrayList<String>();
+		for (int i = 0; i < 20000; i++) {
+			values.add("US" + random.nextInt(100000));
+		}
+		values.add("");
+		values.add("Ünïcödé");
+		values.add("😀 emoji");
+		Set<String> expect = new HashSet<String>(values);
+
+		for (boolean bloom : new boolean[] { false, true }) {
+			ValueSet valueSet = ValueSet.of(values, bloom);
+			assertEquals(bloom, valueSet.hasBloomFilter());
+			assertEquals(expect.size(), valueSet.size());
+			assertEquals(values.size(), valueSet.getValuesRead());
+			for (int i = 0; i < 100000; i++) {
+				String value = "US" + i;
+				assertEquals(value, expect.contains(value), valueSet.contains(value));
+			}
+			assertTrue(valueSet.contains(""));
+			assertTrue(valueSet.contains("Ünïcödé"));
+			assertTrue(valueSet.contains("😀 emoji"));
+			assertFalse(valueSet.contains("Ünïcöd"));
+			assertFalse(valueSet.contains(null));
+			assertEquals(expect, new HashSet<String>(valueSet));
+		}
+	}
+
+	@Test
+	public void iteratesSorted() {
+		ValueSet valueSet = ValueSet.of(Arrays.asList("b", "a", "c", "a", "é", "ab"), false);
+		assertEquals(Arrays.asList("a", "ab", "b", "c", "é"), new ArrayList<String>(valueSet));
+	}
+
+	@Test
+	public void read() throws IOException {
+		Path file = Files.createTempFile("values", ".txt");
+		try {
+			Files.write(file, Arrays.asList("US5551212", "", "US5551213", "US5551212"), StandardCharsets.UTF_8);
+			ValueSet valueSet = ValueSet.read(file, StandardCharsets.UTF_8, true);
+			assertEquals(2, valueSet.size());
+			assertEquals(3, valueSet.getValuesRead());
+			assertTrue(valueSet.contains("US5551213"));
+			assertFalse(valueSet.contains(""));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void matchesAnyNode() throws Exception {
+		String xml = "<doc><citation><doc-number>5551212</doc-number></citation>"
+				+ "<citation><doc-number>5551213</doc-number></citation></doc>";
+		MatchCheckerXML checker = new MatchCheckerXML(new HashSet<MatchPattern>(
+				Arrays.asList(new MatchXPathNodeValues("//doc-number", ValueSet.of(Arrays.asList("5551213"), true)))));
+		assertTrue(checker.match(new StringReader(xml)));
+
+		checker = new MatchCheckerXML(new HashSet<MatchPattern>(
+				Arrays.asList(new MatchXPathNodeValues("//doc-number", ValueSet.of(Arrays.asList("5551214"), true)))));
+		assertFalse(checker.match(new StringReader(xml)));
+
+		// string expression, not a node-set.
+		checker = new MatchCheckerXML(new HashSet<MatchPattern>(Arrays.asList(
+				new MatchXPathNodeValues("concat('US', //doc-number)", ValueSet.of(Arrays.asList("US5551212"), true)))));
+		assertTrue(checker.match(new StringReader(xml)));
+	}
+}
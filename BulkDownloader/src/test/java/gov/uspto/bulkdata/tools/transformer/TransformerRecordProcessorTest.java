@@ -0,0 +1,24 @@
+package gov.uspto.bulkdata.tools.transformer;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TransformerRecordProcessorTest {
+
+	private static TransformerConfig config(String outputType, boolean bulkOutput) {
+		TransformerConfig config = new TransformerConfig();
+		config.setOutputType(outputType);
+		config.setBulkOutput(bulkOutput);
+		return config;
+	}
+
+	@Test
+	public void threadSafe() {
+		assertTrue(new TransformerRecordProcessor(config("json", false)).isThreadSafe());
+
+		// appended in source order by writeOrdered().
+		assertTrue(new TransformerRecordProcessor(config("json", true)).isThreadSafe());
+		assertTrue(new TransformerRecordProcessor(config("arrow", false)).isThreadSafe());
+	}
+}
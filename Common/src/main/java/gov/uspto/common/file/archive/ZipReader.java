@@ -5,6 +5,7 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
@@ -141,6 +142,18 @@ public class ZipReader implements Iterator<Reader>, Closeable {
         return new BufferedReader(new InputStreamReader(zipFile.getInputStream(zipEntry), entryfileCharset));
     }
 
+    /**
+     * Raw bytes of the zip entry, for callers which split or decode records themselves.
+     * 
+     * @param zipEntry
+     * @return InputStream
+     * @throws ZipException
+     * @throws IOException
+     */
+    public InputStream readEntryStream(ZipArchiveEntry zipEntry) throws ZipException, IOException {
+        return zipFile.getInputStream(zipEntry);
+    }
+
     @Override
     public boolean hasNext() {
         return entries.hasMoreElements();
@@ -0,0 +1,107 @@
+package gov.uspto.common.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Buffered File Writer which can commit, flushing and syncing written content
+ * to disk and returning the committed file length.
+ *
+ * <p>
+ * Opened with a committed length the existing file is truncated to that length
+ * and continued, dropping anything written after the last commit. A continued
+ * UTF-16 file is written without a second byte order mark.
+ * </p>
+ *
+ * @author Brian G. Feldman<brian.feldman@uspto.gov>
+ *
+ */
+public class CommitFileWriter extends Writer {
+
+	private final Path path;
+	private final FileOutputStream outputStream;
+	private final Writer writer;
+
+	/**
+	 * New file, replacing any existing file.
+	 *
+	 * @param path
+	 * @param charset
+	 * @throws IOException
+	 */
+	public CommitFileWriter(Path path, Charset charset) throws IOException {
+		this(path, charset, 0);
+	}
+
+	/**
+	 * Continue file from its committed length.
+	 *
+	 * @param path
+	 * @param charset
+	 * @param committedLength - length to truncate to and continue from, 0 to
+	 *                        replace any existing file
+	 * @throws IOException when existing file is shorter than committed length
+	 */
+	public CommitFileWriter(Path path, Charset charset, long committedLength) throws IOException {
+		this.path = path;
+
+		File file = path.toFile();
+		if (committedLength > 0) {
+			if (file.length() < committedLength) {
+				throw new IOException("File '" + path + "' is shorter than its committed length: " + committedLength);
+			}
+			outputStream = new FileOutputStream(file, true);
+			outputStream.getChannel().truncate(committedLength);
+			if (StandardCharsets.UTF_16.equals(charset)) {
+				charset = StandardCharsets.UTF_16BE;
+			}
+		} else {
+			outputStream = new FileOutputStream(file);
+		}
+
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, charset));
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Flush and sync to disk.
+	 *
+	 * @return committed file length
+	 * @throws IOException
+	 */
+	public long commit() throws IOException {
+		writer.flush();
+		outputStream.getChannel().force(false);
+		return outputStream.getChannel().size();
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		writer.write(cbuf, off, len);
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		writer.write(str, off, len);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+}
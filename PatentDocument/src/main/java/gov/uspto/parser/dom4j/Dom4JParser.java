@@ -27,6 +27,40 @@ import gov.uspto.patent.model.Patent;
 
 public abstract class Dom4JParser implements Dom4j {
 
+	/*
+	 * Preconfigured SAXReader reused by each thread, avoiding building the reader
+	 * and its underlying XMLReader for every document.
+	 */
+	private static final ThreadLocal<SAXReader> SAX_READER = new ThreadLocal<SAXReader>() {
+		@Override
+		protected SAXReader initialValue() {
+			try {
+				return newSaxReader();
+			} catch (SAXException e) {
+				throw new IllegalStateException("Failed to configure SAXReader", e);
+			}
+		}
+	};
+
+	private static SAXReader newSaxReader() throws SAXException {
+		SAXReader sax = new SAXReader(false);
+		sax.setIncludeExternalDTDDeclarations(false);
+		sax.setEncoding("UTF-8");
+		sax.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+		sax.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
+		return sax;
+	}
+
+	/**
+	 * SAXReader confined to the current thread; non-validating and not loading
+	 * external DTDs.
+	 * 
+	 * @return SAXReader
+	 */
+	protected static SAXReader getSaxReader() {
+		return SAX_READER.get();
+	}
+
 	public String getSource() {
 		// %X{SOURCE}:%X{RECNUM}:%X{DOCID}
 		StringBuilder stb = new StringBuilder();
@@ -103,13 +137,8 @@ public abstract class Dom4JParser implements Dom4j {
 	 */
 	public Patent parse(Reader reader) throws PatentReaderException {
 		try {
-			SAXReader sax = new SAXReader(false);
-			sax.setIncludeExternalDTDDeclarations(false);
-			sax.setEncoding("UTF-8");
-			sax.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-			sax.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
-			return parse(sax.read(reader));
-		} catch (DocumentException | SAXException e) {
+			return parse(getSaxReader().read(reader));
+		} catch (DocumentException e) {
 			try {
 				reader.reset();
 				return parse(fixTagsJDOM(IOUtils.toString(reader)));
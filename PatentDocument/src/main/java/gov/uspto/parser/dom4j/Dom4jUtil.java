@@ -5,9 +5,13 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.dom4j.Document;
 import org.dom4j.DocumentException;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
 import org.dom4j.Node;
 import org.dom4j.XPath;
 import org.dom4j.io.OutputFormat;
@@ -18,6 +22,60 @@ import org.xml.sax.SAXException;
 
 public class Dom4jUtil {
 
+	/*
+	 * Shared registry of compiled XPath, keyed by expression.
+	 */
+	private static final ConcurrentMap<String, XPath> XPATHS = new ConcurrentHashMap<String, XPath>();
+
+	/**
+	 * Compiled XPath from shared registry, compiling on first use only.
+	 * 
+	 * <p>For XPath built at runtime; fixed expressions should be held as static
+	 * compiled XPath by the reading class.</p>
+	 * 
+	 * @param xPath
+	 * @return XPath
+	 */
+	public static XPath xpath(String xPath) {
+		XPath compiled = XPATHS.get(xPath);
+		if (compiled == null) {
+			compiled = DocumentHelper.createXPath(xPath);
+			XPATHS.putIfAbsent(xPath, compiled);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Navigate a simple absolute path without XPath, taking the first child
+	 * element of each name.
+	 * 
+	 * @param document
+	 * @param rootName   - expected name of the root element
+	 * @param childNames - names of the child elements under the root
+	 * @return element or null when not found.
+	 */
+	public static Element getElement(Document document, String rootName, String... childNames) {
+		Element element = document.getRootElement();
+		if (element == null || !element.getName().equals(rootName)) {
+			return null;
+		}
+		for (String childName : childNames) {
+			element = element.element(childName);
+			if (element == null) {
+				return null;
+			}
+		}
+		return element;
+	}
+
+	public static String getTextOrNull(Element element) {
+		return element != null ? element.getStringValue() : null;
+	}
+
+	public static String getAttributeOrNull(Element element, String attributeName) {
+		return element != null ? element.attributeValue(attributeName) : null;
+	}
+
 	public static Document read(String xmlString) throws SAXException, DocumentException {
 		SAXReader sax = new SAXReader(false);
 		sax.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
@@ -30,7 +88,7 @@ public class Dom4jUtil {
 	}
 
 	public static String getTextOrNull(Node document, String xPath) {
-		Node node = document.selectSingleNode(xPath);
+		Node node = xpath(xPath).selectSingleNode(document);
 		return node != null ? node.getStringValue() : null;
 	}
 
@@ -35,7 +35,7 @@ public abstract class ItemReader<T> implements Reader<T> {
 			// Check if Child Node Matches.
 			this.itemNode = expectedNodeName.selectSingleNode(itemNode);
 		} else {
-			this.itemNode = itemNode.selectSingleNode("//" + expectedNodeName.getText());
+			this.itemNode = Dom4jUtil.xpath("//" + expectedNodeName.getText()).selectSingleNode(itemNode);
 		}
 
 		// Avoid NPE by creating empty node.
@@ -49,11 +49,12 @@ public abstract class ItemReader<T> implements Reader<T> {
 		if (itemNode.getName().equals(expectedNodeName)) {
 			// Check if current node matches what is exepected.
 			this.itemNode = itemNode;
-		} else if (itemNode.selectSingleNode(expectedNodeName) != null) {
-			// Check if Child Node Matches.
-			this.itemNode = itemNode.selectSingleNode(expectedNodeName);
 		} else {
-			this.itemNode = itemNode.selectSingleNode("//" + expectedNodeName);
+			// Check if Child Node Matches.
+			this.itemNode = Dom4jUtil.xpath(expectedNodeName).selectSingleNode(itemNode);
+			if (this.itemNode == null) {
+				this.itemNode = Dom4jUtil.xpath("//" + expectedNodeName).selectSingleNode(itemNode);
+			}
 		}
 
 		// Avoid NPE by creating empty node.
@@ -71,7 +72,7 @@ public abstract class ItemReader<T> implements Reader<T> {
 			this.itemNode = itemNode;
 		} else {
 			// Check if Child Node Matches.
-			this.itemNode = itemNode.selectSingleNode(expectedNodeName);
+			this.itemNode = Dom4jUtil.xpath(expectedNodeName).selectSingleNode(itemNode);
 		}
 
 		// Avoid NPE by creating empty node.
@@ -1,7 +1,11 @@
 package gov.uspto.patent;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,7 +20,9 @@ import gov.uspto.patent.doc.greenbook.Greenbook;
 import gov.uspto.patent.doc.pap.PatentAppPubParser;
 import gov.uspto.patent.doc.sgml.Sgml;
 import gov.uspto.patent.doc.xml.ApplicationParser;
+import gov.uspto.patent.doc.xml.ApplicationStreamParser;
 import gov.uspto.patent.doc.xml.GrantParser;
+import gov.uspto.patent.doc.xml.GrantStreamParser;
 import gov.uspto.patent.model.Patent;
 
 /**
@@ -32,6 +38,7 @@ public class PatentReader implements PatentDocReader<Patent> {
 
 	private PatentDocFormat patentDocFormat;
 	private long maxByteSize = DEFAULT_MAX_BYTES;
+	private boolean streaming = false;
 
 	private static Map<PatentDocFormat, Class<? extends Dom4j>> FORMAT_PARSER = new HashMap<>();
 	static {
@@ -42,6 +49,23 @@ public class PatentReader implements PatentDocReader<Patent> {
 		FORMAT_PARSER.put(PatentDocFormat.Sgml, Sgml.class);
 	}
 
+	private static Map<PatentDocFormat, Class<? extends Dom4j>> STREAM_PARSER = new HashMap<>();
+	static {
+		STREAM_PARSER.put(PatentDocFormat.RedbookApplication, ApplicationStreamParser.class);
+		STREAM_PARSER.put(PatentDocFormat.RedbookGrant, GrantStreamParser.class);
+	}
+
+	/*
+	 * Parser instances reused by each thread; parsers hold no state across documents
+	 * but are not safe to share between threads.
+	 */
+	private static final ThreadLocal<Map<Class<? extends Dom4j>, Dom4j>> PARSERS = new ThreadLocal<Map<Class<? extends Dom4j>, Dom4j>>() {
+		@Override
+		protected Map<Class<? extends Dom4j>, Dom4j> initialValue() {
+			return new HashMap<Class<? extends Dom4j>, Dom4j>();
+		}
+	};
+
 	/**
 	 * Load Reader
 	 * 
@@ -57,9 +81,48 @@ public class PatentReader implements PatentDocReader<Patent> {
 		this.maxByteSize = maxByteSize;
 	}
 
+	/**
+	 * Use streaming parser when available for the format, which releases the
+	 * text sections DOM nodes as they are read; lowering peak memory.
+	 * 
+	 * <p>
+	 * Bulk file tools enable it with the "--streaming" option.
+	 * </p>
+	 * 
+	 * @param streaming
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	private static Dom4j getParser(Class<? extends Dom4j> parserClass) throws PatentReaderException {
+		Map<Class<? extends Dom4j>, Dom4j> parsers = PARSERS.get();
+		Dom4j parser = parsers.get(parserClass);
+		if (parser == null) {
+			try {
+				parser = parserClass.newInstance();
+			} catch (InstantiationException | IllegalAccessException e) {
+				throw new PatentReaderException(e);
+			}
+			parsers.put(parserClass, parser);
+		}
+		return parser;
+	}
+
+	private Class<? extends Dom4j> getParserClass() {
+		if (streaming && STREAM_PARSER.containsKey(patentDocFormat)) {
+			return STREAM_PARSER.get(patentDocFormat);
+		}
+		return FORMAT_PARSER.get(patentDocFormat);
+	}
+
 	/**
 	 * Parse Document and Return Patent Object.
 	 * 
+	 * <p>Reader must support mark/reset, as the document is first read through to
+	 * check its size; when the size is already known use
+	 * {@link #read(Reader, long)} or {@link #read(CharSequence)}.</p>
+	 * 
 	 * @param reader
 	 * @return
 	 * @throws PatentReaderException
@@ -68,9 +131,116 @@ public class PatentReader implements PatentDocReader<Patent> {
 	@Override
 	public Patent read(Reader reader) throws PatentReaderException, IOException {
 		Preconditions.checkNotNull(reader, "reader can not be Null");
+		return read(reader, checkSize(reader));
+	}
+
+	/**
+	 * Parse Document of known character length and Return Patent Object.
+	 * 
+	 * <p>Selects the full or the partial {@link #readLarge(Reader)} parse from the
+	 * given length, without an extra pass over the reader.</p>
+	 * 
+	 * @param reader
+	 * @param charLength - number of characters within reader
+	 * @return
+	 * @throws PatentReaderException
+	 * @throws IOException
+	 */
+	public Patent read(Reader reader, long charLength) throws PatentReaderException, IOException {
+		Preconditions.checkNotNull(reader, "reader can not be Null");
+		return read(reader, checkSize(charLength));
+	}
+
+	/**
+	 * Parse Document Text and Return Patent Object.
+	 * 
+	 * @param text - raw document, such as a record from DumpReader
+	 * @return
+	 * @throws PatentReaderException
+	 * @throws IOException
+	 */
+	public Patent read(CharSequence text) throws PatentReaderException, IOException {
+		Preconditions.checkNotNull(text, "text can not be Null");
+		try (StringReader reader = new StringReader(text.toString())) {
+			return read(reader, text.length());
+		}
+	}
+
+	/**
+	 * Parse UTF-8 Document Bytes and Return Patent Object.
+	 * 
+	 * <p>Size check uses the byte length, which is never less than the decoded
+	 * character count.</p>
+	 * 
+	 * @param bytes - raw record bytes, such as from DumpFileXmlBytes
+	 * @param offset
+	 * @param length
+	 * @return
+	 * @throws PatentReaderException
+	 * @throws IOException
+	 */
+	public Patent read(byte[] bytes, int offset, int length) throws PatentReaderException, IOException {
+		Preconditions.checkNotNull(bytes, "bytes can not be Null");
+		try (Reader reader = new ByteRangeReader(bytes, offset, length)) {
+			return read(reader, length);
+		}
+	}
+
+	/**
+	 * UTF-8 Reader over a byte range, reset returns to the start of the range; as
+	 * with StringReader, which the parsers rely on to retry after fixing tags.
+	 */
+	private static class ByteRangeReader extends Reader {
+		private final byte[] bytes;
+		private final int offset;
+		private final int length;
+		private Reader reader;
+
+		public ByteRangeReader(byte[] bytes, int offset, int length) {
+			this.bytes = bytes;
+			this.offset = offset;
+			this.length = length;
+			this.reader = newReader();
+		}
+
+		private Reader newReader() {
+			return new InputStreamReader(new ByteArrayInputStream(bytes, offset, length), StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			return reader.read(cbuf, off, len);
+		}
+
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		/**
+		 * Mark is always the start of the range.
+		 */
+		@Override
+		public void mark(int readAheadLimit) {
+			// empty.
+		}
+
+		@Override
+		public void reset() throws IOException {
+			reader.close();
+			reader = newReader();
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+	}
+
+	private Patent read(Reader reader, boolean withinMaxSize) throws PatentReaderException, IOException {
 		Preconditions.checkNotNull(patentDocFormat, "patentDocFormat can not be Null");
 
-		if (!checkSize(reader)) {
+		if (!withinMaxSize) {
 			return readLarge(reader);
 			//throw new PatentReaderException("Patent too Large");
 
@@ -78,21 +248,17 @@ public class PatentReader implements PatentDocReader<Patent> {
 			throw new PatentReaderException("Detected Patent Type Not Defined" + patentDocFormat);
 		}
 
-		try {
-			Patent patent = FORMAT_PARSER.get(patentDocFormat).newInstance().parse(reader);
+		Patent patent = getParser(getParserClass()).parse(reader);
 
-			/*
-			try {
-				PatentValidator.allRules().verify(patent);
-			} catch (PatentValidationError e) {
-				LOGGER.warn("Patent Validator Failed: ", e);
-			}
-			*/
-
-			return patent;
-		} catch (InstantiationException | IllegalAccessException e) {
-			throw new PatentReaderException(e);
+		/*
+		try {
+			PatentValidator.allRules().verify(patent);
+		} catch (PatentValidationError e) {
+			LOGGER.warn("Patent Validator Failed: ", e);
 		}
+		*/
+
+		return patent;
 	}
 
 	/**
@@ -124,11 +290,7 @@ public class PatentReader implements PatentDocReader<Patent> {
 			"/PATDOC/SDOCL" // Patent SGML Claims
 		};
 
-		try {
-			return FORMAT_PARSER.get(patentDocFormat).newInstance().parse(reader, Arrays.asList(skipExactPaths));
-		} catch (InstantiationException | IllegalAccessException e) {
-			throw new PatentReaderException(e);
-		}
+		return getParser(FORMAT_PARSER.get(patentDocFormat)).parse(reader, Arrays.asList(skipExactPaths));
 	}
 
 	public boolean checkSize(Reader reader) throws IOException {
@@ -139,6 +301,16 @@ public class PatentReader implements PatentDocReader<Patent> {
 		}
 		reader.reset();
 
+		return checkSize(charCount);
+	}
+
+	/**
+	 * Check character count is within max byte size, at two bytes per char.
+	 * 
+	 * @param charCount
+	 * @return false when over max byte size.
+	 */
+	public boolean checkSize(long charCount) {
 		return (charCount * 2 < maxByteSize);
 	}
 }
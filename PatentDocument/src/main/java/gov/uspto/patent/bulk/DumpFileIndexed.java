@@ -0,0 +1,218 @@
+package gov.uspto.patent.bulk;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.google.common.base.Preconditions;
+
+import gov.uspto.common.file.archive.ZipReader;
+import gov.uspto.common.filter.SuffixFilter;
+import gov.uspto.patent.PatentDocFormat;
+
+/**
+ * DumpReader which seeks to a record using a {@link RecordIndex}
+ *
+ * <p>
+ * Seeking skips the decompressed bytes ahead of the record without splitting or
+ * decoding them, then reads records sequentially from that point. Records are
+ * identical to {@link DumpFileXmlBytes}.
+ * </p>
+ *
+ * <pre><code>
+ * File bulkFile = new File("ipg180102.zip");
+ * DumpFileIndexed dumpFile = new DumpFileIndexed(bulkFile, RecordIndex.getOrBuild(bulkFile));
+ * dumpFile.seek("US10000000B2");
+ * dumpFile.open();
+ * String record = dumpFile.next();
+ * </code></pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class DumpFileIndexed implements DumpReader {
+	private static final Logger LOGGER = LoggerFactory.getLogger(DumpFileIndexed.class);
+
+	private static final SuffixFilter DEFAULT_SUFFIXES = new SuffixFilter("xml", "sgml", "sgm");
+
+	private final File file;
+	private final RecordIndex index;
+	private FileFilter fileFilter = DEFAULT_SUFFIXES;
+	private boolean htmlEntities = false;
+
+	private ZipReader zipFile;
+	private DumpFileXmlBytes dumpFile;
+	private int startRecord = 1;
+
+	public DumpFileIndexed(File file, RecordIndex index) {
+		Preconditions.checkNotNull(file, "File can not be Null");
+		Preconditions.checkNotNull(index, "RecordIndex can not be Null");
+		Preconditions.checkArgument(file.isFile(), "File not found:" + file.getAbsolutePath());
+		MDC.put("SOURCE", String.valueOf(file.getName()));
+		this.file = file;
+		this.index = index;
+	}
+
+	@Override
+	public void setFileFilter(FileFilter filter) {
+		this.fileFilter = filter;
+	}
+
+	/**
+	 * Add Html Entities DTD to header Fix for Patent PAP document formats (years
+	 * 2001-2004).
+	 */
+	public void addHTMLEntities() {
+		this.htmlEntities = true;
+	}
+
+	public RecordIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * Position reader so next() returns the requested record.
+	 *
+	 * @param recordNum - record number, starting with 1
+	 * @throws IOException
+	 */
+	public void seek(int recordNum) throws IOException {
+		Preconditions.checkElementIndex(recordNum - 1, index.size(), "recordNum");
+		this.startRecord = recordNum;
+		if (dumpFile != null) {
+			open();
+		}
+	}
+
+	/**
+	 * Position reader so next() returns the record with the publication id.
+	 *
+	 * @param docId - publication id, example: US10000000B2
+	 * @return true when found
+	 * @throws IOException
+	 */
+	public boolean seek(String docId) throws IOException {
+		int recordNum = index.find(docId);
+		if (recordNum == -1) {
+			LOGGER.warn("Document id '{}' not found in index of: {}", docId, file.getName());
+			return false;
+		}
+		seek(recordNum);
+		return true;
+	}
+
+	@Override
+	public void open() throws IOException {
+		closeStreams();
+
+		InputStream inputStream;
+		if (file.getName().endsWith(".zip")) {
+			zipFile = new ZipReader(file, fileFilter, StandardCharsets.UTF_8);
+			zipFile.open();
+			inputStream = zipFile.readEntryStream(zipFile.nextEntry());
+		} else {
+			inputStream = new BufferedInputStream(new FileInputStream(file), 64 * 1024);
+		}
+
+		if (index.size() > 0) {
+			IOUtils.skipFully(inputStream, index.getOffset(startRecord));
+		}
+
+		dumpFile = new DumpFileXmlBytes(file.getName(), inputStream);
+		if (htmlEntities) {
+			dumpFile.addHTMLEntities();
+		}
+		dumpFile.open();
+	}
+
+	@Override
+	public void close() throws IOException {
+		closeStreams();
+		MDC.clear();
+	}
+
+	private void closeStreams() throws IOException {
+		if (dumpFile != null) {
+			dumpFile.close();
+			dumpFile = null;
+		}
+		if (zipFile != null) {
+			zipFile.close();
+			zipFile = null;
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return dumpFile != null && dumpFile.hasNext();
+	}
+
+	@Override
+	public String next() {
+		if (dumpFile == null) {
+			throw new NoSuchElementException();
+		}
+		return dumpFile.next();
+	}
+
+	@Override
+	public String read() throws IOException {
+		return hasNext() ? next() : null;
+	}
+
+	@Override
+	public InputStream nextDocument() {
+		if (dumpFile == null) {
+			throw new NoSuchElementException();
+		}
+		return dumpFile.nextDocument();
+	}
+
+	/**
+	 * Skip using the index, same count semantics as {@link DumpFile#skip(int)}.
+	 */
+	@Override
+	public void skip(int skipCount) throws IOException {
+		if (skipCount > 1) {
+			int recordNum = startRecord + skipCount - 1;
+			if (recordNum > index.size()) {
+				closeStreams(); // past last record.
+			} else {
+				seek(recordNum);
+			}
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Remove not supported");
+	}
+
+	@Override
+	public PatentDocFormat getPatentDocFormat() {
+		return index.getPatentDocFormat();
+	}
+
+	@Override
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public int getCurrentRecCount() {
+		if (dumpFile == null) {
+			return index.size();
+		}
+		return startRecord - 1 + dumpFile.getCurrentRecCount();
+	}
+}
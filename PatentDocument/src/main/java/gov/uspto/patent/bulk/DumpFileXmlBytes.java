@@ -0,0 +1,412 @@
+package gov.uspto.patent.bulk;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.google.common.base.Preconditions;
+
+import gov.uspto.common.file.archive.ZipReader;
+import gov.uspto.common.filter.SuffixFilter;
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentDocFormatDetect;
+
+/**
+ * Byte level record splitter for XML and SGML Bulk Files
+ *
+ * <p>
+ * Scans the raw UTF-8 bytes of the bulk file for the document start and end
+ * tags, returning each record as a ByteBuffer without decoding each line into a
+ * String. Records are only decoded when requested through {@link #next()}.
+ * </p>
+ *
+ * <p>
+ * Records are identical to {@link DumpFileXml}; line endings are normalized to
+ * '\n', lines before the start tag are dropped, and the trailing XML
+ * declaration after the PAP end tag is removed.
+ * </p>
+ *
+ * <pre><code>
+ * DumpFileXmlBytes dumpFile = new DumpFileXmlBytes(new File("ipg180102.zip"));
+ * dumpFile.open();
+ * while (dumpFile.hasNext()) {
+ *     ByteBuffer record = dumpFile.nextBuffer(); // valid until next call
+ * }
+ * dumpFile.close();
+ * </code></pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class DumpFileXmlBytes implements DumpReader {
+	private static final Logger LOGGER = LoggerFactory.getLogger(DumpFileXmlBytes.class);
+
+	private static final SuffixFilter DEFAULT_SUFFIXES = new SuffixFilter("xml", "sgml", "sgm");
+
+	private static final int READ_SIZE = 64 * 1024;
+	private static final byte[] XML_DECLARATION = "<?xml".getBytes(StandardCharsets.UTF_8);
+
+	private final File file;
+	private FileFilter fileFilter = DEFAULT_SUFFIXES;
+	private PatentDocFormat patentDocFormat;
+
+	private ZipReader zipFile;
+	private InputStream inputStream;
+
+	private byte[] header = new byte[0];
+	private byte[] startTag;
+	private byte[] endTag;
+
+	private byte[] buffer = new byte[READ_SIZE * 4];
+	private int position;
+	private int limit;
+	private boolean endOfStream;
+	private long bufferOffset;
+
+	private byte[] nextRecord = new byte[READ_SIZE];
+	private int nextLength;
+	private boolean nextReady;
+	private long nextOffset;
+	private int nextRawLength;
+	private byte[] currentRecord = new byte[READ_SIZE];
+	private int currentLength;
+	private long currentOffset;
+	private int currentRawLength;
+
+	private int currentRecCount;
+
+	public DumpFileXmlBytes(File file) {
+		Preconditions.checkNotNull(file, "File can not be Null");
+		Preconditions.checkArgument(file.isFile(), "File not found:" + file.getAbsolutePath());
+		MDC.put("SOURCE", String.valueOf(file.getName()));
+		this.file = file;
+	}
+
+	/**
+	 * @param name        - Name use for tracking purposes.
+	 * @param inputStream
+	 */
+	public DumpFileXmlBytes(String name, InputStream inputStream) {
+		this.file = new File(name);
+		this.inputStream = inputStream;
+	}
+
+	@Override
+	public void setFileFilter(FileFilter filter) {
+		this.fileFilter = filter;
+	}
+
+	/**
+	 * Add Html Entities DTD to header Fix for Patent PAP document formats (years
+	 * 2001-2004).
+	 */
+	public void addHTMLEntities() {
+		LOGGER.info("Inserting HTML Entities DTD");
+		header = ("<!DOCTYPE simple PUBLIC \"-//W3C//DTD XHTML 1.0 Strict//EN\" \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">\n")
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void open() throws IOException {
+		if (inputStream != null) {
+			// use defined inputStream.
+		} else if (file.getName().endsWith(".zip")) {
+			zipFile = new ZipReader(file, fileFilter, StandardCharsets.UTF_8);
+			zipFile.open();
+			try {
+				inputStream = zipFile.readEntryStream(zipFile.nextEntry());
+			} catch (NoSuchElementException e) {
+				LOGGER.error("Failed to Read Zip File '{}' ; no matching '{}'", file.getName(), fileFilter, e);
+				throw e;
+			}
+		} else {
+			inputStream = new BufferedInputStream(new FileInputStream(file), READ_SIZE);
+		}
+
+		while (!endOfStream && limit < READ_SIZE) {
+			fill();
+		}
+		patentDocFormat = new PatentDocFormatDetect()
+				.fromContent(new String(buffer, 0, limit, StandardCharsets.UTF_8));
+
+		String xmlTag = patentDocFormat.getParentElement();
+		this.startTag = ("<" + xmlTag).getBytes(StandardCharsets.UTF_8);
+		this.endTag = ("</" + xmlTag).getBytes(StandardCharsets.UTF_8);
+
+		advance();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (zipFile != null) {
+			zipFile.close();
+		}
+		if (inputStream != null) {
+			inputStream.close();
+		}
+		MDC.clear();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return nextReady;
+	}
+
+	/**
+	 * Next record as bytes, the buffer is only valid until the following call to
+	 * nextBuffer() or next().
+	 *
+	 * @return read-only ByteBuffer of UTF-8 record
+	 */
+	public ByteBuffer nextBuffer() {
+		if (!nextReady) {
+			throw new NoSuchElementException();
+		}
+
+		byte[] swap = currentRecord;
+		currentRecord = nextRecord;
+		currentLength = nextLength;
+		currentOffset = nextOffset;
+		currentRawLength = nextRawLength;
+		nextRecord = swap;
+
+		try {
+			advance();
+		} catch (IOException e) {
+			// error reading next record.
+			LOGGER.error("Error while reading file: {}:{}", getFile(), getCurrentRecCount(), e);
+			nextReady = false;
+		}
+
+		return ByteBuffer.wrap(currentRecord, 0, currentLength).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Next record as a copy of its bytes.
+	 *
+	 * @return UTF-8 record bytes
+	 */
+	public byte[] nextBytes() {
+		nextBuffer();
+		return Arrays.copyOf(currentRecord, currentLength);
+	}
+
+	@Override
+	public String next() {
+		nextBuffer();
+		return new String(currentRecord, 0, currentLength, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public String read() throws IOException {
+		return nextReady ? next() : null;
+	}
+
+	@Override
+	public InputStream nextDocument() {
+		nextBuffer();
+		return new ByteArrayInputStream(currentRecord, 0, currentLength);
+	}
+
+	@Override
+	public void skip(int skipCount) throws IOException {
+		for (int i = 1; i < skipCount; i++) {
+			nextBuffer();
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Remove not supported");
+	}
+
+	@Override
+	public PatentDocFormat getPatentDocFormat() {
+		return patentDocFormat;
+	}
+
+	@Override
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public int getCurrentRecCount() {
+		return currentRecCount;
+	}
+
+	/**
+	 * Byte offset, within the decompressed bulk file, of the record last returned.
+	 * 
+	 * @return offset
+	 */
+	public long getRecordOffset() {
+		return currentOffset;
+	}
+
+	/**
+	 * Raw byte length, within the decompressed bulk file, of the record last
+	 * returned; before line ending normalization and header.
+	 * 
+	 * @return length
+	 */
+	public int getRecordLength() {
+		return currentRawLength;
+	}
+
+	/**
+	 * Scan lines into the next record buffer until an end tag line is found.
+	 */
+	private void advance() throws IOException {
+		nextReady = false;
+		nextLength = 0;
+		append(header, 0, header.length);
+		nextOffset = bufferOffset + position;
+
+		int scanFrom = position;
+		while (true) {
+			int lineEnd = -1;
+			int terminatorLength = 0;
+			for (int i = scanFrom; i < limit; i++) {
+				byte b = buffer[i];
+				if (b == '\n') {
+					lineEnd = i;
+					terminatorLength = 1;
+					break;
+				} else if (b == '\r') {
+					if (i + 1 == limit && !endOfStream) {
+						// need next byte to check for '\r\n'.
+						break;
+					}
+					lineEnd = i;
+					terminatorLength = (i + 1 < limit && buffer[i + 1] == '\n') ? 2 : 1;
+					break;
+				}
+				scanFrom = i + 1;
+			}
+
+			if (lineEnd == -1) {
+				if (!endOfStream) {
+					int scanned = scanFrom - position;
+					fill();
+					scanFrom = position + scanned;
+					continue;
+				} else if (position < limit) {
+					lineEnd = limit; // last line without terminator.
+				} else {
+					return; // no more records.
+				}
+			}
+
+			int lineStart = position;
+			position = lineEnd + terminatorLength;
+			scanFrom = position;
+
+			if (lineMatches(lineStart, lineEnd, startTag)) {
+				nextLength = 0;
+				append(header, 0, header.length);
+				nextOffset = bufferOffset + lineStart;
+			} else if (lineMatches(lineStart, lineEnd, endTag)) {
+				// Fix for Patent PAP with trailing XML tag.
+				// '</patent-application-publication><?xml version="1.0" encoding="UTF-8"?>'
+				int xmlDecl = indexOf(lineStart, lineEnd, XML_DECLARATION);
+				if (xmlDecl != -1) {
+					lineEnd = xmlDecl;
+				}
+
+				appendLine(lineStart, lineEnd);
+				nextRawLength = (int) (bufferOffset + position - nextOffset);
+				currentRecCount++;
+				MDC.put("RECNUM", String.valueOf(currentRecCount));
+				nextReady = true;
+				return;
+			}
+
+			appendLine(lineStart, lineEnd);
+		}
+	}
+
+	/**
+	 * Line, after leading whitespace, starts with tag.
+	 */
+	private boolean lineMatches(int start, int end, byte[] tag) {
+		int i = start;
+		while (i < end && (buffer[i] & 0xff) <= ' ') {
+			i++;
+		}
+		if (end - i < tag.length) {
+			return false;
+		}
+		for (int j = 0; j < tag.length; j++) {
+			if (buffer[i + j] != tag[j]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int indexOf(int start, int end, byte[] match) {
+		OUTER: for (int i = start; i <= end - match.length; i++) {
+			for (int j = 0; j < match.length; j++) {
+				if (buffer[i + j] != match[j]) {
+					continue OUTER;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	private void appendLine(int start, int end) {
+		append(buffer, start, end - start);
+		ensureCapacity(1);
+		nextRecord[nextLength++] = '\n';
+	}
+
+	private void append(byte[] src, int offset, int length) {
+		ensureCapacity(length);
+		System.arraycopy(src, offset, nextRecord, nextLength, length);
+		nextLength += length;
+	}
+
+	private void ensureCapacity(int length) {
+		if (nextLength + length > nextRecord.length) {
+			nextRecord = Arrays.copyOf(nextRecord, Math.max(nextRecord.length * 2, nextLength + length));
+		}
+	}
+
+	/**
+	 * Compact unread bytes to the start of the buffer, growing it when full, then
+	 * read more from the stream.
+	 */
+	private void fill() throws IOException {
+		if (position > 0) {
+			System.arraycopy(buffer, position, buffer, 0, limit - position);
+			limit -= position;
+			bufferOffset += position;
+			position = 0;
+		}
+		if (limit == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+
+		int read = inputStream.read(buffer, limit, buffer.length - limit);
+		if (read == -1) {
+			endOfStream = true;
+		} else {
+			limit += read;
+		}
+	}
+}
@@ -0,0 +1,366 @@
+package gov.uspto.patent.bulk;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+import gov.uspto.patent.InvalidDataException;
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.model.CountryCode;
+import gov.uspto.patent.model.DocumentId;
+
+/**
+ * Record Offset Index for a Bulk File
+ *
+ * <p>
+ * Maps record number and publication id to the byte offset and length of the
+ * record within the decompressed bulk file. The index is built once with
+ * {@link #build(File)} and saved as a sidecar file next to the bulk file
+ * (ipg180102.zip.idx), later loads check the bulk file size and modified time
+ * to detect a stale index.
+ * </p>
+ *
+ * <pre><code>
+ * RecordIndex index = RecordIndex.getOrBuild(new File("ipg180102.zip"));
+ * int recordNum = index.find("US10000000B2");
+ * </code></pre>
+ *
+ * @see DumpFileIndexed
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class RecordIndex {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RecordIndex.class);
+
+	public static final String FILE_SUFFIX = ".idx";
+
+	private static final int MAGIC = 0x50504449; // PPDI
+	private static final int VERSION = 1;
+
+	private static final int ID_SCAN_BYTES = 16 * 1024;
+
+	private static final Pattern REDBOOK_PUBID = Pattern.compile(
+			"<publication-reference[^>]*>\\s*<document-id[^>]*>\\s*<country>(\\w+)</country>\\s*<doc-number>(\\w+)</doc-number>\\s*<kind>(\\w+)</kind>");
+	private static final Pattern PAP_PUBID = Pattern
+			.compile("<document-id>\\s*<doc-number>(\\w+)</doc-number>\\s*<kind-code>(\\w+)</kind-code>");
+	private static final Pattern SGML_DOCNUM = Pattern.compile("<B110>\\s*<DNUM>\\s*<PDAT>(\\w+)</PDAT>");
+	private static final Pattern SGML_KIND = Pattern.compile("<B130>\\s*<PDAT>(\\w+)</PDAT>");
+	private static final Pattern ID_NORMALIZE = Pattern.compile("^([A-Z]{2})(D|RE|PP|AI|H|T|X|RX)?0*(\\d+)(\\D\\d?)?$");
+
+	private final PatentDocFormat patentDocFormat;
+	private final long sourceLength;
+	private final long sourceModified;
+
+	private long[] offsets;
+	private int[] lengths;
+	private String[] ids;
+	private int size;
+
+	private Map<String, Integer> idLookup;
+
+	public RecordIndex(PatentDocFormat patentDocFormat, long sourceLength, long sourceModified, int capacity) {
+		this.patentDocFormat = patentDocFormat;
+		this.sourceLength = sourceLength;
+		this.sourceModified = sourceModified;
+		this.offsets = new long[Math.max(capacity, 16)];
+		this.lengths = new int[offsets.length];
+		this.ids = new String[offsets.length];
+	}
+
+	public void add(long offset, int length, String id) {
+		if (size == offsets.length) {
+			int newCapacity = size * 2;
+			offsets = Arrays.copyOf(offsets, newCapacity);
+			lengths = Arrays.copyOf(lengths, newCapacity);
+			ids = Arrays.copyOf(ids, newCapacity);
+		}
+		offsets[size] = offset;
+		lengths[size] = length;
+		ids[size] = id;
+		size++;
+		idLookup = null;
+	}
+
+	public PatentDocFormat getPatentDocFormat() {
+		return patentDocFormat;
+	}
+
+	/**
+	 * @return number of records indexed
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param recordNum - record number, starting with 1
+	 * @return offset within the decompressed bulk file
+	 */
+	public long getOffset(int recordNum) {
+		checkRecordNum(recordNum);
+		return offsets[recordNum - 1];
+	}
+
+	/**
+	 * @param recordNum - record number, starting with 1
+	 * @return raw length of record within the decompressed bulk file
+	 */
+	public int getLength(int recordNum) {
+		checkRecordNum(recordNum);
+		return lengths[recordNum - 1];
+	}
+
+	/**
+	 * @param recordNum - record number, starting with 1
+	 * @return publication id or null when not found in record
+	 */
+	public String getId(int recordNum) {
+		checkRecordNum(recordNum);
+		return ids[recordNum - 1];
+	}
+
+	/**
+	 * Find record number by publication id, with or without kindcode; leading
+	 * zeros and punctuation are ignored "US 10,000,000 B2" finds "US10000000B2".
+	 *
+	 * @param docId
+	 * @return record number, starting with 1, or -1 when not found
+	 */
+	public int find(String docId) {
+		if (idLookup == null) {
+			Map<String, Integer> lookup = new HashMap<String, Integer>(size * 3);
+			for (int i = size - 1; i >= 0; i--) {
+				if (ids[i] != null) {
+					Matcher matcher = ID_NORMALIZE.matcher(ids[i]);
+					lookup.put(ids[i], i + 1);
+					if (matcher.matches()) {
+						lookup.put(matcher.replaceFirst("$1$2$3"), i + 1);
+					}
+				}
+			}
+			idLookup = lookup;
+		}
+
+		Integer recordNum = idLookup.get(normalizeId(docId));
+		return recordNum != null ? recordNum : -1;
+	}
+
+	private static String normalizeId(String docId) {
+		String id = docId.toUpperCase().replaceAll("[^A-Z0-9]", "");
+		Matcher matcher = ID_NORMALIZE.matcher(id);
+		if (matcher.matches()) {
+			return matcher.group(1) + (matcher.group(2) != null ? matcher.group(2) : "") + matcher.group(3)
+					+ (matcher.group(4) != null ? matcher.group(4) : "");
+		}
+		return id;
+	}
+
+	/**
+	 * Index is current for bulk file, matching size and modified time.
+	 *
+	 * @param bulkFile
+	 * @return
+	 */
+	public boolean isCurrent(File bulkFile) {
+		return bulkFile.length() == sourceLength && bulkFile.lastModified() == sourceModified;
+	}
+
+	private void checkRecordNum(int recordNum) {
+		Preconditions.checkElementIndex(recordNum - 1, size, "recordNum");
+	}
+
+	/**
+	 * Extract publication id from the start of the record.
+	 *
+	 * @param record
+	 * @param patentDocFormat
+	 * @return publication id or null
+	 */
+	public static String extractId(ByteBuffer record, PatentDocFormat patentDocFormat) {
+		int length = Math.min(record.remaining(), ID_SCAN_BYTES);
+		byte[] head = new byte[length];
+		record.duplicate().get(head);
+		String text = new String(head, StandardCharsets.UTF_8);
+
+		String country;
+		String docNumber;
+		String kind;
+		Matcher matcher;
+		switch (patentDocFormat) {
+		case RedbookGrant:
+		case RedbookApplication:
+			matcher = REDBOOK_PUBID.matcher(text);
+			if (!matcher.find()) {
+				return null;
+			}
+			country = matcher.group(1);
+			docNumber = matcher.group(2);
+			kind = matcher.group(3);
+			break;
+		case Pap:
+			matcher = PAP_PUBID.matcher(text);
+			if (!matcher.find()) {
+				return null;
+			}
+			country = "US";
+			docNumber = matcher.group(1);
+			kind = matcher.group(2);
+			break;
+		case Sgml:
+			matcher = SGML_DOCNUM.matcher(text);
+			if (!matcher.find()) {
+				return null;
+			}
+			country = "US";
+			docNumber = matcher.group(1);
+			Matcher kindMatcher = SGML_KIND.matcher(text);
+			kind = kindMatcher.find() ? kindMatcher.group(1) : null;
+			break;
+		default:
+			return null;
+		}
+
+		try {
+			return new DocumentId(CountryCode.fromString(country), docNumber, kind).toText();
+		} catch (InvalidDataException e) {
+			return country + docNumber + (kind != null ? kind : "");
+		}
+	}
+
+	/**
+	 * Build index by splitting all records of the bulk file.
+	 *
+	 * @param bulkFile
+	 * @return RecordIndex
+	 * @throws IOException
+	 */
+	public static RecordIndex build(File bulkFile) throws IOException {
+		LOGGER.info("Building record index for: {}", bulkFile);
+		DumpFileXmlBytes dumpFile = new DumpFileXmlBytes(bulkFile);
+		try {
+			dumpFile.open();
+			RecordIndex index = new RecordIndex(dumpFile.getPatentDocFormat(), bulkFile.length(),
+					bulkFile.lastModified(), 8192);
+			while (dumpFile.hasNext()) {
+				ByteBuffer record = dumpFile.nextBuffer();
+				index.add(dumpFile.getRecordOffset(), dumpFile.getRecordLength(),
+						extractId(record, index.getPatentDocFormat()));
+			}
+			LOGGER.info("Indexed {} records: {}", index.size(), bulkFile);
+			return index;
+		} finally {
+			dumpFile.close();
+		}
+	}
+
+	/**
+	 * Load sidecar index when current, else build and save it.
+	 *
+	 * @param bulkFile
+	 * @return RecordIndex
+	 * @throws IOException
+	 */
+	public static RecordIndex getOrBuild(File bulkFile) throws IOException {
+		RecordIndex index = load(bulkFile);
+		if (index == null) {
+			index = build(bulkFile);
+			try {
+				index.save(indexFile(bulkFile));
+			} catch (IOException e) {
+				LOGGER.warn("Unable to save record index: {}", indexFile(bulkFile), e);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Load sidecar index.
+	 *
+	 * @param bulkFile
+	 * @return RecordIndex or null when missing or stale.
+	 * @throws IOException
+	 */
+	public static RecordIndex load(File bulkFile) throws IOException {
+		File indexFile = indexFile(bulkFile);
+		if (!indexFile.isFile()) {
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(indexFile), 64 * 1024))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				LOGGER.warn("Ignoring unknown record index format: {}", indexFile);
+				return null;
+			}
+
+			PatentDocFormat docFormat = PatentDocFormat.valueOf(in.readUTF());
+			long sourceLength = in.readLong();
+			long sourceModified = in.readLong();
+			int size = in.readInt();
+
+			RecordIndex index = new RecordIndex(docFormat, sourceLength, sourceModified, size);
+			if (!index.isCurrent(bulkFile)) {
+				LOGGER.info("Record index is stale: {}", indexFile);
+				return null;
+			}
+
+			for (int i = 0; i < size; i++) {
+				long offset = in.readLong();
+				int length = in.readInt();
+				String id = in.readBoolean() ? in.readUTF() : null;
+				index.add(offset, length, id);
+			}
+			return index;
+		}
+	}
+
+	public void save(File indexFile) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(indexFile), 64 * 1024))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(patentDocFormat.name());
+			out.writeLong(sourceLength);
+			out.writeLong(sourceModified);
+			out.writeInt(size);
+			for (int i = 0; i < size; i++) {
+				out.writeLong(offsets[i]);
+				out.writeInt(lengths[i]);
+				out.writeBoolean(ids[i] != null);
+				if (ids[i] != null) {
+					out.writeUTF(ids[i]);
+				}
+			}
+		}
+		LOGGER.info("Saved record index: {}", indexFile);
+	}
+
+	public static File indexFile(File bulkFile) {
+		return new File(bulkFile.getPath() + FILE_SUFFIX);
+	}
+
+	public static void main(String[] args) throws IOException {
+		for (String filePath : args) {
+			File bulkFile = new File(filePath);
+			build(bulkFile).save(indexFile(bulkFile));
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package gov.uspto.patent.doc.cpc.masterfile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import gov.uspto.common.file.archive.ZipReader;
+import gov.uspto.common.filter.SuffixFilter;
+import gov.uspto.patent.model.classification.ClassificationPredicate;
+import gov.uspto.patent.model.classification.CpcClassification;
+import gov.uspto.patent.model.classification.PatentClassification;
+import gov.uspto.patent.serialize.DocumentBuilder;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+
+/**
+ * Parallel CPC Master Loader
+ *
+ * <p>
+ * Builds the same CSV files as {@link CpcMasterParser}, loading master files
+ * concurrently. Each xml master file within the zip is a chunk of about 100,000
+ * records, read straight from the zip by a worker thread with a
+ * {@link CpcMasterStreamReader} and written by that worker to its own
+ * "cpc_master_[master file].csv".
+ * </p>
+ *
+ * <p>
+ * --input="..\download\US_Grant_CPC_MCF_XML_2016-12-31.zip" --cpc="H04N,H04H,G06F"
+ * <p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class CpcMasterLoader {
+	private static final Logger LOGGER = LoggerFactory.getLogger(CpcMasterLoader.class);
+
+	private static final int BUFFER_SIZE = 1024 * 1024;
+
+	private static FileFilter fileFilter = new SuffixFilter("xml");
+
+	private final File zipFile;
+	private final DocumentBuilder<MasterClassificationRecord> docBuilder;
+	private final Path outputDir;
+	private Predicate<PatentClassification> classPredicate;
+	private int skip = 0;
+
+	public CpcMasterLoader(File zipFile, DocumentBuilder<MasterClassificationRecord> docBuilder, Path outputDir) {
+		Preconditions.checkArgument(zipFile.canRead(), "ZipFile not readble: " + zipFile.getAbsolutePath());
+		this.zipFile = zipFile;
+		this.docBuilder = docBuilder;
+		this.outputDir = outputDir;
+	}
+
+	public void setClassificationPredicate(Predicate<PatentClassification> predicate) {
+		this.classPredicate = predicate;
+	}
+
+	public void skipMasterDoc(int skip) {
+		this.skip = skip;
+	}
+
+	/**
+	 * Load master files concurrently, a master file which fails is logged and
+	 * other master files continue.
+	 *
+	 * @param maxThreads - master files loaded at once
+	 * @return records written
+	 * @throws IOException when the zip file can not be read
+	 */
+	public long process(int maxThreads) throws IOException {
+		Preconditions.checkArgument(maxThreads > 0, "maxThreads must be greater than 0");
+
+		long written = 0;
+
+		try (ZipReader zipReader = new ZipReader(zipFile, fileFilter, StandardCharsets.UTF_8)) {
+			zipReader.open();
+
+			List<ZipArchiveEntry> masterFiles = new ArrayList<ZipArchiveEntry>();
+			try {
+				while (zipReader.hasNext()) {
+					masterFiles.add(zipReader.nextEntry());
+				}
+			} catch (NoSuchElementException e) {
+				// no more master files.
+			}
+			masterFiles = masterFiles.subList(Math.min(skip, masterFiles.size()), masterFiles.size());
+
+			LOGGER.info("Loading {} master files using {} threads", masterFiles.size(), maxThreads);
+
+			ExecutorService pool = Executors.newFixedThreadPool(maxThreads,
+					new ThreadFactoryBuilder().setNameFormat("cpc-master-%d").setDaemon(true).build());
+			try {
+				List<Future<Long>> results = new ArrayList<Future<Long>>();
+				for (ZipArchiveEntry masterFile : masterFiles) {
+					results.add(pool.submit(() -> load(zipReader, masterFile)));
+				}
+
+				for (int i = 0; i < masterFiles.size(); i++) {
+					try {
+						written += results.get(i).get();
+					} catch (ExecutionException e) {
+						LOGGER.error("Master File Failure: '{}'", masterFiles.get(i).getName(), e.getCause());
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOGGER.error("Interrupted while loading: '{}'", zipFile.getName(), e);
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+
+		return written;
+	}
+
+	/**
+	 * Load a single master file to its CSV file.
+	 *
+	 * @return records written
+	 */
+	private long load(ZipReader zipReader, ZipArchiveEntry masterFile) throws IOException, XMLStreamException {
+		String fileName = new File(masterFile.getName()).getName();
+		File outputFile = outputDir.resolve("cpc_master_" + fileName + ".csv").toFile();
+
+		MDC.put("DOCID", fileName);
+
+		long written = 0;
+		long failed = 0;
+		try (InputStream inputStream = new BufferedInputStream(zipReader.readEntryStream(masterFile), BUFFER_SIZE);
+				CpcMasterStreamReader reader = new CpcMasterStreamReader(inputStream);
+				Writer writer = new BufferedWriter(
+						new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_16),
+						BUFFER_SIZE)) {
+
+			if (classPredicate != null) {
+				reader.setClassificationPredicate(classPredicate);
+			}
+
+			MasterClassificationRecord record;
+			while ((record = reader.read()) != null) {
+				try {
+					docBuilder.write(record, writer);
+					written++;
+				} catch (RuntimeException e) {
+					LOGGER.error("Failed to write record {}: {}", reader.getRecordCount(), record, e);
+					failed++;
+				}
+			}
+
+			LOGGER.info("Completed {}, records:[{}], written:[{}], failed:[{}]", fileName, reader.getRecordCount(),
+					written, failed);
+		} finally {
+			MDC.remove("DOCID");
+		}
+
+		return written;
+	}
+
+	public static void main(String[] args) throws IOException {
+
+		LOGGER.info("--- START ---");
+
+		OptionParser parser = new OptionParser() {
+			{
+				accepts("input").withRequiredArg().ofType(String.class).describedAs("Input Master CPC Zip File")
+						.required();
+				accepts("skip").withOptionalArg().ofType(Integer.class).describedAs("skip number of master cpc files")
+						.defaultsTo(0);
+				accepts("threads").withOptionalArg().ofType(Integer.class).describedAs("Threads to spawn")
+						.defaultsTo(Runtime.getRuntime().availableProcessors());
+				accepts("outdir").withOptionalArg().ofType(String.class).describedAs("directory").defaultsTo("output");
+				accepts("cpc").withOptionalArg().ofType(String.class)
+						.describedAs("comma separated list of wanted CPC Classifications");
+			}
+		};
+
+		OptionSet options = parser.parse(args);
+		if (!options.hasOptions()) {
+			parser.printHelpOn(System.out);
+			System.exit(1);
+		}
+
+		String inputZipFile = (String) options.valueOf("input");
+		File zipFile = Paths.get(inputZipFile).toFile();
+		if (!zipFile.canRead()) {
+			LOGGER.error("Failed to read: '{}'", zipFile.getAbsolutePath());
+			System.exit(1);
+		}
+
+		int skip = (Integer) options.valueOf("skip");
+		int threads = (Integer) options.valueOf("threads");
+		Path outputPath = Paths.get((String) options.valueOf("outdir"));
+
+		/*
+		 * Cpc Predicates
+		 */
+		String cpcInput = (String) options.valueOf("cpc");
+		Predicate<PatentClassification> classPredicate = null;
+		if (cpcInput != null) {
+			Iterable<String> wantedCpcClasses = Splitter.on(',').trimResults().omitEmptyStrings().split(cpcInput);
+			LOGGER.info("Classifications wanted: {}", wantedCpcClasses);
+			classPredicate = ClassificationPredicate.isContained(wantedCpcClasses, CpcClassification.class);
+		}
+
+		if (!outputPath.toFile().isDirectory()) {
+			outputPath.toFile().mkdir();
+		}
+
+		CpcMasterLoader loader = new CpcMasterLoader(zipFile, new MasterCpcCsvBuilder(), outputPath);
+
+		if (classPredicate != null) {
+			loader.setClassificationPredicate(classPredicate);
+		}
+
+		loader.skipMasterDoc(skip);
+
+		long written = loader.process(threads);
+
+		LOGGER.info("--- DONE --- records written: [{}]", written);
+	}
+
+}
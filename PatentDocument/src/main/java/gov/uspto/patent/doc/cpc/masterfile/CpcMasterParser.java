@@ -46,6 +46,8 @@ import joptsimple.OptionSet;
  * --input="..\download\US_Grant_CPC_MCF_XML_2016-12-31.zip" --cpc="H04N,H04H,G06F"
  * <p>
  * 
+ * @see CpcMasterLoader for loading master files concurrently with a streaming reader
+ * 
  * @author Brian G. Feldman (brian.feldman@uspto.gov)
  *
  */
@@ -59,6 +61,7 @@ public class CpcMasterParser extends BulkArchive {
     private DocumentBuilder<MasterClassificationRecord> docBuilder;
     private Path outputDir;
     private Predicate<PatentClassification> classPredicate;
+    private int recordThreads = 1;
 
     private TransferQueue<Runnable> recordQueue;
 
@@ -76,6 +79,15 @@ public class CpcMasterParser extends BulkArchive {
         skip(skip);
     }
 
+    /**
+     * Records of each master file read in parallel when greater than 1, default 1.
+     *
+     * @param recordThreads
+     */
+    public void setRecordThreads(int recordThreads) {
+        this.recordThreads = recordThreads;
+    }
+
     public void process(int maxThreads) {
         recordQueue = new LinkedTransferQueue<Runnable>();
 
@@ -93,7 +105,8 @@ public class CpcMasterParser extends BulkArchive {
             DumpFile dumpFile = next();
             File outputFile = outputDir.resolve("cpc_master_" + dumpFile.getFile().getName() + ".csv").toFile();
 
-            DumpFileProcessThread workThread = new DumpFileProcessThread(dumpFile, reader, docBuilder, outputFile); // @TODO add predicate.
+            DumpFileProcessThread workThread = new DumpFileProcessThread(dumpFile, reader, docBuilder, outputFile,
+                    recordThreads); // @TODO add predicate.
 
             if (recordQueue.size() < maxThreads * 3) {
                 recordQueue.add(workThread);
@@ -131,6 +144,8 @@ public class CpcMasterParser extends BulkArchive {
                         .defaultsTo(0);
                 accepts("threads").withOptionalArg().ofType(Integer.class).describedAs("Threads to spawn")
                         .defaultsTo(5);
+                accepts("record-threads").withOptionalArg().ofType(Integer.class)
+                        .describedAs("Threads to read records of each master cpc file").defaultsTo(1);
                 accepts("outdir").withOptionalArg().ofType(String.class).describedAs("directory").defaultsTo("output");
                 accepts("cpc").withOptionalArg().ofType(String.class)
                         .describedAs("comma separated list of wanted CPC Classifications");
@@ -154,6 +169,7 @@ public class CpcMasterParser extends BulkArchive {
         int skip = (Integer) options.valueOf("skip");
         int limit = (Integer) options.valueOf("limit"); // limit is not currently used.
         int threads = (Integer) options.valueOf("threads");
+        int recordThreads = (Integer) options.valueOf("record-threads");
         String outDir = (String) options.valueOf("outdir");
         Path outputPath = Paths.get(outDir);
 
@@ -187,6 +203,8 @@ public class CpcMasterParser extends BulkArchive {
             cpcMaster.skipMasterDoc(skip);
         }
 
+        cpcMaster.setRecordThreads(recordThreads);
+
         cpcMaster.process(threads);
 
         cpcMaster.close();
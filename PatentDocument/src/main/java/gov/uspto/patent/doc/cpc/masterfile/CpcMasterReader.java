@@ -111,13 +111,11 @@ public class CpcMasterReader implements PatentDocReader<MasterClassificationReco
 		cpcClasses.add(mainCpc);	
 
 		@SuppressWarnings("unchecked")
-		List<Node> furtherCpcN = node.selectNodes("pat:FurtherCPC");
+		List<Node> furtherCpcN = node.selectNodes("pat:FurtherCPC/pat:CPCClassification");
 		for (Node futherN : furtherCpcN) {
-			CpcClassification cpcClass = readClass(futherN, false);
-			if (cpcClass != null) {
-				cpcClasses.add(cpcClass);
-				LOGGER.debug("FURTHER CPC: {}", cpcClass.toText());
-			}
+			CpcClassification cpcClass = readClassification(futherN, false);
+			cpcClasses.add(cpcClass);
+			LOGGER.debug("FURTHER CPC: {}", cpcClass.toText());
 		}
 
 		return cpcClasses;
@@ -128,20 +126,28 @@ public class CpcMasterReader implements PatentDocReader<MasterClassificationReco
 		if (classN == null) {
 			return null;
 		}
+		return readClassification(classN, isInventive);
+	}
 
-		Node dateVersionN = classN.selectSingleNode("pat:ClassificationVersionDate");
+	private CpcClassification readClassification(Node classN, boolean isInventive) {
 		Node cpcSectionN = classN.selectSingleNode("pat:CPCSection");
 		Node cpcClassN = classN.selectSingleNode("pat:Class");
 		Node cpcSubClassN = classN.selectSingleNode("pat:Subclass");
 		Node cpcMainGroupN = classN.selectSingleNode("pat:MainGroup");
 		Node cpcSubGroupN = classN.selectSingleNode("pat:Subgroup");
 
+		return buildClass(cpcSectionN.getText(), cpcClassN.getText(), cpcSubClassN.getText(),
+				cpcMainGroupN.getText(), cpcSubGroupN.getText(), isInventive);
+	}
+
+	static CpcClassification buildClass(String section, String mainClass, String subClass, String mainGroup,
+			String subGroup, boolean isInventive) {
 		CpcClassification cpcClass = new CpcClassification("", isInventive);
-		cpcClass.setSection(cpcSectionN.getText());
-		cpcClass.setMainClass(cpcClassN.getText());
-		cpcClass.setSubClass(cpcSubClassN.getText());
-		cpcClass.setMainGroup(new String[] { cpcMainGroupN.getText() });
-		cpcClass.setSubGroup(new String[] { cpcSubGroupN.getText() });
+		cpcClass.setSection(section);
+		cpcClass.setMainClass(mainClass);
+		cpcClass.setSubClass(subClass);
+		cpcClass.setMainGroup(new String[] { mainGroup });
+		cpcClass.setSubGroup(new String[] { subGroup });
 		return cpcClass;
 	}
 
@@ -156,7 +162,11 @@ public class CpcMasterReader implements PatentDocReader<MasterClassificationReco
 		String idTxt = idN != null ? idN.getText() : "";
 		String kindTxt = kindN != null ? kindN.getText() : "";
 		String dateTxt = dateN != null ? dateN.getText() : "";
-		dateTxt = dateTxt.replaceAll("-", "");
+		return buildDocumentId(countryTxt, idTxt, kindTxt, dateTxt);
+	}
+
+	static DocumentId buildDocumentId(String countryTxt, String idTxt, String kindTxt, String dateTxt) {
+		dateTxt = dateTxt.replace("-", "");
 
 		DocumentDate docDate = null;
 		if (!dateTxt.isEmpty()) {
@@ -0,0 +1,249 @@
+package gov.uspto.patent.doc.cpc.masterfile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.classification.CpcClassification;
+import gov.uspto.patent.model.classification.PatentClassification;
+
+/**
+ * Streaming CPC Master File Reader
+ *
+ * <p>
+ * Pulls CPCMasterClassificationRecord elements from a whole master file with a
+ * StAX pull parser, no document is built per record. The CPC bag is read first
+ * into classifications and the classification predicate applied, document ids
+ * are only built for records which match.
+ * </p>
+ *
+ * <p>
+ * Produces the same records as {@link CpcMasterReader}. Not thread-safe, use a
+ * reader per master file.
+ * </p>
+ *
+ * <pre><code>
+ * try (CpcMasterStreamReader reader = new CpcMasterStreamReader(inputStream)) {
+ *     MasterClassificationRecord record;
+ *     while ((record = reader.read()) != null) {
+ *         ...
+ *     }
+ * }
+ * </code></pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class CpcMasterStreamReader implements Closeable {
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+	static {
+		XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+	}
+
+	private static final String RECORD = "CPCMasterClassificationRecord";
+
+	private final InputStream inputStream;
+	private final XMLStreamReader xml;
+	private Predicate<PatentClassification> classPredicate;
+	private long recordCount = 0;
+
+	public CpcMasterStreamReader(InputStream inputStream) throws XMLStreamException {
+		this.inputStream = inputStream;
+		this.xml = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+	}
+
+	public void setClassificationPredicate(Predicate<PatentClassification> predicate) {
+		this.classPredicate = predicate;
+	}
+
+	/**
+	 * Records read, including those not matching the classification predicate.
+	 */
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Read next record matching the classification predicate.
+	 *
+	 * @return record, or null at end of master file
+	 * @throws XMLStreamException
+	 */
+	public MasterClassificationRecord read() throws XMLStreamException {
+		while (xml.hasNext()) {
+			if (xml.next() == XMLStreamConstants.START_ELEMENT && RECORD.equals(xml.getLocalName())) {
+				recordCount++;
+				MasterClassificationRecord record = readRecord();
+				if (record != null) {
+					return record;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Read record through its end element.
+	 *
+	 * @return record, or null when its classifications do not match
+	 * @throws XMLStreamException
+	 */
+	private MasterClassificationRecord readRecord() throws XMLStreamException {
+		String[] appFields = null;
+		String[] pubFields = null;
+		List<CpcClassification> cpcClasses = new ArrayList<CpcClassification>();
+		boolean isInventive = false;
+
+		int depth = 1;
+		while (depth > 0) {
+			int event = xml.next();
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			} else if (event == XMLStreamConstants.START_ELEMENT) {
+				switch (xml.getLocalName()) {
+				case "ApplicationIdentification":
+					String[] appIdentification = readIdentification();
+					appFields = appFields == null ? appIdentification : appFields;
+					break;
+				case "PatentPublicationIdentification":
+				case "PatentGrantIdentification":
+					String[] pubIdentification = readIdentification();
+					pubFields = pubFields == null ? pubIdentification : pubFields;
+					break;
+				case "CPCClassification":
+					cpcClasses.add(readClassification(isInventive));
+					break;
+				case "MainCPC":
+					isInventive = true;
+					depth++;
+					break;
+				case "FurtherCPC":
+					isInventive = false;
+					depth++;
+					break;
+				default:
+					depth++;
+				}
+			}
+		}
+
+		if (classPredicate != null && !cpcClasses.stream().anyMatch(classPredicate)) {
+			return null;
+		}
+
+		DocumentId appId = appFields != null ? buildDocumentId(appFields) : null;
+		DocumentId pubId = pubFields != null ? buildDocumentId(pubFields) : null;
+
+		return new MasterClassificationRecord(appId, pubId, cpcClasses);
+	}
+
+	/**
+	 * Read identification through its end element.
+	 *
+	 * @return country, number, kind and date text
+	 * @throws XMLStreamException
+	 */
+	private String[] readIdentification() throws XMLStreamException {
+		String[] fields = new String[] { "", "", "", "" };
+
+		int depth = 1;
+		while (depth > 0) {
+			int event = xml.next();
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			} else if (event == XMLStreamConstants.START_ELEMENT) {
+				switch (xml.getLocalName()) {
+				case "IPOfficeCode":
+					setFirst(fields, 0, xml.getElementText());
+					break;
+				case "PublicationNumber":
+				case "ApplicationNumberText":
+				case "PatentNumber":
+					setFirst(fields, 1, xml.getElementText());
+					break;
+				case "PatentDocumentKindCode":
+					setFirst(fields, 2, xml.getElementText());
+					break;
+				case "PublicationDate":
+					setFirst(fields, 3, xml.getElementText());
+					break;
+				default:
+					depth++;
+				}
+			}
+		}
+
+		return fields;
+	}
+
+	/**
+	 * Read CPCClassification through its end element.
+	 *
+	 * @throws XMLStreamException
+	 */
+	private CpcClassification readClassification(boolean isInventive) throws XMLStreamException {
+		String[] fields = new String[] { "", "", "", "", "" };
+
+		int depth = 1;
+		while (depth > 0) {
+			int event = xml.next();
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			} else if (event == XMLStreamConstants.START_ELEMENT) {
+				switch (xml.getLocalName()) {
+				case "CPCSection":
+					fields[0] = xml.getElementText();
+					break;
+				case "Class":
+					fields[1] = xml.getElementText();
+					break;
+				case "Subclass":
+					fields[2] = xml.getElementText();
+					break;
+				case "MainGroup":
+					fields[3] = xml.getElementText();
+					break;
+				case "Subgroup":
+					fields[4] = xml.getElementText();
+					break;
+				default:
+					depth++;
+				}
+			}
+		}
+
+		return CpcMasterReader.buildClass(fields[0], fields[1], fields[2], fields[3], fields[4], isInventive);
+	}
+
+	private static void setFirst(String[] fields, int index, String value) {
+		if (fields[index].isEmpty()) {
+			fields[index] = value;
+		}
+	}
+
+	private static DocumentId buildDocumentId(String[] fields) {
+		return CpcMasterReader.buildDocumentId(fields[0], fields[1], fields[2], fields[3]);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			xml.close();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			inputStream.close();
+		}
+	}
+}
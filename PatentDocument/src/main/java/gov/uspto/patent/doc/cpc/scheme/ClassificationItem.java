@@ -1,7 +1,7 @@
 package gov.uspto.patent.doc.cpc.scheme;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import com.google.common.base.Joiner;
@@ -25,8 +25,8 @@ import com.google.common.base.Joiner;
 public class ClassificationItem {
 
 	private final String symbol;
-	private List<String> titleParts = new LinkedList<String>();
-	private List<ClassificationItem> subClasses = new LinkedList<ClassificationItem>();
+	private List<String> titleParts = new ArrayList<String>();
+	private List<ClassificationItem> subClasses = new ArrayList<ClassificationItem>();
 	
 	public ClassificationItem(String symbol){
 		this.symbol = symbol;
@@ -0,0 +1,438 @@
+package gov.uspto.patent.doc.cpc.scheme;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gov.uspto.patent.PatentReaderException;
+
+/**
+ * CPC Scheme Index
+ *
+ * <p>
+ * Compact, array backed index of the CPC scheme tree. Classification items are
+ * numbered in tree order (pre-order), each node keeps its parent and the end of
+ * its descendant range, so the descendants of node n are the nodes from n+1 up
+ * to its descendant end, and ancestor checks are a range check. Symbols and
+ * titles are stored as one block of characters each, with offsets per node,
+ * and an open addressing hash table maps a symbol to its node in O(1).
+ * </p>
+ *
+ * <p>
+ * The scheme repeats a symbol on a header item which wraps the item holding its
+ * title, for example "A01L1/00"; a symbol resolves to the innermost item.
+ * </p>
+ *
+ * <p>
+ * An index can be saved as a binary snapshot, a loaded snapshot is memory
+ * mapped and used in place without being parsed or copied.
+ * </p>
+ *
+ * <pre><code>
+ * CpcSchemeIndex index = CpcSchemeIndex.build(schemeRoots);
+ * index.save(snapshotPath);
+ * ...
+ * CpcSchemeIndex index = CpcSchemeIndex.load(snapshotPath);
+ * String title = index.getTitle("A01L1/02");
+ * </code></pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class CpcSchemeIndex {
+	private static final Logger LOGGER = LoggerFactory.getLogger(CpcSchemeIndex.class);
+
+	private static final int MAGIC = 0x43504349; // "CPCI"
+	private static final int VERSION = 1;
+	private static final int HEADER_INTS = 6;
+
+	private final int size;
+	private final IntBuffer parents;
+	private final IntBuffer descendantEnds;
+	private final IntBuffer symbolOffsets;
+	private final IntBuffer titleOffsets;
+	private final IntBuffer slots;
+	private final CharBuffer symbols;
+	private final CharBuffer titles;
+
+	private CpcSchemeIndex(int size, IntBuffer parents, IntBuffer descendantEnds, IntBuffer symbolOffsets,
+			IntBuffer titleOffsets, IntBuffer slots, CharBuffer symbols, CharBuffer titles) {
+		this.size = size;
+		this.parents = parents;
+		this.descendantEnds = descendantEnds;
+		this.symbolOffsets = symbolOffsets;
+		this.titleOffsets = titleOffsets;
+		this.slots = slots;
+		this.symbols = symbols;
+		this.titles = titles;
+	}
+
+	/**
+	 * Number of classification items.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Node of a symbol.
+	 *
+	 * @param symbol - CPC symbol, such as "A01L1/02"; spaces are ignored
+	 * @return node, or -1 when not in the scheme
+	 */
+	public int indexOf(String symbol) {
+		String key = symbol.replace(" ", "");
+		int mask = slots.capacity() - 1;
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			int node = slots.get(slot) - 1;
+			if (node < 0) {
+				return -1;
+			}
+			if (symbolEquals(node, key)) {
+				return node;
+			}
+		}
+	}
+
+	public boolean contains(String symbol) {
+		return indexOf(symbol) != -1;
+	}
+
+	public String getSymbol(int node) {
+		return symbols.subSequence(symbolOffsets.get(node), symbolOffsets.get(node + 1)).toString();
+	}
+
+	public String getTitle(int node) {
+		return titles.subSequence(titleOffsets.get(node), titleOffsets.get(node + 1)).toString();
+	}
+
+	/**
+	 * Title of a symbol.
+	 *
+	 * @param symbol
+	 * @return title, or null when not in the scheme
+	 */
+	public String getTitle(String symbol) {
+		int node = indexOf(symbol);
+		return node != -1 ? getTitle(node) : null;
+	}
+
+	/**
+	 * @return parent node, or -1 for a scheme root
+	 */
+	public int getParent(int node) {
+		return parents.get(node);
+	}
+
+	/**
+	 * End of the descendant range, descendants are the nodes after this node up to
+	 * the end, exclusive.
+	 */
+	public int getDescendantEnd(int node) {
+		return descendantEnds.get(node);
+	}
+
+	public boolean isAncestor(int ancestor, int node) {
+		return node > ancestor && node < descendantEnds.get(ancestor);
+	}
+
+	/**
+	 * Ancestor symbols, nearest first, the header item repeating a symbol is
+	 * skipped.
+	 *
+	 * @param symbol
+	 * @return ancestor symbols, empty when not in the scheme
+	 */
+	public List<String> getAncestors(String symbol) {
+		int node = indexOf(symbol);
+		if (node == -1) {
+			return Collections.emptyList();
+		}
+
+		List<String> ancestors = new ArrayList<String>();
+		String last = getSymbol(node);
+		for (int parent = parents.get(node); parent != -1; parent = parents.get(parent)) {
+			String parentSymbol = getSymbol(parent);
+			if (!parentSymbol.equals(last)) {
+				ancestors.add(parentSymbol);
+				last = parentSymbol;
+			}
+		}
+		return ancestors;
+	}
+
+	/**
+	 * Descendant symbols, in scheme order.
+	 *
+	 * @param symbol
+	 * @return descendant symbols, empty when not in the scheme
+	 */
+	public List<String> getDescendants(String symbol) {
+		int node = indexOf(symbol);
+		if (node == -1) {
+			return Collections.emptyList();
+		}
+
+		int end = descendantEnds.get(node);
+		List<String> descendants = new ArrayList<String>(end - node - 1);
+		for (int i = node + 1; i < end; i++) {
+			descendants.add(getSymbol(i));
+		}
+		return descendants;
+	}
+
+	private boolean symbolEquals(int node, String key) {
+		int start = symbolOffsets.get(node);
+		int length = symbolOffsets.get(node + 1) - start;
+		if (length != key.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (symbols.get(start + i) != key.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int hash(String key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Save binary snapshot.
+	 *
+	 * @param snapshot
+	 * @throws IOException
+	 */
+	public void save(Path snapshot) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(snapshot.toFile()), 1024 * 1024))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(size);
+			out.writeInt(slots.capacity());
+			out.writeInt(symbols.capacity());
+			out.writeInt(titles.capacity());
+			writeInts(out, parents);
+			writeInts(out, descendantEnds);
+			writeInts(out, symbolOffsets);
+			writeInts(out, titleOffsets);
+			writeInts(out, slots);
+			writeChars(out, symbols);
+			writeChars(out, titles);
+		}
+		LOGGER.info("Saved CPC scheme index of {} items: {}", size, snapshot);
+	}
+
+	private static void writeInts(DataOutputStream out, IntBuffer ints) throws IOException {
+		for (int i = 0; i < ints.capacity(); i++) {
+			out.writeInt(ints.get(i));
+		}
+	}
+
+	private static void writeChars(DataOutputStream out, CharBuffer chars) throws IOException {
+		for (int i = 0; i < chars.capacity(); i++) {
+			out.writeChar(chars.get(i));
+		}
+	}
+
+	/**
+	 * Load binary snapshot, memory mapped.
+	 *
+	 * @param snapshot
+	 * @return CpcSchemeIndex
+	 * @throws IOException when not a CPC scheme index snapshot
+	 */
+	public static CpcSchemeIndex load(Path snapshot) throws IOException {
+		MappedByteBuffer mapped;
+		try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (mapped.capacity() < HEADER_INTS * 4 || mapped.getInt(0) != MAGIC) {
+			throw new IOException("Not a CPC scheme index snapshot: " + snapshot);
+		}
+		if (mapped.getInt(4) != VERSION) {
+			throw new IOException("Unsupported CPC scheme index snapshot version " + mapped.getInt(4) + ": " + snapshot);
+		}
+
+		int size = mapped.getInt(8);
+		int slotCount = mapped.getInt(12);
+		int symbolLength = mapped.getInt(16);
+		int titleLength = mapped.getInt(20);
+
+		int offset = HEADER_INTS * 4;
+		IntBuffer parents = intSection(mapped, offset, size);
+		offset += size * 4;
+		IntBuffer descendantEnds = intSection(mapped, offset, size);
+		offset += size * 4;
+		IntBuffer symbolOffsets = intSection(mapped, offset, size + 1);
+		offset += (size + 1) * 4;
+		IntBuffer titleOffsets = intSection(mapped, offset, size + 1);
+		offset += (size + 1) * 4;
+		IntBuffer slots = intSection(mapped, offset, slotCount);
+		offset += slotCount * 4;
+		CharBuffer symbols = charSection(mapped, offset, symbolLength);
+		offset += symbolLength * 2;
+		CharBuffer titles = charSection(mapped, offset, titleLength);
+		offset += titleLength * 2;
+
+		if (offset != mapped.capacity()) {
+			throw new IOException("Truncated CPC scheme index snapshot: " + snapshot);
+		}
+
+		return new CpcSchemeIndex(size, parents, descendantEnds, symbolOffsets, titleOffsets, slots, symbols, titles);
+	}
+
+	private static ByteBuffer section(ByteBuffer buffer, int offset, int bytes) throws IOException {
+		if (offset + bytes > buffer.capacity()) {
+			throw new IOException("Truncated CPC scheme index snapshot");
+		}
+		ByteBuffer section = buffer.duplicate();
+		// Buffer methods, the ByteBuffer overrides of Java 9+ are missing on Java 8.
+		((Buffer) section).position(offset);
+		((Buffer) section).limit(offset + bytes);
+		return section.slice();
+	}
+
+	private static IntBuffer intSection(ByteBuffer buffer, int offset, int count) throws IOException {
+		return section(buffer, offset, count * 4).asIntBuffer();
+	}
+
+	private static CharBuffer charSection(ByteBuffer buffer, int offset, int count) throws IOException {
+		return section(buffer, offset, count * 2).asCharBuffer();
+	}
+
+	/**
+	 * Build index from parsed scheme trees.
+	 *
+	 * @param roots - root ClassificationItem of each scheme file
+	 * @return CpcSchemeIndex
+	 */
+	public static CpcSchemeIndex build(Collection<ClassificationItem> roots) {
+		Builder builder = new Builder();
+		for (ClassificationItem root : roots) {
+			builder.add(root, -1);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Build index from CPC scheme xml files, "cpc-scheme-*.xml", within a
+	 * directory.
+	 *
+	 * @param schemeDir
+	 * @return CpcSchemeIndex
+	 * @throws PatentReaderException
+	 * @throws IOException
+	 */
+	public static CpcSchemeIndex build(File schemeDir) throws PatentReaderException, IOException {
+		FilenameFilter schemeFilter = (dir, name) -> name.startsWith("cpc-scheme-") && name.endsWith(".xml");
+		File[] schemeFiles = schemeDir.listFiles(schemeFilter);
+		if (schemeFiles == null) {
+			throw new IOException("Not a directory: " + schemeDir);
+		}
+		Arrays.sort(schemeFiles);
+
+		CpcXmlParser parser = new CpcXmlParser();
+		List<ClassificationItem> roots = new ArrayList<ClassificationItem>(schemeFiles.length);
+		for (File schemeFile : schemeFiles) {
+			roots.add(parser.parse(schemeFile));
+		}
+
+		CpcSchemeIndex index = build(roots);
+		LOGGER.info("Built CPC scheme index of {} items from {} scheme files", index.size(), schemeFiles.length);
+		return index;
+	}
+
+	private static class Builder {
+		private int size = 0;
+		private int[] parents = new int[1024];
+		private int[] descendantEnds = new int[1024];
+		private int[] symbolOffsets = new int[1025];
+		private int[] titleOffsets = new int[1025];
+		private final StringBuilder symbols = new StringBuilder();
+		private final StringBuilder titles = new StringBuilder();
+
+		private void add(ClassificationItem item, int parent) {
+			int node = size++;
+			if (size == parents.length) {
+				int capacity = parents.length * 2;
+				parents = Arrays.copyOf(parents, capacity);
+				descendantEnds = Arrays.copyOf(descendantEnds, capacity);
+				symbolOffsets = Arrays.copyOf(symbolOffsets, capacity + 1);
+				titleOffsets = Arrays.copyOf(titleOffsets, capacity + 1);
+			}
+
+			parents[node] = parent;
+			symbols.append(item.getSymbol().replace(" ", ""));
+			symbolOffsets[node + 1] = symbols.length();
+			titles.append(item.getTitleText());
+			titleOffsets[node + 1] = titles.length();
+
+			for (ClassificationItem child : item.getSubClassiticationItems()) {
+				add(child, node);
+			}
+
+			descendantEnds[node] = size;
+		}
+
+		private CpcSchemeIndex build() {
+			IntBuffer symbolBuffer = IntBuffer.wrap(Arrays.copyOf(symbolOffsets, size + 1));
+			CharBuffer symbolChars = CharBuffer.wrap(symbols.toString().toCharArray());
+
+			int slotCount = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+			int[] slots = new int[slotCount];
+			int mask = slotCount - 1;
+			for (int node = 0; node < size; node++) {
+				String symbol = symbols.substring(symbolOffsets[node], symbolOffsets[node + 1]);
+				int slot = hash(symbol) & mask;
+				while (slots[slot] != 0
+						&& !symbol.equals(symbols.substring(symbolOffsets[slots[slot] - 1], symbolOffsets[slots[slot]]))) {
+					slot = (slot + 1) & mask;
+				}
+				// repeated symbol, later node is the inner item.
+				slots[slot] = node + 1;
+			}
+
+			return new CpcSchemeIndex(size, IntBuffer.wrap(Arrays.copyOf(parents, size)),
+					IntBuffer.wrap(Arrays.copyOf(descendantEnds, size)), symbolBuffer,
+					IntBuffer.wrap(Arrays.copyOf(titleOffsets, size + 1)), IntBuffer.wrap(slots), symbolChars,
+					CharBuffer.wrap(titles.toString().toCharArray()));
+		}
+	}
+
+	public static void main(String[] args) throws PatentReaderException, IOException {
+		File schemeDir = new File(args[0]);
+		Path snapshot = Paths.get(args[1]);
+
+		CpcSchemeIndex index = build(schemeDir);
+		index.save(snapshot);
+
+		long start = System.currentTimeMillis();
+		CpcSchemeIndex loaded = load(snapshot);
+		LOGGER.info("Loaded snapshot of {} items in {} ms", loaded.size(), System.currentTimeMillis() - start);
+	}
+}
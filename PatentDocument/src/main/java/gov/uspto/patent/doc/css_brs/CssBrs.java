@@ -10,7 +10,9 @@ import java.util.List;
 import java.util.Set;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -58,6 +60,8 @@ public class CssBrs extends KvParser {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CssBrs.class);
 
+	private static final XPath TITLEXP = DocumentHelper.createXPath("/DOCUMENT/TTL");
+
 	@Override
 	public Patent parse(Document document) throws PatentReaderException {
 
@@ -68,7 +72,7 @@ public class CssBrs extends KvParser {
 
 		DocumentId applicationId = new ApplicationIdNode(document).read();
 
-		Node titleN = document.selectSingleNode("/DOCUMENT/TTL");
+		Node titleN = TITLEXP.selectSingleNode(document);
 		String title = titleN != null ? titleN.getText() : null;
 
 		List<Examiner> examiners = new ExaminerNode(document).read();
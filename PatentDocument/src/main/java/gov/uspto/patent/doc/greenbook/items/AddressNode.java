@@ -38,6 +38,8 @@ public class AddressNode extends ItemReader<Address> {
 	private static final XPath CITYXP = DocumentHelper.createXPath("CTY");
 	private static final XPath STATEXP = DocumentHelper.createXPath("STA");
 	private static final XPath CNTRYXP = DocumentHelper.createXPath("CNT");
+	private static final XPath STREETXP = DocumentHelper.createXPath("STR");
+	private static final XPath ZIPXP = DocumentHelper.createXPath("ZIP");
 	
 	private static final CountryCode DEFAULT_COUNTRYCODE = CountryCode.US;
 	private CountryCode defaultCountryCode;
@@ -54,10 +56,10 @@ public class AddressNode extends ItemReader<Address> {
 	@Override
 	public Address read() {
 		/*
-		Node streetN = itemNode.selectSingleNode("STR");
+		Node streetN = STREETXP.selectSingleNode(itemNode);
 		String street = streetN != null ? streetN.getText() : null;
 
-		Node zipcodeN = itemNode.selectSingleNode("ZIP");
+		Node zipcodeN = ZIPXP.selectSingleNode(itemNode);
 		String zipcode = zipcodeN != null ? zipcodeN.getText() : null;
 		*/
 
@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 
 import gov.uspto.parser.dom4j.DOMFragmentReader;
 import gov.uspto.patent.model.Citation;
@@ -21,7 +23,9 @@ import gov.uspto.patent.model.Citation;
  *
  */
 public class CitationNode extends DOMFragmentReader<List<Citation>> {
-	private static final String PATENT_PATH = "//citation";
+	private static final XPath PATENTXP = DocumentHelper.createXPath("//citation");
+	private static final XPath PATCITEXP = DocumentHelper.createXPath("cited-patent-literature");
+	private static final XPath NPLCITEXP = DocumentHelper.createXPath("cited-non-patent-literature");
 
 	public CitationNode(Document document) {
 		super(document);
@@ -32,11 +36,11 @@ public class CitationNode extends DOMFragmentReader<List<Citation>> {
 		List<Citation> citations = new ArrayList<Citation>();
 
 		@SuppressWarnings("unchecked")
-		List<Node> citeNodes = document.selectNodes(PATENT_PATH);
+		List<Node> citeNodes = PATENTXP.selectNodes(document);
 		for (Node citeNode : citeNodes) {
-			Node patCiteN = citeNode.selectSingleNode("cited-patent-literature");
+			Node patCiteN = PATCITEXP.selectSingleNode(citeNode);
 			
-			Node nplCiteN = citeNode.selectSingleNode("cited-non-patent-literature");
+			Node nplCiteN = NPLCITEXP.selectSingleNode(citeNode);
 			
 		}
 
@@ -23,6 +23,13 @@ public class ClassificationNode extends DOMFragmentReader<Set<PatentClassificati
 	private static final XPath CLASSIFICATION_XP = DocumentHelper.createXPath("/patent-application-publication/subdoc-bibliographic-information/technical-information");
 	private static final XPath IPC_XP = DocumentHelper.createXPath("classification-ipc");
 	private static final XPath USPC_XP = DocumentHelper.createXPath("classification-us");
+	private static final XPath USPC_PRIMARY_CLASSXP = DocumentHelper.createXPath("classification-us-primary/uspc/class");
+	private static final XPath USPC_PRIMARY_SUBCLASSXP = DocumentHelper.createXPath("classification-us-primary/uspc/subclass");
+	private static final XPath USPC_SECONDARYXP = DocumentHelper.createXPath("classification-us-secondary");
+	private static final XPath USPC_CLASSXP = DocumentHelper.createXPath("uspc/class");
+	private static final XPath USPC_SUBCLASSXP = DocumentHelper.createXPath("uspc/subclass");
+	private static final XPath IPC_PRIMARYXP = DocumentHelper.createXPath("classification-ipc-primary/ipc");
+	private static final XPath IPC_SECONDARYXP = DocumentHelper.createXPath("classification-ipc-secondary/ipc");
 
 	private Set<PatentClassification> classifications = new LinkedHashSet<PatentClassification>();
 
@@ -41,8 +48,8 @@ public class ClassificationNode extends DOMFragmentReader<Set<PatentClassificati
 	public void readUSPC(Node parentNode){
 		Node uspcN = USPC_XP.selectSingleNode(parentNode);
 		if (uspcN != null){
-			Node uspcPrimaryClassN = uspcN.selectSingleNode("classification-us-primary/uspc/class");
-			Node uspcPrimarySubClassN = uspcN.selectSingleNode("classification-us-primary/uspc/subclass");
+			Node uspcPrimaryClassN = USPC_PRIMARY_CLASSXP.selectSingleNode(uspcN);
+			Node uspcPrimarySubClassN = USPC_PRIMARY_SUBCLASSXP.selectSingleNode(uspcN);
 
 			if (uspcPrimaryClassN != null && uspcPrimarySubClassN != null){
 				String mainClass = uspcPrimaryClassN.getText().trim();
@@ -54,11 +61,11 @@ public class ClassificationNode extends DOMFragmentReader<Set<PatentClassificati
 				classifications.add(uspc);
 			}
 
-			List<Node> uspcSecondaries = uspcN.selectNodes("classification-us-secondary");
+			List<Node> uspcSecondaries = USPC_SECONDARYXP.selectNodes(uspcN);
 			for(Node uspcSecoundary: uspcSecondaries){
 
-				Node mainClassN = uspcSecoundary.selectSingleNode("uspc/class");
-				Node subClassN = uspcSecoundary.selectSingleNode("uspc/subclass");
+				Node mainClassN = USPC_CLASSXP.selectSingleNode(uspcSecoundary);
+				Node subClassN = USPC_SUBCLASSXP.selectSingleNode(uspcSecoundary);
 
 				if (mainClassN != null && subClassN != null){
 					String mainClass = uspcPrimaryClassN.getText().trim();
@@ -76,7 +83,7 @@ public class ClassificationNode extends DOMFragmentReader<Set<PatentClassificati
 	public void readIPC(Node parentNode){
 		Node ipcN = IPC_XP.selectSingleNode(parentNode);
 		if (ipcN != null){
-			Node ipcPrimaryClassN = ipcN.selectSingleNode("classification-ipc-primary/ipc");
+			Node ipcPrimaryClassN = IPC_PRIMARYXP.selectSingleNode(ipcN);
 			if (ipcPrimaryClassN != null){
 				String ipcPrimaryClassStr = ipcPrimaryClassN != null ? ipcPrimaryClassN.getText().trim() : null;
 				IpcClassification ipcPrimaryClass = new IpcClassification(ipcPrimaryClassStr, true);
@@ -88,7 +95,7 @@ public class ClassificationNode extends DOMFragmentReader<Set<PatentClassificati
 				classifications.add(ipcPrimaryClass);
 			}
 
-			List<Node> ipcSecondaries = ipcN.selectNodes("classification-ipc-secondary/ipc");
+			List<Node> ipcSecondaries = IPC_SECONDARYXP.selectNodes(ipcN);
 			for(Node ipcSecoundary: ipcSecondaries){
 				String ipcSecondaryClassStr = ipcSecoundary != null ? ipcSecoundary.getText().trim() : null;
 				IpcClassification ipcSecondaryClass = new IpcClassification(ipcSecondaryClassStr, true);
@@ -23,6 +23,8 @@ public class RelatedIdNode extends DOMFragmentReader<List<DocumentId>> {
 	private static final XPath PCT_XP = DocumentHelper.createXPath("a-371-of-international/parent-child");
 	private static final XPath PARENT_XP = DocumentHelper.createXPath("parent");
 	private static final XPath CHILD_XP = DocumentHelper.createXPath("child");
+	private static final XPath PARENT_PATENT_XP = DocumentHelper.createXPath("parent-patent");
+	private static final XPath PARENT_STATUS_XP = DocumentHelper.createXPath("parent-status");
 
     private List<DocumentId> relatedDocIds;
 
@@ -68,7 +70,7 @@ public class RelatedIdNode extends DOMFragmentReader<List<DocumentId>> {
         for (Node divisional : divisionalN) {
             readIds(divisional, DocumentIdType.DIVISION);
 
-            Node parentPNode = divisional.selectSingleNode("parent-patent");
+            Node parentPNode = PARENT_PATENT_XP.selectSingleNode(divisional);
             if (parentPNode != null) {
                 DocumentId documentId = new DocumentIdNode(parentPNode).read();
                 relatedDocIds.add(documentId);
@@ -87,7 +89,7 @@ public class RelatedIdNode extends DOMFragmentReader<List<DocumentId>> {
         List<Node> pctNode = PCT_XP.selectNodes(fragmentNode);
         for (Node pctN : pctNode) {
 
-            Node parentStatusNode = pctN.selectSingleNode("parent-status");
+            Node parentStatusNode = PARENT_STATUS_XP.selectSingleNode(pctN);
             DocumentIdType docIdType = null;
             switch (parentStatusNode.getText()) {
             case "PENDING":
@@ -77,7 +77,7 @@ public class ResidenceNode extends ItemReader<Address> {
 		String state = stateN != null ? stateN.getText().trim() : null;
 
 		CountryCode countryCode = null;
-		if (residence.getParent().matches("//residence-non-us")) {
+		if ("residence-non-us".equals(residence.getParent().getName())) {
 			Node countryN = COUNTRYXP.selectSingleNode(residence);
 			String country = countryN != null ? countryN.getText().trim() : null;
 			try {
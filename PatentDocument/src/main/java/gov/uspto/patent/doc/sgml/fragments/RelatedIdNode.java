@@ -31,6 +31,14 @@ public class RelatedIdNode extends DOMFragmentReader<List<DocumentId>> {
 
 	private static final XPath CHILDDOCXP = DocumentHelper.createXPath("PARENT-US/CDOC/DOC");
 	private static final XPath PARENTDOCXP = DocumentHelper.createXPath("PARENT-US/PDOC/DOC");
+	private static final XPath CONTINUEXP = DocumentHelper.createXPath("B631");
+	private static final XPath CONTINUE_PARTXP = DocumentHelper.createXPath("B632/PARENT-US");
+	private static final XPath CONTINUE_REISSUEXP = DocumentHelper.createXPath("B633/PARENT-US");
+	private static final XPath REISSUE_DIVISIONALXP = DocumentHelper.createXPath("B641US/PARENT-US");
+	private static final XPath REISSUE_REEXAMXP = DocumentHelper.createXPath("B645/PARENT-US");
+	private static final XPath REISSUE_MERGE_REEXAMXP = DocumentHelper.createXPath("B645US/PDAT");
+	private static final XPath REPUBLISHXP = DocumentHelper.createXPath("B650/DOC");
+	private static final XPath SUBSTITUTEXP = DocumentHelper.createXPath("B660/PARENT-US");
 
 	
     List<DocumentId> docIds = new ArrayList<DocumentId>();
@@ -77,13 +85,13 @@ public class RelatedIdNode extends DOMFragmentReader<List<DocumentId>> {
         Node continuationN = CONTINUATIONXP.selectSingleNode(relatedN);
 
         if (continuationN != null) {
-            Node continueN = continuationN.selectSingleNode("B631");
+            Node continueN = CONTINUEXP.selectSingleNode(continuationN);
             readChildParent(continueN, DocumentIdType.CONTINUATION);
 
-            Node continueInPartN = continuationN.selectSingleNode("B632/PARENT-US");
+            Node continueInPartN = CONTINUE_PARTXP.selectSingleNode(continuationN);
             readChildParent(continueInPartN, DocumentIdType.CONTINUATION_IN_PART);
 
-            Node continueReIssueN = continuationN.selectSingleNode("B633/PARENT-US");
+            Node continueReIssueN = CONTINUE_REISSUEXP.selectSingleNode(continuationN);
             readChildParent(continueReIssueN, DocumentIdType.CONTINUATION_REISSUE);
         }
 
@@ -92,13 +100,13 @@ public class RelatedIdNode extends DOMFragmentReader<List<DocumentId>> {
          */
         Node reIssueN = REISSUEXP.selectSingleNode(relatedN); // /PARENT-US ?? Whats the nesting..
         if (reIssueN != null){
-            Node reIssueDivitionalN = relatedN.selectSingleNode("B641US/PARENT-US");
-            Node reIssueReExamN = relatedN.selectSingleNode("B645/PARENT-US");
-            Node reIssueMergeReExamN = relatedN.selectSingleNode("B645US/PDAT");
+            Node reIssueDivitionalN = REISSUE_DIVISIONALXP.selectSingleNode(relatedN);
+            Node reIssueReExamN = REISSUE_REEXAMXP.selectSingleNode(relatedN);
+            Node reIssueMergeReExamN = REISSUE_MERGE_REEXAMXP.selectSingleNode(relatedN);
     
-            Node rePublishN = relatedN.selectSingleNode("B650/DOC");
-            Node substituteN = relatedN.selectSingleNode("B660/PARENT-US");
-            Node provisionalApplicationN = relatedN.selectSingleNode("B680US/DOC");
+            Node rePublishN = REPUBLISHXP.selectSingleNode(relatedN);
+            Node substituteN = SUBSTITUTEXP.selectSingleNode(relatedN);
+            Node provisionalApplicationN = PROVISIONALXP.selectSingleNode(relatedN);
         }
         
         /*
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.dom4j.Document;
+import org.dom4j.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -50,9 +51,31 @@ public class ApplicationParser extends Dom4JParser {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationParser.class);
 
 	public static final String XML_ROOT = "/us-patent-application";
+	private static final String ROOT_NAME = "us-patent-application";
 
 	@Override
 	public Patent parse(Document document) {
+		/*
+		 * Formated Text
+		 */
+		FormattedText textProcessor = new FormattedText();
+		Abstract abstractText = new AbstractTextNode(document, textProcessor).read();
+		Description description = new DescriptionNode(document, textProcessor).read();
+		List<Claim> claims = new ClaimNode(document, textProcessor).read();
+
+		return parse(document, abstractText, description, claims);
+	}
+
+	/**
+	 * Parse Document with the text sections already read.
+	 * 
+	 * @param document
+	 * @param abstractText
+	 * @param description
+	 * @param claims
+	 * @return Patent
+	 */
+	protected Patent parse(Document document, Abstract abstractText, Description description, List<Claim> claims) {
 
 		DocumentId publicationId = new PublicationIdNode(document).read();
 		if (publicationId != null) {
@@ -61,11 +84,12 @@ public class ApplicationParser extends Dom4JParser {
 			LOGGER.warn("Publication ID not read!");
 		}
 
-		String title = Dom4jUtil.getTextOrNull(document,
-				XML_ROOT + "/us-bibliographic-data-application/invention-title");
+		String title = Dom4jUtil.getTextOrNull(Dom4jUtil.getElement(document, ROOT_NAME,
+				"us-bibliographic-data-application", "invention-title"));
 
-		String dateProduced = Dom4jUtil.getTextOrNull(document, XML_ROOT + "/@date-produced");
-		String datePublished = Dom4jUtil.getTextOrNull(document, XML_ROOT + "/@date-publ");
+		Element rootN = Dom4jUtil.getElement(document, ROOT_NAME);
+		String dateProduced = Dom4jUtil.getAttributeOrNull(rootN, "date-produced");
+		String datePublished = Dom4jUtil.getAttributeOrNull(rootN, "date-publ");
 
 		DocumentDate dateProducedDate = null;
 		if (dateProduced != null) {
@@ -85,8 +109,8 @@ public class ApplicationParser extends Dom4JParser {
 			}
 		}
 
-		String patentTypeStr = Dom4jUtil.getTextOrNull(document,
-				XML_ROOT + "/us-bibliographic-data-application/application-reference/@appl-type");
+		String patentTypeStr = Dom4jUtil.getAttributeOrNull(Dom4jUtil.getElement(document, ROOT_NAME,
+				"us-bibliographic-data-application", "application-reference"), "appl-type");
 		PatentType patentType = PatentType.UNDEFINED;
 		try {
 			patentType = PatentType.fromString(patentTypeStr);
@@ -109,13 +133,6 @@ public class ApplicationParser extends Dom4JParser {
 		List<Citation> citations = new CitationNode(document).read();
 		Set<PatentClassification> classifications = new ClassificationNode(document).read();
 
-		/*
-		 * Formated Text
-		 */
-		FormattedText textProcessor = new FormattedText();
-		Abstract abstractText = new AbstractTextNode(document, textProcessor).read();
-		Description description = new DescriptionNode(document, textProcessor).read();
-		List<Claim> claims = new ClaimNode(document, textProcessor).read();
 		new ClaimTreeBuilder(claims).build();
 
 		/*
@@ -5,6 +5,7 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -19,7 +20,8 @@ import org.jsoup.parser.Parser;
 import org.jsoup.parser.Tag;
 import org.jsoup.safety.Cleaner;
 import org.jsoup.safety.Whitelist;
-import org.jsoup.select.Elements;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
 
 import com.google.common.base.Charsets;
 import com.google.common.base.Strings;
@@ -42,6 +44,14 @@ public class FormattedText implements TextProcessor {
 
 	private static final Pattern TRAILING_REGEX = Pattern.compile("^\\s?(?:[.,;(])?([a-z])([.,;)]|\\b)");
 
+	/*
+	 * Processing instructions "in-line-formulae", "delete" and "insert"; curly double
+	 * quotes are excluded as they would have become a "q" tag before the instruction
+	 * was replaced.
+	 */
+	private static final Pattern INSTRUCTION_REGEX = Pattern.compile(
+			"<\\?(?:in-line-formulae description=\"In-line Formulae\" end=\"(lead|end)\"|(delete|insert)-(start|end) [^?>\u201C\u201D]+)\\?>");
+
 	private static final String[] HTML_WHITELIST_TAGS = new String[] { "br", "b", "sub", "sup", "sup2", "sub2", "h1", "h2", "h3", "h4",
 			"h5", "h6", "p", "table", "tbody", "thead", "th", "tr", "td", "ul", "ol", "li", "dl", "dt", "dd", "a",
 			"span", "colgroup", "col", "del", "ins", "q", "smallcaps", "o", "u" };
@@ -64,126 +74,24 @@ public class FormattedText implements TextProcessor {
 	@Override
 	public String getSimpleHtml(String rawText) {
 
-		/*
-		 * Change xml processing instruction "in-line-formulae" to normal xml node, as
-		 * it was in the Patent PAP format; also making it searchable within jsoup.
-		 */
-		rawText = rawText.replaceAll("<\\?in-line-formulae description=\"In-line Formulae\" end=\"lead\"\\?>",
-				"<in-line-formula>");
-		rawText = rawText.replaceAll("<\\?in-line-formulae description=\"In-line Formulae\" end=\"end\"\\?>",
-				"</in-line-formula>");
-
-		rawText = rawText.replace("\u201C", "<q>");
-		rawText = rawText.replace("\u201d", "</q>");
-
-		// Change xml processing instruction "delete" to normal xml tag "del"
-		rawText = rawText.replaceAll("<\\?delete-start [^?>]+\\?>", "<del>");
-		rawText = rawText.replaceAll("<\\?delete-end [^?>]+\\?>", "</del>");
-
-		// Change xml processing instruction "insert" to normal xml tag "ins"
-		rawText = rawText.replaceAll("<\\?insert-start [^?>]+\\?>", "<ins>");
-		rawText = rawText.replaceAll("<\\?insert-end [^?>]+\\?>", "</ins>");
-
-		Document document = Jsoup.parse("<body>" + rawText + "</body>", "", Parser.xmlParser());
-
-		document.select("bold").tagName("b");
-
-		/*
-		 * Overscore/Overline
-		 */
-		for (Element el : document.select("o")) {
-			if (el.hasAttr("ostyle")) {
-				el.attr("class", el.attr("ostyle"));
-			} else {
-				el.attr("class", el.attr("single"));
-			}
-		}
-		
-		Elements forEls = document.select("in-line-formula");
-		for (int i = 1; i <= forEls.size(); i++) {
-			Element element = forEls.get(i - 1);
-			element.attr("id", "FOR-" + Strings.padStart(String.valueOf(i), 4, '0'));
-			element.tagName("span");
-			element.addClass("formula");
-		}
-
-		/*
-		 * HEADING tags
-		 */
-		for (Element heading : document.select("heading")) {
-			if (heading.hasAttr("lvl")) {
-				heading.attr("level", heading.attr("lvl"));
-			}
-			heading.tagName("h2");
-		}
-		// Header Paragraphs which have an id starting with "h-".
-		document.select("p[id^=h-]").tagName("h4");
-
-		for (Element par : document.select("p")) {
-			if (par.hasAttr("lvl")) {
-				par.attr("level", par.attr("lvl"));
-			}
-		}
-
-		/*
-		 * Patent Drawing FIGREF tags not needed in index.
-		 * 
-		 * <figref idref="DRAWINGS">FIG. 1A</figref>
-		 * 
-		 * <a id="FR-0001" idref="FIG-1A" class="figref">FIG. 1A</figref>
-		 */
-		Elements figRefEls = document.select("figref");
-		for (int i = 1; i <= figRefEls.size(); i++) {
-			Element element = figRefEls.get(i - 1);
-			element.attr("id", "FR-" + Strings.padStart(String.valueOf(i), 4, '0'));
-			element.attr("idref", ReferenceTagger.createFigId(element.text()));
-			element.tagName("a");
-			element.addClass("figref");
-		}
-
-		/*
-		 * Patent Claim Reference
-		 * 
-		 * <claim-ref idref="CLM-00001">claim 1</claim-ref>
-		 * 
-		 * <a idref="CLM-00001" class="claim">claim 1</a>
-		 */
-		Elements clmRefEls = document.select("claim-ref");
-		for (int i = 1; i <= clmRefEls.size(); i++) {
-			Element element = clmRefEls.get(i - 1);
-			element.attr("id", "CR-" + Strings.padStart(String.valueOf(i), 4, '0'));
-			element.tagName("a");
-			element.addClass("claim");
-		}
+		Document document = Jsoup.parse("<body>" + replaceInstructions(rawText) + "</body>", "", Parser.xmlParser());
 
 		/*
-		 * Patent Citation Reference
-		 * 
+		 * Rename and number elements in a single traversal, see ElementRewriter.
 		 */
-		for (Element element : document.select("patcit")) {
-			element.tagName("a");
-			element.addClass("patcite");
-		}
+		ElementRewriter rewriter = new ElementRewriter();
+		NodeTraversor.traverse(rewriter, document);
 
-		/*
-		 * Patent Citation Reference
-		 */
-		for (Element element : document.select("nplcit")) {
-			element.tagName("a");
-			element.addClass("nplcite");
+		List<Element> anchorEls = rewriter.anchorEls;
+		int figRefsAdded = 0;
+		for (Element element : rewriter.figRefEls) {
+			figRefsAdded += fixFigrefList(element);
 		}
-
-		/*
-		 * crossref tags are internal links to another section.
-		 */
-		for (Element element : document.select("crossref")) {
-			element.tagName("a");
-			element.addClass("crossref");
+		if (figRefsAdded > 0) {
+			anchorEls = document.select("a");
 		}
 
-		fixFigrefLists(document);
-
-		for (Element element : document.select("a")) {
+		for (Element element : anchorEls) {
 			figrefMergeTrailing(element);
 		}
 
@@ -191,8 +99,11 @@ public class FormattedText implements TextProcessor {
 		 * Escape MathML math elements, to maintain all xml elements after sending
 		 * through Cleaner.
 		 */
+		ElementCollector collector = new ElementCollector();
+		NodeTraversor.traverse(collector, document);
+
 		boolean mathFound = false;
-		Elements mathEls = document.select("math");
+		List<Element> mathEls = collector.mathEls;
 		if (mathEls.size() > 0) {
 			mathFound = true;
 		}
@@ -215,10 +126,16 @@ public class FormattedText implements TextProcessor {
 			figrefMergeTrailing(newEl);
 		}
 
+		if (mathFound) {
+			// merging text trailing the math may have copied in new elements.
+			collector = new ElementCollector();
+			NodeTraversor.traverse(collector, document);
+		}
+
 		/*
 		 * Subscript use unicode if able to convert
 		 */
-		for (Element el : document.select("sub")) {
+		for (Element el : attached(collector.subEls, document)) {
 			try {
 				String unicode = UnicodeUtil.toSubscript(el.html());
 				el.replaceWith(new TextNode(unicode));
@@ -230,7 +147,7 @@ public class FormattedText implements TextProcessor {
 		/*
 		 * Superscript use unicode if able to convert
 		 */
-		for (Element el : document.select("sup")) {
+		for (Element el : attached(collector.supEls, document)) {
 			try {
 				String unicode = UnicodeUtil.toSuperscript(el.html());
 				el.replaceWith(new TextNode(unicode));
@@ -242,7 +159,7 @@ public class FormattedText implements TextProcessor {
 		/*
 		 * List
 		 */
-		for (Element el : document.select("ul")) {
+		for (Element el : attached(collector.ulEls, document)) {
 			if (el.hasAttr("list-style")) {
 				if (el.attr("list-style").equals("none")) {
 					el.attr("style", "list-style-type:none");
@@ -256,7 +173,7 @@ public class FormattedText implements TextProcessor {
 			}
 		}
 
-		for (Element el : document.select("ol")) {
+		for (Element el : attached(collector.olEls, document)) {
 			String type = el.hasAttr("style") ? el.attr("style") : el.attr("ol-style");
 			el.attr("type", type);
 		}
@@ -264,7 +181,7 @@ public class FormattedText implements TextProcessor {
 		/*
 		 * Tables: Convert CALS Table to HTML Table
 		 */
-		Elements tableEls = document.select("table");
+		List<Element> tableEls = attached(collector.tableEls, document);
 		for (int i = 1; i <= tableEls.size(); i++) {
 			Element element = tableEls.get(i - 1);
 			element.attr("id", "TBL-" + Strings.padStart(String.valueOf(i), 4, '0'));
@@ -333,6 +250,229 @@ public class FormattedText implements TextProcessor {
 		return docStr;
 	}
 
+	/**
+	 * Replace in a single pass, ahead of parsing:
+	 * 
+	 * <ul>
+	 * <li>xml processing instruction "in-line-formulae" with normal xml node, as it
+	 * was in the Patent PAP format; also making it searchable within jsoup.</li>
+	 * <li>curly double quotes with "q" tag.</li>
+	 * <li>xml processing instruction "delete" with normal xml tag "del".</li>
+	 * <li>xml processing instruction "insert" with normal xml tag "ins".</li>
+	 * </ul>
+	 * 
+	 * @param rawText
+	 * @return
+	 */
+	public String replaceInstructions(String rawText) {
+		Matcher matcher = INSTRUCTION_REGEX.matcher(rawText);
+		int length = rawText.length();
+
+		StringBuilder stb = null;
+		int last = 0;
+		for (int i = 0; i < length; i++) {
+			char c = rawText.charAt(i);
+
+			String replacement;
+			int end;
+			if (c == '\u201C') {
+				replacement = "<q>";
+				end = i + 1;
+			} else if (c == '\u201D') {
+				replacement = "</q>";
+				end = i + 1;
+			} else if (c == '<' && i + 1 < length && rawText.charAt(i + 1) == '?'
+					&& matcher.region(i, length).lookingAt()) {
+				if (matcher.group(1) != null) {
+					replacement = matcher.group(1).equals("lead") ? "<in-line-formula>" : "</in-line-formula>";
+				} else {
+					replacement = (matcher.group(3).equals("start") ? "<" : "</")
+							+ (matcher.group(2).equals("delete") ? "del>" : "ins>");
+				}
+				end = matcher.end();
+			} else {
+				continue;
+			}
+
+			if (stb == null) {
+				stb = new StringBuilder(length + 64);
+			}
+			stb.append(rawText, last, i).append(replacement);
+			last = end;
+			i = end - 1;
+		}
+
+		if (stb == null) {
+			return rawText;
+		}
+		stb.append(rawText, last, length);
+		return stb.toString();
+	}
+
+	/*
+	 * Elements from the list still attached to the document.
+	 */
+	private static List<Element> attached(List<Element> elements, Document document) {
+		List<Element> attachedEls = new ArrayList<Element>(elements.size());
+		for (Element element : elements) {
+			if (element.root() == document) {
+				attachedEls.add(element);
+			}
+		}
+		return attachedEls;
+	}
+
+	/**
+	 * Rename and number elements, in document order, within a single traversal:
+	 * 
+	 * <ul>
+	 * <li>bold to b; overscore/overline style to class.</li>
+	 * <li>in-line-formula to span, numbered "FOR-0001".</li>
+	 * <li>heading to h2, and header paragraphs which have an id starting with "h-"
+	 * to h4.</li>
+	 * <li>Patent Drawing figref to anchor, numbered "FR-0001":
+	 * {@code <figref idref="DRAWINGS">FIG. 1A</figref>} becomes
+	 * {@code <a id="FR-0001" idref="FIG-1A" class="figref">FIG. 1A</a>}</li>
+	 * <li>Patent Claim Reference claim-ref to anchor, numbered "CR-0001".</li>
+	 * <li>Patent and NPL Citation References, and crossref internal links to
+	 * another section, to anchor.</li>
+	 * </ul>
+	 * 
+	 * <p>Collects the resulting anchors and figref anchors.</p>
+	 */
+	private static class ElementRewriter implements NodeVisitor {
+		private final List<Element> anchorEls = new ArrayList<Element>();
+		private final List<Element> figRefEls = new ArrayList<Element>();
+		private int formulaCount = 0;
+		private int figRefCount = 0;
+		private int claimRefCount = 0;
+
+		@Override
+		public void head(Node node, int depth) {
+			if (!(node instanceof Element)) {
+				return;
+			}
+
+			Element element = (Element) node;
+			switch (element.tagName().toLowerCase(Locale.ENGLISH)) {
+			case "bold":
+				element.tagName("b");
+				break;
+			case "o":
+				if (element.hasAttr("ostyle")) {
+					element.attr("class", element.attr("ostyle"));
+				} else {
+					element.attr("class", element.attr("single"));
+				}
+				break;
+			case "in-line-formula":
+				element.attr("id", "FOR-" + Strings.padStart(String.valueOf(++formulaCount), 4, '0'));
+				element.tagName("span");
+				element.addClass("formula");
+				break;
+			case "heading":
+				if (element.hasAttr("lvl")) {
+					element.attr("level", element.attr("lvl"));
+				}
+				element.tagName("h2");
+				break;
+			case "p":
+				if (element.hasAttr("id") && element.attr("id").toLowerCase(Locale.ENGLISH).startsWith("h-")) {
+					element.tagName("h4");
+				} else if (element.hasAttr("lvl")) {
+					element.attr("level", element.attr("lvl"));
+				}
+				break;
+			case "figref":
+				element.attr("id", "FR-" + Strings.padStart(String.valueOf(++figRefCount), 4, '0'));
+				element.attr("idref", ReferenceTagger.createFigId(element.text()));
+				element.tagName("a");
+				element.addClass("figref");
+				break;
+			case "claim-ref":
+				element.attr("id", "CR-" + Strings.padStart(String.valueOf(++claimRefCount), 4, '0'));
+				element.tagName("a");
+				element.addClass("claim");
+				break;
+			case "patcit":
+				element.tagName("a");
+				element.addClass("patcite");
+				break;
+			case "nplcit":
+				element.tagName("a");
+				element.addClass("nplcite");
+				break;
+			case "crossref":
+				element.tagName("a");
+				element.addClass("crossref");
+				break;
+			default:
+				break;
+			}
+
+			if (element.tagName().equalsIgnoreCase("a")) {
+				anchorEls.add(element);
+				if (element.hasClass("figref")) {
+					figRefEls.add(element);
+				}
+			}
+		}
+
+		@Override
+		public void tail(Node node, int depth) {
+			// empty.
+		}
+	}
+
+	/**
+	 * Collect, in document order, the elements converted after the figref
+	 * fixes: math, sub, sup, ul, ol and table.
+	 */
+	private static class ElementCollector implements NodeVisitor {
+		private final List<Element> mathEls = new ArrayList<Element>();
+		private final List<Element> subEls = new ArrayList<Element>();
+		private final List<Element> supEls = new ArrayList<Element>();
+		private final List<Element> ulEls = new ArrayList<Element>();
+		private final List<Element> olEls = new ArrayList<Element>();
+		private final List<Element> tableEls = new ArrayList<Element>();
+
+		@Override
+		public void head(Node node, int depth) {
+			if (!(node instanceof Element)) {
+				return;
+			}
+
+			Element element = (Element) node;
+			switch (element.tagName().toLowerCase(Locale.ENGLISH)) {
+			case "math":
+				mathEls.add(element);
+				break;
+			case "sub":
+				subEls.add(element);
+				break;
+			case "sup":
+				supEls.add(element);
+				break;
+			case "ul":
+				ulEls.add(element);
+				break;
+			case "ol":
+				olEls.add(element);
+				break;
+			case "table":
+				tableEls.add(element);
+				break;
+			default:
+				break;
+			}
+		}
+
+		@Override
+		public void tail(Node node, int depth) {
+			// empty.
+		}
+	}
+
 	/*
 	 * Capture trailing non-space trailing text back to entity.
 	 *
@@ -390,6 +530,13 @@ public class FormattedText implements TextProcessor {
 	}
 
 	public void fixFigrefListItem(Element element) {
+		fixFigrefList(element);
+	}
+
+	/*
+	 * @return number of figref elements added.
+	 */
+	private int fixFigrefList(Element element) {
 		Node next = element.nextSibling();
 
 		String trailingTxt;
@@ -398,7 +545,7 @@ public class FormattedText implements TextProcessor {
 		} else if (next != null && next instanceof Element) {
 			trailingTxt = ((Element) next).text();
 		} else {
-			return;
+			return 0;
 		}
 
 		if (trailingTxt.matches("^(, |,? and )")) {
@@ -414,10 +561,11 @@ public class FormattedText implements TextProcessor {
 					newEl.text(containedTxt);
 					next.replaceWith(newEl);
 
-					fixFigrefListItem(newEl);
+					return 1 + fixFigrefList(newEl);
 				}
 			}
 		}
+		return 0;
 	}
 
 	@Override
@@ -7,8 +7,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.dom4j.Document;
-import org.dom4j.DocumentHelper;
-import org.dom4j.XPath;
+import org.dom4j.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -56,15 +55,31 @@ public class GrantParser extends Dom4JParser {
 
 	public static final String XML_ROOT = "/us-patent-grant";
 
-	private static final XPath TITLEXP = DocumentHelper
-			.createXPath("/us-patent-grant/us-bibliographic-data-grant/invention-title");
-	private static final XPath APPTYPEXP = DocumentHelper
-			.createXPath("/us-patent-grant/us-bibliographic-data-grant/application-reference/@appl-type");
-	private static final XPath PRODDATEXP = DocumentHelper.createXPath("/us-patent-grant/@date-produced");
-	private static final XPath PUBDATEXP = DocumentHelper.createXPath("/us-patent-grant/@date-publ");
+	private static final String ROOT_NAME = "us-patent-grant";
 
 	@Override
 	public Patent parse(Document document) {
+		/*
+		 * Formated Text
+		 */
+		FormattedText textProcessor = new FormattedText();
+		Abstract abstractText = new AbstractTextNode(document, textProcessor).read();
+		Description description = new DescriptionNode(document, textProcessor).read();
+		List<Claim> claims = new ClaimNode(document, textProcessor).read();
+
+		return parse(document, abstractText, description, claims);
+	}
+
+	/**
+	 * Parse Document with the text sections already read.
+	 * 
+	 * @param document
+	 * @param abstractText
+	 * @param description
+	 * @param claims
+	 * @return Patent
+	 */
+	protected Patent parse(Document document, Abstract abstractText, Description description, List<Claim> claims) {
 
 		DocumentId publicationId = new PublicationIdNode(document).read();
 		if (publicationId != null) {
@@ -73,10 +88,12 @@ public class GrantParser extends Dom4JParser {
 			LOGGER.warn("Publication ID not read!");
 		}
 
-		String title = Dom4jUtil.getTextOrNull(document, TITLEXP);
+		String title = Dom4jUtil.getTextOrNull(Dom4jUtil.getElement(document, ROOT_NAME,
+				"us-bibliographic-data-grant", "invention-title"));
 
-		String dateProduced = Dom4jUtil.getTextOrNull(document, PRODDATEXP);
-		String datePublished = Dom4jUtil.getTextOrNull(document, PUBDATEXP);
+		Element rootN = Dom4jUtil.getElement(document, ROOT_NAME);
+		String dateProduced = Dom4jUtil.getAttributeOrNull(rootN, "date-produced");
+		String datePublished = Dom4jUtil.getAttributeOrNull(rootN, "date-publ");
 
 		DocumentDate dateProducedDate = null;
 		if (dateProduced != null) {
@@ -96,7 +113,8 @@ public class GrantParser extends Dom4JParser {
 			}
 		}
 
-		String patentTypeStr = Dom4jUtil.getTextOrNull(document, APPTYPEXP);
+		String patentTypeStr = Dom4jUtil.getAttributeOrNull(Dom4jUtil.getElement(document, ROOT_NAME,
+				"us-bibliographic-data-grant", "application-reference"), "appl-type");
 		PatentType patentType = PatentType.UNDEFINED;
 		try {
 			patentType = PatentType.fromString(patentTypeStr);
@@ -121,13 +139,6 @@ public class GrantParser extends Dom4JParser {
 		Set<PatentClassification> classifications = new ClassificationNode(document).read();
 		Set<PatentClassification> searchClassifications = new ClassificationSearchNode(document).read();
 
-		/*
-		 * Formated Text
-		 */
-		FormattedText textProcessor = new FormattedText();
-		Abstract abstractText = new AbstractTextNode(document, textProcessor).read();
-		Description description = new DescriptionNode(document, textProcessor).read();
-		List<Claim> claims = new ClaimNode(document, textProcessor).read();
 		new ClaimTreeBuilder(claims).build();
 
 		/*
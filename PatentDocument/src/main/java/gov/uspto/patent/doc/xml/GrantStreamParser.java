@@ -0,0 +1,47 @@
+package gov.uspto.patent.doc.xml;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.apache.commons.io.IOUtils;
+import org.dom4j.Document;
+import org.dom4j.DocumentException;
+import org.xml.sax.SAXException;
+
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Patent;
+
+/**
+ * Streaming Redbook Patent Grant Parser
+ *
+ * <p>
+ * Same Patent as {@link GrantParser}, reading the abstract, description and claims
+ * while the document is parsed and releasing their DOM nodes, lowering peak
+ * memory on documents with large descriptions or claim tables.
+ * </p>
+ *
+ * @see SectionStreamReader
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class GrantStreamParser extends GrantParser {
+
+	@Override
+	public Patent parse(Reader reader) throws PatentReaderException {
+		SectionStreamReader sectionReader = new SectionStreamReader(XML_ROOT);
+		try {
+			Document document = sectionReader.read(reader);
+			return parse(document, sectionReader.getAbstract(document), sectionReader.getDescription(document),
+					sectionReader.getClaims(document));
+		} catch (DocumentException | SAXException e) {
+			try {
+				reader.reset();
+				return parse(fixTagsJDOM(IOUtils.toString(reader)));
+			} catch (IOException e1) {
+				throw new PatentReaderException(e1);
+			}
+		}
+	}
+
+}
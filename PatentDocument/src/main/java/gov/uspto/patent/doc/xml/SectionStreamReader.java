@@ -0,0 +1,168 @@
+package gov.uspto.patent.doc.xml;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.dom4j.Document;
+import org.dom4j.DocumentException;
+import org.dom4j.Element;
+import org.dom4j.ElementHandler;
+import org.dom4j.ElementPath;
+import org.dom4j.io.SAXReader;
+import org.xml.sax.SAXException;
+
+import gov.uspto.patent.doc.xml.fragments.AbstractTextNode;
+import gov.uspto.patent.doc.xml.fragments.ClaimNode;
+import gov.uspto.patent.doc.xml.fragments.DescriptionNode;
+import gov.uspto.patent.model.Abstract;
+import gov.uspto.patent.model.Claim;
+import gov.uspto.patent.model.Description;
+
+/**
+ * Streaming read of the text sections of a Redbook Grant or Application.
+ *
+ * <p>
+ * The abstract, description and claims are read by their fragment readers as
+ * soon as each section has been parsed, then detached from the document; so
+ * only the bibliographic data and the section currently being parsed are held
+ * as DOM nodes. Sections which are not read into the Patent (drawings,
+ * chemistry, math, sequence lists and external tables) are dropped as they
+ * complete.
+ * </p>
+ *
+ * <p>
+ * The section fragment readers use absolute paths "/*&#47;abstract",
+ * "/*&#47;description" and "/*&#47;claims/claim", which still resolve while
+ * the document is being built, so the sections are identical to reading them
+ * from the complete document.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class SectionStreamReader {
+
+	private static final String[] DROP_SECTIONS = new String[] { "drawings", "us-chemistry", "us-math",
+			"us-sequence-list-doc", "table-external-doc" };
+
+	private final String xmlRoot;
+	private final FormattedText textProcessor = new FormattedText();
+
+	private Abstract abstractText;
+	private Description description;
+	private List<Claim> claims;
+
+	/**
+	 * @param xmlRoot - document root path, example: "/us-patent-grant"
+	 */
+	public SectionStreamReader(String xmlRoot) {
+		this.xmlRoot = xmlRoot;
+	}
+
+	/**
+	 * Read Document, the returned document does not contain the text sections.
+	 *
+	 * @param reader
+	 * @return Document
+	 * @throws DocumentException
+	 * @throws SAXException
+	 */
+	public Document read(Reader reader) throws DocumentException, SAXException {
+		SAXReader sax = new SAXReader(false);
+		sax.setIncludeExternalDTDDeclarations(false);
+		sax.setEncoding("UTF-8");
+		sax.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+		sax.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
+
+		sax.addHandler(xmlRoot + "/abstract", new SectionHandler() {
+			@Override
+			boolean read(Document document) {
+				if (abstractText != null) {
+					return false;
+				}
+				abstractText = new AbstractTextNode(document, textProcessor).read();
+				return true;
+			}
+		});
+
+		sax.addHandler(xmlRoot + "/description", new SectionHandler() {
+			@Override
+			boolean read(Document document) {
+				if (description != null) {
+					return false;
+				}
+				description = new DescriptionNode(document, textProcessor).read();
+				return true;
+			}
+		});
+
+		sax.addHandler(xmlRoot + "/claims", new SectionHandler() {
+			@Override
+			boolean read(Document document) {
+				if (claims != null) {
+					return false;
+				}
+				claims = new ClaimNode(document, textProcessor).read();
+				return true;
+			}
+		});
+
+		SectionHandler dropHandler = new SectionHandler() {
+			@Override
+			boolean read(Document document) {
+				return true;
+			}
+		};
+		for (String section : DROP_SECTIONS) {
+			sax.addHandler(xmlRoot + "/" + section, dropHandler);
+		}
+
+		return sax.read(reader);
+	}
+
+	/**
+	 * @param document - returned from {@link #read(Reader)}
+	 * @return Abstract, read from the document when not streamed.
+	 */
+	public Abstract getAbstract(Document document) {
+		return abstractText != null ? abstractText : new AbstractTextNode(document, textProcessor).read();
+	}
+
+	/**
+	 * @param document - returned from {@link #read(Reader)}
+	 * @return Description, read from the document when not streamed.
+	 */
+	public Description getDescription(Document document) {
+		return description != null ? description : new DescriptionNode(document, textProcessor).read();
+	}
+
+	/**
+	 * @param document - returned from {@link #read(Reader)}
+	 * @return Claims, read from the document when not streamed.
+	 */
+	public List<Claim> getClaims(Document document) {
+		return claims != null ? claims : new ClaimNode(document, textProcessor).read();
+	}
+
+	/**
+	 * Read section once parsed, then detach it from the document.
+	 */
+	private abstract static class SectionHandler implements ElementHandler {
+		@Override
+		public void onStart(ElementPath path) {
+		}
+
+		@Override
+		public void onEnd(ElementPath path) {
+			Element el = path.getCurrent();
+			if (read(el.getDocument())) {
+				el.detach();
+			}
+		}
+
+		/**
+		 * @return true to detach section
+		 */
+		abstract boolean read(Document document);
+	}
+}
@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,9 +22,11 @@ import gov.uspto.patent.model.entity.RelationshipType;
 public class AgentNode extends DOMFragmentReader<List<Agent>> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(AgentNode.class);
 
-	private static final String FRAGMENT_PATH = "//us-parties/agents/agent|//parties/agents/agent";
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("//us-parties/agents/agent|//parties/agents/agent");
 
-	private static final String FRAGMENT_PATH2 = "//correspondence-address";
+	private static final XPath FRAGMENT2XP = DocumentHelper.createXPath("//correspondence-address");
+	private static final XPath SEQUENCEXP = DocumentHelper.createXPath("@sequence");
+	private static final XPath REPTYPEXP = DocumentHelper.createXPath("@rep-type");
 
 	public AgentNode(Document document) {
 		super(document);
@@ -32,7 +36,7 @@ public class AgentNode extends DOMFragmentReader<List<Agent>> {
 	public List<Agent> read() {
 		List<Agent> agentList = new ArrayList<Agent>();
 
-		List<Node> agents = document.selectNodes(FRAGMENT_PATH);
+		List<Node> agents = FRAGMENTXP.selectNodes(document);
 
 		int interationSquence = 0;
 		for (Node node : agents) {
@@ -40,10 +44,10 @@ public class AgentNode extends DOMFragmentReader<List<Agent>> {
 
 			AddressBookNode addressBook = new AddressBookNode(node);
 
-			Node sequenceN = node.selectSingleNode("@sequence");
+			Node sequenceN = SEQUENCEXP.selectSingleNode(node);
 			String sequence = sequenceN != null ? sequenceN.getText() : Integer.toString(interationSquence);
 
-			Node repTypeN = node.selectSingleNode("@rep-type");
+			Node repTypeN = REPTYPEXP.selectSingleNode(node);
 			String repType = repTypeN != null ? repTypeN.getText() : null;
 
 			AgentRepType agentRepType;
@@ -81,7 +85,7 @@ public class AgentNode extends DOMFragmentReader<List<Agent>> {
 		/*
 		 * If Agents are not defined then use correspondence-address if available.
 		 */
-		List<Node> correspondenceNodes = document.selectNodes(FRAGMENT_PATH2);
+		List<Node> correspondenceNodes = FRAGMENT2XP.selectNodes(document);
 		for (Node node : correspondenceNodes) {
 			AddressBookNode addressBook = new AddressBookNode(node);
 
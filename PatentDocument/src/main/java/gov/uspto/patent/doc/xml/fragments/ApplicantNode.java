@@ -4,7 +4,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,7 +27,7 @@ public class ApplicantNode extends DOMFragmentReader<List<Applicant>> {
 	 * CURRENT: //us-parties/us-applicants/us-applicant PRE-2012:
 	 * //parties/applicants/applicant
 	 */
-	private static final String FRAGMENT_PATH = "/*/*/us-parties/us-applicants/us-applicant|/*/*/parties/applicants/applicant";
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("/*/*/us-parties/us-applicants/us-applicant|/*/*/parties/applicants/applicant");
 
 	public ApplicantNode(Document document) {
 		super(document);
@@ -34,7 +37,7 @@ public class ApplicantNode extends DOMFragmentReader<List<Applicant>> {
 	public List<Applicant> read() {
 		List<Applicant> applicantList = new ArrayList<Applicant>();
 
-		List<Node> applNodes = document.selectNodes(FRAGMENT_PATH);
+		List<Node> applNodes = FRAGMENTXP.selectNodes(document);
 		applicantList.addAll(readApplicants(applNodes));
 
 		return applicantList;
@@ -65,7 +68,7 @@ public class ApplicantNode extends DOMFragmentReader<List<Applicant>> {
 			Address address = addressBook.getAddress();
 
 			if (address == null) {
-				if (node.matches(".[@applicant-authority-category='assignee']")) {
+				if ("assignee".equals(((Element) node).attributeValue("applicant-authority-category"))) {
 					List<Assignee> assignees = new AssigneeNode(this.document).read();
 					for(Assignee assignee: assignees) {
 						if (applicantName.getName().equalsIgnoreCase(assignee.getName().getName())){
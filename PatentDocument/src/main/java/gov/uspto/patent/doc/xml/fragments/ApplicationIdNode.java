@@ -1,7 +1,9 @@
 package gov.uspto.patent.doc.xml.fragments;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,7 +15,7 @@ import gov.uspto.patent.model.DocumentIdType;
 public class ApplicationIdNode extends DOMFragmentReader<DocumentId> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationIdNode.class);
 
-	private static final String FRAGMENT_PATH = "//application-reference/document-id";
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("//application-reference/document-id");
 
 	public ApplicationIdNode(Document document) {
 		super(document);
@@ -21,7 +23,7 @@ public class ApplicationIdNode extends DOMFragmentReader<DocumentId> {
 
 	@Override
 	public DocumentId read() {
-		Node parentNode = document.selectSingleNode(FRAGMENT_PATH);
+		Node parentNode = FRAGMENTXP.selectSingleNode(document);
 		if (parentNode == null){
 			LOGGER.warn("Patent does not have an Application ID.");
 			return null;
@@ -10,6 +10,7 @@ import org.dom4j.Document;
 import org.dom4j.DocumentHelper;
 import org.dom4j.Element;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,8 +25,10 @@ import gov.uspto.patent.model.entity.Name;
 public class AssigneeNode extends DOMFragmentReader<List<Assignee>> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(AssigneeNode.class);
 
-	private static final String FRAGMENT_PATH = "/*/*/assignees/assignee";
-	private static final String APPLICANT_ASSIGNEE_PATH = "/*/*/us-parties/us-applicants/us-applicant[@applicant-authority-category='assignee']";
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("/*/*/assignees/assignee");
+	private static final XPath APPLICANT_ASSIGNEEXP = DocumentHelper.createXPath("/*/*/us-parties/us-applicants/us-applicant[@applicant-authority-category='assignee']");
+	private static final XPath ADDRESSBOOKXP = DocumentHelper.createXPath("addressbook");
+	private static final XPath ROLEXP = DocumentHelper.createXPath("addressbook/role");
 
 	public AssigneeNode(Document document) {
 		super(document);
@@ -35,14 +38,14 @@ public class AssigneeNode extends DOMFragmentReader<List<Assignee>> {
 	public List<Assignee> read() {
 		Map<String, Assignee> assigneeList = new LinkedHashMap<String, Assignee>();
 
-		List<Node> applicantAssignees = document.selectNodes(APPLICANT_ASSIGNEE_PATH);
+		List<Node> applicantAssignees = APPLICANT_ASSIGNEEXP.selectNodes(document);
 		if (!applicantAssignees.isEmpty()) {
 			for (Assignee assign : readEntityNodes(applicantAssignees)) {
 				assigneeList.put(assign.getName().getName().toLowerCase(), assign);
 			}
 		}
 
-		List<Node> assignees = document.selectNodes(FRAGMENT_PATH);
+		List<Node> assignees = FRAGMENTXP.selectNodes(document);
 		if (!assignees.isEmpty()) {
 			for (Assignee assign : readEntityNodes(assignees)) {
 				assigneeList.put(assign.getName().getName().toLowerCase(), assign);
@@ -58,7 +61,7 @@ public class AssigneeNode extends DOMFragmentReader<List<Assignee>> {
 		for (Node node : nodes) {
 
 			AddressBookNode addressBook;
-			if (node.selectSingleNode("addressbook") != null) {
+			if (ADDRESSBOOKXP.selectSingleNode(node) != null) {
 				addressBook = new AddressBookNode(node);
 			} else {
 				// Fix for assignee without addressbook, wrap assignee child nodes with
@@ -99,7 +102,7 @@ public class AssigneeNode extends DOMFragmentReader<List<Assignee>> {
 				address = new Address("", "", CountryCode.UNDEFINED);
 			}
 
-			Node roleTypeN = node.selectSingleNode("addressbook/role");
+			Node roleTypeN = ROLEXP.selectSingleNode(node);
 			String roleType = roleTypeN != null ? roleTypeN.getText() : "";
 
 			Assignee assignee = new Assignee(assigneeName, address);
@@ -10,7 +10,9 @@ import java.util.regex.Pattern;
 import org.apache.commons.lang3.time.DateParser;
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 
 import gov.uspto.parser.dom4j.DOMFragmentReader;
 import gov.uspto.patent.InvalidDataException;
@@ -43,8 +45,13 @@ import gov.uspto.patent.model.classification.PatentClassification;
  */
 public class CitationNode extends DOMFragmentReader<List<Citation>> {
 
-	private static final String FRAGMENT_PATH = "/*/*/us-references-cited|/*/*/references-cited"; // current
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("/*/*/us-references-cited|/*/*/references-cited"); // current
 																									// us-references-cited.
+	private static final XPath NPLCITXP = DocumentHelper.createXPath("us-citation/nplcit|us-citation/nplcite|citation/nplcit");
+	private static final XPath NUMXP = DocumentHelper.createXPath("@num");
+	private static final XPath OTHERCITXP = DocumentHelper.createXPath("othercit");
+	private static final XPath CATEGORYXP = DocumentHelper.createXPath("category");
+	private static final XPath PATCITXP = DocumentHelper.createXPath("citation/patcit|us-citation/patcit");
 
 	public CitationNode(Document document) {
 		super(document);
@@ -54,7 +61,7 @@ public class CitationNode extends DOMFragmentReader<List<Citation>> {
 	public List<Citation> read() {
 		List<Citation> citations = new ArrayList<Citation>();
 
-		Node citationNode = document.selectSingleNode(FRAGMENT_PATH);
+		Node citationNode = FRAGMENTXP.selectSingleNode(document);
 
 		if (citationNode == null) {
 			return citations;
@@ -72,17 +79,17 @@ public class CitationNode extends DOMFragmentReader<List<Citation>> {
 	public List<Citation> readNplCitations(Node citationNode) {
 		List<Citation> nplCitations = new ArrayList<Citation>();
 
-		List<Node> nlpcitNodes = citationNode.selectNodes("us-citation/nplcit|us-citation/nplcite|citation/nplcit");
+		List<Node> nlpcitNodes = NPLCITXP.selectNodes(citationNode);
 
 		for (Node nplcit : nlpcitNodes) {
 
-			String num = nplcit.selectSingleNode("@num").getText();
-			Node citeTxtN = nplcit.selectSingleNode("othercit");
+			String num = NUMXP.selectSingleNode(nplcit).getText();
+			Node citeTxtN = OTHERCITXP.selectSingleNode(nplcit);
 
 			String citeTxt = citeTxtN != null ? citeTxtN.getText() : "";
 
 			// <category>cited by examiner</category>
-			Node categoryN = nplcit.getParent().selectSingleNode("category");
+			Node categoryN = CATEGORYXP.selectSingleNode(nplcit.getParent());
 			CitedBy citedBy = getCitedBy(categoryN);
 
 			DocumentId docId = nplParseUSApp(citeTxt);
@@ -137,9 +144,9 @@ public class CitationNode extends DOMFragmentReader<List<Citation>> {
 	public List<Citation> readPatCitations(Node citationNode) {
 		List<Citation> patCitations = new ArrayList<Citation>();
 
-		List<Node> patcitNodes = citationNode.selectNodes("citation/patcit|us-citation/patcit");
+		List<Node> patcitNodes = PATCITXP.selectNodes(citationNode);
 		for (Node patcit : patcitNodes) {
-			String num = patcit.selectSingleNode("@num").getText();
+			String num = NUMXP.selectSingleNode(patcit).getText();
 
 			DocumentId documentId = new DocumentIdNode(patcit).read();
 
@@ -158,7 +165,7 @@ public class CitationNode extends DOMFragmentReader<List<Citation>> {
 			 */
 
 			// <category>cited by examiner</category>
-			Node categoryN = patcit.getParent().selectSingleNode("category");
+			Node categoryN = CATEGORYXP.selectSingleNode(patcit.getParent());
 			CitedBy citedBy = getCitedBy(categoryN);
 
 			PatCitation citation = new PatCitation(num, documentId, citedBy);
@@ -5,7 +5,9 @@ import java.util.List;
 import java.util.Set;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 
 import gov.uspto.parser.dom4j.DOMFragmentReader;
 import gov.uspto.patent.doc.xml.items.ClassificationCpcNode;
@@ -13,14 +15,16 @@ import gov.uspto.patent.doc.xml.items.ClassificationNationalNode;
 import gov.uspto.patent.model.classification.PatentClassification;
 
 public class ClassificationSearchNode extends DOMFragmentReader<Set<PatentClassification>> {
-	private static final String FRAGMENT_PATH = "//us-field-of-classification-search"; // Only PGPub.
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("//us-field-of-classification-search"); // Only PGPub.
+	private static final XPath NATIONALXP = DocumentHelper.createXPath("classification-national");
+	private static final XPath CPCXP = DocumentHelper.createXPath("classification-cpc-text|classification-cpc");
 
 	private Node parentPath;
 
 	public ClassificationSearchNode(Document document) {
 		super(document);
 
-		Node parentPath = document.selectSingleNode(FRAGMENT_PATH);
+		Node parentPath = FRAGMENTXP.selectSingleNode(document);
 		if (parentPath != null) {
 			this.parentPath = parentPath;
 		} else {
@@ -32,12 +36,12 @@ public class ClassificationSearchNode extends DOMFragmentReader<Set<PatentClassi
 	public Set<PatentClassification> read() {
 		Set<PatentClassification> classifications = new HashSet<PatentClassification>();
 
-		List<Node> nationalN = parentPath.selectNodes("classification-national");
+		List<Node> nationalN = NATIONALXP.selectNodes(parentPath);
 		for (Node classNode : nationalN) {
 			classifications.addAll(new ClassificationNationalNode(classNode).read());
 		}
 
-		List<Node> cpcN = parentPath.selectNodes("classification-cpc-text|classification-cpc");
+		List<Node> cpcN = CPCXP.selectNodes(parentPath);
 		for (Node cpc : cpcN) {
 			classifications.addAll(new ClassificationCpcNode(cpc, true).read());
 		}
@@ -3,11 +3,14 @@ package gov.uspto.patent.doc.xml.fragments;
 import java.util.List;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import gov.uspto.parser.dom4j.DOMFragmentReader;
+import gov.uspto.parser.dom4j.Dom4jUtil;
 import gov.uspto.patent.TextProcessor;
 import gov.uspto.patent.doc.xml.items.DescriptionFigures;
 import gov.uspto.patent.model.DescSection;
@@ -27,7 +30,7 @@ import gov.uspto.patent.model.Figure;
 public class DescriptionNode extends DOMFragmentReader<Description> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(DescriptionNode.class);
 
-	private static final String FRAGMENT_PATH = "/*/description";
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("/*/description");
 
 	public DescriptionNode(Document document, TextProcessor textProcessor) {
 		super(document, textProcessor);
@@ -37,7 +40,7 @@ public class DescriptionNode extends DOMFragmentReader<Description> {
 	public Description read() {
 		Description desc = new Description();
 
-		Node descN = document.selectSingleNode(FRAGMENT_PATH);
+		Node descN = FRAGMENTXP.selectSingleNode(document);
 		if (descN == null) {
 			LOGGER.warn("Patent does not have a Description.");
 			return desc;
@@ -112,7 +115,7 @@ public class DescriptionNode extends DOMFragmentReader<Description> {
 	}
 
 	public static List<Node> getSectionNodes(Node parentNode, String name){
-		return parentNode.selectNodes(getXPATHStatement(name));
+		return Dom4jUtil.xpath(getXPATHStatement(name)).selectNodes(parentNode);
 	}
 
 	/**
@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 
 import gov.uspto.parser.dom4j.DOMFragmentReader;
 import gov.uspto.patent.doc.xml.items.DocumentIdNode;
@@ -12,8 +14,8 @@ import gov.uspto.patent.model.DocumentId;
 import gov.uspto.patent.model.DocumentIdType;
 
 public class PctRegionalIdNode extends DOMFragmentReader<List<DocumentId>> {
-	private static final String FRAGMENT_PATH = "/*/*/pct-or-regional-filing-data/document-id";
-	private static final String FRAGMENT_PATH2 = "/*/*/pct-or-regional-publishing-data/document-id";
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("/*/*/pct-or-regional-filing-data/document-id");
+	private static final XPath FRAGMENTXP2 = DocumentHelper.createXPath("/*/*/pct-or-regional-publishing-data/document-id");
 
 	public PctRegionalIdNode(Document document) {
 		super(document);
@@ -23,7 +25,7 @@ public class PctRegionalIdNode extends DOMFragmentReader<List<DocumentId>> {
 	public List<DocumentId> read() {
 		List<DocumentId> pctDocIds = new ArrayList<DocumentId>();
 
-		Node fragmentNode = document.selectSingleNode(FRAGMENT_PATH);
+		Node fragmentNode = FRAGMENTXP.selectSingleNode(document);
 		if (fragmentNode != null) {
 			DocumentId documentId = new DocumentIdNode(fragmentNode).read();
 			if (documentId != null) {
@@ -32,7 +34,7 @@ public class PctRegionalIdNode extends DOMFragmentReader<List<DocumentId>> {
 			}
 		}
 
-		Node fragmentNode2 = document.selectSingleNode(FRAGMENT_PATH2);
+		Node fragmentNode2 = FRAGMENTXP2.selectSingleNode(document);
 		if (fragmentNode2 != null) {
 			DocumentId documentId = new DocumentIdNode(fragmentNode2).read();
 			if (documentId != null) {
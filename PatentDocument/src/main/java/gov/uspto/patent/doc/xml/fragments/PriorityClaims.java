@@ -6,8 +6,10 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Element;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,9 +37,13 @@ public class PriorityClaims extends DOMFragmentReader<List<DocumentId>> {
 	
 	private static final Pattern SHORT_YEAR = Pattern.compile("^([09])[0-9][/-]\\d+");
 
-    private static final String FRAGMENT_PATH = "/*/*/priority-claims/priority-claim";
+    private static final XPath FRAGMENTXP = DocumentHelper.createXPath("/*/*/priority-claims/priority-claim");
 
-    private static final String PROVISIONAL_PATH = "/*/*/us-related-documents/us-provisional-application";
+    private static final XPath PROVISIONALXP = DocumentHelper.createXPath("/*/*/us-related-documents/us-provisional-application");
+	private static final XPath DOCNUMXP = DocumentHelper.createXPath("doc-number");
+	private static final XPath COUNTRYXP = DocumentHelper.createXPath("country");
+	private static final XPath KINDXP = DocumentHelper.createXPath("kind");
+	private static final XPath DATEXP = DocumentHelper.createXPath("date");
 
     public PriorityClaims(Document document) {
         super(document);
@@ -47,14 +53,14 @@ public class PriorityClaims extends DOMFragmentReader<List<DocumentId>> {
     public List<DocumentId> read() {
         List<DocumentId> priorityDocIds = new ArrayList<DocumentId>();
 
-        Node provisionalNode = document.selectSingleNode(PROVISIONAL_PATH);
+        Node provisionalNode = PROVISIONALXP.selectSingleNode(document);
         if (provisionalNode != null) {
         	DocumentId provisionalDocId = new DocumentIdNode(provisionalNode).read();
         	provisionalDocId.setType(DocumentIdType.PROVISIONAL);
         	priorityDocIds.add(provisionalDocId);
         }
 
-        List<Node> fragmentNodes = document.selectNodes(FRAGMENT_PATH);
+        List<Node> fragmentNodes = FRAGMENTXP.selectNodes(document);
         for (Node fragNode : fragmentNodes) {       	
             if (fragNode != null) {
 
@@ -77,12 +83,12 @@ public class PriorityClaims extends DOMFragmentReader<List<DocumentId>> {
                 		break;               		
                 }
 
-        		Node docNumN = fragNode.selectSingleNode("doc-number");
+        		Node docNumN = DOCNUMXP.selectSingleNode(fragNode);
         		if (docNumN == null) {
         			continue;
         		}
 
-        		Node countryN = fragNode.selectSingleNode("country");
+        		Node countryN = COUNTRYXP.selectSingleNode(fragNode);
         		CountryCode countryCode = CountryCode.UNDEFINED;
         		String country = countryN != null ? countryN.getText() : null;
         		if (country == null || country.trim().isEmpty()) {
@@ -123,14 +129,14 @@ public class PriorityClaims extends DOMFragmentReader<List<DocumentId>> {
         		docNumber = docNumber.replaceAll("[\\s-]", "");        		
         		
         		
-        		Node kindN = fragNode.selectSingleNode("kind");
+        		Node kindN = KINDXP.selectSingleNode(fragNode);
         		String kindCode = kindN != null ? kindN.getText() : null;
 
         		DocumentId documentId = new DocumentId(countryCode, docNumber, kindCode);
         		documentId.setRawText(docNumN.getText());
         		documentId.setType(docIdType);
 
-        		Node dateN = fragNode.selectSingleNode("date");
+        		Node dateN = DATEXP.selectSingleNode(fragNode);
         		if (dateN != null) {
         			try {
         				documentId.setDate(new DocumentDate(dateN.getText()));
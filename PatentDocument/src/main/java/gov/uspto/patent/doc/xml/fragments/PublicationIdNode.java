@@ -1,7 +1,9 @@
 package gov.uspto.patent.doc.xml.fragments;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 
 import gov.uspto.parser.dom4j.DOMFragmentReader;
 import gov.uspto.patent.doc.xml.items.DocumentIdNode;
@@ -9,7 +11,7 @@ import gov.uspto.patent.model.DocumentId;
 import gov.uspto.patent.model.DocumentIdType;
 
 public class PublicationIdNode extends DOMFragmentReader<DocumentId> {
-	private static final String FRAGMENT_PATH = "/*/*/publication-reference/document-id";
+	private static final XPath FRAGMENTXP = DocumentHelper.createXPath("/*/*/publication-reference/document-id");
 
 	public PublicationIdNode(Document document) {
 		super(document);
@@ -17,7 +19,7 @@ public class PublicationIdNode extends DOMFragmentReader<DocumentId> {
 
 	@Override
 	public DocumentId read() {
-		Node parentNode = document.selectSingleNode(FRAGMENT_PATH);
+		Node parentNode = FRAGMENTXP.selectSingleNode(document);
 		if (parentNode == null) {
 			return null;
 		}
@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 
 import gov.uspto.parser.dom4j.DOMFragmentReader;
 import gov.uspto.patent.doc.xml.items.RelationNode;
@@ -21,19 +23,19 @@ import gov.uspto.patent.model.DocumentIdType;
 public class Relations extends DOMFragmentReader<List<DocumentId>> {
 	// us-divisional-reissue/us-relation
 
-	private static final String PARENT_PATH = "/*/*/us-related-documents";
+	private static final XPath PARENTXP = DocumentHelper.createXPath("/*/*/us-related-documents");
 
-	private static final String ADDITION = "addition/relation";
-	private static final String CONTINUATION = "continuation/relation";
-	private static final String CONTINUATION_IN_PART = "continuation-in-part/relation";
-	private static final String CONTINUATION_REISSUE = "continuing-reissue/relation";
-	private static final String DIVISION = "division/relation";
+	private static final XPath ADDITIONXP = DocumentHelper.createXPath("addition/relation");
+	private static final XPath CONTINUATIONXP = DocumentHelper.createXPath("continuation/relation");
+	private static final XPath CONTINUATION_IN_PARTXP = DocumentHelper.createXPath("continuation-in-part/relation");
+	private static final XPath CONTINUATION_REISSUEXP = DocumentHelper.createXPath("continuing-reissue/relation");
+	private static final XPath DIVISIONXP = DocumentHelper.createXPath("division/relation");
 
-	private static final String REEXAMINATION = "reexamination/relation";
-	private static final String REISSUE = "reissue/relation";
-	private static final String SUBSITUTION = "substitution/relation";
-	private static final String USREEX = "us-reexamination-reissue-merger/relation";
-	private static final String UTILITY_MODEL = "utility-model-basis/relation";
+	private static final XPath REEXAMINATIONXP = DocumentHelper.createXPath("reexamination/relation");
+	private static final XPath REISSUEXP = DocumentHelper.createXPath("reissue/relation");
+	private static final XPath SUBSITUTIONXP = DocumentHelper.createXPath("substitution/relation");
+	private static final XPath USREEXXP = DocumentHelper.createXPath("us-reexamination-reissue-merger/relation");
+	private static final XPath UTILITY_MODELXP = DocumentHelper.createXPath("utility-model-basis/relation");
 
 	private List<DocumentId> docIds;
 
@@ -45,36 +47,36 @@ public class Relations extends DOMFragmentReader<List<DocumentId>> {
 	public List<DocumentId> read() {
 		docIds = new ArrayList<DocumentId>();
 
-		Node parentNode = document.selectSingleNode(PARENT_PATH);
+		Node parentNode = PARENTXP.selectSingleNode(document);
 		if (parentNode == null) {
 			return docIds;
 		}
 
-		getDocIds(parentNode, ADDITION, DocumentIdType.ADDITION);
+		getDocIds(parentNode, ADDITIONXP, DocumentIdType.ADDITION);
 
-		getDocIds(parentNode, CONTINUATION, DocumentIdType.CONTINUATION);
+		getDocIds(parentNode, CONTINUATIONXP, DocumentIdType.CONTINUATION);
 
-		getDocIds(parentNode, CONTINUATION_IN_PART, DocumentIdType.CONTINUATION_IN_PART);
+		getDocIds(parentNode, CONTINUATION_IN_PARTXP, DocumentIdType.CONTINUATION_IN_PART);
 
-		getDocIds(parentNode, CONTINUATION_REISSUE, DocumentIdType.CONTINUATION_REISSUE);
+		getDocIds(parentNode, CONTINUATION_REISSUEXP, DocumentIdType.CONTINUATION_REISSUE);
 
-		getDocIds(parentNode, DIVISION, DocumentIdType.DIVISION);
+		getDocIds(parentNode, DIVISIONXP, DocumentIdType.DIVISION);
 
-		getDocIds(parentNode, REEXAMINATION, DocumentIdType.REEXAMINATION);
+		getDocIds(parentNode, REEXAMINATIONXP, DocumentIdType.REEXAMINATION);
 
-		getDocIds(parentNode, REISSUE, DocumentIdType.REISSUE);
+		getDocIds(parentNode, REISSUEXP, DocumentIdType.REISSUE);
 
-		getDocIds(parentNode, SUBSITUTION, DocumentIdType.SUBSITUTION);
+		getDocIds(parentNode, SUBSITUTIONXP, DocumentIdType.SUBSITUTION);
 
-		getDocIds(parentNode, USREEX, DocumentIdType.USREEX);
+		getDocIds(parentNode, USREEXXP, DocumentIdType.USREEX);
 
-		getDocIds(parentNode, UTILITY_MODEL, DocumentIdType.UTILITY_MODEL);
+		getDocIds(parentNode, UTILITY_MODELXP, DocumentIdType.UTILITY_MODEL);
 
 		return docIds;
 	}
 
-	public void getDocIds(Node parentNode, String xmlPath, DocumentIdType docIdType) {
-		Node node = parentNode.selectSingleNode(xmlPath);
+	public void getDocIds(Node parentNode, XPath xmlPath, DocumentIdType docIdType) {
+		Node node = xmlPath.selectSingleNode(parentNode);
 		if (node != null) {
 			docIds.addAll(new RelationNode(node, docIdType).read());
 		}
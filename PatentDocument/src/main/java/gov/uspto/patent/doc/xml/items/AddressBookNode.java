@@ -54,6 +54,15 @@ public class AddressBookNode extends ItemReader<Name> {
 	private static final XPath MNAMEXP = DocumentHelper.createXPath("middleName");
 	private static final XPath LNAMEXP = DocumentHelper.createXPath("last-name");
 	private static final XPath SUFFIXXP = DocumentHelper.createXPath("prefix");
+	private static final XPath SYNONYMXP = DocumentHelper.createXPath("synonym");
+	private static final XPath PHONEXP = DocumentHelper.createXPath("phone");
+	private static final XPath FAXXP = DocumentHelper.createXPath("fax");
+	private static final XPath EMAILXP = DocumentHelper.createXPath("email");
+	private static final XPath ADDRESS1XP = DocumentHelper.createXPath("address-1");
+	private static final XPath STREETXP = DocumentHelper.createXPath("street");
+	private static final XPath ADDRESS2XP = DocumentHelper.createXPath("address-2");
+	private static final XPath POBOXXP = DocumentHelper.createXPath("pobox");
+	private static final XPath POSTCODEXP = DocumentHelper.createXPath("postcode");
 
 	private static final String ITEM_NODE_NAME = "addressbook";
 	private static final String ITEM_ELSE_PREFIX = "-examiner";
@@ -122,7 +131,7 @@ public class AddressBookNode extends ItemReader<Name> {
 		}
 
 		/* Synonyms; not included in Public Data.
-		List<Node> synonymNodes = itemNode.selectNodes("synonym");
+		List<Node> synonymNodes = SYNONYMXP.selectNodes(itemNode);
 		Set<String> synonyms = new HashSet<String>(synonymNodes.size());
 		for (Node synonymN : synonymNodes) {
 			synonyms.add(synonymN.getText());
@@ -144,7 +153,7 @@ public class AddressBookNode extends ItemReader<Name> {
 		Node orgnameN = ORGNAMEXP.selectSingleNode(itemNode);
 
 		/* Synonyms; not included in Public Data.
-		List<Node> synonymNodes = itemNode.selectNodes("synonym");
+		List<Node> synonymNodes = SYNONYMXP.selectNodes(itemNode);
 		Set<String> synonyms = new HashSet<String>(synonymNodes.size());
 		for (Node synonymN : synonymNodes) {
 			synonyms.add(synonymN.getText());
@@ -170,25 +179,25 @@ public class AddressBookNode extends ItemReader<Name> {
 		/*
 		 * Contact Info; Not within Public Data.
 		 *
-		Node phoneN = itemNode.selectSingleNode("phone");
+		Node phoneN = PHONEXP.selectSingleNode(itemNode);
 		String phone = phoneN != null ? phoneN.getText() : null;
 
-		Node faxN = itemNode.selectSingleNode("fax");
+		Node faxN = FAXXP.selectSingleNode(itemNode);
 		String fax = faxN != null ? faxN.getText() : null;
 
-		Node emailN = itemNode.selectSingleNode("email");
+		Node emailN = EMAILXP.selectSingleNode(itemNode);
 		String email = emailN != null ? emailN.getText() : null;
 		*/
 
 		/*
 		 * Address; only City, State, Country within Public Data.
 		 *
-		Node streetN1 = addressN.selectSingleNode("address-1");
-		Node streetN2 = addressN.selectSingleNode("street");
+		Node streetN1 = ADDRESS1XP.selectSingleNode(addressN);
+		Node streetN2 = STREETXP.selectSingleNode(addressN);
 		String street = null;
 		if (streetN1 != null) {
 			street = streetN1.getText();
-			Node streetN12 = addressN.selectSingleNode("address-2");
+			Node streetN12 = ADDRESS2XP.selectSingleNode(addressN);
 			if (streetN12 != null) {
 				street = street + ", " + streetN12.getText();
 			}
@@ -196,13 +205,13 @@ public class AddressBookNode extends ItemReader<Name> {
 			street = streetN2.getText();
 		}
 
-		Node pboxN = addressN.selectSingleNode("pobox");
+		Node pboxN = POBOXXP.selectSingleNode(addressN);
 		String pbox = pboxN != null ? pboxN.getText() : null;
 		if (pbox != null && street == null) {
 			street = pbox;
 		}
 		
-		Node zipCodeN = addressN.selectSingleNode("postcode");
+		Node zipCodeN = POSTCODEXP.selectSingleNode(addressN);
 		String zipCode = zipCodeN != null ? zipCodeN.getText() : null;
 		*/
 
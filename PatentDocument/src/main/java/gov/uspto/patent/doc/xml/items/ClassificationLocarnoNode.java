@@ -4,7 +4,9 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +17,9 @@ import gov.uspto.patent.model.classification.PatentClassification;
 public class ClassificationLocarnoNode extends ItemReader<List<PatentClassification>> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ClassificationLocarnoNode.class);
 
+	private static final XPath MAINCLASSXP = DocumentHelper.createXPath("main-classification");
+	private static final XPath FURTHERCLASSXP = DocumentHelper.createXPath("further-classification");
+
 	private final static String ITEM_NODE_NAME = "classification-locarno";
 
 	public ClassificationLocarnoNode(Node itemNode) {
@@ -25,7 +30,7 @@ public class ClassificationLocarnoNode extends ItemReader<List<PatentClassificat
 	public List<PatentClassification> read() {
 		List<PatentClassification> classes = new ArrayList<PatentClassification>();
 		
-		Node mainClass = itemNode.selectSingleNode("main-classification");
+		Node mainClass = MAINCLASSXP.selectSingleNode(itemNode);
 		if (mainClass == null) {
 			return classes;
 		}
@@ -44,7 +49,7 @@ public class ClassificationLocarnoNode extends ItemReader<List<PatentClassificat
 			LOGGER.warn("Failed to parse Locarno classification 'main-classification': {}", mainClass.asXML());
 		}
 
-		List<Node> furtherClasses = itemNode.selectNodes("further-classification");
+		List<Node> furtherClasses = FURTHERCLASSXP.selectNodes(itemNode);
 		for (Node subclass : furtherClasses) {
 			LocarnoClassification locarnoClass = new LocarnoClassification(subclass.getText(), false);
 			try {
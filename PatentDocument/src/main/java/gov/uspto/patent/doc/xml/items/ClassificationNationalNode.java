@@ -4,7 +4,9 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +33,9 @@ import gov.uspto.patent.model.classification.UspcClassification;
 public class ClassificationNationalNode extends ItemReader<List<PatentClassification>> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ClassificationNationalNode.class);
 
+	private static final XPath MAINCLASSXP = DocumentHelper.createXPath("main-classification");
+	private static final XPath FURTHERCLASSXP = DocumentHelper.createXPath("further-classification");
+
 	private final static String ITEM_NODE_NAME = "classification-national";
 
 	public ClassificationNationalNode(Node itemNode) {
@@ -42,7 +47,7 @@ public class ClassificationNationalNode extends ItemReader<List<PatentClassifica
 		List<PatentClassification> patClasses = new ArrayList<PatentClassification>();
 
 		// Node countryNode = parentNode.selectSingleNode("country");
-		Node mainClass = itemNode.selectSingleNode("main-classification");
+		Node mainClass = MAINCLASSXP.selectSingleNode(itemNode);
 		if (mainClass == null) {
 			return patClasses;
 		}
@@ -67,7 +72,7 @@ public class ClassificationNationalNode extends ItemReader<List<PatentClassifica
 			LOGGER.warn("{} : {}", e1.getMessage(), mainClass.asXML());
 		}
 
-		List<Node> furtherClasses = itemNode.selectNodes("further-classification");
+		List<Node> furtherClasses = FURTHERCLASSXP.selectNodes(itemNode);
 		for (Node furtherClass : furtherClasses) {
 			UspcClassification usClass = new UspcClassification(furtherClass.getText(), false);
 			try {		
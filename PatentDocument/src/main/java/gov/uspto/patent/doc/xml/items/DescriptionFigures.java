@@ -3,7 +3,9 @@ package gov.uspto.patent.doc.xml.items;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 
 import gov.uspto.parser.dom4j.ItemReader;
 import gov.uspto.patent.doc.xml.fragments.DescriptionNode;
@@ -11,6 +13,10 @@ import gov.uspto.patent.model.Figure;
 
 public class DescriptionFigures extends ItemReader<List<Figure>> {
 
+	private static final XPath FIGPARXP = DocumentHelper.createXPath("p[figref]");
+	private static final XPath FIGREFXP = DocumentHelper.createXPath("figref");
+	private static final XPath ITALICXP = DocumentHelper.createXPath("i");
+
 	public DescriptionFigures(Node itemNode) {
 		super(itemNode);
 	}
@@ -22,11 +28,11 @@ public class DescriptionFigures extends ItemReader<List<Figure>> {
 		List<Node> childNodes = DescriptionNode.getSectionNodes(itemNode, "brief-description-of-drawings");
 		for (Node childN : childNodes) {
 			if ("description-of-drawings".equals(childN.getName())) {
-				List<Node> figNodes = childN.selectNodes("p[figref]");
+				List<Node> figNodes = FIGPARXP.selectNodes(childN);
 				for (Node pWithFigN : figNodes) {
-					id = pWithFigN.selectSingleNode("figref").getText();
-					if (null != pWithFigN.selectSingleNode("i")) {
-						id = id + pWithFigN.selectSingleNode("i").getText();
+					id = FIGREFXP.selectSingleNode(pWithFigN).getText();
+					if (null != ITALICXP.selectSingleNode(pWithFigN)) {
+						id = id + ITALICXP.selectSingleNode(pWithFigN).getText();
 					}
 					String text = pWithFigN.getText().trim();
 					Figure fig = new Figure(text, id);
@@ -3,7 +3,9 @@ package gov.uspto.patent.doc.xml.items;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +18,11 @@ import gov.uspto.patent.model.DocumentId;
 public class DocumentIdNode extends ItemReader<DocumentId> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(DocumentIdNode.class);
 
+	private static final XPath DOCNUMXP = DocumentHelper.createXPath("doc-number");
+	private static final XPath COUNTRYXP = DocumentHelper.createXPath("country");
+	private static final XPath DATEXP = DocumentHelper.createXPath("date");
+	private static final XPath KINDXP = DocumentHelper.createXPath("kind");
+
 	private static final String ITEM_NODE_NAME = "document-id";
 
 	private static final Pattern SHORT_YEAR = Pattern.compile("^([09])[0-9][/-]\\d+");
@@ -40,13 +47,13 @@ public class DocumentIdNode extends ItemReader<DocumentId> {
 			return null;
 		}
 
-		Node docNumN = itemNode.selectSingleNode("doc-number");
+		Node docNumN = DOCNUMXP.selectSingleNode(itemNode);
 		if (docNumN == null) {
 			LOGGER.warn("Invalid doc-number can not be Null, from: {}", itemNode.asXML());
 			return null;
 		}
 
-		Node countryN = itemNode.selectSingleNode("country");
+		Node countryN = COUNTRYXP.selectSingleNode(itemNode);
 		CountryCode countryCode = fallbackCountryCode;
 		String country = countryN != null ? countryN.getText() : null;
 		try {
@@ -71,7 +78,7 @@ public class DocumentIdNode extends ItemReader<DocumentId> {
 					countryCode.toString(), itemNode.getParent().getName(), docNumN.getText(), docNumber);
 		}
 
-		Node dateN = itemNode.selectSingleNode("date");
+		Node dateN = DATEXP.selectSingleNode(itemNode);
 		DocumentDate docDate = null;
 		if (dateN != null && dateN.getText().trim().isEmpty()) {
 			LOGGER.warn("Invalid Date, Empty or Missing : {}", itemNode.asXML());
@@ -127,7 +134,7 @@ public class DocumentIdNode extends ItemReader<DocumentId> {
 		 * docNumber = docNumber.substring(4); } }
 		 */
 
-		Node kindN = itemNode.selectSingleNode("kind");
+		Node kindN = KINDXP.selectSingleNode(itemNode);
 		String kindCode = kindN != null ? kindN.getText().trim() : null;
 		if (countryCode == CountryCode.US && "00".equals(kindCode)) {
 			kindCode = null;
@@ -3,7 +3,9 @@ package gov.uspto.patent.doc.xml.items;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.dom4j.DocumentHelper;
 import org.dom4j.Node;
+import org.dom4j.XPath;
 
 import gov.uspto.parser.dom4j.ItemReader;
 import gov.uspto.patent.model.DocumentId;
@@ -27,11 +29,11 @@ import gov.uspto.patent.model.DocumentIdType;
 
 public class RelationNode extends ItemReader<List<DocumentId>> {
 	private static final String ITEM_NODE_NAME = "relation";
-	private static final String REL_PARENT = "parent-doc/document-id";
-	private static final String REL_PARENT_GRANT = "parent-doc/parent-grant-document/document-id";
-	private static final String REL_PCT_PARENT = "parent-doc/parent-pct-document/document-id";
+	private static final XPath REL_PARENTXP = DocumentHelper.createXPath("parent-doc/document-id");
+	private static final XPath REL_PARENT_GRANTXP = DocumentHelper.createXPath("parent-doc/parent-grant-document/document-id");
+	private static final XPath REL_PCT_PARENTXP = DocumentHelper.createXPath("parent-doc/parent-pct-document/document-id");
 
-	private static final String REL_CHILD = "child-doc/document-id";
+	private static final XPath REL_CHILDXP = DocumentHelper.createXPath("child-doc/document-id");
 
 	private final DocumentIdType docIdType;
 
@@ -44,19 +46,19 @@ public class RelationNode extends ItemReader<List<DocumentId>> {
 	public List<DocumentId> read() {
 		List<DocumentId> docIds = new ArrayList<DocumentId>();
 
-		Node parentN = itemNode.selectSingleNode(REL_PARENT);
+		Node parentN = REL_PARENTXP.selectSingleNode(itemNode);
 		DocumentId parentDocId = new DocumentIdNode(parentN).read();
 		parentDocId.setType(docIdType);
 		docIds.add(parentDocId);
 
-		Node parentGrantN = itemNode.selectSingleNode(REL_PARENT_GRANT);
+		Node parentGrantN = REL_PARENT_GRANTXP.selectSingleNode(itemNode);
 		if (parentGrantN != null) {
 			DocumentId parentGrantId = new DocumentIdNode(parentGrantN).read();
 			parentGrantId.setType(docIdType);
 			docIds.add(parentGrantId);
 		}
 
-		Node pctdN = itemNode.selectSingleNode(REL_PCT_PARENT);
+		Node pctdN = REL_PCT_PARENTXP.selectSingleNode(itemNode);
 		if (pctdN != null) {
 			DocumentId docId = new DocumentIdNode(pctdN).read();
 			docId.setType(docIdType);
@@ -65,7 +67,7 @@ public class RelationNode extends ItemReader<List<DocumentId>> {
 			}
 		}
 
-		Node childN = itemNode.selectSingleNode(REL_CHILD);
+		Node childN = REL_CHILDXP.selectSingleNode(itemNode);
 		if (childN != null) {
 			DocumentId childDocId = new DocumentIdNode(childN).read();
 			childDocId.setType(docIdType);
@@ -3,14 +3,13 @@ package gov.uspto.patent.model;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 import gov.uspto.patent.InvalidDataException;
-import org.apache.commons.lang3.builder.CompareToBuilder;
 
 /**
  * Document ID for Patents and Patent Applications
@@ -94,6 +93,14 @@ import org.apache.commons.lang3.builder.CompareToBuilder;
  * disclosures, X-Patents and Fractional Patents.
  * </p>
  *
+ * <p>
+ * <h3>Text Forms</h3> Document ID text is parsed without regular expressions,
+ * and the full ID text, with and without kindcode, is built once and cached
+ * until the kindcode or application year is set. The ID text without kindcode,
+ * which equals, hashCode and compareTo work on, is interned so equal IDs share a
+ * single String.
+ * </p>
+ *
  * @see WIPO ST.14.
  * @see https://en.wikipedia.org/wiki/X-Patent
  */
@@ -108,12 +115,19 @@ public class DocumentId implements Comparable<DocumentId> {
 	private PatentType patentType; // defined with application id or derived from kindcode.
 	private String rawText; // capture raw string before parsing into parts; mainly for debugging.
 	private boolean allowLeadingZeros; // Need this for the one case in greenbook where the appId has a zero
+	private String idText; // cached getId()
+	private String idNoKindText; // cached getIdNoKind(), interned
 
 	/*
-	 * Parsing of Document Id into its parts, such as Citation PatentIds.
+	 * Canonical ID text without kindcode, shared by equal Document Ids.
 	 */
-	private static final Pattern PARSE_PATTERN = Pattern
-			.compile("^(\\D\\D)(\\d{2,4}[/-])?((?:D|PP|RE|AI|H|T|X|RX|\\d-)?\\d+)(\\D\\d?)?$");
+	private static final Interner<String> ID_INTERNER = Interners.newWeakInterner();
+
+	/*
+	 * Document number prefixes, in parse order; see class doc.
+	 */
+	private static final String[] DOC_NUMBER_PREFIXES = { "D", "PP", "RE", "AI", "H", "T", "X", "RX" };
+	private static final String[] PATENT_PREFIXES = { "D", "PP", "RE", "AI", "X", "RX" };
 
 	public DocumentId(CountryCode countryCode, String docNumber) {
 		this(countryCode, docNumber, null);
@@ -194,7 +208,7 @@ public class DocumentId implements Comparable<DocumentId> {
 				return DocType.Application;
 			} else if (kindCode != null && kindCode.length() > 0) {
 				return DocType.Patent;
-			} else if (docNumber.matches("^(?:D|PP|RE|AI|X|RX).+$")) {
+			} else if (hasPatentPrefix(docNumber)) {
 				return DocType.Patent;
 			} else if (docNumber.length() <= 8) {
 				return DocType.Patent;
@@ -204,6 +218,14 @@ public class DocumentId implements Comparable<DocumentId> {
 		return null;
 	}
 
+	/**
+	 * Starts with any of (D|PP|RE|AI|X|RX) followed by the number.
+	 */
+	private static boolean hasPatentPrefix(String docNum) {
+		int prefixLen = prefixLength(docNum, 0, PATENT_PREFIXES);
+		return prefixLen > 0 && docNum.length() > prefixLen;
+	}
+
 	private void setDocNumber(String publicationId) {
 		Preconditions.checkNotNull(publicationId, "DocNumber can not be set to Null!");
 		this.docNumber = publicationId;
@@ -231,6 +253,7 @@ public class DocumentId implements Comparable<DocumentId> {
 	 */
 	public void setApplicationYear(String yearStr) throws InvalidDataException {
 		this.applicationYear = yearStr;
+		clearIdText();
 		setType(DocumentIdType.APPLICATION);
 		if (yearStr.length() == 4) {
 			setDate(new DocumentDate(yearStr));
@@ -247,6 +270,7 @@ public class DocumentId implements Comparable<DocumentId> {
 	 */
 	public void setApplicationYear(String yearStr, DocumentDate date) throws InvalidDataException {
 		this.applicationYear = yearStr;
+		clearIdText();
 		setType(DocumentIdType.APPLICATION);
 		setDate(date);
 	}
@@ -261,26 +285,15 @@ public class DocumentId implements Comparable<DocumentId> {
 	 * @return
 	 */
 	public String getId() {
-		StringBuilder strb = new StringBuilder();
-
-		if (docNumber.startsWith("PCT/")) {
-			return docNumber;
-		}
-
-		strb.append(countryCode);
-
-		if (applicationYear != null) {
-			strb.append(applicationYear);
-			strb.append(normDocNumber(docNumber));
-		} else {
-			strb.append(removeLeadingZeros(normDocNumber(docNumber)));
-		}
-
-		if (kindCode != null) {
-			strb.append(kindCode);
+		String id = idText;
+		if (id == null) {
+			id = getIdNoKind();
+			if (kindCode != null && !docNumber.startsWith("PCT/")) {
+				id = id.concat(kindCode);
+			}
+			idText = id;
 		}
-
-		return strb.toString();
+		return id;
 	}
 
 	/**
@@ -289,12 +302,20 @@ public class DocumentId implements Comparable<DocumentId> {
 	 * @return
 	 */
 	public String getIdNoKind() {
-		StringBuilder strb = new StringBuilder();
+		String id = idNoKindText;
+		if (id == null) {
+			id = ID_INTERNER.intern(buildIdNoKind());
+			idNoKindText = id;
+		}
+		return id;
+	}
 
+	private String buildIdNoKind() {
 		if (docNumber.startsWith("PCT/")) {
 			return docNumber;
 		}
 
+		StringBuilder strb = new StringBuilder(docNumber.length() + 8);
 		strb.append(countryCode);
 
 		if (applicationYear != null) {
@@ -307,6 +328,11 @@ public class DocumentId implements Comparable<DocumentId> {
 		return strb.toString();
 	}
 
+	private void clearIdText() {
+		this.idText = null;
+		this.idNoKindText = null;
+	}
+
 	/**
 	 * Full String ID Representation, example: US12345A1
 	 * 
@@ -327,7 +353,7 @@ public class DocumentId implements Comparable<DocumentId> {
 			strb.append(applicationYear);
 			strb.append(normDocNumber(docNumber));
 		} else {
-			if (CountryCode.US.equals(countryCode) && docNumber.matches("\\d+")) {
+			if (CountryCode.US.equals(countryCode) && isDigits(docNumber)) {
 				strb.append(Strings.padStart(docNumber, zeroPadMinLen, '0'));
 			} else {
 				strb.append(normDocNumber(docNumber));
@@ -341,12 +367,20 @@ public class DocumentId implements Comparable<DocumentId> {
 		return strb.toString();
 	}
 
+	/**
+	 * Leading zeros of the document number are kept in its text forms.
+	 */
+	public boolean isAllowLeadingZeros() {
+		return allowLeadingZeros;
+	}
+
 	public CountryCode getCountryCode() {
 		return countryCode;
 	}
 
 	public void setKindCode(String kindCode) {
 		this.kindCode = kindCode;
+		this.idText = null;
 	}
 
 	public String getKindCode() {
@@ -384,22 +418,58 @@ public class DocumentId implements Comparable<DocumentId> {
 		return getId(zeroPadMinLen);
 	}
 
-	private String normDocNumber(String docNum) {
-		return docNum.replaceAll("[^A-Z0-9\\.]+", "");
+	/**
+	 * Keep only characters [A-Z0-9.]
+	 */
+	private static String normDocNumber(String docNum) {
+		int i = 0;
+		while (i < docNum.length() && isDocNumberChar(docNum.charAt(i))) {
+			i++;
+		}
+		if (i == docNum.length()) {
+			return docNum;
+		}
+
+		StringBuilder strb = new StringBuilder(docNum.length());
+		strb.append(docNum, 0, i);
+		for (; i < docNum.length(); i++) {
+			char c = docNum.charAt(i);
+			if (isDocNumberChar(c)) {
+				strb.append(c);
+			}
+		}
+		return strb.toString();
 	}
 
+	private static boolean isDocNumberChar(char c) {
+		return (c >= 'A' && c <= 'Z') || isDigit(c) || c == '.';
+	}
+
+	/**
+	 * Remove leading zeros, for US after the document number prefix, always
+	 * leaving at least one character.
+	 */
 	private String removeLeadingZeros(String docNum) {
-		if (!allowLeadingZeros) {
-			String docNumber;
-			if (CountryCode.US.equals(countryCode)) {
-				docNumber = docNum.replaceFirst("^(D|RE|PP|AI|H|T|X|RX)0+(?!$)", "$1").replaceFirst("^0+(?!$)", "");
-			} else {
-				docNumber = docNum.replaceFirst("^0+(?!$)", "");
-			}
-			return docNumber;
-		} else {
+		if (allowLeadingZeros) {
 			return docNum;
 		}
+
+		int start = 0;
+		if (CountryCode.US.equals(countryCode)) {
+			int prefixLen = prefixLength(docNum, 0, DOC_NUMBER_PREFIXES);
+			int end = prefixLen;
+			while (end < docNum.length() - 1 && docNum.charAt(end) == '0') {
+				end++;
+			}
+			if (end > prefixLen) {
+				docNum = docNum.substring(0, prefixLen).concat(docNum.substring(end));
+			}
+		}
+
+		while (start < docNum.length() - 1 && docNum.charAt(start) == '0') {
+			start++;
+		}
+		return start > 0 ? docNum.substring(start) : docNum;
 	}
 
 	public static DocumentId fromPCTText(final String docIdStr) throws InvalidDataException {
@@ -457,7 +527,7 @@ public class DocumentId implements Comparable<DocumentId> {
 	 * @throws InvalidDataException
 	 */
 	public static DocumentId fromText(final String documentIdStr, int year) throws InvalidDataException {
-		String docIdStr = documentIdStr.replaceAll(" ", "");
+		String docIdStr = documentIdStr.indexOf(' ') != -1 ? documentIdStr.replace(" ", "") : documentIdStr;
 
 		if (docIdStr.length() > 13 && docIdStr.startsWith("PCT/")) {
 			return DocumentId.fromPCTText(documentIdStr);
@@ -467,30 +537,113 @@ public class DocumentId implements Comparable<DocumentId> {
 			throw new InvalidDataException("Failed to parse DocumentId text [too small]: '" + documentIdStr + "'");
 		}
 
-		Matcher matcher = PARSE_PATTERN.matcher(docIdStr);
-		if (matcher.matches()) {
-			String country = matcher.group(1);
+		/*
+		 * Country, optional application year, id and optional kindcode:
+		 * (\D\D)(\d{2,4}[/-])?((?:D|PP|RE|AI|H|T|X|RX|\d-)?\d+)(\D\d?)?
+		 */
+		if (isDigit(docIdStr.charAt(0)) || isDigit(docIdStr.charAt(1))) {
+			throw new InvalidDataException("Failed to parse DocumentId text: '" + documentIdStr + "'");
+		}
 
-			CountryCode cntyCode = CountryCode.fromString(country);
-			if (CountryCode.UNKNOWN == cntyCode || year < 1978) {
-				cntyCode = CountryCodeHistory.getCurrentCode(country, year);
+		String applicationYear = null; // applications ids sometimes has the year.
+		int idStart = 2;
+		int idEnd = -1;
+
+		int yearEnd = digitsEnd(docIdStr, 2);
+		if (yearEnd - 2 >= 2 && yearEnd - 2 <= 4 && yearEnd < docIdStr.length()
+				&& (docIdStr.charAt(yearEnd) == '/' || docIdStr.charAt(yearEnd) == '-')) {
+			idEnd = idEnd(docIdStr, yearEnd + 1);
+			if (idEnd != -1) {
+				applicationYear = docIdStr.substring(2, yearEnd + 1);
+				idStart = yearEnd + 1;
 			}
+		}
 
-			String applicationYear = matcher.group(2); // applications ids
-														// sometimes has the
-														// year.
-			String id = matcher.group(3);
-			String kindCode = matcher.group(4);
+		if (idEnd == -1) {
+			idEnd = idEnd(docIdStr, 2);
+		}
 
-			DocumentId docId = new DocumentId(cntyCode, id, kindCode);
-			if (applicationYear != null && applicationYear.length() == 5) {
-				docId.setApplicationYear(applicationYear.replace("/", ""));
-			}
-			docId.setRawText(documentIdStr);
-			return docId;
-		} else {
+		if (idEnd == -1) {
 			throw new InvalidDataException("Failed to parse DocumentId text: '" + documentIdStr + "'");
 		}
+
+		String country = docIdStr.substring(0, 2);
+		CountryCode cntyCode = CountryCode.fromString(country);
+		if (CountryCode.UNKNOWN == cntyCode || year < 1978) {
+			cntyCode = CountryCodeHistory.getCurrentCode(country, year);
+		}
+
+		String id = docIdStr.substring(idStart, idEnd);
+		String kindCode = idEnd < docIdStr.length() ? docIdStr.substring(idEnd) : null;
+
+		DocumentId docId = new DocumentId(cntyCode, id, kindCode);
+		if (applicationYear != null && applicationYear.length() == 5) {
+			docId.setApplicationYear(applicationYear.replace("/", ""));
+		}
+		docId.setRawText(documentIdStr);
+		return docId;
+	}
+
+	/**
+	 * End of the id, optional prefix followed by digits, when followed only by a
+	 * valid kindcode; else -1.
+	 */
+	private static int idEnd(String docIdStr, int start) {
+		int prefixLen = prefixLength(docIdStr, start, DOC_NUMBER_PREFIXES);
+		if (prefixLen == 0 && start + 1 < docIdStr.length() && isDigit(docIdStr.charAt(start))
+				&& docIdStr.charAt(start + 1) == '-') {
+			prefixLen = 2;
+		}
+
+		if (prefixLen > 0) {
+			int end = digitsEnd(docIdStr, start + prefixLen);
+			if (end > start + prefixLen && isKindCode(docIdStr, end)) {
+				return end;
+			}
+		}
+
+		int end = digitsEnd(docIdStr, start);
+		if (end > start && isKindCode(docIdStr, end)) {
+			return end;
+		}
+		return -1;
+	}
+
+	/**
+	 * Text from start is empty or a kindcode: a non-digit optionally followed by a
+	 * digit.
+	 */
+	private static boolean isKindCode(String text, int start) {
+		int len = text.length() - start;
+		if (len == 0) {
+			return true;
+		}
+		return !isDigit(text.charAt(start)) && (len == 1 || (len == 2 && isDigit(text.charAt(start + 1))));
+	}
+
+	private static int prefixLength(String text, int start, String[] prefixes) {
+		for (String prefix : prefixes) {
+			if (text.startsWith(prefix, start)) {
+				return prefix.length();
+			}
+		}
+		return 0;
+	}
+
+	private static int digitsEnd(String text, int start) {
+		int end = start;
+		while (end < text.length() && isDigit(text.charAt(end))) {
+			end++;
+		}
+		return end;
+	}
+
+	private static boolean isDigits(String text) {
+		return !text.isEmpty() && digitsEnd(text, 0) == text.length();
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
 	}
 
 	public static List<DocumentId> getByType(Collection<DocumentId> docIds, DocumentIdType type) {
@@ -528,7 +681,9 @@ public class DocumentId implements Comparable<DocumentId> {
 
 	@Override
 	public boolean equals(Object o) {
-		if (o == null || !(o instanceof DocumentId) || this.docNumber == null) {
+		if (this == o) {
+			return true;
+		} else if (o == null || !(o instanceof DocumentId) || this.docNumber == null) {
 			return false;
 		} else {
 			DocumentId other = (DocumentId) o;
@@ -542,8 +697,11 @@ public class DocumentId implements Comparable<DocumentId> {
 			return 1;
 		}
 
-		return new CompareToBuilder().append(getDate().getDate(), o.getDate().getDate())
-				.append(getIdNoKind(), o.getIdNoKind()).build();
+		int compare = getDate().getDate().compareTo(o.getDate().getDate());
+		if (compare != 0) {
+			return compare;
+		}
+		return getIdNoKind().compareTo(o.getIdNoKind());
 	}
 
 	@Override
@@ -0,0 +1,97 @@
+package gov.uspto.patent.model.classification;
+
+import java.text.ParseException;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Classification Cache
+ *
+ * <p>
+ * Bounded, concurrent cache of parsed classification symbols, keyed on the
+ * symbol text. The cached classification is a flyweight, parsed once and never
+ * modified; classifications parsing the same text take its fields and share its
+ * normalized text, facets and search tokens, which are computed once.
+ * </p>
+ *
+ * <p>
+ * Text which fails to parse is cached as well, and fails again without
+ * re-parsing.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+class ClassificationCache<T extends PatentClassification> {
+
+	/**
+	 * Symbols cached per classification type, about the number of CPC symbols.
+	 */
+	static final int MAX_SIZE = 300_000;
+
+	private final Cache<String, Entry<T>> cache;
+	private final Parser<T> parser;
+
+	/**
+	 * @param parser - parses text into a new classification
+	 */
+	ClassificationCache(Parser<T> parser) {
+		this.parser = parser;
+		this.cache = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).concurrencyLevel(8).build();
+	}
+
+	/**
+	 * Shared parsed classification.
+	 *
+	 * @param text
+	 * @return parsed classification, must not be modified
+	 * @throws ParseException
+	 */
+	T get(String text) throws ParseException {
+		Entry<T> entry;
+		try {
+			entry = cache.get(text, () -> parse(text));
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			throw new IllegalStateException("Failed to parse classification: " + text, e.getCause());
+		}
+
+		if (entry.error != null) {
+			throw new ParseException(entry.error, 0);
+		}
+		return entry.parsed;
+	}
+
+	private Entry<T> parse(String text) {
+		try {
+			return new Entry<T>(parser.parse(text), null);
+		} catch (ParseException e) {
+			return new Entry<T>(null, e.getMessage());
+		}
+	}
+
+	long size() {
+		return cache.size();
+	}
+
+	void clear() {
+		cache.invalidateAll();
+	}
+
+	@FunctionalInterface
+	interface Parser<T> {
+		T parse(String text) throws ParseException;
+	}
+
+	private static class Entry<T> {
+		private final T parsed;
+		private final String error;
+
+		private Entry(T parsed, String error) {
+			this.parsed = parsed;
+			this.error = error;
+		}
+	}
+}
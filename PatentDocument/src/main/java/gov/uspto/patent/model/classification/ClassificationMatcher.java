@@ -0,0 +1,185 @@
+package gov.uspto.patent.model.classification;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.google.common.base.Strings;
+
+/**
+ * Classification Matcher
+ *
+ * <p>
+ * Compiled predicate over many wanted classifications, a trie per
+ * classification type keyed on the normalized symbol parts, for CPC and IPC:
+ * section, class, subclass, main group and subgroup; for USPC: class and
+ * subclass. A classification matches when a wanted classification is the same
+ * or one of its ancestors, "H04N" matches "H04N5/225", checked with a single walk
+ * down the trie whatever the number of wanted classifications.
+ * </p>
+ *
+ * <p>
+ * Symbol parts are read from the parsed fields, no tree or text is built per
+ * check. Ranges match on their first symbol. Other classification types match
+ * on equal normalized text.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * 	ClassificationMatcher matcher = ClassificationMatcher.fromText(wantedCpcStrs, CpcClassification.class);
+ * 	patent.getClassification().stream().anyMatch(matcher);
+ * }
+ * </pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class ClassificationMatcher implements Predicate<PatentClassification> {
+
+	private final Map<ClassificationType, TrieNode> roots = new EnumMap<ClassificationType, TrieNode>(
+			ClassificationType.class);
+	private int size = 0;
+
+	public ClassificationMatcher(Iterable<? extends PatentClassification> wantedClasses) {
+		for (PatentClassification wantedClass : wantedClasses) {
+			add(wantedClass);
+		}
+	}
+
+	public static <T extends PatentClassification> ClassificationMatcher fromText(Iterable<String> wantedClassStrs,
+			Class<T> classificationClass) {
+		return new ClassificationMatcher(PatentClassification.fromText(wantedClassStrs, classificationClass));
+	}
+
+	private void add(PatentClassification wantedClass) {
+		String[] parts = parts(wantedClass);
+		if (parts.length == 0) {
+			return;
+		}
+
+		TrieNode node = roots.computeIfAbsent(wantedClass.getType(), type -> new TrieNode());
+		for (String part : parts) {
+			node = node.children.computeIfAbsent(part, p -> new TrieNode());
+		}
+		if (!node.wanted) {
+			node.wanted = true;
+			size++;
+		}
+	}
+
+	/**
+	 * Number of distinct wanted classifications.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean test(PatentClassification check) {
+		if (check == null) {
+			return false;
+		}
+
+		TrieNode node = roots.get(check.getType());
+		if (node == null) {
+			return false;
+		}
+
+		for (String part : parts(check)) {
+			node = node.children.get(part);
+			if (node == null) {
+				return false;
+			}
+			if (node.wanted) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Any classification of a patent matches.
+	 *
+	 * @param classes
+	 * @return
+	 */
+	public boolean matchesAny(Collection<? extends PatentClassification> classes) {
+		for (PatentClassification check : classes) {
+			if (test(check)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Normalized symbol parts, from the top of the hierarchy down; padded the same
+	 * as the classification's tree.
+	 */
+	static String[] parts(PatentClassification clazz) {
+		if (clazz instanceof CpcClassification) {
+			CpcClassification cpc = (CpcClassification) clazz;
+			if (cpc.isParseFailed()) {
+				return new String[0];
+			}
+			return trim(cpc.getSection(), padStart(cpc.getMainClass(), 2), padEnd(cpc.getSubClass(), 3),
+					padStart(first(cpc.getMainGroup()), 3), padEnd(first(cpc.getSubGroup()), 4));
+		} else if (clazz instanceof IpcClassification) {
+			IpcClassification ipc = (IpcClassification) clazz;
+			if (ipc.isParseFailed()) {
+				return new String[0];
+			}
+			return trim(ipc.getSection(), padStart(ipc.getMainClass(), 2), padEnd(ipc.getSubClass(), 3),
+					padStart(ipc.getMainGroup(), 3), padEnd(ipc.getSubGroup(), 4));
+		} else if (clazz instanceof UspcClassification) {
+			UspcClassification uspc = (UspcClassification) clazz;
+			if (uspc.isParseFailed()) {
+				return new String[0];
+			}
+			return trim(padStart(uspc.getMainClass(), 3), padStart(first(uspc.getSubClass()), 3));
+		}
+
+		String text = clazz.getTextNormalized();
+		return text != null && !text.isEmpty() ? new String[] { text } : new String[0];
+	}
+
+	/**
+	 * Parts up to the first missing part.
+	 */
+	private static String[] trim(String... parts) {
+		int length = 0;
+		while (length < parts.length && parts[length] != null && !parts[length].isEmpty()) {
+			length++;
+		}
+		if (length == parts.length) {
+			return parts;
+		}
+		String[] trimmed = new String[length];
+		System.arraycopy(parts, 0, trimmed, 0, length);
+		return trimmed;
+	}
+
+	private static String first(String[] values) {
+		return values != null && values.length > 0 ? values[0] : null;
+	}
+
+	private static String padStart(String value, int length) {
+		return value != null ? Strings.padStart(value, length, '0') : null;
+	}
+
+	private static String padEnd(String value, int length) {
+		return value != null ? Strings.padEnd(value, length, '0') : null;
+	}
+
+	private static class TrieNode {
+		private final Map<String, TrieNode> children = new HashMap<String, TrieNode>(4);
+		private boolean wanted = false;
+	}
+
+	@Override
+	public String toString() {
+		return "ClassificationMatcher [types=" + roots.keySet() + ", size=" + size + "]";
+	}
+}
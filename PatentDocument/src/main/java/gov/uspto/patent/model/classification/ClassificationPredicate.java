@@ -1,6 +1,5 @@
 package gov.uspto.patent.model.classification;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -36,17 +35,13 @@ public class ClassificationPredicate {
 		return p -> p.getType() == wantedClass.getType() && wantedClass.isContained(p);
 	}
 
+	/**
+	 * Contained by any of the wanted classifications, compiled into a single
+	 * {@link ClassificationMatcher}.
+	 */
 	public static <T extends PatentClassification> Predicate<PatentClassification> isContained(
 			Iterable<T> wantedClasses) {
-		Predicate<PatentClassification> predicate = null;
-		Iterator<T> classIt = wantedClasses.iterator();
-		if (classIt.hasNext()) {
-			predicate = isContained(classIt.next());
-		}
-		while (classIt.hasNext()) {
-			predicate.or(isContained(classIt.next()));
-		}
-		return predicate;
+		return new ClassificationMatcher(wantedClasses);
 	}
 
 	public static <T extends PatentClassification> Predicate<PatentClassification> isContained(
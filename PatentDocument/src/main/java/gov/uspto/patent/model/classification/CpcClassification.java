@@ -91,6 +91,13 @@ public class CpcClassification extends PatentClassification {
 
 	private static Logger LOGGER = LoggerFactory.getLogger(CpcClassification.class);
 
+	private static final ClassificationCache<CpcClassification> CACHE = new ClassificationCache<CpcClassification>(
+			text -> {
+				CpcClassification parsed = new CpcClassification(text, false);
+				parsed.parse(text);
+				return parsed;
+			});
+
 	private final static Pattern REGEX = Pattern.compile(
 			"^(?<section>[A-HY])(?<mainClass>\\d\\d)(?<subClass>[A-Z])\\s{0,2}(?<mainGroup1>\\d{1,4})/?(?<subGroup1>\\d{2,6})(-(?<mainGroup2>\\d{1,4})/(?<subGroup2>\\d{2,6})|-(?<subGroup2SameMain>\\d{2,6}))?$");
 
@@ -124,6 +131,7 @@ public class CpcClassification extends PatentClassification {
 
 	public void setSection(String section) {
 		this.section = section;
+		unshare();
 	}
 
 	public String getMainClass() {
@@ -132,6 +140,7 @@ public class CpcClassification extends PatentClassification {
 
 	public void setMainClass(String mainClass) {
 		this.mainClass = mainClass;
+		unshare();
 	}
 
 	public String getSubClass() {
@@ -140,6 +149,7 @@ public class CpcClassification extends PatentClassification {
 
 	public void setSubClass(String subClass) {
 		this.subClass = subClass;
+		unshare();
 	}
 
 	public String[] getMainGroup() {
@@ -148,6 +158,7 @@ public class CpcClassification extends PatentClassification {
 
 	public void setMainGroup(String[] mainGroup) {
 		this.mainGroup = mainGroup;
+		unshare();
 	}
 
 	public String[] getSubGroup() {
@@ -156,6 +167,7 @@ public class CpcClassification extends PatentClassification {
 
 	public void setSubGroup(String[] subGroup) {
 		this.subGroup = subGroup;
+		unshare();
 	}
 
 	/**
@@ -166,6 +178,11 @@ public class CpcClassification extends PatentClassification {
 	 */
 	@Override
 	public String getTextNormalized() {
+		String sharedText = sharedTextNormalized();
+		if (sharedText != null) {
+			return sharedText;
+		}
+
 		if (parseFailed) {
 			return super.getTextOriginal() + "__parseFailed";
 		}
@@ -208,6 +225,11 @@ public class CpcClassification extends PatentClassification {
 
 	@Override
 	public List<String> getSearchTokens() {
+		List<String> sharedTokens = sharedSearchTokens();
+		if (sharedTokens != null) {
+			return sharedTokens;
+		}
+
 		return getTree().getLeafPaths("").stream().map(c -> String.format("%1$-16s", c).replace(' ', '0'))
 				.collect(Collectors.toList());
 	}
@@ -382,6 +404,27 @@ public class CpcClassification extends PatentClassification {
 	 */
 	@Override
 	public void parseText(final String classificationStr) throws ParseException {
+		CpcClassification parsed;
+		try {
+			parsed = CACHE.get(classificationStr);
+		} catch (ParseException e) {
+			parseFailed = true;
+			throw e;
+		}
+
+		this.section = parsed.section;
+		this.mainClass = parsed.mainClass;
+		this.subClass = parsed.subClass;
+		this.mainGroup = parsed.mainGroup;
+		this.subGroup = parsed.subGroup;
+		this.parseFailed = false;
+		share(parsed);
+	}
+
+	/**
+	 * Parse with regex, called once per distinct text through the cache.
+	 */
+	private void parse(final String classificationStr) throws ParseException {
 
 		Matcher matcher = REGEX.matcher(classificationStr);
 		if (classificationStr.length() > 4 && matcher.matches()) {
@@ -97,7 +97,7 @@ public class DwpiClassification extends PatentClassification {
 																						// Subgroup, division,
 																						// subdivision, extra letter.
 
-	DwpiClassification(String originalText) {
+	public DwpiClassification(String originalText) {
 		super(originalText, false);
 	}
 
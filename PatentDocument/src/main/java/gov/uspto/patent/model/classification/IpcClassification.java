@@ -44,6 +44,13 @@ public class IpcClassification extends PatentClassification {
 
 	private static Logger LOGGER = LoggerFactory.getLogger(IpcClassification.class);
 
+	private static final ClassificationCache<IpcClassification> CACHE = new ClassificationCache<IpcClassification>(
+			text -> {
+				IpcClassification parsed = new IpcClassification(text, false);
+				parsed.parse(text);
+				return parsed;
+			});
+
 	private final static Pattern REGEX_OLD = Pattern
 			.compile("^([A-HY])\\s?(\\d\\d)([A-Z])\\s?(\\d\\s?\\d{1,3})/?(\\d{2,})$");
 
@@ -77,6 +84,7 @@ public class IpcClassification extends PatentClassification {
 
 	public void setSection(String section) {
 		this.section = section;
+		unshare();
 	}
 
 	public String getMainClass() {
@@ -85,6 +93,7 @@ public class IpcClassification extends PatentClassification {
 
 	public void setMainClass(String mainClass) {
 		this.mainClass = mainClass;
+		unshare();
 	}
 
 	public String getSubClass() {
@@ -93,6 +102,7 @@ public class IpcClassification extends PatentClassification {
 
 	public void setSubClass(String subClass) {
 		this.subClass = subClass;
+		unshare();
 	}
 
 	public String getMainGroup() {
@@ -101,6 +111,7 @@ public class IpcClassification extends PatentClassification {
 
 	public void setMainGroup(String mainGroup) {
 		this.mainGroup = mainGroup;
+		unshare();
 	}
 
 	public String getSubGroup() {
@@ -109,6 +120,7 @@ public class IpcClassification extends PatentClassification {
 
 	public void setSubGroup(String subGroup) {
 		this.subGroup = subGroup;
+		unshare();
 	}
 
 	public String[] getParts() {
@@ -130,6 +142,11 @@ public class IpcClassification extends PatentClassification {
 
 	@Override
 	public String getTextNormalized() {
+		String sharedText = sharedTextNormalized();
+		if (sharedText != null) {
+			return sharedText;
+		}
+
 		if (parseFailed) {
 			return super.getTextOriginal() + "__parseFailed";
 		}
@@ -268,6 +285,27 @@ public class IpcClassification extends PatentClassification {
 	 */
 	@Override
 	public void parseText(final String classificationStr) throws ParseException {
+		IpcClassification parsed;
+		try {
+			parsed = CACHE.get(classificationStr);
+		} catch (ParseException e) {
+			parseFailed = true;
+			throw e;
+		}
+
+		this.section = parsed.section;
+		this.mainClass = parsed.mainClass;
+		this.subClass = parsed.subClass;
+		this.mainGroup = parsed.mainGroup;
+		this.subGroup = parsed.subGroup;
+		this.parseFailed = false;
+		share(parsed);
+	}
+
+	/**
+	 * Parse with regex, called once per distinct text through the cache.
+	 */
+	private void parse(final String classificationStr) throws ParseException {
 
 		Matcher matcher = REGEX_OLD.matcher(classificationStr);
 		if (matcher.matches()) {
@@ -26,11 +26,84 @@ public abstract class PatentClassification implements Classification {
 	private final String originalText;
 	private final boolean mainOrInventive;
 
+	/*
+	 * Cached parse of the same symbol text, its derived text is computed once and
+	 * shared; dropped when a field is set directly.
+	 */
+	private PatentClassification shared;
+	private volatile String sharedTextNormalized;
+	private volatile List<String> sharedSearchTokens;
+	private volatile List<String> sharedFacets;
+
 	PatentClassification(String originalText, boolean mainOrInventive){
 		this.originalText = originalText;
 		this.mainOrInventive = mainOrInventive;
 	}
 
+	/**
+	 * Share derived text of a cached classification of the same symbol.
+	 * 
+	 * @param parsed - cached classification, never modified
+	 */
+	void share(PatentClassification parsed) {
+		this.shared = parsed;
+	}
+
+	/**
+	 * Field set directly, derived text is no longer shared.
+	 */
+	void unshare() {
+		this.shared = null;
+	}
+
+	/**
+	 * @return normalized text of the shared classification, or null when not shared
+	 */
+	String sharedTextNormalized() {
+		if (shared == null) {
+			return null;
+		}
+		String text = shared.sharedTextNormalized;
+		if (text == null) {
+			text = shared.getTextNormalized();
+			shared.sharedTextNormalized = text;
+		}
+		return text;
+	}
+
+	/**
+	 * @return search tokens of the shared classification, or null when not shared
+	 */
+	List<String> sharedSearchTokens() {
+		if (shared == null) {
+			return null;
+		}
+		List<String> tokens = shared.sharedSearchTokens;
+		if (tokens == null) {
+			tokens = Collections.unmodifiableList(shared.getSearchTokens());
+			shared.sharedSearchTokens = tokens;
+		}
+		return tokens;
+	}
+
+	/**
+	 * Leaf facets of the classification tree; computed once per symbol when parsed
+	 * from text.
+	 * 
+	 * @return facets, not modifiable
+	 */
+	public List<String> getFacets() {
+		if (shared == null) {
+			return Collections.unmodifiableList(getTree().getLeafFacets());
+		}
+		List<String> facets = shared.sharedFacets;
+		if (facets == null) {
+			facets = Collections.unmodifiableList(shared.getTree().getLeafFacets());
+			shared.sharedFacets = facets;
+		}
+		return facets;
+	}
+
 	@Override
 	public String getTextOriginal() {
 		return originalText;
@@ -66,10 +139,11 @@ public abstract class PatentClassification implements Classification {
 		List<T> retClasses = new ArrayList<T>();
 		for (String textClass : classificationStrings) {
 			try {
-				T classification = classificationClass.newInstance();
+				T classification = classificationClass.getConstructor(String.class, boolean.class)
+						.newInstance(textClass, false);
 				classification.parseText(textClass);
 				retClasses.add(classification);
-			} catch (ParseException | InstantiationException | IllegalAccessException e) {
+			} catch (ParseException | ReflectiveOperationException e) {
 				LOGGER.error("Failed to parse provided Classification: " + textClass, e);
 			}
 		}
@@ -129,7 +203,7 @@ public abstract class PatentClassification implements Classification {
 		Set<PatentClassification> filtered = filter(classes, isType(wantedType));
 		Set<String> facets = new LinkedHashSet<String>();
 		for (PatentClassification clazz : filtered) {
-			facets.addAll(clazz.getTree().getLeafFacets());
+			facets.addAll(clazz.getFacets());
 		}
 		return facets;
 	}
@@ -140,7 +214,7 @@ public abstract class PatentClassification implements Classification {
 		}
 		Set<String> facets = new TreeSet<String>();
 		for (PatentClassification clazz : classes) {
-			facets.addAll(clazz.getTree().getLeafFacets());
+			facets.addAll(clazz.getFacets());
 		}
 		return facets;
 	}
@@ -67,6 +67,13 @@ public class UspcClassification extends PatentClassification {
 
 	private static Logger LOGGER = LoggerFactory.getLogger(UspcClassification.class);
 
+	private static final ClassificationCache<UspcClassification> CACHE = new ClassificationCache<UspcClassification>(
+			text -> {
+				UspcClassification parsed = new UspcClassification(text, false);
+				parsed.parse(text);
+				return parsed;
+			});
+
 	private final static Pattern REGEX = Pattern
 			.compile("^(?<mainClass>[^/]{3}|[^/]{1,2}(?=/))/?(?<subClass>[^/]{3})\\.?(?<subClassIndent>[^\\.]{0,5})$");
 	private final static Pattern SUBGROUP_RANGE = Pattern.compile("-([^/]{3})\\.?([^\\.]{0,4})$");
@@ -90,6 +97,7 @@ public class UspcClassification extends PatentClassification {
 
 	public void setMainClass(String mainClass) {
 		this.mainClass = mainClass;
+		unshare();
 	}
 
 	public String getMainClass() {
@@ -111,6 +119,7 @@ public class UspcClassification extends PatentClassification {
 	 */
 	public void setSubClass(String[] subClass) {
 		this.subClass = subClass;
+		unshare();
 	}
 
 	/**
@@ -120,6 +129,11 @@ public class UspcClassification extends PatentClassification {
 	 */
 	@Override
 	public String getTextNormalized() {
+		String sharedText = sharedTextNormalized();
+		if (sharedText != null) {
+			return sharedText;
+		}
+
 		if (parseFailed) {
 			return super.getTextOriginal() + "__parseFailed";
 		}
@@ -147,6 +161,11 @@ public class UspcClassification extends PatentClassification {
 	}
 
 	public List<String> getSearchTokens() {
+		List<String> sharedTokens = sharedSearchTokens();
+		if (sharedTokens != null) {
+			return sharedTokens;
+		}
+
 		// List<String> list = new ArrayList<String>(1);
 		// list.add(getTextNormalized());
 		// return list;
@@ -191,6 +210,24 @@ public class UspcClassification extends PatentClassification {
 	 */
 	@Override
 	public void parseText(final String classificationStr) throws ParseException {
+		UspcClassification parsed;
+		try {
+			parsed = CACHE.get(classificationStr);
+		} catch (ParseException e) {
+			parseFailed = true;
+			throw e;
+		}
+
+		this.mainClass = parsed.mainClass;
+		this.subClass = parsed.subClass;
+		this.parseFailed = false;
+		share(parsed);
+	}
+
+	/**
+	 * Parse with regex, called once per distinct text through the cache.
+	 */
+	private void parse(final String classificationStr) throws ParseException {
 
 		String input = classificationStr.toUpperCase().replace(' ', '0').replaceAll("(DIG|FOR)0", "$1");
 
@@ -74,6 +74,11 @@ public class Assignee extends Entity {
 		return partInterest;
 	}
 
+	public void setRole(final RoleType roleType, final boolean partInterest) {
+		this.roleType = roleType;
+		this.partInterest = partInterest;
+	}
+
 	public void setRole(final String roleType) throws InvalidDataException {
 
 		if (roleType == null || roleType.trim().length() == 0) {
@@ -0,0 +1,218 @@
+package gov.uspto.patent.serialize.arrow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import gov.uspto.patent.model.DocumentDate;
+
+/**
+ * Arrow Table, a single Arrow IPC file written in record batches.
+ *
+ * <p>
+ * Rows are set column by column, columns not set on a row are written null.
+ * Ended rows are kept until committed, or discarded on rollback; a batch is
+ * written once batchSize rows are committed. Record batch buffers are ZSTD
+ * compressed.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+class ArrowTable implements Closeable {
+
+	private final Path file;
+	private final VectorSchemaRoot root;
+	private final ArrowFileWriter writer;
+	private final int batchSize;
+	private final boolean[] rowSet;
+	private int row = 0;
+	private int committedRow = 0;
+	private long rowCount = 0;
+
+	ArrowTable(BufferAllocator allocator, Path file, Schema schema, int batchSize) throws IOException {
+		this.file = file;
+		this.batchSize = batchSize;
+		this.root = VectorSchemaRoot.create(schema, allocator);
+		this.root.allocateNew();
+		this.rowSet = new boolean[schema.getFields().size()];
+
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.writer = new ArrowFileWriter(root, null, channel, null, IpcOption.DEFAULT,
+				CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD);
+		this.writer.start();
+	}
+
+	void set(int column, String value) {
+		if (value != null) {
+			((VarCharVector) root.getVector(column)).setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+			rowSet[column] = true;
+		} else {
+			setNull(column);
+		}
+	}
+
+	void set(int column, Enum<?> value) {
+		set(column, value != null ? value.toString() : null);
+	}
+
+	void set(int column, int value) {
+		((IntVector) root.getVector(column)).setSafe(row, value);
+		rowSet[column] = true;
+	}
+
+	void set(int column, boolean value) {
+		((BitVector) root.getVector(column)).setSafe(row, value ? 1 : 0);
+		rowSet[column] = true;
+	}
+
+	void set(int column, DocumentDate value) {
+		if (value != null && value.getDate() != null) {
+			((DateDayVector) root.getVector(column)).setSafe(row, (int) value.getDate().toEpochDay());
+			rowSet[column] = true;
+		} else {
+			setNull(column);
+		}
+	}
+
+	/**
+	 * Null, clearing any value left by a rolled back row.
+	 */
+	private void setNull(int column) {
+		root.getVector(column).setNull(row);
+		rowSet[column] = true;
+	}
+
+	/**
+	 * End current row, columns not set are null.
+	 */
+	void endRow() {
+		for (int column = 0; column < rowSet.length; column++) {
+			if (!rowSet[column]) {
+				setNull(column);
+			}
+		}
+		Arrays.fill(rowSet, false);
+		row++;
+	}
+
+	/**
+	 * Commit ended rows, writing a record batch when full.
+	 *
+	 * @throws IOException
+	 */
+	void commit() throws IOException {
+		committedRow = row;
+		if (row >= batchSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Discard rows since the last commit, including a partially set row.
+	 */
+	void rollback() {
+		row = committedRow;
+		Arrays.fill(rowSet, false);
+		for (FieldVector vector : root.getFieldVectors()) {
+			if (vector instanceof BaseVariableWidthVector) {
+				// values are appended after the last set row.
+				((BaseVariableWidthVector) vector).setLastSet(row - 1);
+			}
+		}
+	}
+
+	private void flush() throws IOException {
+		if (committedRow == 0) {
+			return;
+		}
+		root.setRowCount(committedRow);
+		writer.writeBatch();
+		rowCount += committedRow;
+		row = 0;
+		committedRow = 0;
+		root.allocateNew();
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Rows committed, including rows of the current batch.
+	 */
+	public long getRowCount() {
+		return rowCount + committedRow;
+	}
+
+	/**
+	 * Write committed rows and the file footer, rows not committed are discarded.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			rollback();
+			flush();
+			writer.end();
+		} finally {
+			writer.close();
+			root.close();
+		}
+	}
+
+	static Builder schema() {
+		return new Builder();
+	}
+
+	static class Builder {
+		private final List<Field> fields = new ArrayList<Field>();
+
+		Builder text(String name) {
+			fields.add(Field.nullable(name, ArrowType.Utf8.INSTANCE));
+			return this;
+		}
+
+		Builder integer(String name) {
+			fields.add(Field.nullable(name, new ArrowType.Int(32, true)));
+			return this;
+		}
+
+		Builder bool(String name) {
+			fields.add(Field.nullable(name, ArrowType.Bool.INSTANCE));
+			return this;
+		}
+
+		Builder date(String name) {
+			fields.add(Field.nullable(name, new ArrowType.Date(DateUnit.DAY)));
+			return this;
+		}
+
+		Schema build() {
+			return new Schema(fields);
+		}
+	}
+}
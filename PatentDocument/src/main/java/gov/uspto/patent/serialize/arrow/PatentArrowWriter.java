@@ -0,0 +1,332 @@
+package gov.uspto.patent.serialize.arrow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import gov.uspto.patent.model.Citation;
+import gov.uspto.patent.model.Claim;
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.NplCitation;
+import gov.uspto.patent.model.PatCitation;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.model.classification.PatentClassification;
+import gov.uspto.patent.model.entity.Entity;
+import gov.uspto.patent.model.entity.NamePerson;
+import gov.uspto.patent.serialize.DocumentBuilder;
+
+/**
+ * Write Patents as columnar Apache Arrow IPC files, a file per table:
+ *
+ * <p>
+ * <ul>
+ * <li>{name}.patent.arrow: bibliographic fields, title, abstract and
+ * description plain text</li>
+ * <li>{name}.docid.arrow: priority, related, other and reference ids</li>
+ * <li>{name}.classification.arrow: original and search classifications</li>
+ * <li>{name}.citation.arrow: patent and non-patent citations</li>
+ * <li>{name}.entity.arrow: inventors, applicants, assignees, agents and
+ * examiners</li>
+ * <li>{name}.claim.arrow: claims plain text</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Child tables are keyed on doc_id. A patent's rows are added to every table or
+ * to none, when a patent fails part way its rows are rolled back. Rows are
+ * written in record batches of batchSize rows, compressed with ZSTD. The files
+ * are readable by any Arrow implementation, such as pyarrow, DuckDB, Polars or
+ * Spark.
+ * </p>
+ *
+ * <p>
+ * As a {@link DocumentBuilder} the writer is not used, each patent is appended
+ * to the table files; close to write the last batch and the file footers.
+ * </p>
+ *
+ * <p>
+ * Arrow memory on Java 9+ requires the JVM option
+ * --add-opens=java.base/java.nio=ALL-UNNAMED
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * try (PatentArrowWriter arrowWriter = new PatentArrowWriter(outputDir, "ipg180102")) {
+ *     arrowWriter.add(patent);
+ * }
+ * }
+ * </pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class PatentArrowWriter implements DocumentBuilder<Patent>, Closeable {
+
+	public static final String FILE_EXT = ".arrow";
+	public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+	static final Schema PATENT_SCHEMA = ArrowTable.schema().text("doc_id").text("country").text("doc_number")
+			.text("kind").text("patent_type").text("patent_corpus").date("doc_date").date("published_date")
+			.text("application_id").date("application_date").text("title").text("abstract").text("description")
+			.build();
+
+	static final Schema DOCID_SCHEMA = ArrowTable.schema().text("doc_id").text("field").text("id").text("country")
+			.text("kind").date("date").build();
+
+	static final Schema CLASSIFICATION_SCHEMA = ArrowTable.schema().text("doc_id").text("field").text("type")
+			.text("text").text("normalized").bool("main").build();
+
+	static final Schema CITATION_SCHEMA = ArrowTable.schema().text("doc_id").text("num").text("type")
+			.text("cited_by").text("cited_id").text("text").build();
+
+	static final Schema ENTITY_SCHEMA = ArrowTable.schema().text("doc_id").text("role").text("name")
+			.text("name_normalized").text("first_name").text("last_name").text("city").text("state")
+			.text("country").build();
+
+	static final Schema CLAIM_SCHEMA = ArrowTable.schema().text("doc_id").text("claim_id").text("claim_type")
+			.text("parent_ids").integer("tree_level").text("text").build();
+
+	private final BufferAllocator allocator;
+	private final Map<String, ArrowTable> tables = new LinkedHashMap<String, ArrowTable>();
+	private final ArrowTable patentTable;
+	private final ArrowTable docIdTable;
+	private final ArrowTable classTable;
+	private final ArrowTable citationTable;
+	private final ArrowTable entityTable;
+	private final ArrowTable claimTable;
+
+	public PatentArrowWriter(Path outputDir, String name) throws IOException {
+		this(outputDir, name, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * @param outputDir - directory to create table files in
+	 * @param name      - table file name prefix
+	 * @param batchSize - rows per record batch
+	 * @throws IOException
+	 */
+	public PatentArrowWriter(Path outputDir, String name, int batchSize) throws IOException {
+		this.allocator = new RootAllocator();
+		try {
+			patentTable = openTable(outputDir, name, "patent", PATENT_SCHEMA, batchSize);
+			docIdTable = openTable(outputDir, name, "docid", DOCID_SCHEMA, batchSize);
+			classTable = openTable(outputDir, name, "classification", CLASSIFICATION_SCHEMA, batchSize);
+			citationTable = openTable(outputDir, name, "citation", CITATION_SCHEMA, batchSize);
+			entityTable = openTable(outputDir, name, "entity", ENTITY_SCHEMA, batchSize);
+			claimTable = openTable(outputDir, name, "claim", CLAIM_SCHEMA, batchSize);
+		} catch (IOException | RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	private ArrowTable openTable(Path outputDir, String name, String tableName, Schema schema, int batchSize)
+			throws IOException {
+		ArrowTable table = new ArrowTable(allocator, outputDir.resolve(name + "." + tableName + FILE_EXT), schema,
+				batchSize);
+		tables.put(tableName, table);
+		return table;
+	}
+
+	/**
+	 * Append Patent to the table files; writer is not used.
+	 */
+	@Override
+	public void write(Patent patent, Writer writer) throws IOException {
+		add(patent);
+	}
+
+	/**
+	 * Append Patent rows to every table, or on failure to none.
+	 *
+	 * @param patent
+	 * @throws IOException
+	 */
+	public synchronized void add(Patent patent) throws IOException {
+		try {
+			String docId = patent.getDocumentId().toText();
+
+			writePatent(docId, patent);
+
+			writeDocIds(docId, "priority", patent.getPriorityIds());
+			writeDocIds(docId, "related", patent.getRelationIds());
+			writeDocIds(docId, "other", patent.getOtherIds());
+			writeDocIds(docId, "reference", patent.getReferenceIds());
+
+			writeClassifications(docId, "original", patent.getClassification());
+			writeClassifications(docId, "search", patent.getSearchClassification());
+
+			writeCitations(docId, patent.getCitations());
+
+			writeEntities(docId, patent.getInventors());
+			writeEntities(docId, patent.getApplicants());
+			writeEntities(docId, patent.getAssignee());
+			writeEntities(docId, patent.getAgent());
+			writeEntities(docId, patent.getExaminers());
+
+			writeClaims(docId, patent.getClaims());
+		} catch (RuntimeException e) {
+			for (ArrowTable table : tables.values()) {
+				table.rollback();
+			}
+			throw e;
+		}
+
+		for (ArrowTable table : tables.values()) {
+			table.commit();
+		}
+	}
+
+	private void writePatent(String docId, Patent patent) {
+		DocumentId documentId = patent.getDocumentId();
+		patentTable.set(0, docId);
+		patentTable.set(1, documentId.getCountryCode());
+		patentTable.set(2, documentId.getDocNumber());
+		patentTable.set(3, documentId.getKindCode());
+		patentTable.set(4, patent.getPatentType());
+		patentTable.set(5, patent.getPatentCorpus());
+		patentTable.set(6, patent.getDocumentDate());
+		patentTable.set(7, patent.getDatePublished());
+		if (patent.getApplicationId() != null) {
+			patentTable.set(8, patent.getApplicationId().toText());
+		}
+		patentTable.set(9, patent.getApplicationDate());
+		patentTable.set(10, patent.getTitle());
+		if (patent.getAbstract() != null) {
+			patentTable.set(11, patent.getAbstract().getPlainText());
+		}
+		if (patent.getDescription() != null) {
+			patentTable.set(12, patent.getDescription().getAllPlainText());
+		}
+		patentTable.endRow();
+	}
+
+	private void writeDocIds(String docId, String field, Collection<DocumentId> ids) {
+		for (DocumentId id : ids) {
+			if (id == null) {
+				continue;
+			}
+			docIdTable.set(0, docId);
+			docIdTable.set(1, field);
+			docIdTable.set(2, id.toText());
+			docIdTable.set(3, id.getCountryCode());
+			docIdTable.set(4, id.getKindCode());
+			docIdTable.set(5, id.getDate());
+			docIdTable.endRow();
+		}
+	}
+
+	private void writeClassifications(String docId, String field, Collection<PatentClassification> classes) {
+		for (PatentClassification clazz : classes) {
+			classTable.set(0, docId);
+			classTable.set(1, field);
+			classTable.set(2, clazz.getType());
+			classTable.set(3, clazz.toText());
+			classTable.set(4, clazz.getTextNormalized());
+			classTable.set(5, clazz.isMainOrInventive());
+			classTable.endRow();
+		}
+	}
+
+	private void writeCitations(String docId, Collection<Citation> citations) {
+		for (Citation citation : citations) {
+			citationTable.set(0, docId);
+			citationTable.set(1, citation.getNum());
+			citationTable.set(2, citation.getCitType());
+			citationTable.set(3, citation.getCitedBy());
+			if (citation instanceof PatCitation) {
+				DocumentId citedId = ((PatCitation) citation).getDocumentId();
+				if (citedId != null) {
+					citationTable.set(4, citedId.toText());
+				}
+			} else if (citation instanceof NplCitation) {
+				NplCitation nplCitation = (NplCitation) citation;
+				if (nplCitation.getPatentId() != null) {
+					citationTable.set(4, nplCitation.getPatentId().toText());
+				}
+				citationTable.set(5, nplCitation.getCiteText());
+			}
+			citationTable.endRow();
+		}
+	}
+
+	private void writeEntities(String docId, Collection<? extends Entity> entities) {
+		for (Entity entity : entities) {
+			entityTable.set(0, docId);
+			entityTable.set(1, entity.getEntityType());
+			if (entity.getName() != null) {
+				entityTable.set(2, entity.getName().getName());
+				entityTable.set(3, entity.getName().getNameNormalizeCase());
+				if (entity.getName() instanceof NamePerson) {
+					NamePerson name = (NamePerson) entity.getName();
+					entityTable.set(4, name.getFirstName());
+					entityTable.set(5, name.getLastName());
+				}
+			}
+			if (entity.getAddress() != null) {
+				entityTable.set(6, entity.getAddress().getCity());
+				entityTable.set(7, entity.getAddress().getState());
+				entityTable.set(8, entity.getAddress().getCountry());
+			}
+			entityTable.endRow();
+		}
+	}
+
+	private void writeClaims(String docId, Collection<Claim> claims) {
+		for (Claim claim : claims) {
+			if (claim == null) {
+				continue;
+			}
+			claimTable.set(0, docId);
+			claimTable.set(1, claim.getId());
+			claimTable.set(2, claim.getClaimType());
+			if (claim.getDependentIds() != null && !claim.getDependentIds().isEmpty()) {
+				claimTable.set(3, String.join(" ", claim.getDependentIds()));
+			}
+			claimTable.set(4, claim.getClaimTreeLevel());
+			claimTable.set(5, claim.getPlainText());
+			claimTable.endRow();
+		}
+	}
+
+	/**
+	 * Rows written per table, keyed on table name.
+	 */
+	public synchronized Map<String, Long> getRowCounts() {
+		Map<String, Long> counts = new LinkedHashMap<String, Long>();
+		for (Map.Entry<String, ArrowTable> entry : tables.entrySet()) {
+			counts.put(entry.getKey(), entry.getValue().getRowCount());
+		}
+		return counts;
+	}
+
+	/**
+	 * Write the last record batches and file footers.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		IOException error = null;
+		for (ArrowTable table : tables.values()) {
+			try {
+				table.close();
+			} catch (IOException e) {
+				if (error == null) {
+					error = e;
+				}
+			}
+		}
+		tables.clear();
+		allocator.close();
+		if (error != null) {
+			throw error;
+		}
+	}
+}
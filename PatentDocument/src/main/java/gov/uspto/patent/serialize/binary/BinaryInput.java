@@ -0,0 +1,133 @@
+package gov.uspto.patent.serialize.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reads a binary record written by {@link BinaryOutput}.
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+class BinaryInput {
+
+	private final byte[] buf;
+	private final int end;
+	private int pos;
+
+	BinaryInput(byte[] buf, int offset, int length) {
+		this.buf = buf;
+		this.pos = offset;
+		this.end = offset + length;
+	}
+
+	private void require(int length) throws EOFException {
+		if (length < 0 || end - pos < length) {
+			throw new EOFException("Truncated binary record");
+		}
+	}
+
+	int readByte() throws IOException {
+		require(1);
+		return buf[pos++] & 0xFF;
+	}
+
+	boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length int");
+	}
+
+	int readInt() throws IOException {
+		int zigzag = readVarInt();
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+
+	long readLong() throws IOException {
+		long zigzag = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			zigzag |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (zigzag >>> 1) ^ -(zigzag & 1);
+			}
+		}
+		throw new IOException("Malformed variable length long");
+	}
+
+	String readString() throws IOException {
+		int length = readVarInt() - 1;
+		if (length == -1) {
+			return null;
+		}
+		require(length);
+		String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+		pos += length;
+		return value;
+	}
+
+	<E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+		String name = readString();
+		if (name == null) {
+			return null;
+		}
+		try {
+			return Enum.valueOf(type, name);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Unknown " + type.getSimpleName() + ": " + name, e);
+		}
+	}
+
+	/**
+	 * Nullable strings as a HashSet, as the model's sets are; added in written
+	 * order, so the set iterates as the written set did.
+	 */
+	Set<String> readStringSet() throws IOException {
+		int count = readVarInt() - 1;
+		if (count == -1) {
+			return null;
+		}
+		Set<String> values = new HashSet<String>();
+		for (int i = 0; i < count; i++) {
+			values.add(readString());
+		}
+		return values;
+	}
+
+	String[] readStringArray() throws IOException {
+		int count = readVarInt() - 1;
+		if (count == -1) {
+			return null;
+		}
+		String[] values = new String[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = readString();
+		}
+		return values;
+	}
+
+	int readFixedInt() throws IOException {
+		require(4);
+		int value = ((buf[pos] & 0xFF) << 24) | ((buf[pos + 1] & 0xFF) << 16) | ((buf[pos + 2] & 0xFF) << 8)
+				| (buf[pos + 3] & 0xFF);
+		pos += 4;
+		return value;
+	}
+
+	int remaining() {
+		return end - pos;
+	}
+}
@@ -0,0 +1,130 @@
+package gov.uspto.patent.serialize.binary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Growable byte buffer a binary record is written to.
+ *
+ * <p>
+ * Integers are variable length, zig-zag encoded when signed; strings are UTF-8
+ * prefixed with their byte length plus one, zero for null. Enums are written by
+ * name, so reordering or adding constants does not change the format.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+class BinaryOutput {
+
+	private byte[] buf;
+	private int size;
+
+	BinaryOutput(int capacity) {
+		this.buf = new byte[capacity];
+	}
+
+	private void ensure(int length) {
+		if (size + length > buf.length) {
+			buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + length));
+		}
+	}
+
+	void writeByte(int value) {
+		ensure(1);
+		buf[size++] = (byte) value;
+	}
+
+	void writeBoolean(boolean value) {
+		writeByte(value ? 1 : 0);
+	}
+
+	/**
+	 * Unsigned variable length int, for counts and lengths.
+	 */
+	void writeVarInt(int value) {
+		ensure(5);
+		while ((value & ~0x7F) != 0) {
+			buf[size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buf[size++] = (byte) value;
+	}
+
+	void writeInt(int value) {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	void writeLong(long value) {
+		long zigzag = (value << 1) ^ (value >> 63);
+		ensure(10);
+		while ((zigzag & ~0x7FL) != 0) {
+			buf[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+			zigzag >>>= 7;
+		}
+		buf[size++] = (byte) zigzag;
+	}
+
+	void writeString(String value) {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length + 1);
+		ensure(bytes.length);
+		System.arraycopy(bytes, 0, buf, size, bytes.length);
+		size += bytes.length;
+	}
+
+	void writeEnum(Enum<?> value) {
+		writeString(value != null ? value.name() : null);
+	}
+
+	/**
+	 * Nullable strings, count plus one then each string; zero for null.
+	 */
+	void writeStrings(Collection<String> values) {
+		if (values == null) {
+			writeVarInt(0);
+			return;
+		}
+		writeVarInt(values.size() + 1);
+		for (String value : values) {
+			writeString(value);
+		}
+	}
+
+	void writeStrings(String[] values) {
+		writeStrings(values != null ? Arrays.asList(values) : null);
+	}
+
+	/**
+	 * Write int at position already written, for fixed width fields.
+	 */
+	void setInt(int position, int value) {
+		buf[position] = (byte) (value >>> 24);
+		buf[position + 1] = (byte) (value >>> 16);
+		buf[position + 2] = (byte) (value >>> 8);
+		buf[position + 3] = (byte) value;
+	}
+
+	void writeFixedInt(int value) {
+		ensure(4);
+		setInt(size, value);
+		size += 4;
+	}
+
+	int size() {
+		return size;
+	}
+
+	byte[] toByteArray() {
+		return Arrays.copyOf(buf, size);
+	}
+
+	byte[] buffer() {
+		return buf;
+	}
+}
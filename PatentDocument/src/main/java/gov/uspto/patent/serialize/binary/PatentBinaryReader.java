@@ -0,0 +1,605 @@
+package gov.uspto.patent.serialize.binary;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.naming.directory.InvalidAttributesException;
+
+import com.google.common.io.CharStreams;
+
+import gov.uspto.patent.InvalidDataException;
+import gov.uspto.patent.PatentDocReader;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.TextProcessor;
+import gov.uspto.patent.model.Abstract;
+import gov.uspto.patent.model.Citation;
+import gov.uspto.patent.model.Citation.CitedBy;
+import gov.uspto.patent.model.Claim;
+import gov.uspto.patent.model.ClaimType;
+import gov.uspto.patent.model.CountryCode;
+import gov.uspto.patent.model.DescSection;
+import gov.uspto.patent.model.Description;
+import gov.uspto.patent.model.DescriptionSection;
+import gov.uspto.patent.model.DocumentDate;
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.DocumentIdType;
+import gov.uspto.patent.model.ExaminerType;
+import gov.uspto.patent.model.Figure;
+import gov.uspto.patent.model.NplCitation;
+import gov.uspto.patent.model.PatCitation;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.model.PatentApplication;
+import gov.uspto.patent.model.PatentCorpus;
+import gov.uspto.patent.model.PatentGranted;
+import gov.uspto.patent.model.PatentType;
+import gov.uspto.patent.model.classification.ClassificationType;
+import gov.uspto.patent.model.classification.CpcClassification;
+import gov.uspto.patent.model.classification.DWPISection;
+import gov.uspto.patent.model.classification.DwpiClassification;
+import gov.uspto.patent.model.classification.IpcClassification;
+import gov.uspto.patent.model.classification.LocarnoClassification;
+import gov.uspto.patent.model.classification.PatentClassification;
+import gov.uspto.patent.model.classification.UspcClassification;
+import gov.uspto.patent.model.entity.Address;
+import gov.uspto.patent.model.entity.Agent;
+import gov.uspto.patent.model.entity.AgentRepType;
+import gov.uspto.patent.model.entity.Applicant;
+import gov.uspto.patent.model.entity.Assignee;
+import gov.uspto.patent.model.entity.ChemicalFormula;
+import gov.uspto.patent.model.entity.Entity;
+import gov.uspto.patent.model.entity.EntityRelationship;
+import gov.uspto.patent.model.entity.Examiner;
+import gov.uspto.patent.model.entity.Inventor;
+import gov.uspto.patent.model.entity.MathFormula;
+import gov.uspto.patent.model.entity.Name;
+import gov.uspto.patent.model.entity.NameLocation;
+import gov.uspto.patent.model.entity.NameOrg;
+import gov.uspto.patent.model.entity.NamePerson;
+import gov.uspto.patent.model.entity.RelationshipType;
+
+/**
+ * Read Patent from binary records written by {@link PatentBinaryWriter}.
+ *
+ * <p>
+ * TextProcessors are created once per class and shared by the patents read.
+ * Classifications which were parsed from their original text are parsed again,
+ * through the classification cache, to share the cached classification.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * PatentBinaryReader reader = new PatentBinaryReader();
+ * try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+ *     Patent patent;
+ *     while ((patent = reader.read(in)) != null) {
+ *         ...
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class PatentBinaryReader implements PatentDocReader<Patent> {
+
+	private final Map<String, TextProcessor> textProcessors = new ConcurrentHashMap<String, TextProcessor>();
+
+	/**
+	 * Read Base64 encoded record, as written by
+	 * {@link PatentBinaryWriter#write(Patent, java.io.Writer)}
+	 */
+	@Override
+	public Patent read(Reader reader) throws PatentReaderException, IOException {
+		String text = CharStreams.toString(reader).trim();
+		byte[] record;
+		try {
+			record = Base64.getDecoder().decode(text);
+		} catch (IllegalArgumentException e) {
+			throw new PatentReaderException("Invalid Base64 binary record", e);
+		}
+		return read(record);
+	}
+
+	/**
+	 * Read next binary record from stream.
+	 *
+	 * @return Patent, or null at end of stream
+	 */
+	public Patent read(InputStream inputStream) throws PatentReaderException, IOException {
+		DataInputStream in = new DataInputStream(inputStream);
+		byte[] header = new byte[PatentBinaryWriter.HEADER_LENGTH];
+		int read = in.read(header);
+		if (read == -1) {
+			return null;
+		}
+		if (read < header.length) {
+			in.readFully(header, read, header.length - read);
+		}
+
+		BinaryInput headerIn = new BinaryInput(header, 0, header.length);
+		if (headerIn.readFixedInt() != PatentBinaryWriter.MAGIC) {
+			throw new PatentReaderException("Not a binary Patent record");
+		}
+		headerIn.readByte();
+		int length = headerIn.readFixedInt();
+		if (length < 0) {
+			throw new PatentReaderException("Invalid binary record length: " + length);
+		}
+
+		byte[] record = Arrays.copyOf(header, header.length + length);
+		in.readFully(record, header.length, length);
+		return read(record);
+	}
+
+	public Patent read(byte[] record) throws PatentReaderException {
+		return read(record, 0, record.length);
+	}
+
+	public Patent read(byte[] record, int offset, int length) throws PatentReaderException {
+		BinaryInput in = new BinaryInput(record, offset, length);
+		try {
+			if (in.readFixedInt() != PatentBinaryWriter.MAGIC) {
+				throw new PatentReaderException("Not a binary Patent record");
+			}
+			int version = in.readByte();
+			if (version < 1 || version > PatentBinaryWriter.VERSION) {
+				throw new PatentReaderException("Unsupported binary record version: " + version);
+			}
+			int payloadLength = in.readFixedInt();
+			if (payloadLength != in.remaining()) {
+				throw new PatentReaderException(
+						"Binary record length " + payloadLength + " does not match " + in.remaining() + " bytes");
+			}
+			return readPatent(in);
+		} catch (IOException | InvalidDataException e) {
+			throw new PatentReaderException("Failed to read binary record", e);
+		}
+	}
+
+	private Patent readPatent(BinaryInput in) throws IOException, InvalidDataException {
+		int patentClass = in.readByte();
+		DocumentId documentId = readDocId(in);
+		PatentType patentType = in.readEnum(PatentType.class);
+
+		Patent patent;
+		if (patentClass == PatentBinaryWriter.PATENT_GRANTED) {
+			patent = new PatentGranted(documentId, patentType);
+		} else if (patentClass == PatentBinaryWriter.PATENT_APPLICATION) {
+			patent = new PatentApplication(documentId, patentType);
+		} else {
+			throw new IOException("Unknown Patent class: " + patentClass);
+		}
+
+		patent.setPatentCorpus(in.readEnum(PatentCorpus.class));
+		patent.setSource(in.readString());
+		patent.setApplicationId(readDocId(in));
+		patent.addPriorityId(readDocIds(in));
+		patent.addOtherId(readDocIds(in));
+		patent.addRelationIds(readDocIds(in));
+		patent.setReferenceIds(readDocIds(in));
+		patent.setDatePublished(readDate(in));
+		patent.setDateProduced(readDate(in));
+
+		patent.setTitle(in.readString());
+		if (in.readBoolean()) {
+			TextProcessor textProcessor = readTextProcessor(in);
+			patent.setAbstract(new Abstract(in.readString(), textProcessor));
+		}
+		patent.setDescription(readDescription(in));
+
+		int citationCount = in.readVarInt();
+		for (int i = 0; i < citationCount; i++) {
+			patent.addCitation(readCitation(in));
+		}
+
+		patent.setClassification(readClassifications(in));
+		patent.setSearchClassification(readClassifications(in));
+		patent.setClaim(readClaims(in));
+
+		int count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			Inventor inventor = new Inventor(readName(in), readAddress(in));
+			inventor.setSequence(in.readString());
+			inventor.setResidency(in.readEnum(CountryCode.class));
+			readRelations(in, inventor);
+			patent.addInventor(inventor);
+		}
+
+		count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			Applicant applicant = new Applicant(readName(in), readAddress(in));
+			applicant.setSequence(in.readString());
+			readRelations(in, applicant);
+			patent.addApplicant(applicant);
+		}
+
+		count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			Assignee assignee = new Assignee(readName(in), readAddress(in));
+			assignee.setRole(in.readEnum(Assignee.RoleType.class), in.readBoolean());
+			readRelations(in, assignee);
+			patent.addAssignee(assignee);
+		}
+
+		count = in.readVarInt();
+		List<Agent> agents = new ArrayList<Agent>(count);
+		for (int i = 0; i < count; i++) {
+			Name name = readName(in);
+			Address address = readAddress(in);
+			Agent agent = new Agent(name, address, in.readEnum(AgentRepType.class));
+			agent.setSequence(in.readString());
+			readRelations(in, agent);
+			agents.add(agent);
+		}
+		patent.setAgent(agents);
+
+		count = in.readVarInt();
+		List<Examiner> examiners = new ArrayList<Examiner>(count);
+		for (int i = 0; i < count; i++) {
+			Name name = readName(in);
+			readAddress(in);
+			ExaminerType examinerType = in.readEnum(ExaminerType.class);
+			Examiner examiner = new Examiner(name, in.readString(), examinerType);
+			readRelations(in, examiner);
+			examiners.add(examiner);
+		}
+		patent.setExaminer(examiners);
+
+		count = in.readVarInt();
+		if (count > 0) {
+			List<ChemicalFormula> formulas = new ArrayList<ChemicalFormula>(count);
+			for (int i = 0; i < count; i++) {
+				formulas.add(new ChemicalFormula(in.readString()));
+			}
+			patent.setChemFomulas(formulas);
+		}
+
+		count = in.readVarInt();
+		if (count > 0) {
+			List<MathFormula> formulas = new ArrayList<MathFormula>(count);
+			for (int i = 0; i < count; i++) {
+				formulas.add(new MathFormula(in.readString()));
+			}
+			patent.setMathFormulas(formulas);
+		}
+
+		return patent;
+	}
+
+	private DocumentId readDocId(BinaryInput in) throws IOException, InvalidDataException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+
+		CountryCode countryCode = in.readEnum(CountryCode.class);
+		String docNumber = in.readString();
+		String kindCode = in.readString();
+		DocumentId docId = new DocumentId(countryCode, docNumber, kindCode, in.readBoolean());
+
+		String applicationYear = in.readString();
+		DocumentIdType docIdType = in.readEnum(DocumentIdType.class);
+		DocumentDate date = readDate(in);
+		if (applicationYear != null) {
+			docId.setApplicationYear(applicationYear, date);
+		}
+		if (docIdType != null) {
+			docId.setType(docIdType);
+		}
+		docId.setDate(date);
+		docId.setName(in.readString());
+		docId.setPatentType(in.readEnum(PatentType.class));
+		docId.setRawText(in.readString());
+		return docId;
+	}
+
+	private List<DocumentId> readDocIds(BinaryInput in) throws IOException, InvalidDataException {
+		int count = in.readVarInt();
+		List<DocumentId> docIds = new ArrayList<DocumentId>(count);
+		for (int i = 0; i < count; i++) {
+			docIds.add(readDocId(in));
+		}
+		return docIds;
+	}
+
+	private DocumentDate readDate(BinaryInput in) throws IOException, InvalidDataException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		String rawDate = in.readString();
+		LocalDate date = in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+		return new DocumentDate(rawDate, date);
+	}
+
+	private TextProcessor readTextProcessor(BinaryInput in) throws IOException {
+		String className = in.readString();
+		if (className == null) {
+			return null;
+		}
+
+		TextProcessor textProcessor = textProcessors.get(className);
+		if (textProcessor == null) {
+			try {
+				// class name is from the input, not initialized unless a TextProcessor.
+				Class<?> clazz = Class.forName(className, false, PatentBinaryReader.class.getClassLoader());
+				if (!TextProcessor.class.isAssignableFrom(clazz)) {
+					throw new IOException("Not a TextProcessor: " + className);
+				}
+				textProcessor = clazz.asSubclass(TextProcessor.class).getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException e) {
+				throw new IOException("Failed to create TextProcessor: " + className, e);
+			}
+			textProcessors.put(className, textProcessor);
+		}
+		return textProcessor;
+	}
+
+	private Description readDescription(BinaryInput in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+
+		Description description = new Description();
+		int count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			DescSection section = in.readEnum(DescSection.class);
+			TextProcessor textProcessor = readTextProcessor(in);
+			description.addSection(new DescriptionSection(section, in.readString(), textProcessor));
+		}
+
+		count = in.readVarInt();
+		List<Figure> figures = new ArrayList<Figure>(count);
+		for (int i = 0; i < count; i++) {
+			String rawText = in.readString();
+			figures.add(new Figure(rawText, in.readStringSet()));
+		}
+		description.addFigures(figures);
+		return description;
+	}
+
+	private Citation readCitation(BinaryInput in) throws IOException, InvalidDataException {
+		int citationClass = in.readByte();
+		String num = in.readString();
+		CitedBy citedBy = in.readEnum(CitedBy.class);
+
+		if (citationClass == PatentBinaryWriter.CITATION_PATENT) {
+			PatCitation citation = new PatCitation(num, readDocId(in), citedBy);
+			citation.setClassification(readClassifications(in));
+			return citation;
+		} else if (citationClass == PatentBinaryWriter.CITATION_NPL) {
+			NplCitation citation = new NplCitation(num, in.readString(), citedBy);
+			citation.setPatentId(readDocId(in));
+			return citation;
+		} else {
+			throw new IOException("Unknown Citation class: " + citationClass);
+		}
+	}
+
+	private List<PatentClassification> readClassifications(BinaryInput in) throws IOException {
+		int count = in.readVarInt();
+		List<PatentClassification> classes = new ArrayList<PatentClassification>(count);
+		for (int i = 0; i < count; i++) {
+			classes.add(readClassification(in));
+		}
+		return classes;
+	}
+
+	private PatentClassification readClassification(BinaryInput in) throws IOException {
+		ClassificationType type = in.readEnum(ClassificationType.class);
+		String originalText = in.readString();
+		boolean mainOrInventive = in.readBoolean();
+
+		switch (type) {
+		case CPC: {
+			boolean parseFailed = in.readBoolean();
+			String section = in.readString();
+			String mainClass = in.readString();
+			String subClass = in.readString();
+			String[] mainGroup = in.readStringArray();
+			String[] subGroup = in.readStringArray();
+
+			CpcClassification parsed = new CpcClassification(originalText, mainOrInventive);
+			if (parse(parsed, originalText, parseFailed) && Objects.equals(section, parsed.getSection())
+					&& Objects.equals(mainClass, parsed.getMainClass())
+					&& Objects.equals(subClass, parsed.getSubClass())
+					&& Arrays.equals(mainGroup, parsed.getMainGroup())
+					&& Arrays.equals(subGroup, parsed.getSubGroup())) {
+				return parsed;
+			}
+
+			CpcClassification cpc = new CpcClassification(originalText, mainOrInventive);
+			if (parseFailed) {
+				parse(cpc, originalText, parseFailed);
+			}
+			cpc.setSection(section);
+			cpc.setMainClass(mainClass);
+			cpc.setSubClass(subClass);
+			cpc.setMainGroup(mainGroup);
+			cpc.setSubGroup(subGroup);
+			return cpc;
+		}
+		case IPC: {
+			boolean parseFailed = in.readBoolean();
+			String section = in.readString();
+			String mainClass = in.readString();
+			String subClass = in.readString();
+			String mainGroup = in.readString();
+			String subGroup = in.readString();
+
+			IpcClassification parsed = new IpcClassification(originalText, mainOrInventive);
+			if (parse(parsed, originalText, parseFailed) && Objects.equals(section, parsed.getSection())
+					&& Objects.equals(mainClass, parsed.getMainClass())
+					&& Objects.equals(subClass, parsed.getSubClass())
+					&& Objects.equals(mainGroup, parsed.getMainGroup())
+					&& Objects.equals(subGroup, parsed.getSubGroup())) {
+				return parsed;
+			}
+
+			IpcClassification ipc = new IpcClassification(originalText, mainOrInventive);
+			if (parseFailed) {
+				parse(ipc, originalText, parseFailed);
+			}
+			ipc.setSection(section);
+			ipc.setMainClass(mainClass);
+			ipc.setSubClass(subClass);
+			ipc.setMainGroup(mainGroup);
+			ipc.setSubGroup(subGroup);
+			return ipc;
+		}
+		case USPC: {
+			boolean parseFailed = in.readBoolean();
+			String mainClass = in.readString();
+			String[] subClass = in.readStringArray();
+
+			UspcClassification parsed = new UspcClassification(originalText, mainOrInventive);
+			if (parse(parsed, originalText, parseFailed) && Objects.equals(mainClass, parsed.getMainClass())
+					&& Arrays.equals(subClass, parsed.getSubClass())) {
+				return parsed;
+			}
+
+			UspcClassification uspc = new UspcClassification(originalText, mainOrInventive);
+			if (parseFailed) {
+				parse(uspc, originalText, parseFailed);
+			}
+			uspc.setMainClass(mainClass);
+			uspc.setSubClass(subClass);
+			return uspc;
+		}
+		case LOCARNO: {
+			LocarnoClassification locarno = new LocarnoClassification(originalText, mainOrInventive);
+			locarno.setMainClass(in.readString());
+			locarno.setSubClass(in.readString());
+			return locarno;
+		}
+		case DWPI: {
+			DwpiClassification dwpi = new DwpiClassification(originalText);
+			dwpi.setSection(in.readEnum(DWPISection.class));
+			dwpi.setSubsection(in.readString());
+			dwpi.setGroup(in.readString());
+			dwpi.setSubgroup(in.readString());
+			dwpi.setDivision(in.readString());
+			dwpi.setSubdivision(in.readString());
+			dwpi.setExtra(in.readString());
+			return dwpi;
+		}
+		default:
+			throw new IOException("Unsupported classification type: " + type);
+		}
+	}
+
+	/**
+	 * Parse original text through the classification cache.
+	 *
+	 * @return true when parsed as the written classification was, false when the
+	 *         text is missing or the parse result differs
+	 */
+	private boolean parse(PatentClassification clazz, String originalText, boolean parseFailed) {
+		if (originalText == null || originalText.isEmpty()) {
+			return false;
+		}
+		try {
+			clazz.parseText(originalText);
+			return !parseFailed;
+		} catch (ParseException e) {
+			return false;
+		}
+	}
+
+	private List<Claim> readClaims(BinaryInput in) throws IOException {
+		int count = in.readVarInt();
+		List<Claim> claims = new ArrayList<Claim>(count);
+		List<Claim> written = new ArrayList<Claim>(count);
+		for (int i = 0; i < count; i++) {
+			if (!in.readBoolean()) {
+				claims.add(null);
+				continue;
+			}
+			String id = in.readString();
+			ClaimType claimType = in.readEnum(ClaimType.class);
+			TextProcessor textProcessor = readTextProcessor(in);
+			Claim claim = new Claim(id, in.readString(), claimType, textProcessor);
+			claim.setDependentIds(in.readStringSet());
+			claim.setClaimTreeLevel(in.readInt());
+			claims.add(claim);
+			written.add(claim);
+		}
+
+		for (Claim claim : written) {
+			int childCount = in.readVarInt();
+			for (int i = 0; i < childCount; i++) {
+				int position = in.readVarInt();
+				if (position >= written.size()) {
+					throw new IOException("Invalid child claim position: " + position);
+				}
+				claim.addChildClaim(written.get(position));
+			}
+		}
+		return claims;
+	}
+
+	private void readRelations(BinaryInput in, Entity entity) throws IOException {
+		int count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			Name name = readName(in);
+			entity.addRelationship(new EntityRelationship(name, in.readEnum(RelationshipType.class)));
+		}
+	}
+
+	private Name readName(BinaryInput in) throws IOException {
+		int nameClass = in.readByte();
+
+		Name name;
+		switch (nameClass) {
+		case 0:
+			return null;
+		case PatentBinaryWriter.NAME_PERSON:
+			String firstName = in.readString();
+			String middleName = in.readString();
+			name = new NamePerson(firstName, middleName, in.readString());
+			break;
+		case PatentBinaryWriter.NAME_ORG:
+			name = new NameOrg(in.readString());
+			break;
+		case PatentBinaryWriter.NAME_LOCATION:
+			try {
+				name = new NameLocation(readAddress(in));
+			} catch (InvalidAttributesException e) {
+				throw new IOException(e);
+			}
+			break;
+		default:
+			throw new IOException("Unknown Name class: " + nameClass);
+		}
+
+		name.setSynonyms(in.readStringSet());
+		name.setSuffix(in.readString());
+		name.setPrefix(in.readString());
+		return name;
+	}
+
+	private Address readAddress(BinaryInput in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		String street = in.readString();
+		String city = in.readString();
+		String state = in.readString();
+		String zipcode = in.readString();
+		Address address = new Address(street, city, state, zipcode, in.readEnum(CountryCode.class));
+		address.setPhoneNumber(in.readString());
+		address.setFaxNumber(in.readString());
+		address.setEmail(in.readString());
+		return address;
+	}
+}
@@ -0,0 +1,453 @@
+package gov.uspto.patent.serialize.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import gov.uspto.patent.DateTextType;
+import gov.uspto.patent.FreetextField;
+import gov.uspto.patent.model.Abstract;
+import gov.uspto.patent.model.Citation;
+import gov.uspto.patent.model.Claim;
+import gov.uspto.patent.model.Description;
+import gov.uspto.patent.model.DescriptionSection;
+import gov.uspto.patent.model.DocumentDate;
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.Figure;
+import gov.uspto.patent.model.NplCitation;
+import gov.uspto.patent.model.PatCitation;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.model.PatentApplication;
+import gov.uspto.patent.model.PatentGranted;
+import gov.uspto.patent.model.classification.CpcClassification;
+import gov.uspto.patent.model.classification.DwpiClassification;
+import gov.uspto.patent.model.classification.IpcClassification;
+import gov.uspto.patent.model.classification.LocarnoClassification;
+import gov.uspto.patent.model.classification.PatentClassification;
+import gov.uspto.patent.model.classification.UspcClassification;
+import gov.uspto.patent.model.entity.Address;
+import gov.uspto.patent.model.entity.Agent;
+import gov.uspto.patent.model.entity.Applicant;
+import gov.uspto.patent.model.entity.Assignee;
+import gov.uspto.patent.model.entity.ChemicalFormula;
+import gov.uspto.patent.model.entity.Entity;
+import gov.uspto.patent.model.entity.EntityRelationship;
+import gov.uspto.patent.model.entity.Examiner;
+import gov.uspto.patent.model.entity.Inventor;
+import gov.uspto.patent.model.entity.MathFormula;
+import gov.uspto.patent.model.entity.Name;
+import gov.uspto.patent.model.entity.NameLocation;
+import gov.uspto.patent.model.entity.NameOrg;
+import gov.uspto.patent.model.entity.NamePerson;
+import gov.uspto.patent.serialize.DocumentBuilder;
+
+/**
+ * Serialize Patent as a compact binary record, read back with
+ * {@link PatentBinaryReader} without parsing the source document again.
+ *
+ * <p>
+ * The whole Patent model is written: ids, dates, raw text of the abstract,
+ * description sections, figures and claims with the class of their
+ * TextProcessor, claim tree, citations, classifications and entities. Plain
+ * text is not written, it is generated from the raw text when read, so the
+ * records may be re-serialized with any FreetextConfig.
+ * </p>
+ *
+ * <p>
+ * Record layout: MAGIC (4 bytes), format VERSION (1 byte), payload length (4
+ * bytes), payload. Fields are written in a fixed order per format version;
+ * readers accept records of their own or an older version.
+ * </p>
+ *
+ * <p>
+ * As a {@link DocumentBuilder} the record is written Base64 encoded, to be
+ * stored a line per patent within text output; write to an OutputStream for
+ * raw records, a file of records is read by calling
+ * {@link PatentBinaryReader#read(java.io.InputStream)} until it returns null.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+ *     new PatentBinaryWriter().write(patent, out);
+ * }
+ * }
+ * </pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class PatentBinaryWriter implements DocumentBuilder<Patent> {
+
+	/**
+	 * "USPB"
+	 */
+	public static final int MAGIC = 0x55535042;
+	public static final int VERSION = 1;
+	static final int HEADER_LENGTH = 9;
+
+	static final int PATENT_GRANTED = 1;
+	static final int PATENT_APPLICATION = 2;
+
+	static final int CITATION_PATENT = 1;
+	static final int CITATION_NPL = 2;
+
+	static final int NAME_PERSON = 1;
+	static final int NAME_ORG = 2;
+	static final int NAME_LOCATION = 3;
+
+	private static final int INITIAL_CAPACITY = 16 * 1024;
+	private static final LocalDate EMPTY_DATE = DocumentDate.getEmpty().getDate();
+
+	/**
+	 * Write Base64 encoded record.
+	 */
+	@Override
+	public void write(Patent patent, Writer writer) throws IOException {
+		writer.write(Base64.getEncoder().encodeToString(toBytes(patent)));
+	}
+
+	/**
+	 * Write binary record.
+	 */
+	public void write(Patent patent, OutputStream outputStream) throws IOException {
+		BinaryOutput out = writeRecord(patent);
+		outputStream.write(out.buffer(), 0, out.size());
+	}
+
+	public byte[] toBytes(Patent patent) throws IOException {
+		return writeRecord(patent).toByteArray();
+	}
+
+	private BinaryOutput writeRecord(Patent patent) throws IOException {
+		BinaryOutput out = new BinaryOutput(INITIAL_CAPACITY);
+		out.writeFixedInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeFixedInt(0);
+		writePatent(out, patent);
+		out.setInt(5, out.size() - HEADER_LENGTH);
+		return out;
+	}
+
+	private void writePatent(BinaryOutput out, Patent patent) throws IOException {
+		if (patent instanceof PatentGranted) {
+			out.writeByte(PATENT_GRANTED);
+		} else if (patent instanceof PatentApplication) {
+			out.writeByte(PATENT_APPLICATION);
+		} else {
+			throw new IOException("Unsupported Patent class: " + patent.getClass().getName());
+		}
+
+		writeDocId(out, patent.getDocumentId());
+		out.writeEnum(patent.getPatentType());
+		out.writeEnum(patent.getPatentCorpus());
+		out.writeString(patent.getSource());
+		writeDocId(out, patent.getApplicationId());
+		writeDocIds(out, patent.getPriorityIds());
+		writeDocIds(out, patent.getOtherIds());
+		writeDocIds(out, patent.getRelationIds());
+		writeDocIds(out, patent.getReferenceIds());
+		writeDate(out, patent.getDatePublished());
+		writeDate(out, patent.getDateProduced());
+
+		out.writeString(patent.getTitle());
+		writeAbstract(out, patent.getAbstract());
+		writeDescription(out, patent.getDescription());
+
+		out.writeVarInt(patent.getCitations().size());
+		for (Citation citation : patent.getCitations()) {
+			writeCitation(out, citation);
+		}
+
+		writeClassifications(out, patent.getClassification());
+		writeClassifications(out, patent.getSearchClassification());
+		writeClaims(out, patent.getClaims());
+
+		writeEntities(out, patent.getInventors());
+		writeEntities(out, patent.getApplicants());
+		writeEntities(out, patent.getAssignee());
+		writeEntities(out, patent.getAgent());
+		writeEntities(out, patent.getExaminers());
+
+		out.writeVarInt(patent.getChemFomulas().size());
+		for (ChemicalFormula formula : patent.getChemFomulas()) {
+			out.writeString(formula.getFormula());
+		}
+		out.writeVarInt(patent.getMathFormulas().size());
+		for (MathFormula formula : patent.getMathFormulas()) {
+			out.writeString(formula.getFormula());
+		}
+	}
+
+	private void writeDocId(BinaryOutput out, DocumentId docId) {
+		out.writeBoolean(docId != null);
+		if (docId == null) {
+			return;
+		}
+		out.writeEnum(docId.getCountryCode());
+		out.writeString(docId.getDocNumber());
+		out.writeString(docId.getKindCode());
+		out.writeBoolean(docId.isAllowLeadingZeros());
+		out.writeString(docId.getApplicationYear());
+		out.writeEnum(docId.getType());
+		writeDate(out, docId.getDate());
+		out.writeString(docId.getName());
+		out.writeEnum(docId.getPatentType());
+		out.writeString(docId.getRawText());
+	}
+
+	private void writeDocIds(BinaryOutput out, Collection<DocumentId> docIds) {
+		out.writeVarInt(docIds.size());
+		for (DocumentId docId : docIds) {
+			writeDocId(out, docId);
+		}
+	}
+
+	/**
+	 * Empty dates, as getters return for a missing date, are written as missing.
+	 */
+	private void writeDate(BinaryOutput out, DocumentDate date) {
+		boolean empty = date == null
+				|| "".equals(date.getDateText(DateTextType.RAW)) && EMPTY_DATE.equals(date.getDate());
+		out.writeBoolean(!empty);
+		if (empty) {
+			return;
+		}
+		out.writeString(date.getDateText(DateTextType.RAW));
+		out.writeBoolean(date.getDate() != null);
+		if (date.getDate() != null) {
+			out.writeLong(date.getDate().toEpochDay());
+		}
+	}
+
+	private void writeTextProcessor(BinaryOutput out, FreetextField field) {
+		out.writeString(field.getTextProcessor() != null ? field.getTextProcessor().getClass().getName() : null);
+	}
+
+	private void writeAbstract(BinaryOutput out, Abstract abstractText) {
+		out.writeBoolean(abstractText != null);
+		if (abstractText != null) {
+			writeTextProcessor(out, abstractText);
+			out.writeString(abstractText.getRawText());
+		}
+	}
+
+	private void writeDescription(BinaryOutput out, Description description) {
+		out.writeBoolean(description != null);
+		if (description == null) {
+			return;
+		}
+
+		out.writeVarInt(description.getSections().size());
+		for (DescriptionSection section : description.getSections()) {
+			out.writeEnum(section.getSection());
+			writeTextProcessor(out, section);
+			out.writeString(section.getRawText());
+		}
+
+		out.writeVarInt(description.getFigures().size());
+		for (Figure figure : description.getFigures()) {
+			out.writeString(figure.getRawText());
+			out.writeStrings(figure.getIds());
+		}
+	}
+
+	private void writeCitation(BinaryOutput out, Citation citation) throws IOException {
+		if (citation instanceof PatCitation) {
+			PatCitation patCitation = (PatCitation) citation;
+			out.writeByte(CITATION_PATENT);
+			out.writeString(citation.getNum());
+			out.writeEnum(citation.getCitedBy());
+			writeDocId(out, patCitation.getDocumentId());
+			writeClassifications(out, patCitation.getClassification());
+		} else if (citation instanceof NplCitation) {
+			NplCitation nplCitation = (NplCitation) citation;
+			out.writeByte(CITATION_NPL);
+			out.writeString(citation.getNum());
+			out.writeEnum(citation.getCitedBy());
+			out.writeString(nplCitation.getCiteText());
+			writeDocId(out, nplCitation.getPatentId());
+		} else {
+			throw new IOException("Unsupported Citation class: " + citation.getClass().getName());
+		}
+	}
+
+	/**
+	 * Classification fields and parse state; when read, classifications whose
+	 * fields are those of their original text are parsed again to share the
+	 * cached classification.
+	 */
+	private void writeClassifications(BinaryOutput out, Collection<PatentClassification> classes)
+			throws IOException {
+		out.writeVarInt(classes.size());
+		for (PatentClassification clazz : classes) {
+			out.writeEnum(clazz.getType());
+			out.writeString(clazz.getTextOriginal());
+			out.writeBoolean(clazz.isMainOrInventive());
+
+			switch (clazz.getType()) {
+			case CPC:
+				CpcClassification cpc = (CpcClassification) clazz;
+				out.writeBoolean(cpc.isParseFailed());
+				out.writeString(cpc.getSection());
+				out.writeString(cpc.getMainClass());
+				out.writeString(cpc.getSubClass());
+				out.writeStrings(cpc.getMainGroup());
+				out.writeStrings(cpc.getSubGroup());
+				break;
+			case IPC:
+				IpcClassification ipc = (IpcClassification) clazz;
+				out.writeBoolean(ipc.isParseFailed());
+				out.writeString(ipc.getSection());
+				out.writeString(ipc.getMainClass());
+				out.writeString(ipc.getSubClass());
+				out.writeString(ipc.getMainGroup());
+				out.writeString(ipc.getSubGroup());
+				break;
+			case USPC:
+				UspcClassification uspc = (UspcClassification) clazz;
+				out.writeBoolean(uspc.isParseFailed());
+				out.writeString(uspc.getMainClass());
+				out.writeStrings(uspc.getSubClass());
+				break;
+			case LOCARNO:
+				LocarnoClassification locarno = (LocarnoClassification) clazz;
+				out.writeString(locarno.getMainClass());
+				out.writeString(locarno.getSubClass());
+				break;
+			case DWPI:
+				DwpiClassification dwpi = (DwpiClassification) clazz;
+				out.writeEnum(dwpi.getSection());
+				out.writeString(dwpi.getSubsection());
+				out.writeString(dwpi.getGroup());
+				out.writeString(dwpi.getSubgroup());
+				out.writeString(dwpi.getDivision());
+				out.writeString(dwpi.getSubdivision());
+				out.writeString(dwpi.getExtra());
+				break;
+			default:
+				throw new IOException("Unsupported classification type: " + clazz.getType());
+			}
+		}
+	}
+
+	/**
+	 * Claims, then the claim tree as positions of each claim's child claims.
+	 */
+	private void writeClaims(BinaryOutput out, List<Claim> claims) throws IOException {
+		Map<Claim, Integer> positions = new IdentityHashMap<Claim, Integer>();
+
+		out.writeVarInt(claims.size());
+		for (Claim claim : claims) {
+			out.writeBoolean(claim != null);
+			if (claim == null) {
+				continue;
+			}
+			positions.put(claim, positions.size());
+			out.writeString(claim.getId());
+			out.writeEnum(claim.getClaimType());
+			writeTextProcessor(out, claim);
+			out.writeString(claim.getRawText());
+			out.writeStrings(claim.getDependentIds());
+			out.writeInt(claim.getClaimTreeLevel());
+		}
+
+		for (Claim claim : claims) {
+			if (claim == null) {
+				continue;
+			}
+			out.writeVarInt(claim.getChildClaims().size());
+			for (Claim child : claim.getChildClaims()) {
+				Integer position = positions.get(child);
+				if (position == null) {
+					throw new IOException("Child claim not within patent claims: " + child.getId());
+				}
+				out.writeVarInt(position);
+			}
+		}
+	}
+
+	private void writeEntities(BinaryOutput out, Collection<? extends Entity> entities) throws IOException {
+		out.writeVarInt(entities.size());
+		for (Entity entity : entities) {
+			writeName(out, entity.getName());
+			writeAddress(out, entity.getAddress());
+
+			if (entity instanceof Inventor) {
+				Inventor inventor = (Inventor) entity;
+				out.writeString(inventor.getSequence());
+				out.writeEnum(inventor.getResidency());
+			} else if (entity instanceof Applicant) {
+				out.writeString(((Applicant) entity).getSequence());
+			} else if (entity instanceof Assignee) {
+				Assignee assignee = (Assignee) entity;
+				out.writeEnum(assignee.getRole());
+				out.writeBoolean(assignee.hasPartInterest());
+			} else if (entity instanceof Agent) {
+				Agent agent = (Agent) entity;
+				out.writeEnum(agent.getRepType());
+				out.writeString(agent.getSequence());
+			} else if (entity instanceof Examiner) {
+				Examiner examiner = (Examiner) entity;
+				out.writeEnum(examiner.getExaminerType());
+				out.writeString(examiner.getDepartment());
+			} else {
+				throw new IOException("Unsupported Entity class: " + entity.getClass().getName());
+			}
+
+			out.writeVarInt(entity.getRelations().size());
+			for (EntityRelationship relation : entity.getRelations()) {
+				writeName(out, relation.getName());
+				out.writeEnum(relation.getRelType());
+			}
+		}
+	}
+
+	private void writeName(BinaryOutput out, Name name) throws IOException {
+		if (name == null) {
+			out.writeByte(0);
+			return;
+		}
+
+		if (name instanceof NamePerson) {
+			NamePerson person = (NamePerson) name;
+			out.writeByte(NAME_PERSON);
+			out.writeString(person.getFirstName());
+			out.writeString(person.getMiddleName());
+			out.writeString(person.getLastName());
+		} else if (name instanceof NameOrg) {
+			out.writeByte(NAME_ORG);
+			out.writeString(name.getName());
+		} else if (name instanceof NameLocation) {
+			out.writeByte(NAME_LOCATION);
+			writeAddress(out, ((NameLocation) name).address);
+		} else {
+			throw new IOException("Unsupported Name class: " + name.getClass().getName());
+		}
+
+		out.writeStrings(name.getSynonymSet());
+		out.writeString(name.getSuffix());
+		out.writeString(name.getPrefix());
+	}
+
+	private void writeAddress(BinaryOutput out, Address address) {
+		out.writeBoolean(address != null);
+		if (address == null) {
+			return;
+		}
+		out.writeString(address.getStreet());
+		out.writeString(address.getCity());
+		out.writeString(address.getState());
+		out.writeString(address.getZipCode());
+		out.writeEnum(address.getCountry());
+		out.writeString(address.getPhoneNumber());
+		out.writeString(address.getFaxNumber());
+		out.writeString(address.getEmail());
+	}
+}
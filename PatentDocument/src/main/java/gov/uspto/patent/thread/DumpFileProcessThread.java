@@ -19,6 +19,18 @@ import gov.uspto.patent.PatentReaderException;
 import gov.uspto.patent.bulk.DumpFile;
 import gov.uspto.patent.serialize.DocumentBuilder;
 
+/**
+ * Dump File Process Thread
+ *
+ * <p>
+ * Reads and serializes all records of a dump file to its output file, on the
+ * calling thread; or when record threads is greater than 1, with the records
+ * read in parallel by {@link MultiThreadProcess}.
+ * </p>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
 public class DumpFileProcessThread<T> implements Runnable {
 	private static final Logger LOGGER = LoggerFactory.getLogger(DumpFileProcessThread.class);
 
@@ -26,13 +38,28 @@ public class DumpFileProcessThread<T> implements Runnable {
 	private PatentDocReader<T> reader;
 	private DocumentBuilder<T> docBuilder;
 	private File outputFile;
+	private int recordThreads;
 
 	public DumpFileProcessThread(DumpFile dumpFile, PatentDocReader<T> reader, DocumentBuilder<T> docBuilder,
 			File outputFile) {
+		this(dumpFile, reader, docBuilder, outputFile, 1);
+	}
+
+	/**
+	 * @param dumpFile
+	 * @param reader
+	 * @param docBuilder
+	 * @param outputFile
+	 * @param recordThreads - records read in parallel when greater than 1, the
+	 *                      reader and builder must then be thread-safe.
+	 */
+	public DumpFileProcessThread(DumpFile dumpFile, PatentDocReader<T> reader, DocumentBuilder<T> docBuilder,
+			File outputFile, int recordThreads) {
 		this.dumpFile = dumpFile;
 		this.reader = reader;
 		this.docBuilder = docBuilder;
 		this.outputFile = outputFile;
+		this.recordThreads = recordThreads;
 	}
 
 	@Override
@@ -43,36 +70,48 @@ public class DumpFileProcessThread<T> implements Runnable {
 			dumpFile.open();
 		} catch (IOException e2) {
 			LOGGER.error("Error opening dump file: '{}'", dumpFile.getFile(), e2);
+			return;
 		}
 
-		int recordNumber = 1;
-		int writeCount = 0;
+		long recordNumber = 1;
+		long writeCount = 0;
 
 		try (Writer writer = new BufferedWriter(
 				new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_16))) {
 
-			for (; dumpFile.hasNext(); recordNumber++) {
-				// while (dumpFile.hasNext()) {
-				String rawDocText = dumpFile.next();
-				// InputStream rawDocText = dumpFile.nextDocument();
-				if (rawDocText == null) {
-					break;
+			if (recordThreads > 1) {
+				try (MultiThreadProcess<T> recordProcess = new MultiThreadProcess<T>(reader, docBuilder, writer)) {
+					recordProcess.init(recordThreads);
+					recordNumber = recordProcess.process(dumpFile);
+					writeCount = recordProcess.getWritten();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					LOGGER.error("Interrupted while processing: '{}'", dumpFile.getFile().getName(), e);
 				}
+			} else {
+				for (; dumpFile.hasNext(); recordNumber++) {
+					// while (dumpFile.hasNext()) {
+					String rawDocText = dumpFile.next();
+					// InputStream rawDocText = dumpFile.nextDocument();
+					if (rawDocText == null) {
+						break;
+					}
 
-				// InputStreamReader rawDocReader = new
-				// InputStreamReader(dumpFile.nextDocument());
-				StringReader rawDocReader = new StringReader(rawDocText);
+					// InputStreamReader rawDocReader = new
+					// InputStreamReader(dumpFile.nextDocument());
+					StringReader rawDocReader = new StringReader(rawDocText);
 
-				T obj = null;
-				try {
-					obj = reader.read(rawDocReader);
-				} catch (PatentReaderException | IOException e) {
-					LOGGER.error("Reader Failed on: {}:{}", dumpFile.getFile().getName(), recordNumber, e);
-				}
+					T obj = null;
+					try {
+						obj = reader.read(rawDocReader);
+					} catch (PatentReaderException | IOException e) {
+						LOGGER.error("Reader Failed on: {}:{}", dumpFile.getFile().getName(), recordNumber, e);
+					}
 
-				if (obj != null) {
-					docBuilder.write(obj, writer);
-					writeCount++;
+					if (obj != null) {
+						docBuilder.write(obj, writer);
+						writeCount++;
+					}
 				}
 			}
 		} catch (IOException e1) {
@@ -1,19 +1,207 @@
 package gov.uspto.patent.thread;
 
-import java.io.File;
-import java.nio.file.Path;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-import gov.uspto.patent.doc.cpc.masterfile.MasterClassificationRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import gov.uspto.patent.PatentDocReader;
+import gov.uspto.patent.bulk.DumpReader;
 import gov.uspto.patent.serialize.DocumentBuilder;
 
-public class MultiThreadProcess {
+/**
+ * Multi-Threaded Record Process
+ *
+ * <p>
+ * Reads and serializes records on a pool of worker threads, each record is
+ * read with the {@link PatentDocReader}, written with the
+ * {@link DocumentBuilder} to a buffer, then appended to the shared writer
+ * while holding the writer's lock; records are written whole, in completion
+ * order.
+ * </p>
+ *
+ * <p>
+ * Records waiting for a worker are bounded by the queue size, submit blocks
+ * while the queue is full. The reader and builder must be thread-safe.
+ * </p>
+ *
+ * <pre><code>
+ * try (MultiThreadProcess&lt;Patent&gt; process = new MultiThreadProcess&lt;Patent&gt;(patentReader, jsonBuilder, writer)) {
+ *     process.init(8);
+ *     process.process(dumpReader);
+ * }
+ * </code></pre>
+ *
+ * @author Brian G. Feldman (brian.feldman@uspto.gov)
+ *
+ */
+public class MultiThreadProcess<T> implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiThreadProcess.class);
+
+    private final PatentDocReader<T> reader;
+    private final DocumentBuilder<T> docBuilder;
+    private final Writer writer;
+
+    private ExecutorService executor;
+    private Semaphore inFlight;
+    private int inFlightLimit;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public MultiThreadProcess(PatentDocReader<T> reader, DocumentBuilder<T> docBuilder, Writer writer) {
+        this.reader = reader;
+        this.docBuilder = docBuilder;
+        this.writer = writer;
+    }
 
-    public MultiThreadProcess(File file, DocumentBuilder<MasterClassificationRecord> docBuilder, Path outputDir){
-        
+    /**
+     * Start worker threads, queue holds 4 records per thread.
+     *
+     * @param maxThreads
+     */
+    public void init(int maxThreads) {
+        init(maxThreads, maxThreads * 4);
     }
-    
-    public void init(int maxThreads){
-        
+
+    /**
+     * Start worker threads.
+     *
+     * @param maxThreads - worker threads
+     * @param queueSize  - records waiting for a worker before submit blocks
+     */
+    public void init(int maxThreads, int queueSize) {
+        Preconditions.checkArgument(maxThreads > 0, "maxThreads must be greater than 0");
+        Preconditions.checkArgument(queueSize > 0, "queueSize must be greater than 0");
+        Preconditions.checkState(executor == null, "already initialized");
+
+        this.inFlightLimit = maxThreads + queueSize;
+        this.inFlight = new Semaphore(inFlightLimit);
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setNameFormat("record-process-%d").setDaemon(true).build());
+        pool.prestartAllCoreThreads();
+        this.executor = pool;
+    }
+
+    /**
+     * Submit a record, blocking while the queue is full.
+     *
+     * @param sourceTxt - record location used for logging
+     * @param rawRecord
+     * @throws InterruptedException
+     */
+    public void submit(String sourceTxt, String rawRecord) throws InterruptedException {
+        Preconditions.checkState(executor != null, "init() must be called before submit()");
+
+        inFlight.acquire();
+        try {
+            executor.execute(() -> {
+                MDC.put("DOCID", sourceTxt);
+                try {
+                    RecordProcessThread<T> task = new RecordProcessThread<T>(new StringReader(rawRecord), reader,
+                            docBuilder, writer);
+                    task.run();
+                    if (task.isSuccess()) {
+                        written.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                } finally {
+                    // worker threads are pooled, do not leave the record id to the next task.
+                    MDC.remove("DOCID");
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Submit all records from an opened DumpReader, and wait for them to be
+     * written.
+     *
+     * @param dumpReader - opened DumpReader
+     * @return records submitted
+     * @throws InterruptedException
+     * @throws IOException
+     */
+    public long process(DumpReader dumpReader) throws InterruptedException, IOException {
+        String fileName = dumpReader.getFile().getName();
+        long count = 0;
+        while (dumpReader.hasNext()) {
+            String rawRecord = dumpReader.next();
+            if (rawRecord == null) {
+                break;
+            }
+            submit(fileName + ":" + dumpReader.getCurrentRecCount(), rawRecord);
+            count++;
+        }
+        awaitCompletion();
+        return count;
+    }
+
+    /**
+     * Wait for all submitted records to be written, then flush the writer.
+     *
+     * @throws InterruptedException
+     * @throws IOException
+     */
+    public void awaitCompletion() throws InterruptedException, IOException {
+        inFlight.acquire(inFlightLimit);
+        inFlight.release(inFlightLimit);
+        synchronized (writer) {
+            writer.flush();
+        }
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Wait for submitted records to be written and stop worker threads; when
+     * interrupted workers are stopped without waiting. The writer is flushed, not
+     * closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (executor == null) {
+            return;
+        }
+
+        try {
+            awaitCompletion();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted, stopping without waiting for {} records", inFlightLimit - inFlight.availablePermits());
+            executor.shutdownNow();
+        } finally {
+            executor = null;
+        }
+
+        LOGGER.info("Records written: [{}], failed: [{}]", written.get(), failed.get());
     }
-    
 }
@@ -2,6 +2,7 @@ package gov.uspto.patent.thread;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
 
 import org.slf4j.Logger;
@@ -11,6 +12,11 @@ import gov.uspto.patent.PatentDocReader;
 import gov.uspto.patent.PatentReaderException;
 import gov.uspto.patent.serialize.DocumentBuilder;
 
+/**
+ * Read and write a single record; record is serialized to a buffer and written
+ * to the shared writer while holding the writer's lock, so concurrent records
+ * are never interleaved.
+ */
 public class RecordProcessThread<T> implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(RecordProcessThread.class);
 
@@ -18,6 +24,7 @@ public class RecordProcessThread<T> implements Runnable {
     private DocumentBuilder<T> docBuilder;
     private Writer writer;
     private Reader rawDocText;
+    private boolean success;
 
     public RecordProcessThread(Reader rawDocText, PatentDocReader<T> reader, DocumentBuilder<T> docBuilder, Writer writer) {
         this.rawDocText = rawDocText;
@@ -30,13 +37,27 @@ public class RecordProcessThread<T> implements Runnable {
     public void run() {
         try {
             T obj = reader.read(rawDocText);
-            write(obj);
-        } catch (PatentReaderException | IOException e) {
+            if (obj != null) {
+                write(obj);
+            }
+            success = true;
+        } catch (PatentReaderException | IOException | RuntimeException e) {
             LOGGER.error("Failed to read or write: ", e);
         }
     }
 
-    private synchronized void write(T obj) throws IOException {
-        docBuilder.write(obj, writer);
+    /**
+     * Record was read, and written unless the reader skipped it.
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    private void write(T obj) throws IOException {
+        StringWriter recordWriter = new StringWriter();
+        docBuilder.write(obj, recordWriter);
+        synchronized (writer) {
+            writer.write(recordWriter.toString());
+        }
     }
 }
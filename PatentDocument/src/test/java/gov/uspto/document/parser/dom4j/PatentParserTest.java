@@ -1,13 +1,24 @@
 package gov.uspto.document.parser.dom4j;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
 import gov.uspto.patent.PatentDocFormat;
 import gov.uspto.patent.PatentReader;
 import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Patent;
 
 public class PatentParserTest {
 
@@ -61,4 +72,56 @@ public class PatentParserTest {
         }
         // (patent.getDocumentId(), "039305848");
     }
+
+    @Test
+    public void parsePatentGrantText() throws PatentReaderException, IOException {
+        String xmlString = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><us-patent-grant><us-bibliographic-data-application><publication-reference><document-id><country-code>US</country-code><doc-number>1234567</doc-number></document-id></publication-reference><application-reference><document-id><doc-number>7654321</doc-number></document-id></application-reference></us-bibliographic-data-application><claims><claim id=\"CLM-00001\" num=\"00001\"><claim-text>A widget.</claim-text></claim></claims></us-patent-grant>";
+
+        PatentReader patentReader = new PatentReader(PatentDocFormat.RedbookGrant);
+        Patent patent = patentReader.read(xmlString);
+        assertEquals(1, patent.getClaims().size());
+
+        byte[] bytes = ("  " + xmlString).getBytes(StandardCharsets.UTF_8);
+        patent = patentReader.read(bytes, 2, bytes.length - 2);
+        assertEquals(1, patent.getClaims().size());
+
+        patentReader.setMaxByteSize(xmlString.length());
+        patent = patentReader.read(xmlString);
+        assertTrue(patent.getClaims().isEmpty());
+    }
+
+    @Test
+    public void parsePatentGrantBytesUnclosedTag() throws PatentReaderException, IOException {
+        String xmlString = "<us-patent-grant><us-bibliographic-data-application><publication-reference><document-id><country-code>US</country-code><doc-number>1234567</doc-number></document-id></publication-reference><application-reference><document-id><doc-number>7654321</doc-number></document-id></application-reference></us-bibliographic-data-application><claims><claim id=\"CLM-00001\" num=\"00001\"><claim-text>A widget.<br></claim-text></claim></claims></us-patent-grant>";
+
+        // retried after fixing tags, reading the bytes again.
+        PatentReader patentReader = new PatentReader(PatentDocFormat.RedbookGrant);
+        byte[] bytes = xmlString.getBytes(StandardCharsets.UTF_8);
+        Patent patent = patentReader.read(bytes, 0, bytes.length);
+        assertEquals("1234567", patent.getDocumentId().getDocNumber());
+    }
+
+    @Test
+    public void parseParallel() throws Exception {
+        final String xmlString = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><us-patent-grant><us-bibliographic-data-application><publication-reference><document-id><country-code>US</country-code><doc-number>%d</doc-number></document-id></publication-reference><application-reference><document-id><doc-number>7654321</doc-number></document-id></application-reference></us-bibliographic-data-application></us-patent-grant>";
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Patent>> futures = new ArrayList<Future<Patent>>();
+            for (int i = 1000000; i < 1000100; i++) {
+                final String record = String.format(xmlString, i);
+                futures.add(executor.submit(new Callable<Patent>() {
+                    @Override
+                    public Patent call() throws Exception {
+                        return new PatentReader(PatentDocFormat.RedbookGrant).read(record);
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(String.valueOf(1000000 + i), futures.get(i).get().getDocumentId().getDocNumber());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
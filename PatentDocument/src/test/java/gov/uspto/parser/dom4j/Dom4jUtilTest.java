@@ -1,6 +1,8 @@
 package gov.uspto.parser.dom4j;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.dom4j.Document;
 import org.dom4j.DocumentException;
@@ -22,4 +24,27 @@ public class Dom4jUtilTest {
 
 		assertEquals("Streptococcus pneumoniae proteins and nucleic acid molecules", actual);
 	}
+
+	@Test
+	public void getElement() throws SAXException, DocumentException {
+
+		String xmlString = "<us-patent-grant date-publ=\"20170103\"><us-bibliographic-data-grant>"
+				+ "<invention-title id=\"d0e61\"><i>Streptococcus pneumoniae </i>proteins and nucleic acid molecules</invention-title>"
+				+ "</us-bibliographic-data-grant></us-patent-grant>";
+
+		Document doc = Dom4jUtil.read(xmlString);
+
+		String title = Dom4jUtil.getTextOrNull(Dom4jUtil.getElement(doc, "us-patent-grant", "us-bibliographic-data-grant", "invention-title"));
+		assertEquals("Streptococcus pneumoniae proteins and nucleic acid molecules", title);
+
+		assertEquals("20170103", Dom4jUtil.getAttributeOrNull(Dom4jUtil.getElement(doc, "us-patent-grant"), "date-publ"));
+
+		assertNull(Dom4jUtil.getElement(doc, "us-patent-application", "us-bibliographic-data-grant"));
+		assertNull(Dom4jUtil.getElement(doc, "us-patent-grant", "missing"));
+	}
+
+	@Test
+	public void xpathCompiledOnce() {
+		assertSame(Dom4jUtil.xpath("//invention-title"), Dom4jUtil.xpath("//invention-title"));
+	}
 }
@@ -0,0 +1,103 @@
+package gov.uspto.patent.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DumpFileXmlBytesTest {
+
+	private static List<String> readLines(String content, boolean htmlEntities) throws IOException {
+		DumpFileXml dumpFile = new DumpFileXml("test.xml", new BufferedReader(new StringReader(content), 1 << 20));
+		if (htmlEntities) {
+			dumpFile.addHTMLEntities();
+		}
+		dumpFile.open();
+		List<String> records = new ArrayList<String>();
+		while (dumpFile.hasNext()) {
+			records.add(dumpFile.next());
+		}
+		dumpFile.close();
+		return records;
+	}
+
+	private static List<String> readBytes(String content, boolean htmlEntities) throws IOException {
+		DumpFileXmlBytes dumpFile = new DumpFileXmlBytes("test.xml",
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+		if (htmlEntities) {
+			dumpFile.addHTMLEntities();
+		}
+		dumpFile.open();
+		List<String> records = new ArrayList<String>();
+		while (dumpFile.hasNext()) {
+			records.add(dumpFile.next());
+		}
+		dumpFile.close();
+		return records;
+	}
+
+	@Test
+	public void grant() throws IOException {
+		StringBuilder stb = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			stb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			stb.append("<!DOCTYPE us-patent-grant SYSTEM \"us-patent-grant-v45-2014-04-03.dtd\" [ ]>\n");
+			stb.append("<us-patent-grant lang=\"EN\" file=\"US0").append(i).append("-20180102.XML\">\n");
+			stb.append("  <invention-title id=\"d2e43\">Café — αβ tool</invention-title>\r\n");
+			stb.append("\t<p>line\rwith carriage return</p>\n");
+			stb.append("</us-patent-grant>\n");
+		}
+		String content = stb.toString();
+
+		List<String> expect = readLines(content, false);
+		assertEquals(50, expect.size());
+		assertEquals(expect, readBytes(content, false));
+	}
+
+	@Test
+	public void papTrailingXmlDeclaration() throws IOException {
+		StringBuilder stb = new StringBuilder();
+		stb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		for (int i = 0; i < 3; i++) {
+			stb.append("<patent-application-publication>\n");
+			stb.append("<title-of-invention>Widget &mdash; ").append(i).append("</title-of-invention>\n");
+			stb.append("</patent-application-publication><?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		}
+		String content = stb.toString();
+
+		List<String> expect = readLines(content, true);
+		assertEquals(3, expect.size());
+		assertEquals(expect, readBytes(content, true));
+	}
+
+	@Test
+	public void lastLineWithoutNewline() throws IOException {
+		String content = "<us-patent-grant>\n<doc-number>1</doc-number>\n</us-patent-grant>";
+		assertEquals(readLines(content, false), readBytes(content, false));
+	}
+
+	@Test
+	public void nextBuffer() throws IOException {
+		String content = "<us-patent-grant>\n<p>é</p>\n</us-patent-grant>\n";
+		DumpFileXmlBytes dumpFile = new DumpFileXmlBytes("test.xml",
+				new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+		dumpFile.open();
+		assertEquals(1, dumpFile.getCurrentRecCount());
+
+		ByteBuffer record = dumpFile.nextBuffer();
+		byte[] bytes = new byte[record.remaining()];
+		record.get(bytes);
+		assertEquals(content, new String(bytes, StandardCharsets.UTF_8));
+		assertFalse(dumpFile.hasNext());
+		dumpFile.close();
+	}
+}
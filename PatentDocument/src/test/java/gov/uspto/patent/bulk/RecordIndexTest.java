@@ -0,0 +1,109 @@
+package gov.uspto.patent.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RecordIndexTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private File bulkFile(int records) throws IOException {
+		StringBuilder stb = new StringBuilder();
+		for (int i = 1; i <= records; i++) {
+			stb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n");
+			stb.append("<us-patent-grant lang=\"EN\">\r\n");
+			stb.append("<us-bibliographic-data-grant>\n<publication-reference>\n<document-id>\n");
+			stb.append("<country>US</country>\n<doc-number>0").append(10000000 + i).append("</doc-number>\n");
+			stb.append("<kind>B2</kind>\n</document-id>\n</publication-reference>\n</us-bibliographic-data-grant>\n");
+			stb.append("<abstract><p>résumé ").append(i).append("</p></abstract>\n");
+			stb.append("</us-patent-grant>\r\n");
+		}
+
+		File file = tempFolder.newFile("ipg180102.zip");
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+			zip.putNextEntry(new ZipEntry("ipg180102.xml"));
+			zip.write(stb.toString().getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		return file;
+	}
+
+	private static List<String> readAll(DumpReader dumpReader) throws IOException {
+		dumpReader.open();
+		List<String> records = new ArrayList<String>();
+		while (dumpReader.hasNext()) {
+			records.add(dumpReader.next());
+		}
+		dumpReader.close();
+		return records;
+	}
+
+	@Test
+	public void buildAndFind() throws IOException {
+		File file = bulkFile(20);
+		RecordIndex index = RecordIndex.build(file);
+
+		assertEquals(20, index.size());
+		assertEquals("US10000007B2", index.getId(7));
+		assertEquals(7, index.find("US10000007B2"));
+		assertEquals(7, index.find("US 10,000,007"));
+		assertEquals(7, index.find("us010000007b2"));
+		assertEquals(-1, index.find("US99999999B2"));
+	}
+
+	@Test
+	public void saveAndLoad() throws IOException {
+		File file = bulkFile(20);
+		RecordIndex index = RecordIndex.getOrBuild(file);
+		assertTrue(RecordIndex.indexFile(file).isFile());
+
+		RecordIndex loaded = RecordIndex.load(file);
+		assertNotNull(loaded);
+		assertEquals(index.size(), loaded.size());
+		for (int i = 1; i <= index.size(); i++) {
+			assertEquals(index.getOffset(i), loaded.getOffset(i));
+			assertEquals(index.getLength(i), loaded.getLength(i));
+			assertEquals(index.getId(i), loaded.getId(i));
+		}
+
+		file.setLastModified(file.lastModified() - 60000);
+		assertEquals(null, RecordIndex.load(file));
+	}
+
+	@Test
+	public void seek() throws IOException {
+		File file = bulkFile(20);
+		List<String> expect = readAll(new DumpFileXmlBytes(file));
+
+		DumpFileIndexed dumpFile = new DumpFileIndexed(file, RecordIndex.build(file));
+		assertTrue(dumpFile.seek("US10000012B2"));
+		assertFalse(dumpFile.seek("US99999999B2"));
+		dumpFile.open();
+		assertEquals(12, dumpFile.getCurrentRecCount());
+		assertEquals(expect.get(11), dumpFile.next());
+		assertEquals(expect.get(12), dumpFile.next());
+
+		dumpFile.seek(3);
+		assertEquals(expect.get(2), dumpFile.next());
+		dumpFile.close();
+
+		DumpFileIndexed dumpFile2 = new DumpFileIndexed(file, RecordIndex.build(file));
+		assertEquals(expect, readAll(dumpFile2));
+	}
+}
@@ -0,0 +1,116 @@
+package gov.uspto.patent.doc.cpc.masterfile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.classification.ClassificationPredicate;
+import gov.uspto.patent.model.classification.CpcClassification;
+
+public class CpcMasterStreamReaderTest {
+
+	private static final String RECORD_START = "<uspat:CPCMasterClassificationRecord>";
+	private static final String RECORD_END = "</uspat:CPCMasterClassificationRecord>";
+
+	private static String masterFile;
+	private static String rawRecord;
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@BeforeClass
+	public static void setUp() throws IOException {
+		masterFile = new String(Files.readAllBytes(Paths.get("resources/samples/cpcMaster/cpcMaster.xml")),
+				StandardCharsets.UTF_8);
+		rawRecord = masterFile.substring(masterFile.indexOf(RECORD_START),
+				masterFile.indexOf(RECORD_END) + RECORD_END.length());
+	}
+
+	/**
+	 * Master file with the sample record followed by a copy in another class.
+	 */
+	private static String twoRecordMasterFile() {
+		String otherRecord = rawRecord.replace("9400000", "9400001").replace("<pat:Subclass>D</pat:Subclass>",
+				"<pat:Subclass>B</pat:Subclass>");
+		return masterFile.replace(RECORD_END, RECORD_END + "\n" + otherRecord);
+	}
+
+	private static CpcMasterStreamReader streamReader(String xml) throws XMLStreamException {
+		return new CpcMasterStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void sameAsDomReader() throws PatentReaderException, IOException, XMLStreamException {
+		MasterCpcCsvBuilder csvBuilder = new MasterCpcCsvBuilder();
+
+		MasterClassificationRecord expect = new CpcMasterReader().read(new StringReader(rawRecord));
+
+		try (CpcMasterStreamReader reader = streamReader(masterFile)) {
+			MasterClassificationRecord record = reader.read();
+			assertEquals(csvBuilder.build(expect), csvBuilder.build(record));
+			assertEquals(9, csvBuilder.build(record).size());
+			assertNull(reader.read());
+			assertEquals(1, reader.getRecordCount());
+		}
+	}
+
+	@Test
+	public void classPredicate() throws IOException, XMLStreamException {
+		try (CpcMasterStreamReader reader = streamReader(twoRecordMasterFile())) {
+			reader.setClassificationPredicate(
+					ClassificationPredicate.isContained(Arrays.asList("F04B"), CpcClassification.class));
+			MasterClassificationRecord record = reader.read();
+			assertEquals("9400001", record.getPubId().getDocNumber());
+			assertNull(reader.read());
+			assertEquals(2, reader.getRecordCount());
+		}
+	}
+
+	@Test
+	public void loaderWritesCsvPerMasterFile() throws IOException {
+		File zipFile = tempFolder.newFile("cpcMaster.zip");
+		try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(zipFile))) {
+			zipOut.putNextEntry(new ZipEntry("US_Grant_CPC_MCF_1.xml"));
+			zipOut.write(masterFile.getBytes(StandardCharsets.UTF_8));
+			zipOut.putNextEntry(new ZipEntry("US_Grant_CPC_MCF_2.xml"));
+			zipOut.write(twoRecordMasterFile().getBytes(StandardCharsets.UTF_8));
+			zipOut.putNextEntry(new ZipEntry("README.txt"));
+			zipOut.write("not a master file".getBytes(StandardCharsets.UTF_8));
+		}
+
+		Path outputDir = tempFolder.newFolder("output").toPath();
+		CpcMasterLoader loader = new CpcMasterLoader(zipFile, new MasterCpcCsvBuilder(), outputDir);
+		loader.setClassificationPredicate(
+				ClassificationPredicate.isContained(Arrays.asList("H04N", "F04D"), CpcClassification.class));
+
+		assertEquals(2, loader.process(2));
+
+		List<String> rows = Files.readAllLines(outputDir.resolve("cpc_master_US_Grant_CPC_MCF_1.xml.csv"),
+				StandardCharsets.UTF_16);
+		assertEquals(9, rows.size());
+		assertEquals(9, Files.readAllLines(outputDir.resolve("cpc_master_US_Grant_CPC_MCF_2.xml.csv"),
+				StandardCharsets.UTF_16).size());
+		assertEquals(2, outputDir.toFile().list().length);
+	}
+}
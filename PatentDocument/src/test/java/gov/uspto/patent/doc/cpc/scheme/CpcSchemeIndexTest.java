@@ -0,0 +1,73 @@
+package gov.uspto.patent.doc.cpc.scheme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import gov.uspto.patent.PatentReaderException;
+
+public class CpcSchemeIndexTest {
+
+	private static CpcSchemeIndex index;
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@BeforeClass
+	public static void setUp() throws PatentReaderException, IOException {
+		index = CpcSchemeIndex.build(new File("resources/samples/cpcScheme"));
+	}
+
+	private static void assertScheme(CpcSchemeIndex index) {
+		assertEquals(20, index.size());
+
+		assertEquals("A01L", index.getSymbol(0));
+		assertEquals(0, index.indexOf("A01L"));
+		assertEquals(-1, index.indexOf("A01K"));
+		assertTrue(index.getTitle("A01L").startsWith("SHOEING OF ANIMALS"));
+		assertEquals("Solid horseshoes consisting of one part", index.getTitle("A01L 1/02"));
+		assertNull(index.getTitle("A01L99/00"));
+
+		// header item repeating the symbol is skipped.
+		assertTrue(index.getTitle("A01L1/00").startsWith("Shoes for horses"));
+		assertEquals(Arrays.asList("A01L1/00", "A01L"), index.getAncestors("A01L1/02"));
+		assertEquals(Arrays.asList("A01L1/02", "A01L1/04"), index.getDescendants("A01L1/00"));
+		assertEquals(19, index.getDescendants("A01L").size());
+		assertEquals(Collections.emptyList(), index.getDescendants("A01L15/00"));
+
+		int a01l = index.indexOf("A01L");
+		assertEquals(-1, index.getParent(a01l));
+		assertTrue(index.isAncestor(a01l, index.indexOf("A01L7/10")));
+		assertFalse(index.isAncestor(index.indexOf("A01L1/00"), index.indexOf("A01L3/02")));
+	}
+
+	@Test
+	public void build() {
+		assertScheme(index);
+	}
+
+	@Test
+	public void snapshot() throws IOException {
+		Path snapshot = tempFolder.newFile("cpc-scheme.idx").toPath();
+		index.save(snapshot);
+
+		assertScheme(CpcSchemeIndex.load(snapshot));
+	}
+
+	@Test(expected = IOException.class)
+	public void notSnapshot() throws IOException {
+		CpcSchemeIndex.load(new File("resources/samples/cpcScheme/cpc-scheme-A01L.xml").toPath());
+	}
+}
@@ -220,4 +220,15 @@ public class FormattedTextTest {
 		assertEquals(expect, actual);
 	}
 
+	@Test
+	public void quotesAndInstructions() {
+		String input = "<p>a \u201Cquoted\u201D word<?insert-start id=\"INS-S-00001\" date=\"20140101\"?>x<?insert-end id=\"INS-S-00001\"?></p>";
+
+		String expect = "<p>a <q>quoted</q> word<ins>x</ins></p>";
+
+		String actual = format.getSimpleHtml(input);
+
+		assertEquals(expect, actual);
+	}
+
 }
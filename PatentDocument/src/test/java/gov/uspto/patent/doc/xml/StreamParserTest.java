@@ -0,0 +1,102 @@
+package gov.uspto.patent.doc.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.dom4j.Document;
+import org.junit.Test;
+
+import com.google.common.base.Preconditions;
+
+import gov.uspto.parser.dom4j.Dom4JParser;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Claim;
+import gov.uspto.patent.model.DescSection;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.model.classification.PatentClassification;
+
+public class StreamParserTest {
+
+    private static List<String> sorted(Set<PatentClassification> classifications) {
+        List<String> texts = new ArrayList<String>();
+        for (PatentClassification clazz : classifications) {
+            texts.add(clazz.toString());
+        }
+        Collections.sort(texts);
+        return texts;
+    }
+
+    private static void assertSameAsDom(Dom4JParser domParser, Dom4JParser streamParser, String sampleDir)
+            throws PatentReaderException, IOException {
+        Path dirPath = Paths.get(sampleDir);
+        Preconditions.checkArgument(dirPath.toFile().isDirectory(), "Sample dir does not exist: " + sampleDir);
+        for (File file : dirPath.toFile().listFiles()) {
+            Patent expect = domParser.parse(file);
+            Patent actual = streamParser.parse(file);
+
+            // classification sets are unordered.
+            assertEquals(file.getName(), sorted(expect.getClassification()), sorted(actual.getClassification()));
+            assertEquals(file.getName(), sorted(expect.getSearchClassification()),
+                    sorted(actual.getSearchClassification()));
+            expect.getClassification().clear();
+            actual.getClassification().clear();
+            expect.getSearchClassification().clear();
+            actual.getSearchClassification().clear();
+
+            assertEquals(file.getName(), expect.toString(), actual.toString());
+            assertEquals(file.getName(), expect.getAbstract().getRawText(), actual.getAbstract().getRawText());
+            assertEquals(file.getName(), expect.getDescription().getRawText(DescSection.values()),
+                    actual.getDescription().getRawText(DescSection.values()));
+            assertEquals(file.getName(), expect.getDescription().getFigures().toString(),
+                    actual.getDescription().getFigures().toString());
+            assertEquals(file.getName(), expect.getClaims().size(), actual.getClaims().size());
+            for (int i = 0; i < expect.getClaims().size(); i++) {
+                Claim expectClaim = expect.getClaims().get(i);
+                Claim actualClaim = actual.getClaims().get(i);
+                assertEquals(file.getName(), expectClaim.getRawText(), actualClaim.getRawText());
+                assertEquals(file.getName(), expectClaim.getDependentIds(), actualClaim.getDependentIds());
+            }
+        }
+    }
+
+    @Test
+    public void grantSamples() throws PatentReaderException, IOException {
+        assertSameAsDom(new GrantParser(), new GrantStreamParser(), "resources/samples/xml2004");
+        assertSameAsDom(new GrantParser(), new GrantStreamParser(), "resources/samples/xml2014");
+    }
+
+    @Test
+    public void applicationSamples() throws PatentReaderException, IOException {
+        assertSameAsDom(new ApplicationParser(), new ApplicationStreamParser(), "resources/samples/xmlApp2004");
+    }
+
+    @Test
+    public void sectionsDetached() throws Exception {
+        String xml = "<us-patent-grant><us-bibliographic-data-grant><invention-title>Widget</invention-title>"
+                + "</us-bibliographic-data-grant><abstract><p>An abstract.</p></abstract>"
+                + "<drawings><figure id=\"Fig-1\"/></drawings>"
+                + "<description><?DETDESC description=\"Detailed Description\" end=\"lead\"?>"
+                + "<p>Detailed description.</p><?DETDESC description=\"Detailed Description\" end=\"tail\"?></description>"
+                + "<claims><claim id=\"CLM-00001\" num=\"00001\"><claim-text>A widget.</claim-text></claim></claims>"
+                + "</us-patent-grant>";
+
+        SectionStreamReader sectionReader = new SectionStreamReader(GrantParser.XML_ROOT);
+        Document document = sectionReader.read(new StringReader(xml));
+
+        assertEquals(1, document.getRootElement().elements().size());
+        assertTrue(sectionReader.getAbstract(document).getRawText().contains("An abstract."));
+        assertTrue(sectionReader.getDescription(document).getRawText(DescSection.DETAILED_DESC).contains("Detailed description."));
+        assertEquals(1, sectionReader.getClaims(document).size());
+    }
+
+}
@@ -0,0 +1,40 @@
+package gov.uspto.patent.doc.xml.fragments;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.dom4j.Document;
+import org.dom4j.DocumentException;
+import org.dom4j.DocumentHelper;
+import org.junit.Test;
+
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.DocumentIdType;
+
+public class PctRegionalIdNodeTest {
+
+	@Test
+	public void filingAndPublication() throws DocumentException {
+		String xml = "<xml><biblio><pct-or-regional-filing-data><document-id>\r\n" + 
+				"<country>WO</country>\r\n" + 
+				"<doc-number>PCT/US2016/012345</doc-number>\r\n" + 
+				"<date>20160106</date>\r\n" + 
+				"</document-id></pct-or-regional-filing-data>\r\n" + 
+				"<pct-or-regional-publishing-data><document-id>\r\n" + 
+				"<country>WO</country>\r\n" + 
+				"<doc-number>2016112233</doc-number>\r\n" + 
+				"<kind>A1</kind>\r\n" + 
+				"<date>20160714</date>\r\n" + 
+				"</document-id></pct-or-regional-publishing-data></biblio></xml>";
+
+		Document doc = DocumentHelper.parseText(xml);
+		List<DocumentId> docIds = new PctRegionalIdNode(doc).read();
+
+		assertEquals(2, docIds.size());
+		assertEquals(DocumentIdType.REGIONAL_FILING, docIds.get(0).getType());
+		assertEquals(DocumentIdType.REGIONAL_PUBLICATION, docIds.get(1).getType());
+		assertEquals("2016112233", docIds.get(1).getDocNumber());
+	}
+
+}
@@ -5,6 +5,8 @@ import static org.junit.Assert.*;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.Test;
 
@@ -185,6 +187,48 @@ public class DocumentIdTest {
 		assertEquals("US0000123456A1", docId.toText(10));
 	}
 
+	@Test
+	public void parse_same_as_pattern() {
+		Pattern pattern = Pattern.compile("^(\\D\\D)(\\d{2,4}[/-])?((?:D|PP|RE|AI|H|T|X|RX|\\d-)?\\d+)(\\D\\d?)?$");
+		String[] texts = { "US5973683A", "USRX9876I1", "USD0466643S1", "JP6-302377", "US2002/0097953A1",
+				"WO2004/021600A1", "EP12-345678B1", "US12/", "US12/A", "US12345/6", "USRE", "US1-A", "USPPA12",
+				"US123AB", "US12 3", "1S12345", "U912345", "DEAI0012X9", "GB1234-" };
+		for (String text : texts) {
+			Matcher matcher = pattern.matcher(text.replace(" ", ""));
+			try {
+				DocumentId docId = DocumentId.fromText(text, 1990);
+				assertTrue(text, matcher.matches());
+				assertEquals(text, matcher.group(3), docId.getDocNumber());
+				assertEquals(text, matcher.group(4), docId.getKindCode());
+				String appYear = matcher.group(2) != null && matcher.group(2).length() == 5
+						? matcher.group(2).replace("/", "")
+						: null;
+				assertEquals(text, appYear, docId.getApplicationYear());
+			} catch (InvalidDataException e) {
+				assertFalse(text, matcher.matches());
+			}
+		}
+	}
+
+	@Test
+	public void cached_text() throws InvalidDataException {
+		DocumentId docId = new DocumentId(CountryCode.US, "0123456", "A1");
+		assertEquals("US123456A1", docId.getId());
+		assertSame(docId.getId(), docId.toText());
+
+		docId.setKindCode("B2");
+		assertEquals("US123456B2", docId.getId());
+		assertEquals("US123456", docId.getIdNoKind());
+
+		docId.setApplicationYear("2002");
+		assertEquals("US20020123456B2", docId.getId());
+		assertEquals("US20020123456", docId.getIdNoKind());
+
+		// equal ids share the interned text.
+		assertSame(new DocumentId(CountryCode.US, "123456").getIdNoKind(),
+				new DocumentId(CountryCode.US, "00123456", "A1").getIdNoKind());
+	}
+
 	@Test
 	public void equals() throws InvalidDataException {
 		DocumentId docId = new DocumentId(CountryCode.US, "123456", "A1");
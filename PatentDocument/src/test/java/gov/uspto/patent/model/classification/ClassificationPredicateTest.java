@@ -3,6 +3,7 @@ package gov.uspto.patent.model.classification;
 import static org.junit.Assert.*;
 
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -72,4 +73,37 @@ public class ClassificationPredicateTest {
 		// assertTrue(wantCpc.isContained(cpcClasses));
 		assertTrue(cpcClasses.stream().anyMatch(predicate));
 	}
+
+	@Test
+	public void containedAny() throws ParseException {
+		Predicate<PatentClassification> predicate = ClassificationPredicate
+				.isContained(Arrays.asList("H04N", "D07B", "A01B33/00"), CpcClassification.class);
+
+		assertTrue(predicate.test(cpc("D07B22012051")));
+		assertTrue(predicate.test(cpc("H04N5/225")));
+		assertTrue(predicate.test(cpc("A01B33/00")));
+		assertFalse(predicate.test(cpc("A01B300")));
+		assertFalse(predicate.test(cpc("G06F3/01")));
+	}
+
+	@Test
+	public void matcherTypes() throws ParseException {
+		UspcClassification uspc = new UspcClassification(" 29/DIG 42", false);
+		uspc.parseText(" 29/DIG 42");
+
+		ClassificationMatcher matcher = new ClassificationMatcher(Arrays.asList(cpc("D07B"), uspc));
+		assertEquals(2, matcher.size());
+
+		UspcClassification checkUspc = new UspcClassification("29/DIG42", false);
+		checkUspc.parseText(" 29/DIG 42");
+		assertTrue(matcher.test(checkUspc));
+		assertTrue(matcher.matchesAny(Arrays.asList(cpc("A01B300"), cpc("D07B2201"))));
+		assertFalse(matcher.matchesAny(Arrays.asList(cpc("A01B300"), cpc("H04N5/225"))));
+	}
+
+	private static CpcClassification cpc(String text) throws ParseException {
+		CpcClassification cpc = new CpcClassification(text, false);
+		cpc.parseText(text);
+		return cpc;
+	}
 }
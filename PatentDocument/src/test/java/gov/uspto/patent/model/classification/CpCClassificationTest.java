@@ -1,7 +1,9 @@
 package gov.uspto.patent.model.classification;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.text.ParseException;
 import java.util.LinkedHashMap;
@@ -228,4 +230,34 @@ public class CpCClassificationTest {
 		CpcClassification cpc = new CpcClassification("A61F  BAD", false);
 		cpc.parseText("A61F  BAD");
 	}
+
+	@Test
+	public void sharedParse() throws ParseException {
+		CpcClassification cpc1 = new CpcClassification("D07B2201/2051", true);
+		cpc1.parseText("D07B2201/2051");
+		CpcClassification cpc2 = new CpcClassification("D07B2201/2051", false);
+		cpc2.parseText("D07B2201/2051");
+
+		assertSame(cpc1.getTextNormalized(), cpc2.getTextNormalized());
+		assertSame(cpc1.getFacets(), cpc2.getFacets());
+		assertEquals(cpc1.getTree().getLeafFacets(), cpc2.getFacets());
+		assertTrue(cpc1.isMainOrInventive());
+
+		cpc2.setSubGroup(new String[] { "2052" });
+		assertEquals("D07B 2201/2052", cpc2.getTextNormalized());
+		assertEquals("D07B 2201/2051", cpc1.getTextNormalized());
+	}
+
+	@Test
+	public void failParseCached() {
+		for (int i = 0; i < 2; i++) {
+			CpcClassification cpc = new CpcClassification("A61F  BAD", false);
+			try {
+				cpc.parseText("A61F  BAD");
+				fail("expected ParseException");
+			} catch (ParseException e) {
+				assertTrue(cpc.isParseFailed());
+			}
+		}
+	}
 }
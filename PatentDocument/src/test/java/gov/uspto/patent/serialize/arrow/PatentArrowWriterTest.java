@@ -0,0 +1,141 @@
+package gov.uspto.patent.serialize.arrow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReader;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.model.Claim;
+import gov.uspto.patent.model.CountryCode;
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.model.PatentGranted;
+import gov.uspto.patent.model.PatentType;
+
+public class PatentArrowWriterTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	/**
+	 * Read column of every record batch.
+	 */
+	private static List<Object> readColumn(Path file, String column) throws IOException {
+		List<Object> values = new ArrayList<Object>();
+		try (BufferAllocator allocator = new RootAllocator();
+				FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+				ArrowFileReader reader = new ArrowFileReader(channel, allocator, CommonsCompressionFactory.INSTANCE)) {
+			VectorSchemaRoot root = reader.getVectorSchemaRoot();
+			while (reader.loadNextBatch()) {
+				for (int i = 0; i < root.getRowCount(); i++) {
+					Object value = root.getVector(column).getObject(i);
+					values.add(value != null ? value.toString() : null);
+				}
+			}
+		}
+		return values;
+	}
+
+	@Test
+	public void writeTables() throws IOException, PatentReaderException {
+		String xml = new String(Files.readAllBytes(Paths.get("resources/samples/xml2014/US08927118.xml")),
+				StandardCharsets.UTF_8);
+		Patent patent = new PatentReader(PatentDocFormat.RedbookGrant).read(xml);
+		String docId = patent.getDocumentId().toText();
+
+		Path outputDir = tempFolder.newFolder().toPath();
+		Map<String, Long> rowCounts;
+		try (PatentArrowWriter writer = new PatentArrowWriter(outputDir, "ipg", 2)) {
+			writer.add(patent);
+			writer.add(patent);
+			writer.add(patent);
+			rowCounts = writer.getRowCounts();
+		}
+
+		assertEquals(6, outputDir.toFile().list().length);
+		assertEquals(Long.valueOf(3), rowCounts.get("patent"));
+
+		List<Object> docIds = readColumn(outputDir.resolve("ipg.patent.arrow"), "doc_id");
+		assertEquals(3, docIds.size());
+		assertEquals(docId, docIds.get(0));
+		assertEquals(patent.getTitle(), readColumn(outputDir.resolve("ipg.patent.arrow"), "title").get(2));
+
+		List<Object> claims = readColumn(outputDir.resolve("ipg.claim.arrow"), "text");
+		assertEquals(3 * patent.getClaims().size(), claims.size());
+		assertEquals(patent.getClaims().get(0).getPlainText(), claims.get(0));
+
+		List<Object> classes = readColumn(outputDir.resolve("ipg.classification.arrow"), "normalized");
+		assertEquals(3 * (patent.getClassification().size() + patent.getSearchClassification().size()),
+				classes.size());
+
+		List<Object> citations = readColumn(outputDir.resolve("ipg.citation.arrow"), "doc_id");
+		assertEquals(3 * patent.getCitations().size(), citations.size());
+		assertTrue(citations.stream().allMatch(docId::equals));
+
+		for (Map.Entry<String, Long> entry : rowCounts.entrySet()) {
+			assertEquals(entry.getKey(), entry.getValue().longValue(),
+					readColumn(outputDir.resolve("ipg." + entry.getKey() + ".arrow"), "doc_id").size());
+		}
+	}
+
+	private static Patent patent(String docNumber, String title) {
+		Patent patent = new PatentGranted(new DocumentId(CountryCode.US, docNumber, "B1"), PatentType.UTILITY);
+		patent.setTitle(title);
+		return patent;
+	}
+
+	@Test
+	public void failedPatentRolledBack() throws IOException {
+		Patent failing = new PatentGranted(new DocumentId(CountryCode.US, "2222222", "B1"), PatentType.UTILITY) {
+			@Override
+			public List<Claim> getClaims() {
+				throw new IllegalStateException("claims failed");
+			}
+		};
+		failing.setTitle("Failed Widget");
+		failing.setApplicationId(new DocumentId(CountryCode.US, "5555555"));
+		failing.addPriorityId(new DocumentId(CountryCode.US, "3333333"));
+
+		Path outputDir = tempFolder.newFolder().toPath();
+		try (PatentArrowWriter writer = new PatentArrowWriter(outputDir, "ipg", 2)) {
+			writer.add(patent("1111111", "Big Widget"));
+			try {
+				writer.add(failing);
+				fail("expected IllegalStateException");
+			} catch (IllegalStateException e) {
+				// expected.
+			}
+			writer.add(patent("4444444", null));
+		}
+
+		Path patentFile = outputDir.resolve("ipg.patent.arrow");
+		assertEquals(Arrays.asList("1111111", "4444444"), readColumn(patentFile, "doc_number"));
+		assertEquals(Arrays.asList("Big Widget", ""), readColumn(patentFile, "title"));
+		// not left from the failed patent.
+		assertEquals(Arrays.asList(null, null), readColumn(patentFile, "application_id"));
+		assertTrue(readColumn(outputDir.resolve("ipg.docid.arrow"), "doc_id").isEmpty());
+	}
+}
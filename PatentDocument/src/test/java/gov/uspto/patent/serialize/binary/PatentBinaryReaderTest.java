@@ -0,0 +1,301 @@
+package gov.uspto.patent.serialize.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import gov.uspto.patent.DateTextType;
+import gov.uspto.patent.PatentDocFormat;
+import gov.uspto.patent.PatentReader;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.TextProcessor;
+import gov.uspto.patent.doc.simplehtml.FreetextConfig;
+import gov.uspto.patent.model.Abstract;
+import gov.uspto.patent.model.Citation;
+import gov.uspto.patent.model.Claim;
+import gov.uspto.patent.model.DocumentDate;
+import gov.uspto.patent.model.DocumentId;
+import gov.uspto.patent.model.Patent;
+import gov.uspto.patent.model.classification.CpcClassification;
+import gov.uspto.patent.model.classification.PatentClassification;
+import gov.uspto.patent.model.entity.Entity;
+import gov.uspto.patent.serialize.JsonMapperStream;
+
+public class PatentBinaryReaderTest {
+
+	private static volatile boolean notTextProcessorInitialized = false;
+
+	public static class EchoTextProcessor implements TextProcessor {
+		@Override
+		public String getPlainText(String xmlRawText, FreetextConfig textConfig) {
+			return xmlRawText;
+		}
+
+		@Override
+		public String getSimpleHtml(String xmlRawText) {
+			return xmlRawText;
+		}
+
+		@Override
+		public List<String> getParagraphText(String xmlRawText) {
+			return Collections.singletonList(xmlRawText);
+		}
+	}
+
+	/**
+	 * Not a TextProcessor, class name the same length as EchoTextProcessor.
+	 */
+	public static class NotATextProcessor {
+		static {
+			notTextProcessorInitialized = true;
+		}
+	}
+
+	private static Patent parse(PatentDocFormat docFormat, String sample) throws IOException, PatentReaderException {
+		String text = new String(Files.readAllBytes(Paths.get("resources/samples", sample)), StandardCharsets.UTF_8);
+		return new PatentReader(docFormat).read(text);
+	}
+
+	private static Patent roundTrip(Patent patent) throws IOException, PatentReaderException {
+		return new PatentBinaryReader().read(new PatentBinaryWriter().toBytes(patent));
+	}
+
+	private static List<String> docIds(Collection<DocumentId> ids) {
+		return ids.stream().map(id -> id.toText() + ":" + id.getType() + ":" + dateText(id.getDate()))
+				.collect(Collectors.toList());
+	}
+
+	private static String dateText(DocumentDate date) {
+		return date.getDateText(DateTextType.RAW) + "/" + date.getDate();
+	}
+
+	private static List<String> classes(Collection<PatentClassification> classes) {
+		return classes.stream().map(c -> c.getType() + ":" + c.toText() + ":" + c.getTextNormalized() + ":"
+				+ c.isMainOrInventive()).sorted().collect(Collectors.toList());
+	}
+
+	private static List<String> entities(Collection<? extends Entity> entities) {
+		return entities.stream().map(Entity::toString).collect(Collectors.toList());
+	}
+
+	private static void assertSamePatent(Patent expect, Patent actual) throws IOException {
+		assertEquals(expect.getClass(), actual.getClass());
+		assertEquals(expect.getDocumentId().toText(), actual.getDocumentId().toText());
+		assertEquals(expect.getDocumentId().getRawText(), actual.getDocumentId().getRawText());
+		assertEquals(expect.getPatentType(), actual.getPatentType());
+		assertEquals(expect.getPatentCorpus(), actual.getPatentCorpus());
+		assertEquals(docIds(Collections.singleton(expect.getApplicationId())),
+				docIds(Collections.singleton(actual.getApplicationId())));
+		assertEquals(docIds(expect.getPriorityIds()), docIds(actual.getPriorityIds()));
+		assertEquals(docIds(expect.getOtherIds()), docIds(actual.getOtherIds()));
+		assertEquals(docIds(expect.getRelationIds()), docIds(actual.getRelationIds()));
+		assertEquals(docIds(expect.getReferenceIds()), docIds(actual.getReferenceIds()));
+		assertEquals(dateText(expect.getDatePublished()), dateText(actual.getDatePublished()));
+		assertEquals(dateText(expect.getDocumentDate()), dateText(actual.getDocumentDate()));
+
+		assertEquals(expect.getTitle(), actual.getTitle());
+		assertEquals(expect.getAbstract().getRawText(), actual.getAbstract().getRawText());
+		assertEquals(expect.getAbstract().getPlainText(), actual.getAbstract().getPlainText());
+		assertEquals(expect.getDescription().getAllRawText(), actual.getDescription().getAllRawText());
+		assertEquals(expect.getDescription().getAllPlainText(), actual.getDescription().getAllPlainText());
+		assertEquals(expect.getDescription().getFigures().size(), actual.getDescription().getFigures().size());
+
+		assertEquals(expect.getClaims().size(), actual.getClaims().size());
+		for (int i = 0; i < expect.getClaims().size(); i++) {
+			Claim expectClaim = expect.getClaims().get(i);
+			Claim claim = actual.getClaims().get(i);
+			assertEquals(expectClaim.getId(), claim.getId());
+			assertEquals(expectClaim.getClaimType(), claim.getClaimType());
+			assertEquals(expectClaim.getRawText(), claim.getRawText());
+			assertEquals(expectClaim.getPlainText(), claim.getPlainText());
+			assertEquals(expectClaim.getDependentIds(), claim.getDependentIds());
+			assertEquals(expectClaim.getClaimTreeLevel(), claim.getClaimTreeLevel());
+			assertEquals(expectClaim.getChildClaims().stream().map(Claim::getId).collect(Collectors.toList()),
+					claim.getChildClaims().stream().map(Claim::getId).collect(Collectors.toList()));
+		}
+
+		assertEquals(expect.getCitations().stream().map(Citation::toString).collect(Collectors.toList()),
+				actual.getCitations().stream().map(Citation::toString).collect(Collectors.toList()));
+		assertEquals(classes(expect.getClassification()), classes(actual.getClassification()));
+		assertEquals(classes(expect.getSearchClassification()), classes(actual.getSearchClassification()));
+
+		assertEquals(entities(expect.getInventors()), entities(actual.getInventors()));
+		assertEquals(entities(expect.getApplicants()), entities(actual.getApplicants()));
+		assertEquals(entities(expect.getAssignee()), entities(actual.getAssignee()));
+		assertEquals(entities(expect.getAgent()), entities(actual.getAgent()));
+		assertEquals(entities(expect.getExaminers()), entities(actual.getExaminers()));
+	}
+
+	private static void assertRoundTrip(PatentDocFormat docFormat, String sample)
+			throws IOException, PatentReaderException {
+		Patent patent = parse(docFormat, sample);
+		Patent read = roundTrip(patent);
+		assertSamePatent(patent, read);
+
+		// written again, the record has the same size.
+		assertEquals(new PatentBinaryWriter().toBytes(patent).length, new PatentBinaryWriter().toBytes(read).length);
+	}
+
+	@Test
+	public void roundTripRedbookGrant() throws IOException, PatentReaderException {
+		assertRoundTrip(PatentDocFormat.RedbookGrant, "xml2014/US08927118.xml");
+	}
+
+	@Test
+	public void roundTripRedbookApplication() throws IOException, PatentReaderException {
+		assertRoundTrip(PatentDocFormat.RedbookApplication, "xmlApp2004/US20050004974A1.xml");
+	}
+
+	@Test
+	public void roundTripSgml() throws IOException, PatentReaderException {
+		assertRoundTrip(PatentDocFormat.Sgml, "sgml/US06337117.xml");
+	}
+
+	@Test
+	public void roundTripPap() throws IOException, PatentReaderException {
+		assertRoundTrip(PatentDocFormat.Pap, "pap/US20010000943A1.xml");
+	}
+
+	@Test
+	public void roundTripGreenbook() throws IOException, PatentReaderException {
+		assertRoundTrip(PatentDocFormat.Greenbook, "greenbook/US03932709.greenbook");
+	}
+
+	@Test
+	public void jsonUnchanged() throws IOException, PatentReaderException {
+		Patent patent = parse(PatentDocFormat.RedbookGrant, "xml2014/US08927118.xml");
+		Patent read = roundTrip(patent);
+
+		// single classification per set, so set order is the same.
+		patent.getClassification().clear();
+		read.getClassification().clear();
+		patent.getSearchClassification().clear();
+		read.getSearchClassification().clear();
+
+		StringWriter expect = new StringWriter();
+		new JsonMapperStream(false, false).write(patent, expect);
+		StringWriter actual = new StringWriter();
+		new JsonMapperStream(false, false).write(read, actual);
+		assertEquals(expect.toString(), actual.toString());
+	}
+
+	@Test
+	public void sharesParsedClassification() throws IOException, PatentReaderException {
+		Patent patent = parse(PatentDocFormat.RedbookGrant, "xml2014/US08927118.xml");
+		Patent read = roundTrip(patent);
+		for (PatentClassification clazz : read.getClassification()) {
+			if (clazz instanceof CpcClassification) {
+				assertTrue(clazz.toText(), !((CpcClassification) clazz).isParseFailed());
+			}
+			assertNotNull(clazz.getTextNormalized());
+		}
+	}
+
+	@Test
+	public void base64Writer() throws IOException, PatentReaderException {
+		Patent patent = parse(PatentDocFormat.RedbookGrant, "xml2014/US08927118.xml");
+		StringWriter writer = new StringWriter();
+		new PatentBinaryWriter().write(patent, writer);
+		assertTrue(writer.toString().indexOf('\n') == -1);
+
+		Patent read = new PatentBinaryReader().read(new StringReader(writer.toString() + "\n"));
+		assertSamePatent(patent, read);
+	}
+
+	@Test
+	public void streamOfRecords() throws IOException, PatentReaderException {
+		List<Patent> patents = new ArrayList<Patent>();
+		patents.add(parse(PatentDocFormat.RedbookGrant, "xml2014/US08927118.xml"));
+		patents.add(parse(PatentDocFormat.Sgml, "sgml/US06337117.xml"));
+		patents.add(parse(PatentDocFormat.RedbookApplication, "xmlApp2004/US20050004974A1.xml"));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PatentBinaryWriter writer = new PatentBinaryWriter();
+		for (Patent patent : patents) {
+			writer.write(patent, out);
+		}
+
+		PatentBinaryReader reader = new PatentBinaryReader();
+		try (InputStream in = new ByteArrayInputStream(out.toByteArray())) {
+			for (Patent patent : patents) {
+				assertSamePatent(patent, reader.read(in));
+			}
+			assertNull(reader.read(in));
+		}
+	}
+
+	@Test
+	public void sharedTextProcessor() throws IOException, PatentReaderException {
+		Patent patent = parse(PatentDocFormat.RedbookGrant, "xml2014/US08927118.xml");
+		Patent read = roundTrip(patent);
+		assertEquals(patent.getAbstract().getTextProcessor().getClass(), read.getAbstract().getTextProcessor().getClass());
+		assertSame(read.getAbstract().getTextProcessor(), read.getClaims().get(0).getTextProcessor());
+	}
+
+	@Test
+	public void notTextProcessorNotInitialized() throws IOException, PatentReaderException {
+		Patent patent = parse(PatentDocFormat.Sgml, "sgml/US06337117.xml");
+		patent.setAbstract(new Abstract("<abstract><p>text</p></abstract>", new EchoTextProcessor()));
+		byte[] record = new PatentBinaryWriter().toBytes(patent);
+
+		byte[] name = EchoTextProcessor.class.getName().getBytes(StandardCharsets.UTF_8);
+		byte[] replace = NotATextProcessor.class.getName().getBytes(StandardCharsets.UTF_8);
+		assertEquals(name.length, replace.length);
+		for (int i = 0; i <= record.length - name.length; i++) {
+			if (Arrays.equals(name, Arrays.copyOfRange(record, i, i + name.length))) {
+				System.arraycopy(replace, 0, record, i, replace.length);
+			}
+		}
+
+		try {
+			new PatentBinaryReader().read(record);
+			fail("expected not a TextProcessor");
+		} catch (PatentReaderException e) {
+			// expected.
+		}
+		assertFalse(notTextProcessorInitialized);
+	}
+
+	@Test(expected = PatentReaderException.class)
+	public void notRecord() throws PatentReaderException {
+		new PatentBinaryReader().read("<xml>".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test(expected = PatentReaderException.class)
+	public void truncatedRecord() throws IOException, PatentReaderException {
+		byte[] record = new PatentBinaryWriter().toBytes(parse(PatentDocFormat.Sgml, "sgml/US06337117.xml"));
+		byte[] truncated = new byte[record.length - 10];
+		System.arraycopy(record, 0, truncated, 0, truncated.length);
+		new PatentBinaryReader().read(truncated);
+	}
+
+	@Test
+	public void recordHeader() throws IOException, PatentReaderException {
+		byte[] record = new PatentBinaryWriter().toBytes(parse(PatentDocFormat.Sgml, "sgml/US06337117.xml"));
+		assertArrayEquals("USPB".getBytes(StandardCharsets.US_ASCII), new byte[] { record[0], record[1], record[2], record[3] });
+		assertEquals(PatentBinaryWriter.VERSION, record[4]);
+	}
+}
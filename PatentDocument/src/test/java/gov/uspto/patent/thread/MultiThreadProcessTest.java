@@ -0,0 +1,101 @@
+package gov.uspto.patent.thread;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import gov.uspto.patent.PatentDocReader;
+import gov.uspto.patent.PatentReaderException;
+import gov.uspto.patent.bulk.DumpFileXml;
+import gov.uspto.patent.serialize.DocumentBuilder;
+
+public class MultiThreadProcessTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final PatentDocReader<Integer> READER = reader -> {
+        String text = new BufferedReader(reader).readLine();
+        if (text.startsWith("bad")) {
+            throw new PatentReaderException("bad record");
+        }
+        return Integer.valueOf(text);
+    };
+
+    /**
+     * Writes record in several parts, to detect interleaving on the shared writer.
+     */
+    private static final DocumentBuilder<Integer> BUILDER = (obj, writer) -> {
+        writer.write("[");
+        writer.write(String.valueOf(obj));
+        writer.write("]\n");
+    };
+
+    private static int[] sortedIds(String[] lines) {
+        return Arrays.stream(lines).map(line -> {
+            assertEquals('[', line.charAt(0));
+            assertEquals(']', line.charAt(line.length() - 1));
+            return line.substring(1, line.length() - 1);
+        }).mapToInt(Integer::parseInt).sorted().toArray();
+    }
+
+    @Test
+    public void allRecordsWrittenWhole() throws InterruptedException, IOException {
+        StringWriter writer = new StringWriter();
+
+        try (MultiThreadProcess<Integer> process = new MultiThreadProcess<Integer>(READER, BUILDER, writer)) {
+            process.init(4, 2);
+            for (int i = 0; i < 1000; i++) {
+                process.submit("rec:" + i, i % 100 == 99 ? "bad" : String.valueOf(i));
+            }
+            process.awaitCompletion();
+
+            assertEquals(990, process.getWritten());
+            assertEquals(10, process.getFailed());
+        }
+
+        String[] lines = writer.toString().split("\n");
+        assertEquals(990, lines.length);
+
+        int[] ids = sortedIds(lines);
+        assertEquals(0, ids[0]);
+        assertEquals(998, ids[ids.length - 1]);
+    }
+
+    @Test
+    public void dumpFileRecordThreads() throws IOException {
+        StringBuilder stb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            stb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            stb.append("<us-patent-grant>\n");
+            stb.append("<doc-number>").append(i).append("</doc-number>\n");
+            stb.append("</us-patent-grant>\n");
+        }
+        DumpFileXml dumpFile = new DumpFileXml("ipg000101.xml", new BufferedReader(new StringReader(stb.toString())));
+
+        PatentDocReader<Integer> reader = rawReader -> Integer
+                .valueOf(IOUtils.toString(rawReader).replaceFirst("(?s).*<doc-number>(\\d+)</doc-number>.*", "$1"));
+
+        File outputFile = tempFolder.newFile("out.txt");
+        new DumpFileProcessThread<Integer>(dumpFile, reader, BUILDER, outputFile, 4).run();
+
+        String[] lines = new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_16).split("\n");
+        assertEquals(500, lines.length);
+
+        int[] ids = sortedIds(lines);
+        assertEquals(0, ids[0]);
+        assertEquals(499, ids[ids.length - 1]);
+    }
+}